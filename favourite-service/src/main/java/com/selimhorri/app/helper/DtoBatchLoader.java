@@ -0,0 +1,99 @@
+package com.selimhorri.app.helper;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.client.RestTemplate;
+
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Collects the ids needed by a list and resolves them against the remote
+ * multi-get endpoint ({@code GET <api>?ids=1,2,3}) in as few calls as possible.
+ * One instance per list request: register keys, dispatch once, then read back.
+ */
+@Slf4j
+public final class DtoBatchLoader<K, V> {
+
+	public static final int MAX_BATCH_SIZE = 200;
+
+	private final RestTemplate restTemplate;
+	private final String apiUrl;
+	private final ParameterizedTypeReference<DtoCollectionResponse<V>> responseType;
+	private final Function<V, K> keyExtractor;
+
+	private final Set<K> pendingKeys = new LinkedHashSet<>();
+	private final Map<K, V> loaded = new HashMap<>();
+	private final Set<K> failedKeys = new HashSet<>();
+
+	public DtoBatchLoader(final RestTemplate restTemplate, final String apiUrl,
+			final ParameterizedTypeReference<DtoCollectionResponse<V>> responseType,
+			final Function<V, K> keyExtractor) {
+		this.restTemplate = restTemplate;
+		this.apiUrl = apiUrl;
+		this.responseType = responseType;
+		this.keyExtractor = keyExtractor;
+	}
+
+	public DtoBatchLoader<K, V> load(final K key) {
+		if (key != null && !this.loaded.containsKey(key) && !this.failedKeys.contains(key))
+			this.pendingKeys.add(key);
+		return this;
+	}
+
+	public DtoBatchLoader<K, V> loadMany(final Collection<K> keys) {
+		keys.forEach(this::load);
+		return this;
+	}
+
+	/**
+	 * Fetches every pending key, {@link #MAX_BATCH_SIZE} ids per call.
+	 * A failed call marks its keys as failed instead of aborting the whole list.
+	 */
+	public DtoBatchLoader<K, V> dispatch() {
+		final List<K> keys = new ArrayList<>(this.pendingKeys);
+		this.pendingKeys.clear();
+		for (int from = 0; from < keys.size(); from += MAX_BATCH_SIZE) {
+			final List<K> chunk = keys.subList(from, Math.min(from + MAX_BATCH_SIZE, keys.size()));
+			try {
+				final DtoCollectionResponse<V> response = this.restTemplate.exchange(
+						this.apiUrl + "?ids=" + chunk.stream().map(String::valueOf).collect(Collectors.joining(",")),
+						HttpMethod.GET,
+						null,
+						this.responseType).getBody();
+				if (response != null && response.getCollection() != null)
+					response.getCollection().stream()
+							.filter(Objects::nonNull)
+							.forEach(v -> this.loaded.put(this.keyExtractor.apply(v), v));
+			}
+			catch (Exception e) {
+				log.warn("Batch lookup against {} failed for {} ids: {}", this.apiUrl, chunk.size(), e.getMessage());
+				this.failedKeys.addAll(chunk);
+			}
+		}
+		return this;
+	}
+
+	public Optional<V> get(final K key) {
+		return Optional.ofNullable(this.loaded.get(key));
+	}
+
+	public boolean hasFailed(final K key) {
+		return this.failedKeys.contains(key);
+	}
+
+}
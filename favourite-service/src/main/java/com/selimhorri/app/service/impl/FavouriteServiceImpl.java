@@ -6,7 +6,9 @@ import java.util.stream.Collectors;
 
 import javax.transaction.Transactional;
 
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
@@ -17,10 +19,13 @@ import com.selimhorri.app.domain.id.FavouriteId;
 import com.selimhorri.app.dto.FavouriteDto;
 import com.selimhorri.app.dto.ProductDto;
 import com.selimhorri.app.dto.UserDto;
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
 import com.selimhorri.app.exception.wrapper.DuplicateEntityException;
 import com.selimhorri.app.exception.wrapper.FavouriteNotFoundException;
 import com.selimhorri.app.exception.wrapper.ProductNotFoundException;
 import com.selimhorri.app.exception.wrapper.UserNotFoundException;
+import com.selimhorri.app.helper.DtoBatchLoader;
+import com.selimhorri.app.helper.EntityCountGauge;
 import com.selimhorri.app.helper.FavouriteMappingHelper;
 import com.selimhorri.app.repository.FavouriteRepository;
 import com.selimhorri.app.service.FavouriteService;
@@ -40,44 +45,55 @@ public class FavouriteServiceImpl implements FavouriteService {
 	private final FavouriteRepository favouriteRepository;
 	private final RestTemplate restTemplate;
 	private final MeterRegistry meterRegistry;
+	private final EntityCountGauge favouritesTotal = new EntityCountGauge();
 
 	@PostConstruct
 	public void initMetrics() {
-		meterRegistry.gauge("favourites.total", favouriteRepository, FavouriteRepository::count);
+		this.favouritesTotal.bindTo(this.meterRegistry, "favourites.total", this.favouriteRepository::count);
+	}
+
+	@Scheduled(fixedDelayString = "${app.metrics.count-reconcile-interval:300000}",
+			initialDelayString = "${app.metrics.count-reconcile-interval:300000}")
+	public void reconcileCount() {
+		this.favouritesTotal.reconcile();
 	}
 
 	@Override
 	public List<FavouriteDto> findAll() {
 		log.info("*** FavouriteDto List, service; fetch all favourites *");
-		return this.favouriteRepository.findAll()
+		final List<FavouriteDto> favourites = this.favouriteRepository.findAll()
 				.stream()
 				.map(FavouriteMappingHelper::map)
+				.collect(Collectors.toList());
+
+		// Un multi-get por servicio remoto en lugar de dos llamadas por favorito
+		final DtoBatchLoader<Integer, UserDto> users = new DtoBatchLoader<>(this.restTemplate,
+				AppConstant.DiscoveredDomainsApi.USER_SERVICE_API_URL,
+				new ParameterizedTypeReference<DtoCollectionResponse<UserDto>>() {},
+				UserDto::getUserId)
+				.loadMany(favourites.stream().map(FavouriteDto::getUserId).collect(Collectors.toList()))
+				.dispatch();
+		final DtoBatchLoader<Integer, ProductDto> products = new DtoBatchLoader<>(this.restTemplate,
+				AppConstant.DiscoveredDomainsApi.PRODUCT_SERVICE_API_URL,
+				new ParameterizedTypeReference<DtoCollectionResponse<ProductDto>>() {},
+				ProductDto::getProductId)
+				.loadMany(favourites.stream().map(FavouriteDto::getProductId).collect(Collectors.toList()))
+				.dispatch();
+
+		return favourites.stream()
 				.map(f -> {
-					try {
-						UserDto userDto = this.restTemplate
-								.getForObject(
-										AppConstant.DiscoveredDomainsApi.USER_SERVICE_API_URL + "/" + f.getUserId(),
-										UserDto.class);
-						ProductDto productDto = this.restTemplate
-								.getForObject(
-										AppConstant.DiscoveredDomainsApi.PRODUCT_SERVICE_API_URL + "/"
-												+ f.getProductId(),
-										ProductDto.class);
-
-						if (userDto == null || productDto == null) {
-							log.warn("User {} or product {} not found, excluding favourite", f.getUserId(),
-									f.getProductId());
-							return null;
-						}
-
-						f.setUserDto(userDto);
-						f.setProductDto(productDto);
-						return f;
-					} catch (Exception e) {
-						log.warn("Error fetching details for favourite (user: {}, product: {}), excluding: {}",
-								f.getUserId(), f.getProductId(), e.getMessage());
+					final UserDto userDto = users.get(f.getUserId()).orElse(null);
+					final ProductDto productDto = products.get(f.getProductId()).orElse(null);
+
+					if (userDto == null || productDto == null) {
+						log.warn("User {} or product {} not found, excluding favourite", f.getUserId(),
+								f.getProductId());
 						return null;
 					}
+
+					f.setUserDto(userDto);
+					f.setProductDto(productDto);
+					return f;
 				})
 				.filter(Objects::nonNull) // Filtra los elementos nulos (los que fallaron)
 				.distinct()
@@ -175,6 +191,7 @@ public class FavouriteServiceImpl implements FavouriteService {
 	
 			Favourite savedFavourite = this.favouriteRepository.save(FavouriteMappingHelper.map(favouriteDto));
 		meterRegistry.counter("favourites.added").increment();
+		this.favouritesTotal.increment();
 		return FavouriteMappingHelper.map(savedFavourite);
 	}
 
@@ -191,6 +208,7 @@ public class FavouriteServiceImpl implements FavouriteService {
 
 		// Si existe, eliminar
 		favouriteRepository.deleteByUserIdAndProductId(favouriteId.getUserId(), favouriteId.getProductId());
+		this.favouritesTotal.decrement();
 	}
 
 }
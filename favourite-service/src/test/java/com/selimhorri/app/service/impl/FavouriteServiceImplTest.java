@@ -16,6 +16,8 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.client.RestTemplate;
@@ -25,6 +27,7 @@ import com.selimhorri.app.domain.id.FavouriteId;
 import com.selimhorri.app.dto.FavouriteDto;
 import com.selimhorri.app.dto.ProductDto;
 import com.selimhorri.app.dto.UserDto;
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
 import com.selimhorri.app.exception.wrapper.DuplicateEntityException;
 import com.selimhorri.app.exception.wrapper.FavouriteNotFoundException;
 import com.selimhorri.app.exception.wrapper.ProductNotFoundException;
@@ -162,13 +165,25 @@ class FavouriteServiceImplTest {
 
 		List<Favourite> favouriteList = Arrays.asList(testFavourite, favourite2);
 		when(favouriteRepository.findAll()).thenReturn(favouriteList);
-		when(restTemplate.getForObject(anyString(), any())).thenReturn(new UserDto());
+		when(restTemplate.exchange(contains("user-service"), eq(HttpMethod.GET), isNull(),
+				any(ParameterizedTypeReference.class)))
+				.thenReturn(ResponseEntity.ok(new DtoCollectionResponse<>(Arrays.asList(
+						UserDto.builder().userId(1).build(), UserDto.builder().userId(2).build()))));
+		when(restTemplate.exchange(contains("product-service"), eq(HttpMethod.GET), isNull(),
+				any(ParameterizedTypeReference.class)))
+				.thenReturn(ResponseEntity.ok(new DtoCollectionResponse<>(Arrays.asList(
+						ProductDto.builder().productId(1).build()))));
 
 		// Act
 		List<FavouriteDto> result = favouriteService.findAll();
 
 		// Assert
 		assertNotNull(result);
+		assertEquals(1, result.size());
 		verify(favouriteRepository, times(1)).findAll();
+		// Un solo multi-get por servicio remoto
+		verify(restTemplate, times(2)).exchange(anyString(), eq(HttpMethod.GET), isNull(),
+				any(ParameterizedTypeReference.class));
+		verify(restTemplate, never()).getForObject(anyString(), any());
 	}
 }
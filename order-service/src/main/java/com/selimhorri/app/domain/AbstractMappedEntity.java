@@ -37,7 +37,7 @@ abstract public class AbstractMappedEntity implements Serializable {
 	
 	@LastModifiedDate
 	@JsonFormat(shape = Shape.STRING)
-	@Column(name = "updated_at", nullable = false, updatable = false)
+	@Column(name = "updated_at", nullable = false)
 	private Instant updatedAt;
 	
 	@PrePersist
@@ -0,0 +1,58 @@
+package com.selimhorri.app.domain;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.Id;
+import javax.persistence.IdClass;
+import javax.persistence.Table;
+
+import com.selimhorri.app.domain.enums.OrderStatsGranularity;
+import com.selimhorri.app.domain.enums.OrderStatus;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Rollup of the active orders placed in one hour or day bucket (by orderDate)
+ * that are currently in {@code orderStatus}: how many and the sum of their fees.
+ * Kept up to date in the same transaction as every change of an order.
+ */
+@Entity
+@Table(name = "order_stats")
+@IdClass(OrderStatsId.class)
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public final class OrderStats implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	
+	@Id
+	@Enumerated(EnumType.STRING)
+	@Column(name = "granularity", nullable = false, updatable = false)
+	private OrderStatsGranularity granularity;
+	
+	@Id
+	@Column(name = "bucket_start", nullable = false, updatable = false)
+	private LocalDateTime bucketStart;
+	
+	@Id
+	@Enumerated(EnumType.STRING)
+	@Column(name = "order_status", nullable = false, updatable = false)
+	private OrderStatus orderStatus;
+	
+	@Column(name = "order_count", nullable = false)
+	private long orderCount;
+	
+	@Column(name = "revenue", columnDefinition = "decimal", nullable = false)
+	private double revenue;
+	
+}
@@ -0,0 +1,42 @@
+package com.selimhorri.app.domain;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+import com.selimhorri.app.domain.enums.OrderStatsGranularity;
+import com.selimhorri.app.domain.enums.OrderStatus;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+public class OrderStatsId implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	
+	private OrderStatsGranularity granularity;
+	private LocalDateTime bucketStart;
+	private OrderStatus orderStatus;
+	
+	@Override
+	public boolean equals(Object o) {
+		if (this == o)
+			return true;
+		if (o == null || getClass() != o.getClass())
+			return false;
+		OrderStatsId that = (OrderStatsId) o;
+		return granularity == that.granularity
+				&& Objects.equals(bucketStart, that.bucketStart)
+				&& orderStatus == that.orderStatus;
+	}
+	
+	@Override
+	public int hashCode() {
+		return Objects.hash(granularity, bucketStart, orderStatus);
+	}
+	
+}
@@ -0,0 +1,84 @@
+package com.selimhorri.app.domain;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.time.LocalDateTime;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+import com.selimhorri.app.domain.enums.OrderStatus;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Denormalized read model of an order: the order with its cart owner, the state
+ * of its payment and the totals of its items. Each source keeps its own
+ * {@code *UpdatedAt} watermark so a late or repeated change never overwrites a
+ * newer one, and a row may exist before the order itself has been projected.
+ */
+@Entity
+@Table(name = "order_view")
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public final class OrderView implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	
+	@Id
+	@Column(name = "order_id", unique = true, nullable = false, updatable = false)
+	private Integer orderId;
+	
+	@Column(name = "user_id")
+	private Integer userId;
+	
+	@Column(name = "order_date")
+	private LocalDateTime orderDate;
+	
+	@Column(name = "order_desc")
+	private String orderDesc;
+	
+	@Column(name = "order_fee", columnDefinition = "decimal")
+	private Double orderFee;
+	
+	@Enumerated(EnumType.STRING)
+	@Column(name = "order_status")
+	private OrderStatus orderStatus;
+	
+	@Column(name = "is_active")
+	private Boolean isActive;
+	
+	@Column(name = "payment_id")
+	private Integer paymentId;
+	
+	@Column(name = "payment_status")
+	private String paymentStatus;
+	
+	@Column(name = "is_payed")
+	private Boolean isPayed;
+	
+	@Column(name = "item_count", nullable = false)
+	private int itemCount;
+	
+	@Column(name = "total_quantity", nullable = false)
+	private int totalQuantity;
+	
+	@Column(name = "order_updated_at")
+	private Instant orderUpdatedAt;
+	
+	@Column(name = "payment_updated_at")
+	private Instant paymentUpdatedAt;
+	
+	@Column(name = "items_updated_at")
+	private Instant itemsUpdatedAt;
+	
+}
@@ -0,0 +1,24 @@
+package com.selimhorri.app.domain.enums;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+public enum OrderStatsGranularity {
+    HOUR(ChronoUnit.HOURS),
+    DAY(ChronoUnit.DAYS);
+
+    private final ChronoUnit unit;
+
+    OrderStatsGranularity(final ChronoUnit unit) {
+        this.unit = unit;
+    }
+
+    public LocalDateTime bucketOf(final LocalDateTime dateTime) {
+        return dateTime.truncatedTo(this.unit);
+    }
+
+    public Duration getDuration() {
+        return this.unit.getDuration();
+    }
+}
@@ -0,0 +1,7 @@
+package com.selimhorri.app.domain.enums;
+
+public enum OrderStatusEventOutcome {
+    APPLIED,
+    ALREADY_APPLIED,
+    REJECTED
+}
@@ -0,0 +1,7 @@
+package com.selimhorri.app.domain.enums;
+
+public enum OrderStatusTransitionOutcome {
+    ADVANCED,
+    SKIPPED,
+    NOT_FOUND
+}
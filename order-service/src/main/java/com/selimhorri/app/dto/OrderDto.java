@@ -46,6 +46,12 @@ public class OrderDto implements Serializable {
 	@JsonInclude(Include.NON_NULL)
 	private CartDto cartDto;
 	
+	// Proyección JPQL de la búsqueda: sin el Cart, que la entidad carga EAGER
+	public OrderDto(final Integer orderId, final LocalDateTime orderDate, final String orderDesc, final Double orderFee,
+			final OrderStatus orderStatus, final Boolean isActive) {
+		this(orderId, orderDate, orderDesc, orderFee, orderStatus, isActive, null);
+	}
+	
 }
 
 
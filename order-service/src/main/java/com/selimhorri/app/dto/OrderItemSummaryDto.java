@@ -0,0 +1,32 @@
+package com.selimhorri.app.dto;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonFormat.Shape;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Entry of shipping-service's {@code /order-summaries} feed, projected into order_view.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public class OrderItemSummaryDto implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	
+	private Integer orderId;
+	private Long itemCount;
+	private Long totalQuantity;
+	
+	@JsonFormat(shape = Shape.STRING)
+	private Instant updatedAt;
+	
+}
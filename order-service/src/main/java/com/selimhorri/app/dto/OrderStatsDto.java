@@ -0,0 +1,49 @@
+package com.selimhorri.app.dto;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+import org.springframework.format.annotation.DateTimeFormat;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonFormat.Shape;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.datatype.jsr310.deser.LocalDateTimeDeserializer;
+import com.fasterxml.jackson.datatype.jsr310.ser.LocalDateTimeSerializer;
+import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.domain.enums.OrderStatsGranularity;
+import com.selimhorri.app.domain.enums.OrderStatus;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public class OrderStatsDto implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	
+	private OrderStatsGranularity granularity;
+	
+	@JsonSerialize(using = LocalDateTimeSerializer.class)
+	@JsonDeserialize(using = LocalDateTimeDeserializer.class)
+	@JsonFormat(pattern = AppConstant.LOCAL_DATE_TIME_FORMAT, shape = Shape.STRING)
+	@DateTimeFormat(pattern = AppConstant.LOCAL_DATE_TIME_FORMAT)
+	private LocalDateTime bucketStart;
+	private OrderStatus orderStatus;
+	private Long orderCount;
+	private Double revenue;
+	
+	// Proyección JPQL de la reconstrucción: órdenes activas agrupadas por hora y estado
+	public OrderStatsDto(final Integer year, final Integer month, final Integer day, final Integer hour,
+			final OrderStatus orderStatus, final Long orderCount, final Double revenue) {
+		this(OrderStatsGranularity.HOUR, LocalDateTime.of(year, month, day, hour, 0), orderStatus, orderCount,
+				revenue == null ? 0.0 : revenue);
+	}
+	
+}
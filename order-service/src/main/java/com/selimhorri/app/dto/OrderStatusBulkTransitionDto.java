@@ -0,0 +1,24 @@
+package com.selimhorri.app.dto;
+
+import java.io.Serializable;
+import java.util.List;
+
+import com.selimhorri.app.domain.enums.OrderStatus;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public class OrderStatusBulkTransitionDto implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	
+	private List<Integer> orderIds;
+	private OrderStatus expectedStatus;
+	
+}
@@ -0,0 +1,25 @@
+package com.selimhorri.app.dto;
+
+import java.io.Serializable;
+
+import com.selimhorri.app.domain.enums.OrderStatus;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public class OrderStatusEventDto implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	
+	private String eventId;
+	private Integer orderId;
+	private OrderStatus fromStatus;
+	private OrderStatus toStatus;
+	
+}
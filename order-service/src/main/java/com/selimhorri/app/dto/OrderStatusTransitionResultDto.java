@@ -0,0 +1,26 @@
+package com.selimhorri.app.dto;
+
+import java.io.Serializable;
+
+import com.selimhorri.app.domain.enums.OrderStatus;
+import com.selimhorri.app.domain.enums.OrderStatusTransitionOutcome;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public class OrderStatusTransitionResultDto implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	
+	private Integer orderId;
+	private OrderStatusTransitionOutcome outcome;
+	// Estado tras la operación; null si la orden no existe o está inactiva
+	private OrderStatus orderStatus;
+	
+}
@@ -0,0 +1,33 @@
+package com.selimhorri.app.dto;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonFormat.Shape;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Entry of payment-service's {@code /changes} feed, projected into order_view.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public class PaymentChangeDto implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	
+	private Integer paymentId;
+	private Integer orderId;
+	private String paymentStatus;
+	private Boolean isPayed;
+	
+	@JsonFormat(shape = Shape.STRING)
+	private Instant updatedAt;
+	
+}
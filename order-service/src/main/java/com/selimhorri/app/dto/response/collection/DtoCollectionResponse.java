@@ -1,6 +1,12 @@
 package com.selimhorri.app.dto.response.collection;
 
 import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
 
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -13,8 +19,48 @@ import lombok.NoArgsConstructor;
 @Builder
 public class DtoCollectionResponse<T> {
 	
+	public static final int DEFAULT_PAGE_LIMIT = 50;
+	public static final int MAX_PAGE_LIMIT = 500;
+	
 	private Collection<T> collection;
 	
+	// Id a pasar como ?after= para la siguiente página; null en la última
+	@JsonInclude(Include.NON_NULL)
+	private Integer nextCursor;
+	
+	public DtoCollectionResponse(final Collection<T> collection) {
+		this.collection = collection;
+	}
+	
+	public static int pageLimit(final Integer limit) {
+		if (limit == null)
+			return DEFAULT_PAGE_LIMIT;
+		if (limit <= 0)
+			throw new IllegalArgumentException("Page limit must be greater than zero");
+		return Math.min(limit, MAX_PAGE_LIMIT);
+	}
+	
+	/**
+	 * Builds a keyset page from {@code rows}, fetched with {@code limit + 1} so the
+	 * extra row only tells whether a next page exists.
+	 */
+	public static <T> DtoCollectionResponse<T> page(final List<T> rows, final int limit,
+			final Function<T, Integer> cursorOf) {
+		return page(rows, limit, cursorOf, UnaryOperator.identity());
+	}
+	
+	/**
+	 * Same as {@link #page(List, int, Function)}; {@code finisher} may enrich or drop
+	 * rows of the page without moving the cursor.
+	 */
+	public static <T> DtoCollectionResponse<T> page(final List<T> rows, final int limit,
+			final Function<T, Integer> cursorOf, final UnaryOperator<List<T>> finisher) {
+		final boolean hasMore = rows.size() > limit;
+		final List<T> pageRows = hasMore ? rows.subList(0, limit) : rows;
+		final Integer nextCursor = hasMore ? cursorOf.apply(pageRows.get(limit - 1)) : null;
+		return new DtoCollectionResponse<>(finisher.apply(pageRows), nextCursor);
+	}
+	
 }
 
 
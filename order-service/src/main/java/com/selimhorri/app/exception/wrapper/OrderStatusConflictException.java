@@ -0,0 +1,35 @@
+package com.selimhorri.app.exception.wrapper;
+
+public class OrderStatusConflictException extends RuntimeException {
+	
+	private static final long serialVersionUID = 1L;
+	
+	public OrderStatusConflictException() {
+		super();
+	}
+	
+	public OrderStatusConflictException(String message, Throwable cause) {
+		super(message, cause);
+	}
+	
+	public OrderStatusConflictException(String message) {
+		super(message);
+	}
+	
+	public OrderStatusConflictException(Throwable cause) {
+		super(cause);
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,28 @@
+package com.selimhorri.app.helper;
+
+import com.selimhorri.app.domain.OrderStats;
+import com.selimhorri.app.dto.OrderStatsDto;
+
+public interface OrderStatsMappingHelper {
+	
+	public static OrderStatsDto map(final OrderStats orderStats) {
+		return OrderStatsDto.builder()
+				.granularity(orderStats.getGranularity())
+				.bucketStart(orderStats.getBucketStart())
+				.orderStatus(orderStats.getOrderStatus())
+				.orderCount(orderStats.getOrderCount())
+				.revenue(orderStats.getRevenue())
+				.build();
+	}
+	
+	public static OrderStats map(final OrderStatsDto orderStatsDto) {
+		return OrderStats.builder()
+				.granularity(orderStatsDto.getGranularity())
+				.bucketStart(orderStatsDto.getBucketStart())
+				.orderStatus(orderStatsDto.getOrderStatus())
+				.orderCount(orderStatsDto.getOrderCount())
+				.revenue(orderStatsDto.getRevenue())
+				.build();
+	}
+	
+}
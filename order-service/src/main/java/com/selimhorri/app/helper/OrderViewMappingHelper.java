@@ -0,0 +1,41 @@
+package com.selimhorri.app.helper;
+
+import com.selimhorri.app.domain.Order;
+import com.selimhorri.app.domain.OrderView;
+import com.selimhorri.app.dto.OrderViewDto;
+
+public interface OrderViewMappingHelper {
+	
+	public static OrderViewDto map(final OrderView orderView) {
+		return OrderViewDto.builder()
+				.orderId(orderView.getOrderId())
+				.userId(orderView.getUserId())
+				.orderDate(orderView.getOrderDate())
+				.orderDesc(orderView.getOrderDesc())
+				.orderFee(orderView.getOrderFee())
+				.orderStatus(orderView.getOrderStatus())
+				.isActive(orderView.getIsActive())
+				.paymentId(orderView.getPaymentId())
+				.paymentStatus(orderView.getPaymentStatus())
+				.isPayed(orderView.getIsPayed())
+				.itemCount(orderView.getItemCount())
+				.totalQuantity(orderView.getTotalQuantity())
+				.updatedAt(orderView.getOrderUpdatedAt())
+				.build();
+	}
+	
+	// Solo los campos propios de la orden; pago y ítems llegan por sus propios feeds
+	public static OrderViewDto map(final Order order) {
+		return OrderViewDto.builder()
+				.orderId(order.getOrderId())
+				.userId(order.getCart() == null ? null : order.getCart().getUserId())
+				.orderDate(order.getOrderDate())
+				.orderDesc(order.getOrderDesc())
+				.orderFee(order.getOrderFee())
+				.orderStatus(order.getStatus())
+				.isActive(order.isActive())
+				.updatedAt(order.getUpdatedAt())
+				.build();
+	}
+	
+}
@@ -1,9 +1,19 @@
 package com.selimhorri.app.repository;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import javax.persistence.LockModeType;
+import javax.transaction.Transactional;
+
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.selimhorri.app.domain.Cart;
 
@@ -11,6 +21,38 @@ public interface CartRepository extends JpaRepository<Cart, Integer> {
 
     List<Cart> findAllByIsActiveTrue();
 
+    List<Cart> findByIsActiveTrueAndCartIdGreaterThanOrderByCartIdAsc(Integer after, Pageable pageable);
+
     Optional<Cart> findByCartIdAndIsActiveTrue(Integer cartId);
 
+    // Carrito actual del usuario: el activo más reciente, resuelto por idx_carts_user_id_is_active
+    Optional<Cart> findFirstByUserIdAndIsActiveTrueOrderByCartIdDesc(Integer userId);
+
+    @Query("SELECT c.userId FROM Cart c WHERE c.cartId = :cartId AND c.isActive = true")
+    Optional<Integer> findOwnerIdByCartId(@Param("cartId") Integer cartId);
+
+    // Archivado: carts inactivos sin órdenes en la tabla caliente (la FK las dejaría sin cart).
+    // Candidatos sin bloqueo, por idx_carts_is_active_updated_at
+    @Query("SELECT c.cartId FROM Cart c WHERE c.isActive = false AND c.updatedAt < :cutoff "
+            + "AND NOT EXISTS (SELECT o.orderId FROM Order o WHERE o.cart = c) ORDER BY c.updatedAt ASC, c.cartId ASC")
+    List<Integer> findArchivableIds(@Param("cutoff") Instant cutoff, Pageable pageable);
+
+    // Bloquea sólo esos carts por PK; la subconsulta sobre orders no bloquea
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c.cartId FROM Cart c WHERE c.cartId IN :cartIds AND c.isActive = false AND c.updatedAt < :cutoff "
+            + "AND NOT EXISTS (SELECT o.orderId FROM Order o WHERE o.cart = c)")
+    List<Integer> lockArchivable(@Param("cartIds") Collection<Integer> cartIds, @Param("cutoff") Instant cutoff);
+
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO carts_archive (cart_id, user_id, is_active, created_at, updated_at, archived_at) "
+            + "SELECT cart_id, user_id, is_active, created_at, updated_at, :now FROM carts WHERE cart_id IN (:cartIds)",
+            nativeQuery = true)
+    int copyToArchive(@Param("cartIds") Collection<Integer> cartIds, @Param("now") Instant now);
+
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("DELETE FROM Cart c WHERE c.cartId IN :cartIds AND c.isActive = false")
+    int deleteArchived(@Param("cartIds") Collection<Integer> cartIds);
+
 }
\ No newline at end of file
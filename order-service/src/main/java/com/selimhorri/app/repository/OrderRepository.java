@@ -1,17 +1,129 @@
 package com.selimhorri.app.repository;
 
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import javax.persistence.LockModeType;
+import javax.transaction.Transactional;
+
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.selimhorri.app.domain.Order;
+import com.selimhorri.app.domain.enums.OrderStatus;
+import com.selimhorri.app.dto.OrderDto;
+import com.selimhorri.app.dto.OrderStatsDto;
+import com.selimhorri.app.dto.OrderStatusChangeDto;
 
 public interface OrderRepository extends JpaRepository<Order, Integer> {
 
     List<Order> findAllByIsActiveTrue();
 
+    // Keyset: siguiente página a partir del último orderId devuelto
+    List<Order> findByIsActiveTrueAndOrderIdGreaterThanOrderByOrderIdAsc(Integer after, Pageable pageable);
+
+    List<Order> findAllByOrderIdInAndIsActiveTrue(Collection<Integer> orderIds);
+
     // Método para encontrar una orden por ID solo si está activa
     Optional<Order> findByOrderIdAndIsActiveTrue(Integer orderId);
 
+    // Búsqueda por estado y rango de fechas, más recientes primero, en el orden de idx_orders_status_order_date
+    @Query("SELECT new com.selimhorri.app.dto.OrderDto(o.orderId, o.orderDate, o.orderDesc, o.orderFee, o.status, "
+            + "o.isActive) FROM Order o WHERE o.status = :status AND o.isActive = true "
+            + "AND o.orderDate >= :from AND o.orderDate < :to "
+            + "AND (o.orderDate < :beforeDate OR (o.orderDate = :beforeDate AND o.orderId < :beforeId)) "
+            + "ORDER BY o.orderDate DESC, o.orderId DESC")
+    List<OrderDto> search(@Param("status") OrderStatus status, @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to, @Param("beforeDate") LocalDateTime beforeDate,
+            @Param("beforeId") Integer beforeId, Pageable pageable);
+
+    @Query("SELECT o.orderDate FROM Order o WHERE o.orderId = :orderId")
+    Optional<LocalDateTime> findOrderDateByOrderId(@Param("orderId") Integer orderId);
+
+    @Query("SELECT o.cart.userId FROM Order o WHERE o.orderId = :orderId AND o.isActive = true")
+    Optional<Integer> findOwnerIdByOrderId(@Param("orderId") Integer orderId);
+
+    // Compare-and-set: 0 filas si la orden ya no está en el estado esperado (o está inactiva)
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Order o SET o.status = :next, o.version = o.version + 1, o.updatedAt = :now "
+            + "WHERE o.orderId = :orderId AND o.status = :expected AND o.isActive = true")
+    int transitionStatus(@Param("orderId") Integer orderId, @Param("expected") OrderStatus expected,
+            @Param("next") OrderStatus next, @Param("now") Instant now);
+
+    // Estado actual de un lote de órdenes activas; las filas quedan bloqueadas hasta el UPDATE masivo
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT new com.selimhorri.app.dto.OrderStatusChangeDto(o.orderId, o.status, o.isActive, o.updatedAt) "
+            + "FROM Order o WHERE o.orderId IN :orderIds AND o.isActive = true")
+    List<OrderStatusChangeDto> findStatusesForUpdate(@Param("orderIds") Collection<Integer> orderIds);
+
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Order o SET o.status = :next, o.version = o.version + 1, o.updatedAt = :now "
+            + "WHERE o.orderId IN :orderIds AND o.status = :expected AND o.isActive = true")
+    int transitionStatuses(@Param("orderIds") Collection<Integer> orderIds, @Param("expected") OrderStatus expected,
+            @Param("next") OrderStatus next, @Param("now") Instant now);
+
+    @Query("SELECT o.status FROM Order o WHERE o.orderId = :orderId AND o.isActive = true")
+    Optional<OrderStatus> findStatusByOrderId(@Param("orderId") Integer orderId);
+
+    // Estado de todas las órdenes (incluidas las inactivas) por orderId, para la carga inicial de réplicas
+    @Query("SELECT new com.selimhorri.app.dto.OrderStatusChangeDto(o.orderId, o.status, o.isActive, o.updatedAt) "
+            + "FROM Order o WHERE o.orderId > :after ORDER BY o.orderId ASC")
+    List<OrderStatusChangeDto> findStatusesAfter(@Param("after") Integer after, Pageable pageable);
+
+    // Cambios posteriores a (since, after), en el orden del índice (updated_at, order_id)
+    @Query("SELECT new com.selimhorri.app.dto.OrderStatusChangeDto(o.orderId, o.status, o.isActive, o.updatedAt) "
+            + "FROM Order o WHERE o.updatedAt > :since OR (o.updatedAt = :since AND o.orderId > :after) "
+            + "ORDER BY o.updatedAt ASC, o.orderId ASC")
+    List<OrderStatusChangeDto> findStatusChangesSince(@Param("since") Instant since, @Param("after") Integer after,
+            Pageable pageable);
+
+    // Archivado: candidatas sin bloqueo, por idx_orders_is_active_updated_at
+    @Query("SELECT o.orderId FROM Order o WHERE o.isActive = false AND o.updatedAt < :cutoff "
+            + "ORDER BY o.updatedAt ASC, o.orderId ASC")
+    List<Integer> findArchivableIds(@Param("cutoff") Instant cutoff, Pageable pageable);
+
+    // Bloquea sólo esas filas por PK y descarta las reactivadas entre medias
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT o.orderId FROM Order o WHERE o.orderId IN :orderIds AND o.isActive = false AND o.updatedAt < :cutoff")
+    List<Integer> lockArchivable(@Param("orderIds") Collection<Integer> orderIds, @Param("cutoff") Instant cutoff);
+
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO orders_archive (order_id, cart_id, order_date, order_desc, order_fee, is_active, status, "
+            + "version, created_at, updated_at, archived_at) SELECT order_id, cart_id, order_date, order_desc, order_fee, "
+            + "is_active, status, version, created_at, updated_at, :now FROM orders WHERE order_id IN (:orderIds)",
+            nativeQuery = true)
+    int copyToArchive(@Param("orderIds") Collection<Integer> orderIds, @Param("now") Instant now);
+
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("DELETE FROM Order o WHERE o.orderId IN :orderIds AND o.isActive = false")
+    int deleteArchived(@Param("orderIds") Collection<Integer> orderIds);
+
+    // Reconstrucción de order_stats: órdenes activas agregadas en la base por hora de creación y estado
+    @Query("SELECT new com.selimhorri.app.dto.OrderStatsDto(YEAR(o.orderDate), MONTH(o.orderDate), DAY(o.orderDate), "
+            + "HOUR(o.orderDate), o.status, COUNT(o), SUM(o.orderFee)) FROM Order o "
+            + "WHERE o.isActive = true AND o.orderDate IS NOT NULL "
+            + "GROUP BY YEAR(o.orderDate), MONTH(o.orderDate), DAY(o.orderDate), HOUR(o.orderDate), o.status")
+    List<OrderStatsDto> aggregateActiveByHourAndStatus();
+
+    // Órdenes con su cart (dueño) para proyectar order_view: carga inicial por orderId
+    @Query("SELECT o FROM Order o LEFT JOIN FETCH o.cart WHERE o.orderId > :after ORDER BY o.orderId ASC")
+    List<Order> findWithCartAfter(@Param("after") Integer after, Pageable pageable);
+
+    @Query("SELECT o FROM Order o LEFT JOIN FETCH o.cart "
+            + "WHERE o.updatedAt > :since OR (o.updatedAt = :since AND o.orderId > :after) "
+            + "ORDER BY o.updatedAt ASC, o.orderId ASC")
+    List<Order> findWithCartChangedSince(@Param("since") Instant since, @Param("after") Integer after,
+            Pageable pageable);
+
 }
@@ -0,0 +1,41 @@
+package com.selimhorri.app.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import javax.transaction.Transactional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.selimhorri.app.domain.OrderStats;
+import com.selimhorri.app.domain.OrderStatsId;
+import com.selimhorri.app.domain.enums.OrderStatsGranularity;
+
+public interface OrderStatsRepository extends JpaRepository<OrderStats, OrderStatsId> {
+	
+	// Upsert en la transacción de la orden: el contador y el cambio que lo origina se confirman juntos,
+	// y la primera orden del bucket crea la fila sin un UPDATE previo que deje un gap lock
+	@Transactional
+	@Modifying
+	@Query(value = "INSERT INTO order_stats (granularity, bucket_start, order_status, order_count, revenue) "
+			+ "VALUES (:granularity, :bucketStart, :orderStatus, :count, :revenue) "
+			+ "ON DUPLICATE KEY UPDATE order_count = order_count + :count, revenue = revenue + :revenue",
+			nativeQuery = true)
+	int increment(@Param("granularity") final String granularity,
+			@Param("bucketStart") final LocalDateTime bucketStart, @Param("orderStatus") final String orderStatus,
+			@Param("count") final long count, @Param("revenue") final double revenue);
+	
+	@Query("SELECT s FROM OrderStats s WHERE s.granularity = :granularity AND s.bucketStart >= :from "
+			+ "AND s.bucketStart < :to AND s.orderCount <> 0 ORDER BY s.bucketStart ASC, s.orderStatus ASC")
+	List<OrderStats> findRange(@Param("granularity") final OrderStatsGranularity granularity,
+			@Param("from") final LocalDateTime from, @Param("to") final LocalDateTime to);
+	
+	@Transactional
+	@Modifying
+	@Query("DELETE FROM OrderStats s")
+	int deleteAllBuckets();
+	
+}
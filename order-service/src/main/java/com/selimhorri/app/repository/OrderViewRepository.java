@@ -0,0 +1,31 @@
+package com.selimhorri.app.repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.selimhorri.app.domain.OrderView;
+
+public interface OrderViewRepository extends JpaRepository<OrderView, Integer> {
+	
+	// Historial del cliente en el orden del índice (user_id, order_id)
+	@Query("SELECT v FROM OrderView v WHERE v.userId = :userId AND v.orderId > :after AND v.isActive = true "
+			+ "ORDER BY v.orderId ASC")
+	List<OrderView> findActiveByUserId(@Param("userId") final Integer userId, @Param("after") final Integer after,
+			final Pageable pageable);
+	
+	@Query("SELECT MAX(v.orderUpdatedAt) FROM OrderView v")
+	Optional<Instant> findOrderWatermark();
+	
+	@Query("SELECT MAX(v.paymentUpdatedAt) FROM OrderView v")
+	Optional<Instant> findPaymentWatermark();
+	
+	@Query("SELECT MAX(v.itemsUpdatedAt) FROM OrderView v")
+	Optional<Instant> findItemsWatermark();
+	
+}
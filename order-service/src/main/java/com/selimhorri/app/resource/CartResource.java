@@ -12,6 +12,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.selimhorri.app.dto.CartDto;
@@ -30,9 +31,13 @@ public class CartResource {
 	private final CartService cartService;
 
 	@GetMapping
-	public ResponseEntity<DtoCollectionResponse<CartDto>> findAll() {
+	public ResponseEntity<DtoCollectionResponse<CartDto>> findAll(
+			@RequestParam(value = "after", required = false) final Integer after,
+			@RequestParam(value = "limit", required = false) final Integer limit) {
 		log.info("*** CartDto List, controller; fetch all categories *");
-		return ResponseEntity.ok(new DtoCollectionResponse<>(this.cartService.findAll()));
+		if (after == null && limit == null)
+			return ResponseEntity.ok(new DtoCollectionResponse<>(this.cartService.findAll()));
+		return ResponseEntity.ok(this.cartService.findPage(after, DtoCollectionResponse.pageLimit(limit)));
 	}
 
 	@GetMapping("/{cartId}")
@@ -42,6 +47,20 @@ public class CartResource {
 		return ResponseEntity.ok(this.cartService.findById(Integer.parseInt(cartId)));
 	}
 
+	@GetMapping("/user/{userId}/active")
+	public ResponseEntity<CartDto> findActiveByUserId(
+			@PathVariable("userId") @NotBlank(message = "Input must not be blank") @Valid final String userId) {
+		log.info("*** CartDto, resource; fetch active cart of user *");
+		return ResponseEntity.ok(this.cartService.findActiveByUserId(Integer.parseInt(userId)));
+	}
+
+	@GetMapping("/{cartId}/owner")
+	public ResponseEntity<Integer> findOwnerId(
+			@PathVariable("cartId") @NotBlank(message = "Input must not be blank") @Valid final String cartId) {
+		log.info("*** Integer, resource; fetch owner of cart *");
+		return ResponseEntity.ok(this.cartService.findOwnerId(Integer.parseInt(cartId)));
+	}
+
 	@PostMapping
 	public ResponseEntity<CartDto> save(
 			@RequestBody @NotNull(message = "Input must not be NULL!") @Valid final CartDto cartDto) {
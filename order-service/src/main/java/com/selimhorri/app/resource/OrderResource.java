@@ -1,9 +1,14 @@
 package com.selimhorri.app.resource;
 
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+
 import javax.validation.Valid;
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
 
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -12,13 +17,26 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.selimhorri.app.domain.enums.OrderStatsGranularity;
 import com.selimhorri.app.domain.enums.OrderStatus;
 import com.selimhorri.app.dto.OrderDto;
+import com.selimhorri.app.dto.OrderStatsDto;
+import com.selimhorri.app.dto.OrderStatusBulkTransitionDto;
+import com.selimhorri.app.dto.OrderStatusChangeDto;
+import com.selimhorri.app.dto.OrderStatusEventDto;
+import com.selimhorri.app.dto.OrderStatusEventResultDto;
+import com.selimhorri.app.dto.OrderStatusTransitionResultDto;
+import com.selimhorri.app.dto.OrderViewDto;
 import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
+import com.selimhorri.app.service.IdempotencyService;
 import com.selimhorri.app.service.OrderService;
+import com.selimhorri.app.service.OrderStatsService;
+import com.selimhorri.app.service.OrderViewService;
 
 import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
@@ -31,12 +49,89 @@ import lombok.extern.slf4j.Slf4j;
 public class OrderResource {
 
 	private final OrderService orderService;
+	private final OrderViewService orderViewService;
+	private final OrderStatsService orderStatsService;
+	private final IdempotencyService idempotencyService;
 	private final MeterRegistry meterRegistry;
 
 	@GetMapping
-	public ResponseEntity<DtoCollectionResponse<OrderDto>> findAll() {
+	public ResponseEntity<DtoCollectionResponse<OrderDto>> findAll(
+			@RequestParam(value = "after", required = false) final Integer after,
+			@RequestParam(value = "limit", required = false) final Integer limit) {
 		log.info("*** OrderDto List, controller; fetch all orders *");
-		return ResponseEntity.ok(new DtoCollectionResponse<>(this.orderService.findAll()));
+		if (after == null && limit == null)
+			return ResponseEntity.ok(new DtoCollectionResponse<>(this.orderService.findAll()));
+		return ResponseEntity.ok(this.orderService.findPage(after, DtoCollectionResponse.pageLimit(limit)));
+	}
+
+	@GetMapping(params = "ids")
+	public ResponseEntity<DtoCollectionResponse<OrderDto>> findAllByIds(
+			@RequestParam("ids") final List<Integer> orderIds) {
+		log.info("*** OrderDto List, controller; fetch orders by ids *");
+		return ResponseEntity.ok(new DtoCollectionResponse<>(this.orderService.findAllByIds(orderIds)));
+	}
+
+	/**
+	 * Status feed for local replicas: without {@code since} it walks every order by id
+	 * (catch-up), with it only the orders changed after {@code (since, after)}.
+	 */
+	@GetMapping("/status-changes")
+	public ResponseEntity<DtoCollectionResponse<OrderStatusChangeDto>> findStatusChanges(
+			@RequestParam(value = "since", required = false) final Instant since,
+			@RequestParam(value = "after", required = false) final Integer after,
+			@RequestParam(value = "limit", required = false) final Integer limit) {
+		log.info("*** OrderStatusChangeDto List, controller; fetch order status changes *");
+		return ResponseEntity.ok(this.orderService.findStatusChanges(since, after, DtoCollectionResponse.pageLimit(limit)));
+	}
+
+	/**
+	 * Active orders in {@code status} placed in {@code [from, to)}, newest first.
+	 * {@code cursor} is the nextCursor of the previous page.
+	 */
+	@GetMapping("/search")
+	public ResponseEntity<DtoCollectionResponse<OrderDto>> search(
+			@RequestParam("status") final OrderStatus status,
+			@RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) final LocalDateTime from,
+			@RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) final LocalDateTime to,
+			@RequestParam(value = "cursor", required = false) final Integer cursor,
+			@RequestParam(value = "limit", required = false) final Integer limit) {
+		log.info("*** OrderDto List, controller; search orders *");
+		return ResponseEntity.ok(this.orderService.search(status, from, to, cursor, DtoCollectionResponse.pageLimit(limit)));
+	}
+
+	/**
+	 * Orders placed and revenue per {@code granularity} bucket (HOUR by default) and
+	 * status, read from the order_stats rollups. {@code from} and {@code to} are ISO
+	 * date-times, {@code to} exclusive.
+	 */
+	@GetMapping("/stats")
+	public ResponseEntity<DtoCollectionResponse<OrderStatsDto>> findStats(
+			@RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) final LocalDateTime from,
+			@RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) final LocalDateTime to,
+			@RequestParam(value = "granularity", required = false) final OrderStatsGranularity granularity) {
+		log.info("*** OrderStatsDto List, controller; fetch order stats *");
+		return ResponseEntity.ok(new DtoCollectionResponse<>(this.orderStatsService.findStats(from, to, granularity)));
+	}
+
+	// Backfill de order_stats a partir de la tabla orders; devuelve los buckets escritos
+	@PostMapping("/stats/rebuild")
+	public ResponseEntity<Integer> rebuildStats() {
+		log.info("*** Integer, controller; rebuild order stats *");
+		return ResponseEntity.ok(this.orderStatsService.rebuild());
+	}
+
+	/**
+	 * Order history of a customer served from the order_view read model: order,
+	 * payment and item totals in one indexed query, eventually consistent with
+	 * payment-service and shipping-service.
+	 */
+	@GetMapping("/view")
+	public ResponseEntity<DtoCollectionResponse<OrderViewDto>> findViewsByUserId(
+			@RequestParam("userId") final Integer userId,
+			@RequestParam(value = "after", required = false) final Integer after,
+			@RequestParam(value = "limit", required = false) final Integer limit) {
+		log.info("*** OrderViewDto List, controller; fetch order views by userId *");
+		return ResponseEntity.ok(this.orderViewService.findByUserId(userId, after, DtoCollectionResponse.pageLimit(limit)));
 	}
 
 	@GetMapping("/{orderId}")
@@ -46,19 +141,60 @@ public class OrderResource {
 		return ResponseEntity.ok(this.orderService.findById(Integer.parseInt(orderId)));
 	}
 
+	@GetMapping("/{orderId}/owner")
+	public ResponseEntity<Integer> findOwnerId(
+			@PathVariable("orderId") @NotBlank(message = "Input must not be blank") @Valid final String orderId) {
+		log.info("*** Integer, resource; fetch owner of order *");
+		return ResponseEntity.ok(this.orderService.findOwnerId(Integer.parseInt(orderId)));
+	}
+
+	/**
+	 * With an {@code Idempotency-Key} header a retried POST gets the response of the
+	 * first one back instead of creating another order.
+	 */
 	@PostMapping
 	public ResponseEntity<OrderDto> save(
+			@RequestHeader(value = "Idempotency-Key", required = false) final String idempotencyKey,
 			@RequestBody @NotNull(message = "Input must not be NULL") @Valid final OrderDto orderDto) {
 		log.info("*** OrderDto, resource; save order *");
-		this.meterRegistry.counter("orders.placed").increment();
-		return ResponseEntity.ok(this.orderService.save(orderDto));
+		return ResponseEntity.ok(this.idempotencyService.execute("orders", idempotencyKey, orderDto, OrderDto.class, () -> {
+			this.meterRegistry.counter("orders.placed").increment();
+			return this.orderService.save(orderDto);
+		}));
 	}
 
+	/**
+	 * Advances the order to its next status. With {@code expected} the transition only
+	 * applies if the order is still in that status (409 otherwise); without it a
+	 * transition that loses a race is retried against the new status.
+	 */
 	@PatchMapping("/{orderId}/status")
 	public ResponseEntity<OrderDto> updateStatus(
-			@PathVariable("orderId") @NotBlank(message = "Input must not be blank") @Valid final int orderId) {
+			@PathVariable("orderId") @NotBlank(message = "Input must not be blank") @Valid final int orderId,
+			@RequestParam(value = "expected", required = false) final OrderStatus expected) {
 		log.info("*** OrderDto, resource; update order *");
-		return ResponseEntity.ok(this.orderService.updateStatus(orderId));
+		return ResponseEntity.ok(expected == null
+				? this.orderService.updateStatus(orderId)
+				: this.orderService.updateStatus(orderId, expected));
+	}
+
+	/**
+	 * Moves every listed order that is still in {@code expectedStatus} to the next status
+	 * with one set-based update; the result says per order whether it advanced, was
+	 * skipped (another status) or was not found.
+	 */
+	@PatchMapping("/status")
+	public ResponseEntity<List<OrderStatusTransitionResultDto>> updateStatuses(
+			@RequestBody @NotNull(message = "Input must not be NULL") @Valid final OrderStatusBulkTransitionDto transition) {
+		log.info("*** OrderStatusTransitionResultDto List, resource; bulk update order status *");
+		return ResponseEntity.ok(this.orderService.updateStatuses(transition.getOrderIds(), transition.getExpectedStatus()));
+	}
+
+	@PostMapping("/status-events")
+	public ResponseEntity<List<OrderStatusEventResultDto>> applyStatusEvents(
+			@RequestBody @NotNull(message = "Input must not be NULL") @Valid final List<OrderStatusEventDto> events) {
+		log.info("*** OrderStatusEventResultDto List, resource; apply order status events *");
+		return ResponseEntity.ok(this.orderService.applyStatusEvents(events));
 	}
 
 	@PutMapping("/{orderId}")
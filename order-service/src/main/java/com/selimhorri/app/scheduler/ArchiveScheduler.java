@@ -0,0 +1,71 @@
+package com.selimhorri.app.scheduler;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.function.IntSupplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.selimhorri.app.service.ArchiveService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Archives the orders (then the carts left without orders) that have been
+ * inactive for longer than the retention. Each run moves at most
+ * {@code max-batches-per-run} batches with a pause between them, so the hot
+ * tables and the shared scheduler thread are never held for long; a backlog is
+ * worked off over the following runs.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class ArchiveScheduler {
+	
+	private final ArchiveService archiveService;
+	
+	@Value("${app.archive.retention:90d}")
+	private Duration retention;
+	
+	@Value("${app.archive.batch-size:200}")
+	private int batchSize;
+	
+	@Value("${app.archive.max-batches-per-run:10}")
+	private int maxBatchesPerRun;
+	
+	@Value("${app.archive.batch-pause:100ms}")
+	private Duration batchPause;
+	
+	@Scheduled(fixedDelayString = "${app.archive.interval:600000}",
+			initialDelayString = "${app.archive.interval:600000}")
+	public void archive() {
+		final Instant cutoff = Instant.now().minus(this.retention);
+		this.drain("orders", () -> this.archiveService.archiveOrders(cutoff, this.batchSize));
+		this.drain("carts", () -> this.archiveService.archiveCarts(cutoff, this.batchSize));
+	}
+	
+	private void drain(final String table, final IntSupplier batch) {
+		int archived = 0;
+		try {
+			for (int run = 0; run < this.maxBatchesPerRun; run++) {
+				final int moved = batch.getAsInt();
+				archived += moved;
+				if (moved < this.batchSize)
+					break;
+				Thread.sleep(this.batchPause.toMillis());
+			}
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		catch (RuntimeException e) {
+			log.warn("Archiving {} failed, retrying on the next run: {}", table, e.getMessage());
+		}
+		if (archived > 0)
+			log.info("Archived {} inactive {}", archived, table);
+	}
+	
+}
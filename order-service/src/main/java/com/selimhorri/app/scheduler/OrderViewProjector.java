@@ -0,0 +1,182 @@
+package com.selimhorri.app.scheduler;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+
+import javax.annotation.PostConstruct;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpMethod;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.dto.OrderItemSummaryDto;
+import com.selimhorri.app.dto.OrderViewDto;
+import com.selimhorri.app.dto.PaymentChangeDto;
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
+import com.selimhorri.app.service.OrderViewService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps order_view in step with its three sources: the local orders, the
+ * payment-service {@code /changes} feed and the shipping-service
+ * {@code /order-summaries} feed. Each source is pulled incrementally from its own
+ * watermark (minus an overlap, re-applying is harmless), read back from order_view
+ * on startup; only a source with nothing projected yet is caught up by id.
+ * A source that is down only delays its own columns.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class OrderViewProjector {
+	
+	private static final String PAYMENT_CHANGES_URL = AppConstant.DiscoveredDomainsApi.PAYMENT_SERVICE_API_URL
+			+ "/changes";
+	private static final String ORDER_ITEM_SUMMARIES_URL = AppConstant.DiscoveredDomainsApi.SHIPPING_SERVICE_API_URL
+			+ "/order-summaries";
+	
+	private final OrderViewService orderViewService;
+	private final RestTemplate restTemplate;
+	
+	@Value("${app.order-view.page-size:500}")
+	private int pageSize;
+	
+	@Value("${app.order-view.overlap:10s}")
+	private Duration overlap;
+	
+	private List<Feed<?>> feeds;
+	
+	@PostConstruct
+	public void initFeeds() {
+		this.feeds = List.of(
+				new Feed<OrderViewDto>("orders",
+						(since, after) -> this.orderViewService.findOrderChanges(since, after, this.pageSize),
+						this.orderViewService::applyOrders,
+						this.orderViewService::findOrderWatermark,
+						OrderViewDto::getOrderId, OrderViewDto::getUpdatedAt),
+				new Feed<PaymentChangeDto>("payments",
+						(since, after) -> this.fetch(PAYMENT_CHANGES_URL, since, after,
+								new ParameterizedTypeReference<DtoCollectionResponse<PaymentChangeDto>>() {}),
+						this.orderViewService::applyPayments,
+						this.orderViewService::findPaymentWatermark,
+						PaymentChangeDto::getPaymentId, PaymentChangeDto::getUpdatedAt),
+				new Feed<OrderItemSummaryDto>("order items",
+						(since, after) -> this.fetch(ORDER_ITEM_SUMMARIES_URL, since, after,
+								new ParameterizedTypeReference<DtoCollectionResponse<OrderItemSummaryDto>>() {}),
+						this.orderViewService::applyItemSummaries,
+						this.orderViewService::findItemsWatermark,
+						OrderItemSummaryDto::getOrderId, OrderItemSummaryDto::getUpdatedAt));
+	}
+	
+	@EventListener(ApplicationReadyEvent.class)
+	public void catchUpOnStartup() {
+		this.project();
+	}
+	
+	@Scheduled(fixedDelayString = "${app.order-view.interval:5000}",
+			initialDelayString = "${app.order-view.interval:5000}")
+	public synchronized void project() {
+		this.feeds.forEach(Feed::sync);
+	}
+	
+	private <T> DtoCollectionResponse<T> fetch(final String url, final Instant since, final Integer after,
+			final ParameterizedTypeReference<DtoCollectionResponse<T>> responseType) {
+		final String query = (since == null ? "?" : "?since=" + since + "&") + "after=" + after + "&limit="
+				+ this.pageSize;
+		return this.restTemplate.exchange(url + query, HttpMethod.GET, null, responseType).getBody();
+	}
+	
+	private final class Feed<T> {
+		
+		private final String name;
+		private final BiFunction<Instant, Integer, DtoCollectionResponse<T>> fetcher;
+		private final ToIntFunction<List<T>> applier;
+		private final Supplier<Optional<Instant>> storedWatermark;
+		private final Function<T, Integer> cursorOf;
+		private final Function<T, Instant> updatedAtOf;
+		private Instant watermark;
+		
+		private Feed(final String name, final BiFunction<Instant, Integer, DtoCollectionResponse<T>> fetcher,
+				final ToIntFunction<List<T>> applier, final Supplier<Optional<Instant>> storedWatermark,
+				final Function<T, Integer> cursorOf, final Function<T, Instant> updatedAtOf) {
+			this.name = name;
+			this.fetcher = fetcher;
+			this.applier = applier;
+			this.storedWatermark = storedWatermark;
+			this.cursorOf = cursorOf;
+			this.updatedAtOf = updatedAtOf;
+		}
+		
+		private void sync() {
+			try {
+				// Tras un reinicio se sigue desde la posición guardada en order_view
+				if (this.watermark == null)
+					this.watermark = this.storedWatermark.get().orElse(null);
+				if (this.watermark == null)
+					this.catchUp();
+				else
+					this.pullChanges();
+			}
+			catch (RuntimeException e) {
+				log.warn("Order view sync of {} failed, retrying on the next run: {}", this.name, e.getMessage());
+			}
+		}
+		
+		private void catchUp() {
+			int applied = 0;
+			Integer after = 0;
+			do {
+				final DtoCollectionResponse<T> page = this.fetcher.apply(null, after);
+				applied += this.applier.applyAsInt(this.rowsOf(page));
+				after = page == null ? null : page.getNextCursor();
+			} while (after != null);
+			
+			this.watermark = this.storedWatermark.get().orElse(Instant.EPOCH);
+			log.info("Order view caught up with {}: {} changes applied, watermark {}", this.name, applied,
+					this.watermark);
+		}
+		
+		private void pullChanges() {
+			Instant since = this.watermark.minus(OrderViewProjector.this.overlap);
+			Integer after = 0;
+			while (true) {
+				final DtoCollectionResponse<T> page = this.fetcher.apply(since, after);
+				final List<T> rows = this.rowsOf(page);
+				this.applier.applyAsInt(rows);
+				if (rows.isEmpty())
+					return;
+				
+				final T last = rows.get(rows.size() - 1);
+				final Instant lastUpdatedAt = this.updatedAtOf.apply(last);
+				if (lastUpdatedAt != null && lastUpdatedAt.isAfter(this.watermark))
+					this.watermark = lastUpdatedAt;
+				if (page.getNextCursor() == null || lastUpdatedAt == null)
+					return;
+				since = lastUpdatedAt;
+				after = this.cursorOf.apply(last);
+			}
+		}
+		
+		private List<T> rowsOf(final DtoCollectionResponse<T> page) {
+			return page == null || page.getCollection() == null ? Collections.emptyList()
+					: new ArrayList<>(page.getCollection());
+		}
+		
+	}
+	
+}
@@ -0,0 +1,10 @@
+package com.selimhorri.app.service;
+
+import java.time.Instant;
+
+public interface ArchiveService {
+	
+	int archiveOrders(final Instant cutoff, final int batchSize);
+	int archiveCarts(final Instant cutoff, final int batchSize);
+	
+}
@@ -3,11 +3,15 @@ package com.selimhorri.app.service;
 import java.util.List;
 
 import com.selimhorri.app.dto.CartDto;
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
 
 public interface CartService {
 	
 	List<CartDto> findAll();
+	DtoCollectionResponse<CartDto> findPage(final Integer after, final int limit);
 	CartDto findById(final Integer cartId);
+	CartDto findActiveByUserId(final Integer userId);
+	Integer findOwnerId(final Integer cartId);
 	CartDto save(final CartDto cartDto);
 	void deleteById(final Integer cartId);
 	
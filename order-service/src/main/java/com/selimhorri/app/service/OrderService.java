@@ -1,15 +1,33 @@
 package com.selimhorri.app.service;
 
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
+import com.selimhorri.app.domain.enums.OrderStatus;
 import com.selimhorri.app.dto.OrderDto;
+import com.selimhorri.app.dto.OrderStatusChangeDto;
+import com.selimhorri.app.dto.OrderStatusEventDto;
+import com.selimhorri.app.dto.OrderStatusEventResultDto;
+import com.selimhorri.app.dto.OrderStatusTransitionResultDto;
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
 
 public interface OrderService {
 	
 	List<OrderDto> findAll();
+	DtoCollectionResponse<OrderDto> findPage(final Integer after, final int limit);
+	List<OrderDto> findAllByIds(final Collection<Integer> orderIds);
 	OrderDto findById(final Integer orderId);
+	Integer findOwnerId(final Integer orderId);
+	DtoCollectionResponse<OrderDto> search(final OrderStatus status, final LocalDateTime from, final LocalDateTime to,
+			final Integer cursor, final int limit);
+	DtoCollectionResponse<OrderStatusChangeDto> findStatusChanges(final Instant since, final Integer after, final int limit);
 	OrderDto save(final OrderDto orderDto);
 	OrderDto updateStatus(final int orderId);
+	OrderDto updateStatus(final int orderId, final OrderStatus expected);
+	List<OrderStatusTransitionResultDto> updateStatuses(final Collection<Integer> orderIds, final OrderStatus expected);
+	List<OrderStatusEventResultDto> applyStatusEvents(final List<OrderStatusEventDto> events);
 	OrderDto update(final Integer orderId, final OrderDto orderDto);
 	void deleteById(final Integer orderId);
 	
@@ -0,0 +1,20 @@
+package com.selimhorri.app.service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.selimhorri.app.domain.Order;
+import com.selimhorri.app.domain.enums.OrderStatsGranularity;
+import com.selimhorri.app.domain.enums.OrderStatus;
+import com.selimhorri.app.dto.OrderStatsDto;
+
+public interface OrderStatsService {
+	
+	List<OrderStatsDto> findStats(final LocalDateTime from, final LocalDateTime to,
+			final OrderStatsGranularity granularity);
+	void recordAdded(final Order order);
+	void recordRemoved(final Order order);
+	void recordTransition(final Order order, final OrderStatus from, final OrderStatus to);
+	int rebuild();
+	
+}
@@ -0,0 +1,23 @@
+package com.selimhorri.app.service;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import com.selimhorri.app.dto.OrderItemSummaryDto;
+import com.selimhorri.app.dto.OrderViewDto;
+import com.selimhorri.app.dto.PaymentChangeDto;
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
+
+public interface OrderViewService {
+	
+	DtoCollectionResponse<OrderViewDto> findByUserId(final Integer userId, final Integer after, final int limit);
+	DtoCollectionResponse<OrderViewDto> findOrderChanges(final Instant since, final Integer after, final int limit);
+	int applyOrders(final List<OrderViewDto> orders);
+	int applyPayments(final List<PaymentChangeDto> payments);
+	int applyItemSummaries(final List<OrderItemSummaryDto> summaries);
+	Optional<Instant> findOrderWatermark();
+	Optional<Instant> findPaymentWatermark();
+	Optional<Instant> findItemsWatermark();
+	
+}
@@ -0,0 +1,58 @@
+package com.selimhorri.app.service.impl;
+
+import java.time.Instant;
+import java.util.List;
+
+import javax.transaction.Transactional;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import com.selimhorri.app.repository.CartRepository;
+import com.selimhorri.app.repository.OrderRepository;
+import com.selimhorri.app.service.ArchiveService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Moves soft-deleted orders and carts to the {@code *_archive} tables, one small
+ * batch per transaction. Candidates are picked through an index without locking;
+ * only those rows are then locked by primary key, re-checking that they are still
+ * archivable, and copied and deleted together. Active rows are never locked, and
+ * an order reactivated meanwhile is either archived before or not touched at all.
+ */
+@Service
+@Transactional
+@Slf4j
+@RequiredArgsConstructor
+public class ArchiveServiceImpl implements ArchiveService {
+	
+	private final OrderRepository orderRepository;
+	private final CartRepository cartRepository;
+	
+	@Override
+	public int archiveOrders(final Instant cutoff, final int batchSize) {
+		final List<Integer> candidates = this.orderRepository.findArchivableIds(cutoff, PageRequest.of(0, batchSize));
+		if (candidates.isEmpty())
+			return 0;
+		final List<Integer> orderIds = this.orderRepository.lockArchivable(candidates, cutoff);
+		if (orderIds.isEmpty())
+			return 0;
+		this.orderRepository.copyToArchive(orderIds, Instant.now());
+		return this.orderRepository.deleteArchived(orderIds);
+	}
+	
+	@Override
+	public int archiveCarts(final Instant cutoff, final int batchSize) {
+		final List<Integer> candidates = this.cartRepository.findArchivableIds(cutoff, PageRequest.of(0, batchSize));
+		if (candidates.isEmpty())
+			return 0;
+		final List<Integer> cartIds = this.cartRepository.lockArchivable(candidates, cutoff);
+		if (cartIds.isEmpty())
+			return 0;
+		this.cartRepository.copyToArchive(cartIds, Instant.now());
+		return this.cartRepository.deleteArchived(cartIds);
+	}
+	
+}
@@ -7,6 +7,8 @@ import java.util.stream.Collectors;
 import javax.transaction.Transactional;
 
 import org.springframework.cloud.client.loadbalancer.LoadBalanced;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestClientException;
@@ -16,9 +18,11 @@ import com.selimhorri.app.constant.AppConstant;
 import com.selimhorri.app.domain.Cart;
 import com.selimhorri.app.dto.CartDto;
 import com.selimhorri.app.dto.UserDto;
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
 import com.selimhorri.app.exception.wrapper.CartNotFoundException;
 import com.selimhorri.app.exception.wrapper.UserNotFoundException;
 import com.selimhorri.app.helper.CartMappingHelper;
+import com.selimhorri.app.helper.DtoBatchLoader;
 import com.selimhorri.app.repository.CartRepository;
 import com.selimhorri.app.service.CartService;
 
@@ -38,25 +42,44 @@ public class CartServiceImpl implements CartService {
 	@Override
 	public List<CartDto> findAll() {
 		log.info("*** CartDto List, service; fetch all active carts *");
-		return this.cartRepository.findAllByIsActiveTrue()
+		return this.attachUsers(this.cartRepository.findAllByIsActiveTrue()
 				.stream()
 				.map(CartMappingHelper::map)
+				.collect(Collectors.toList()));
+	}
+
+	@Override
+	public DtoCollectionResponse<CartDto> findPage(final Integer after, final int limit) {
+		log.info("*** CartDto List, service; fetch active carts page *");
+		final List<CartDto> rows = this.cartRepository
+				.findByIsActiveTrueAndCartIdGreaterThanOrderByCartIdAsc(after == null ? 0 : after,
+						PageRequest.of(0, limit + 1))
+				.stream()
+				.map(CartMappingHelper::map)
+				.collect(Collectors.toList());
+		return DtoCollectionResponse.page(rows, limit, CartDto::getCartId, this::attachUsers);
+	}
+
+	private List<CartDto> attachUsers(final List<CartDto> carts) {
+		// Un solo multi-get a user-service para todos los carritos
+		final DtoBatchLoader<Integer, UserDto> users = new DtoBatchLoader<>(this.restTemplate,
+				AppConstant.DiscoveredDomainsApi.USER_SERVICE_API_URL,
+				new ParameterizedTypeReference<DtoCollectionResponse<UserDto>>() {},
+				UserDto::getUserId)
+				.loadMany(carts.stream().map(CartDto::getUserId).collect(Collectors.toList()))
+				.dispatch();
+
+		return carts.stream()
 				.map(c -> {
-					try {
-						c.setUserDto(this.restTemplate.getForObject(
-								AppConstant.DiscoveredDomainsApi.USER_SERVICE_API_URL + "/"
-										+ c.getUserDto().getUserId(),
-								UserDto.class));
-						return c;
-					} catch (HttpClientErrorException.NotFound e) {
-						log.warn("User not found for userId: {} - {}", c.getUserDto().getUserId(), e.getMessage());
-						return c; // Devuelve el carrito sin datos de usuario
-					} catch (Exception e) {
-						log.error("Error fetching user data for userId: {}", c.getUserDto().getUserId(), e);
-						return null; // Filtra otros errores
+					if (users.hasFailed(c.getUserId())) {
+						log.error("Error fetching user data for userId: {}", c.getUserId());
+						return null; // Filtra errores de comunicación
 					}
+					users.get(c.getUserId()).ifPresentOrElse(c::setUserDto,
+							() -> log.warn("User not found for userId: {}", c.getUserId())); // Devuelve el carrito sin datos de usuario
+					return c;
 				})
-				.filter(Objects::nonNull) // Filtra nulos (solo si devuelves null en otros casos)
+				.filter(Objects::nonNull)
 				.distinct()
 				.collect(Collectors.toUnmodifiableList());
 	}
@@ -76,6 +99,28 @@ public class CartServiceImpl implements CartService {
 						String.format("Active cart with id: %d not found", cartId)));
 	}
 
+	@Override
+	public CartDto findActiveByUserId(final Integer userId) {
+		log.info("*** CartDto, service; fetch active cart by userId *");
+		return this.cartRepository.findFirstByUserIdAndIsActiveTrueOrderByCartIdDesc(userId)
+				.map(CartMappingHelper::map)
+				.map(c -> {
+					c.setUserDto(this.restTemplate.getForObject(
+							AppConstant.DiscoveredDomainsApi.USER_SERVICE_API_URL + "/" + userId, UserDto.class));
+					return c;
+				})
+				.orElseThrow(() -> new CartNotFoundException(
+						String.format("Active cart for user with id: %d not found", userId)));
+	}
+
+	@Override
+	public Integer findOwnerId(final Integer cartId) {
+		log.info("*** Integer, service; fetch owner userId of active cart *");
+		return this.cartRepository.findOwnerIdByCartId(cartId)
+				.orElseThrow(() -> new CartNotFoundException(
+						String.format("Active cart with id: %d not found", cartId)));
+	}
+
 	@Override
 	public CartDto save(final CartDto cartDto) {
 		log.info("*** CartDto, service; save cart *");
@@ -0,0 +1,214 @@
+package com.selimhorri.app.service.impl;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.selimhorri.app.domain.IdempotencyRecord;
+import com.selimhorri.app.exception.wrapper.IdempotencyKeyConflictException;
+import com.selimhorri.app.repository.IdempotencyRecordRepository;
+import com.selimhorri.app.service.IdempotencyService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Replays the first response of a POST retried with the same {@code Idempotency-Key}.
+ * The key is claimed with an INSERT before the write runs, so concurrent retries
+ * get a 409 instead of a second row, and so does a key reused with a different
+ * payload. The stored response lives in the idempotency_keys table until it
+ * expires, with recently used entries kept in memory.
+ * The claim starts with a short lease that is only extended to the full TTL
+ * once the response is stored: if the process dies between the write and
+ * {@code complete}, the key can be taken over when the lease runs out.
+ * No surrounding transaction: the claim has to be visible before the write starts.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class IdempotencyServiceImpl implements IdempotencyService {
+	
+	private static final int MAX_KEY_LENGTH = 64;
+	private static final int MAX_RESPONSE_LENGTH = 4000;
+	
+	private final IdempotencyRecordRepository idempotencyRecordRepository;
+	private final ObjectMapper objectMapper;
+	private final Map<String, CachedResponse> cache = new ConcurrentHashMap<>();
+	
+	@Value("${app.idempotency.ttl:24h}")
+	private Duration ttl;
+	
+	@Value("${app.idempotency.lease:30s}")
+	private Duration lease;
+	
+	@Value("${app.idempotency.cache-max-size:10000}")
+	private int cacheMaxSize;
+	
+	@Override
+	public <T> T execute(final String scope, final String idempotencyKey, final Object request,
+			final Class<T> responseType, final Supplier<T> action) {
+		if (idempotencyKey == null)
+			return action.get();
+		if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH)
+			throw new IllegalArgumentException(
+					"Idempotency-Key must be between 1 and " + MAX_KEY_LENGTH + " characters");
+		final String key = scope + ":" + idempotencyKey;
+		final String requestHash = this.hash(request);
+		
+		final Instant now = Instant.now();
+		final CachedResponse cached = this.cache.get(key);
+		if (cached != null && cached.expiresAt.isAfter(now)) {
+			this.requireSameRequest(idempotencyKey, cached.requestHash, requestHash);
+			return this.replay(key, cached.responseBody, responseType);
+		}
+		
+		if (!this.claim(key, requestHash, now)) {
+			final IdempotencyRecord existing = this.idempotencyRecordRepository.findById(key).orElse(null);
+			// Reclamación que desapareció, caducó o perdió el lease sin respuesta: se reintenta una sola vez
+			if (existing == null || !existing.getExpiresAt().isAfter(now)) {
+				this.idempotencyRecordRepository.deleteIfExpired(key, now);
+				if (!this.claim(key, requestHash, now))
+					throw this.inProgress(idempotencyKey);
+			}
+			else {
+				this.requireSameRequest(idempotencyKey, existing.getRequestHash(), requestHash);
+				if (existing.getResponseBody() == null)
+					throw this.inProgress(idempotencyKey);
+				this.remember(key, requestHash, existing.getResponseBody(), existing.getExpiresAt());
+				return this.replay(key, existing.getResponseBody(), responseType);
+			}
+		}
+		
+		final T response;
+		try {
+			response = action.get();
+		}
+		catch (RuntimeException e) {
+			// La escritura no se hizo: se libera la clave para que el reintento la ejecute
+			this.idempotencyRecordRepository.deleteById(key);
+			throw e;
+		}
+		this.store(key, requestHash, response);
+		return response;
+	}
+	
+	@Override
+	@Scheduled(fixedDelayString = "${app.idempotency.purge-interval:3600000}",
+			initialDelayString = "${app.idempotency.purge-interval:3600000}")
+	public int purgeExpired() {
+		final Instant now = Instant.now();
+		this.cache.values().removeIf(c -> !c.expiresAt.isAfter(now));
+		final int purged = this.idempotencyRecordRepository.deleteExpired(now);
+		if (purged > 0)
+			log.info("Purged {} expired idempotency keys", purged);
+		return purged;
+	}
+	
+	private boolean claim(final String key, final String requestHash, final Instant now) {
+		try {
+			this.idempotencyRecordRepository.claim(key, requestHash, now.plus(this.lease), now);
+			return true;
+		}
+		catch (DataIntegrityViolationException e) {
+			return false;
+		}
+	}
+	
+	private void store(final String key, final String requestHash, final Object response) {
+		try {
+			final String responseBody = this.compactWriter().writeValueAsString(response);
+			if (responseBody.length() > MAX_RESPONSE_LENGTH) {
+				log.warn("Response for idempotency key {} too large to keep, key released", key);
+				this.idempotencyRecordRepository.deleteById(key);
+				return;
+			}
+			// El TTL completo cuenta desde que hay respuesta
+			final Instant expiresAt = Instant.now().plus(this.ttl);
+			this.idempotencyRecordRepository.complete(key, responseBody, expiresAt);
+			this.remember(key, requestHash, responseBody, expiresAt);
+		}
+		catch (JsonProcessingException e) {
+			log.error("Could not serialise response for idempotency key {}: {}", key, e.getMessage());
+			this.idempotencyRecordRepository.deleteById(key);
+		}
+	}
+	
+	private void remember(final String key, final String requestHash, final String responseBody,
+			final Instant expiresAt) {
+		if (this.cache.size() >= this.cacheMaxSize) {
+			final Instant now = Instant.now();
+			this.cache.values().removeIf(c -> !c.expiresAt.isAfter(now));
+			if (this.cache.size() >= this.cacheMaxSize)
+				this.cache.clear();
+		}
+		this.cache.put(key, new CachedResponse(requestHash, responseBody, expiresAt));
+	}
+	
+	private ObjectWriter compactWriter() {
+		return this.objectMapper.writer().without(SerializationFeature.INDENT_OUTPUT);
+	}
+	
+	// SHA-256 del cuerpo serializado, en hexadecimal (64 caracteres)
+	private String hash(final Object request) {
+		try {
+			final byte[] digest = MessageDigest.getInstance("SHA-256")
+					.digest(this.compactWriter().writeValueAsBytes(request));
+			final StringBuilder hex = new StringBuilder(digest.length * 2);
+			for (final byte b : digest)
+				hex.append(String.format("%02x", b));
+			return hex.toString();
+		}
+		catch (JsonProcessingException | NoSuchAlgorithmException e) {
+			throw new IllegalStateException("Could not fingerprint request for idempotency check", e);
+		}
+	}
+	
+	private void requireSameRequest(final String idempotencyKey, final String storedHash, final String requestHash) {
+		if (!requestHash.equals(storedHash))
+			throw new IdempotencyKeyConflictException(
+					"Idempotency-Key " + idempotencyKey + " was already used with a different request");
+	}
+	
+	private <T> T replay(final String key, final String responseBody, final Class<T> responseType) {
+		log.info("*** Replaying stored response for idempotency key {} *", key);
+		try {
+			return this.objectMapper.readValue(responseBody, responseType);
+		}
+		catch (JsonProcessingException e) {
+			throw new IllegalStateException("Stored response for idempotency key " + key + " is unreadable", e);
+		}
+	}
+	
+	private IdempotencyKeyConflictException inProgress(final String idempotencyKey) {
+		return new IdempotencyKeyConflictException(
+				"A request with Idempotency-Key " + idempotencyKey + " is still being processed");
+	}
+	
+	private static final class CachedResponse {
+		
+		private final String requestHash;
+		private final String responseBody;
+		private final Instant expiresAt;
+		
+		private CachedResponse(final String requestHash, final String responseBody, final Instant expiresAt) {
+			this.requestHash = requestHash;
+			this.responseBody = responseBody;
+			this.expiresAt = expiresAt;
+		}
+		
+	}
+	
+}
@@ -1,22 +1,41 @@
 package com.selimhorri.app.service.impl;
 
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import javax.persistence.EntityNotFoundException;
 import javax.transaction.Transactional;
 
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import com.selimhorri.app.domain.Order;
 import com.selimhorri.app.domain.enums.OrderStatus;
+import com.selimhorri.app.domain.enums.OrderStatusEventOutcome;
+import com.selimhorri.app.domain.enums.OrderStatusTransitionOutcome;
 import com.selimhorri.app.dto.OrderDto;
+import com.selimhorri.app.dto.OrderStatusChangeDto;
+import com.selimhorri.app.dto.OrderStatusEventDto;
+import com.selimhorri.app.dto.OrderStatusEventResultDto;
+import com.selimhorri.app.dto.OrderStatusTransitionResultDto;
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
 import com.selimhorri.app.exception.wrapper.CartNotFoundException;
 import com.selimhorri.app.exception.wrapper.OrderNotFoundException;
+import com.selimhorri.app.exception.wrapper.OrderStatusConflictException;
+import com.selimhorri.app.helper.EntityCountGauge;
 import com.selimhorri.app.helper.OrderMappingHelper;
 import com.selimhorri.app.repository.CartRepository;
 import com.selimhorri.app.repository.OrderRepository;
 import com.selimhorri.app.service.OrderService;
+import com.selimhorri.app.service.OrderStatsService;
 
 import io.micrometer.core.instrument.MeterRegistry;
 import javax.annotation.PostConstruct;
@@ -30,13 +49,25 @@ import lombok.extern.slf4j.Slf4j;
 @RequiredArgsConstructor
 public class OrderServiceImpl implements OrderService {
 
+        private static final int MAX_TRANSITION_ATTEMPTS = 3;
+        private static final int MAX_BULK_TRANSITION_SIZE = 1000;
+
         private final OrderRepository orderRepository;
         private final CartRepository cartRepository;
+        private final OrderStatsService orderStatsService;
+        private final TransactionTemplate transactionTemplate;
         private final MeterRegistry meterRegistry;
+        private final EntityCountGauge ordersTotal = new EntityCountGauge();
 
         @PostConstruct
         public void initMetrics() {
-                meterRegistry.gauge("orders.total", orderRepository, OrderRepository::count);
+                this.ordersTotal.bindTo(this.meterRegistry, "orders.total", this.orderRepository::count);
+        }
+
+        @Scheduled(fixedDelayString = "${app.metrics.count-reconcile-interval:300000}",
+                        initialDelayString = "${app.metrics.count-reconcile-interval:300000}")
+        public void reconcileCount() {
+                this.ordersTotal.reconcile();
         }
 
         @Override
@@ -49,6 +80,28 @@ public class OrderServiceImpl implements OrderService {
                                 .collect(Collectors.toUnmodifiableList());
         }
 
+        @Override
+        public DtoCollectionResponse<OrderDto> findPage(final Integer after, final int limit) {
+                log.info("*** OrderDto List, service; fetch active orders page *");
+                final List<OrderDto> rows = this.orderRepository
+                                .findByIsActiveTrueAndOrderIdGreaterThanOrderByOrderIdAsc(after == null ? 0 : after,
+                                                PageRequest.of(0, limit + 1))
+                                .stream()
+                                .map(OrderMappingHelper::map)
+                                .collect(Collectors.toList());
+                return DtoCollectionResponse.page(rows, limit, OrderDto::getOrderId);
+        }
+
+        @Override
+        public List<OrderDto> findAllByIds(final Collection<Integer> orderIds) {
+                log.info("*** OrderDto List, service; fetch active orders by ids *");
+                return this.orderRepository.findAllByOrderIdInAndIsActiveTrue(orderIds)
+                                .stream()
+                                .map(OrderMappingHelper::map)
+                                .distinct()
+                                .collect(Collectors.toUnmodifiableList());
+        }
+
         @Override
         public OrderDto findById(final Integer orderId) {
                 log.info("*** OrderDto, service; fetch active order by id *");
@@ -58,6 +111,42 @@ public class OrderServiceImpl implements OrderService {
                                                 String.format("Order with id: %d not found", orderId)));
         }
 
+        @Override
+        public Integer findOwnerId(final Integer orderId) {
+                log.info("*** Integer, service; fetch owner userId of active order *");
+                return this.orderRepository.findOwnerIdByOrderId(orderId)
+                                .orElseThrow(() -> new OrderNotFoundException(
+                                                String.format("Order with id: %d not found", orderId)));
+        }
+
+        @Override
+        public DtoCollectionResponse<OrderDto> search(final OrderStatus status, final LocalDateTime from,
+                        final LocalDateTime to, final Integer cursor, final int limit) {
+                log.info("*** OrderDto List, service; search orders by status and date range *");
+                if (status == null || from == null || to == null || !from.isBefore(to))
+                        throw new IllegalArgumentException("Search needs a status and a from date before the to date");
+                // El cursor es el último orderId devuelto; su orderDate completa la clave (order_date, order_id)
+                final LocalDateTime beforeDate = cursor == null ? to
+                                : this.orderRepository.findOrderDateByOrderId(cursor)
+                                                .orElseThrow(() -> new OrderNotFoundException(
+                                                                String.format("Order with id: %d not found", cursor)));
+                final List<OrderDto> rows = this.orderRepository.search(status, from, to, beforeDate,
+                                cursor == null ? Integer.MAX_VALUE : cursor, PageRequest.of(0, limit + 1));
+                return DtoCollectionResponse.page(rows, limit, OrderDto::getOrderId);
+        }
+
+        @Override
+        public DtoCollectionResponse<OrderStatusChangeDto> findStatusChanges(final Instant since, final Integer after,
+                        final int limit) {
+                log.info("*** OrderStatusChangeDto List, service; fetch order status changes *");
+                final int lastOrderId = after == null ? 0 : after;
+                final List<OrderStatusChangeDto> rows = since == null
+                                ? this.orderRepository.findStatusesAfter(lastOrderId, PageRequest.of(0, limit + 1))
+                                : this.orderRepository.findStatusChangesSince(since, lastOrderId,
+                                                PageRequest.of(0, limit + 1));
+                return DtoCollectionResponse.page(rows, limit, OrderStatusChangeDto::getOrderId);
+        }
+
         @Override
         public OrderDto save(final OrderDto orderDto) {
                 log.info("*** OrderDto, service; save order *");
@@ -79,51 +168,166 @@ public class OrderServiceImpl implements OrderService {
 
                 // Proceed with saving if validations pass
                 Order savedOrder = this.orderRepository.save(OrderMappingHelper.mapForCreationOrder(orderDto));
+                this.orderStatsService.recordAdded(savedOrder);
                 meterRegistry.counter("orders.placed").increment();
+                this.ordersTotal.increment();
                 return OrderMappingHelper.map(savedOrder);
         }
 
+        // Cada intento va en su propia transacción: al reintentar hay que leer el estado que confirmó la otra
         @Override
+        @Transactional(Transactional.TxType.NOT_SUPPORTED)
         public OrderDto updateStatus(final int orderId) {
                 log.info("*** OrderDto, service; update order status *");
-                try {
-                        Order existingOrder = this.orderRepository
-                                        .findByOrderIdAndIsActiveTrue(orderId)
-                                        .orElseThrow(() -> new OrderNotFoundException(
-                                                        "Order not found with ID: " + orderId));
-
-                        // Actualizar al siguiente estado según la secuencia (Java 8+ compatible)
-                        OrderStatus newStatus;
-                        switch (existingOrder.getStatus()) {
-                                case CREATED:
-                                        newStatus = OrderStatus.ORDERED;
-                                        break;
-                                case ORDERED:
-                                        newStatus = OrderStatus.IN_PAYMENT;
-                                        break;
-                                case IN_PAYMENT:
-                                        throw new IllegalStateException(
-                                                        "Order with ID " + orderId
-                                                                        + " is already PAID and cannot be updated further");
-                                default:
-                                        throw new IllegalStateException(
-                                                        "Unknown order status: " + existingOrder.getStatus());
-                        }
-
-                        existingOrder.setStatus(newStatus);
-                        Order updatedOrder = this.orderRepository.save(existingOrder);
-
-                        log.info("Order status updated successfully from {} to {}",
-                                        existingOrder.getStatus(), newStatus);
-
-                        return OrderMappingHelper.map(updatedOrder);
-
-                } catch (Exception e) {
-                        log.error("Error during order status update: ", e);
-                        throw e;
+                for (int attempt = 1;; attempt++) {
+                        final Order order = this.findActiveOrder(orderId);
+                        final OrderStatus current = order.getStatus();
+                        if (this.compareAndSetStatus(order, current, this.nextStatus(orderId, current)))
+                                return OrderMappingHelper.map(order);
+                        if (attempt == MAX_TRANSITION_ATTEMPTS)
+                                throw new OrderStatusConflictException(String.format(
+                                                "Order with id: %d kept changing concurrently, status not updated", orderId));
+                        log.info("Order {} changed while moving from {}, retrying (attempt {})", orderId, current, attempt);
+                }
+        }
+
+        @Override
+        @Transactional(Transactional.TxType.NOT_SUPPORTED)
+        public OrderDto updateStatus(final int orderId, final OrderStatus expected) {
+                log.info("*** OrderDto, service; update order status from expected status *");
+                final Order order = this.findActiveOrder(orderId);
+                if (!this.compareAndSetStatus(order, expected, this.nextStatus(orderId, expected)))
+                        throw new OrderStatusConflictException(String.format(
+                                        "Order with id: %d is not %s anymore", orderId, expected));
+                return OrderMappingHelper.map(order);
+        }
+
+        private Order findActiveOrder(final int orderId) {
+                return this.orderRepository.findByOrderIdAndIsActiveTrue(orderId)
+                                .orElseThrow(() -> new OrderNotFoundException("Order not found with ID: " + orderId));
+        }
+
+        private OrderStatus nextStatus(final int orderId, final OrderStatus current) {
+                if (current == OrderStatus.IN_PAYMENT)
+                        throw new IllegalStateException(
+                                        "Order with ID " + orderId + " is already PAID and cannot be updated further");
+                return nextStatus(current);
+        }
+
+        private static OrderStatus nextStatus(final OrderStatus current) {
+                switch (current) {
+                        case CREATED:
+                                return OrderStatus.ORDERED;
+                        case ORDERED:
+                                return OrderStatus.IN_PAYMENT;
+                        case IN_PAYMENT:
+                                throw new IllegalStateException("Orders already PAID cannot be updated further");
+                        default:
+                                throw new IllegalStateException("Unknown order status: " + current);
                 }
         }
 
+        /**
+         * Back-office bulk transition: one SELECT ... FOR UPDATE reads the batch and a
+         * single UPDATE moves every order still in {@code expected} to the next status.
+         * Orders in another status are skipped, missing or inactive ones reported as such.
+         */
+        @Override
+        public List<OrderStatusTransitionResultDto> updateStatuses(final Collection<Integer> orderIds,
+                        final OrderStatus expected) {
+                log.info("*** OrderStatusTransitionResultDto List, service; bulk update order status *");
+                if (orderIds == null || orderIds.isEmpty() || expected == null)
+                        throw new IllegalArgumentException("To update order statuses you have to provide orderIds and an expected status");
+                final Set<Integer> ids = new LinkedHashSet<>(orderIds);
+                if (ids.size() > MAX_BULK_TRANSITION_SIZE)
+                        throw new IllegalArgumentException(
+                                        "A bulk status update accepts at most " + MAX_BULK_TRANSITION_SIZE + " orders");
+                final OrderStatus next = nextStatus(expected);
+
+                final Map<Integer, OrderStatus> current = this.orderRepository.findStatusesForUpdate(ids)
+                                .stream()
+                                .collect(Collectors.toMap(OrderStatusChangeDto::getOrderId, OrderStatusChangeDto::getOrderStatus));
+                final List<Integer> advancing = ids.stream()
+                                .filter(orderId -> current.get(orderId) == expected)
+                                .collect(Collectors.toList());
+                if (!advancing.isEmpty()) {
+                        final int updated = this.orderRepository.transitionStatuses(advancing, expected, next, Instant.now());
+                        log.info("{} of {} orders moved from {} to {}", updated, ids.size(), expected, next);
+                        this.orderRepository.findAllById(advancing)
+                                        .forEach(order -> this.orderStatsService.recordTransition(order, expected, next));
+                }
+
+                return ids.stream()
+                                .map(orderId -> {
+                                        final OrderStatus status = current.get(orderId);
+                                        if (status == null)
+                                                return new OrderStatusTransitionResultDto(orderId,
+                                                                OrderStatusTransitionOutcome.NOT_FOUND, null);
+                                        return status == expected
+                                                        ? new OrderStatusTransitionResultDto(orderId,
+                                                                        OrderStatusTransitionOutcome.ADVANCED, next)
+                                                        : new OrderStatusTransitionResultDto(orderId,
+                                                                        OrderStatusTransitionOutcome.SKIPPED, status);
+                                })
+                                .collect(Collectors.toUnmodifiableList());
+        }
+
+        // Un único UPDATE condicional; si aplica, la orden leída se ajusta en memoria para la respuesta
+        private boolean compareAndSetStatus(final Order order, final OrderStatus expected, final OrderStatus next) {
+                final Instant now = Instant.now();
+                // El cambio de estado y su reflejo en order_stats se confirman en la misma transacción
+                final Boolean applied = this.transactionTemplate.execute(tx -> {
+                        if (this.orderRepository.transitionStatus(order.getOrderId(), expected, next, now) == 0)
+                                return false;
+                        this.orderStatsService.recordTransition(order, expected, next);
+                        return true;
+                });
+                if (!Boolean.TRUE.equals(applied))
+                        return false;
+                order.setStatus(next);
+                order.setVersion(order.getVersion() == null ? 1 : order.getVersion() + 1);
+                order.setUpdatedAt(now);
+                log.info("Order {} status updated from {} to {}", order.getOrderId(), expected, next);
+                return true;
+        }
+
+        /**
+         * Consumes the status transitions relayed from the payment and shipping outboxes.
+         * Each event is a conditional from -> to update, so a redelivered event finds the
+         * order already in its target status and is acknowledged without applying it twice.
+         */
+        @Override
+        public List<OrderStatusEventResultDto> applyStatusEvents(final List<OrderStatusEventDto> events) {
+                log.info("*** OrderStatusEventResultDto List, service; apply {} order status events *", events.size());
+                final Instant now = Instant.now();
+                return events.stream()
+                                .map(event -> OrderStatusEventResultDto.builder()
+                                                .eventId(event.getEventId())
+                                                .outcome(this.applyStatusEvent(event, now))
+                                                .build())
+                                .collect(Collectors.toUnmodifiableList());
+        }
+
+        private OrderStatusEventOutcome applyStatusEvent(final OrderStatusEventDto event, final Instant now) {
+                if (event.getOrderId() == null || event.getFromStatus() == null || event.getToStatus() == null) {
+                        log.warn("Rejected malformed order status event {}", event.getEventId());
+                        return OrderStatusEventOutcome.REJECTED;
+                }
+                if (this.orderRepository.transitionStatus(event.getOrderId(), event.getFromStatus(),
+                                event.getToStatus(), now) == 1) {
+                        this.orderRepository.findById(event.getOrderId()).ifPresent(order -> this.orderStatsService
+                                        .recordTransition(order, event.getFromStatus(), event.getToStatus()));
+                        return OrderStatusEventOutcome.APPLIED;
+                }
+
+                final OrderStatus current = this.orderRepository.findStatusByOrderId(event.getOrderId()).orElse(null);
+                if (current == event.getToStatus())
+                        return OrderStatusEventOutcome.ALREADY_APPLIED;
+                log.warn("Rejected order status event {}: order {} is {} and the event expects {}",
+                                event.getEventId(), event.getOrderId(), current, event.getFromStatus());
+                return OrderStatusEventOutcome.REJECTED;
+        }
+
         @Override
         public OrderDto update(final Integer orderId, final OrderDto orderDto) {
                 log.info("*** OrderDto, service; update order with orderId *");
@@ -138,7 +342,13 @@ public class OrderServiceImpl implements OrderService {
                 }
                 Order updatedOrder = OrderMappingHelper.mapForUpdate(orderDto, existingOrder.getCart());
                 updatedOrder.setOrderDate(existingOrder.getOrderDate());
-                return OrderMappingHelper.map(this.orderRepository.save(updatedOrder));
+                // La versión leída: si otra transición la cambia antes del flush, el merge falla con 409
+                updatedOrder.setVersion(existingOrder.getVersion());
+                // Tarifa y estado pueden cambiar: la orden sale de su bucket y entra con los valores nuevos
+                this.orderStatsService.recordRemoved(existingOrder);
+                final Order savedOrder = this.orderRepository.save(updatedOrder);
+                this.orderStatsService.recordAdded(savedOrder);
+                return OrderMappingHelper.map(savedOrder);
         }
 
         @Override
@@ -152,6 +362,7 @@ public class OrderServiceImpl implements OrderService {
                                         "Cannot delete order with ID " + orderId + " because it's already PAID");
                 }
 
+                this.orderStatsService.recordRemoved(order);
                 order.setActive(false);
                 orderRepository.save(order);
                 log.info("Order with id {} has been deactivated", orderId);
@@ -0,0 +1,119 @@
+package com.selimhorri.app.service.impl;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import javax.transaction.Transactional;
+
+import org.springframework.stereotype.Service;
+
+import com.selimhorri.app.domain.Order;
+import com.selimhorri.app.domain.OrderStatsId;
+import com.selimhorri.app.domain.enums.OrderStatsGranularity;
+import com.selimhorri.app.domain.enums.OrderStatus;
+import com.selimhorri.app.dto.OrderStatsDto;
+import com.selimhorri.app.helper.OrderStatsMappingHelper;
+import com.selimhorri.app.repository.OrderRepository;
+import com.selimhorri.app.repository.OrderStatsRepository;
+import com.selimhorri.app.service.OrderStatsService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Hourly and daily rollups of the active orders per status. Every change of an
+ * order moves its count and fee between buckets inside the caller's transaction,
+ * so a dashboard reads O(buckets) rows instead of scanning the orders.
+ */
+@Service
+@Transactional
+@Slf4j
+@RequiredArgsConstructor
+public class OrderStatsServiceImpl implements OrderStatsService {
+	
+	// Un mes por horas con holgura; rangos mayores se piden por días
+	private static final long MAX_STATS_BUCKETS = 2_000L;
+	
+	private final OrderStatsRepository orderStatsRepository;
+	private final OrderRepository orderRepository;
+	
+	@Override
+	public List<OrderStatsDto> findStats(final LocalDateTime from, final LocalDateTime to,
+			final OrderStatsGranularity granularity) {
+		log.info("*** OrderStatsDto List, service; fetch order stats *");
+		if (from == null || to == null || !from.isBefore(to))
+			throw new IllegalArgumentException("Order stats need a from date before the to date");
+		final OrderStatsGranularity bucketSize = granularity == null ? OrderStatsGranularity.HOUR : granularity;
+		if (Duration.between(from, to).dividedBy(bucketSize.getDuration()) > MAX_STATS_BUCKETS)
+			throw new IllegalArgumentException(String.format(
+					"Order stats span at most %d %s buckets, narrow the range or use a coarser granularity",
+					MAX_STATS_BUCKETS, bucketSize));
+		return this.orderStatsRepository.findRange(bucketSize, bucketSize.bucketOf(from), to)
+				.stream()
+				.map(OrderStatsMappingHelper::map)
+				.collect(Collectors.toUnmodifiableList());
+	}
+	
+	@Override
+	public void recordAdded(final Order order) {
+		this.record(order, order.getStatus(), 1);
+	}
+	
+	@Override
+	public void recordRemoved(final Order order) {
+		this.record(order, order.getStatus(), -1);
+	}
+	
+	@Override
+	public void recordTransition(final Order order, final OrderStatus from, final OrderStatus to) {
+		this.record(order, from, -1);
+		this.record(order, to, 1);
+	}
+	
+	/**
+	 * Recomputes every bucket from the orders table (backfill, or after a manual
+	 * fix in the database). The hourly rows are aggregated by the database and
+	 * folded into days here; the old rows are replaced in the same transaction.
+	 */
+	@Override
+	public int rebuild() {
+		log.info("*** Integer, service; rebuild order stats *");
+		final List<OrderStatsDto> hours = this.orderRepository.aggregateActiveByHourAndStatus();
+		final Map<OrderStatsId, OrderStatsDto> days = new LinkedHashMap<>();
+		for (final OrderStatsDto hour : hours) {
+			final LocalDateTime day = OrderStatsGranularity.DAY.bucketOf(hour.getBucketStart());
+			days.merge(new OrderStatsId(OrderStatsGranularity.DAY, day, hour.getOrderStatus()),
+					new OrderStatsDto(OrderStatsGranularity.DAY, day, hour.getOrderStatus(), hour.getOrderCount(),
+							hour.getRevenue()),
+					(total, next) -> {
+						total.setOrderCount(total.getOrderCount() + next.getOrderCount());
+						total.setRevenue(total.getRevenue() + next.getRevenue());
+						return total;
+					});
+		}
+		
+		final List<OrderStatsDto> buckets = new ArrayList<>(hours);
+		buckets.addAll(days.values());
+		this.orderStatsRepository.deleteAllBuckets();
+		this.orderStatsRepository.saveAll(buckets.stream()
+				.map(OrderStatsMappingHelper::map)
+				.collect(Collectors.toList()));
+		log.info("Order stats rebuilt: {} hourly and {} daily buckets", hours.size(), days.size());
+		return buckets.size();
+	}
+	
+	private void record(final Order order, final OrderStatus status, final int sign) {
+		if (!order.isActive() || order.getOrderDate() == null || status == null)
+			return;
+		final double fee = order.getOrderFee() == null ? 0.0 : order.getOrderFee();
+		for (final OrderStatsGranularity granularity : OrderStatsGranularity.values())
+			this.orderStatsRepository.increment(granularity.name(), granularity.bucketOf(order.getOrderDate()),
+					status.name(), sign, sign * fee);
+	}
+	
+}
@@ -0,0 +1,160 @@
+package com.selimhorri.app.service.impl;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import javax.transaction.Transactional;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import com.selimhorri.app.domain.Order;
+import com.selimhorri.app.domain.OrderView;
+import com.selimhorri.app.dto.OrderItemSummaryDto;
+import com.selimhorri.app.dto.OrderViewDto;
+import com.selimhorri.app.dto.PaymentChangeDto;
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
+import com.selimhorri.app.helper.OrderViewMappingHelper;
+import com.selimhorri.app.repository.OrderRepository;
+import com.selimhorri.app.repository.OrderViewRepository;
+import com.selimhorri.app.service.OrderViewService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Service
+@Transactional
+@Slf4j
+@RequiredArgsConstructor
+public class OrderViewServiceImpl implements OrderViewService {
+	
+	private final OrderViewRepository orderViewRepository;
+	private final OrderRepository orderRepository;
+	
+	@Override
+	public DtoCollectionResponse<OrderViewDto> findByUserId(final Integer userId, final Integer after,
+			final int limit) {
+		log.info("*** OrderViewDto List, service; fetch order views by userId *");
+		final List<OrderViewDto> rows = this.orderViewRepository
+				.findActiveByUserId(userId, after == null ? 0 : after, PageRequest.of(0, limit + 1))
+				.stream()
+				.map(OrderViewMappingHelper::map)
+				.collect(Collectors.toList());
+		return DtoCollectionResponse.page(rows, limit, OrderViewDto::getOrderId);
+	}
+	
+	@Override
+	public DtoCollectionResponse<OrderViewDto> findOrderChanges(final Instant since, final Integer after,
+			final int limit) {
+		log.info("*** OrderViewDto List, service; fetch order changes for the order view *");
+		final int lastOrderId = after == null ? 0 : after;
+		final List<Order> orders = since == null
+				? this.orderRepository.findWithCartAfter(lastOrderId, PageRequest.of(0, limit + 1))
+				: this.orderRepository.findWithCartChangedSince(since, lastOrderId, PageRequest.of(0, limit + 1));
+		final List<OrderViewDto> rows = orders.stream()
+				.map(OrderViewMappingHelper::map)
+				.collect(Collectors.toList());
+		return DtoCollectionResponse.page(rows, limit, OrderViewDto::getOrderId);
+	}
+	
+	@Override
+	public int applyOrders(final List<OrderViewDto> orders) {
+		log.info("*** Integer, service; apply {} order changes to the order view *", orders.size());
+		return this.apply(orders, OrderViewDto::getOrderId, OrderViewDto::getUpdatedAt, OrderView::getOrderUpdatedAt,
+				(view, order) -> {
+					view.setUserId(order.getUserId());
+					view.setOrderDate(order.getOrderDate());
+					view.setOrderDesc(order.getOrderDesc());
+					view.setOrderFee(order.getOrderFee());
+					view.setOrderStatus(order.getOrderStatus());
+					view.setIsActive(order.getIsActive());
+					view.setOrderUpdatedAt(order.getUpdatedAt());
+				});
+	}
+	
+	@Override
+	public int applyPayments(final List<PaymentChangeDto> payments) {
+		log.info("*** Integer, service; apply {} payment changes to the order view *", payments.size());
+		return this.apply(payments, PaymentChangeDto::getOrderId, PaymentChangeDto::getUpdatedAt,
+				OrderView::getPaymentUpdatedAt,
+				(view, payment) -> {
+					view.setPaymentId(payment.getPaymentId());
+					view.setPaymentStatus(payment.getPaymentStatus());
+					view.setIsPayed(payment.getIsPayed());
+					view.setPaymentUpdatedAt(payment.getUpdatedAt());
+				});
+	}
+	
+	@Override
+	public int applyItemSummaries(final List<OrderItemSummaryDto> summaries) {
+		log.info("*** Integer, service; apply {} order item summaries to the order view *", summaries.size());
+		return this.apply(summaries, OrderItemSummaryDto::getOrderId, OrderItemSummaryDto::getUpdatedAt,
+				OrderView::getItemsUpdatedAt,
+				(view, summary) -> {
+					view.setItemCount(summary.getItemCount() == null ? 0 : summary.getItemCount().intValue());
+					view.setTotalQuantity(summary.getTotalQuantity() == null ? 0 : summary.getTotalQuantity().intValue());
+					view.setItemsUpdatedAt(summary.getUpdatedAt());
+				});
+	}
+	
+	@Override
+	public Optional<Instant> findOrderWatermark() {
+		return this.orderViewRepository.findOrderWatermark();
+	}
+	
+	@Override
+	public Optional<Instant> findPaymentWatermark() {
+		return this.orderViewRepository.findPaymentWatermark();
+	}
+	
+	@Override
+	public Optional<Instant> findItemsWatermark() {
+		return this.orderViewRepository.findItemsWatermark();
+	}
+	
+	/**
+	 * Applies the changes of one source on the rows of their orders, creating the
+	 * row when the order was not projected yet. A change older than the one already
+	 * applied from the same source is skipped: feeds are re-read with an overlap.
+	 */
+	private <T> int apply(final List<T> changes, final Function<T, Integer> orderIdOf,
+			final Function<T, Instant> updatedAtOf, final Function<OrderView, Instant> appliedAtOf,
+			final BiConsumer<OrderView, T> applier) {
+		final Map<Integer, OrderView> current = this.orderViewRepository
+				.findAllById(changes.stream()
+						.map(orderIdOf)
+						.filter(Objects::nonNull)
+						.collect(Collectors.toSet()))
+				.stream()
+				.collect(Collectors.toMap(OrderView::getOrderId, Function.identity()));
+		
+		final List<OrderView> created = new ArrayList<>();
+		int applied = 0;
+		for (final T change : changes) {
+			final Integer orderId = orderIdOf.apply(change);
+			if (orderId == null)
+				continue;
+			OrderView view = current.get(orderId);
+			if (view == null) {
+				view = OrderView.builder().orderId(orderId).build();
+				current.put(orderId, view);
+				created.add(view);
+			}
+			else if (updatedAtOf.apply(change) != null && appliedAtOf.apply(view) != null
+					&& updatedAtOf.apply(change).isBefore(appliedAtOf.apply(view)))
+				continue;
+			applier.accept(view, change);
+			applied++;
+		}
+		this.orderViewRepository.saveAll(created);
+		return applied;
+	}
+	
+}
@@ -0,0 +1,8 @@
+CREATE TABLE order_stats (
+  granularity VARCHAR(10) NOT NULL,
+  bucket_start TIMESTAMP NOT NULL,
+  order_status VARCHAR(20) NOT NULL,
+  order_count BIGINT NOT NULL DEFAULT 0,
+  revenue DECIMAL(15, 2) NOT NULL DEFAULT 0,
+  PRIMARY KEY (granularity, bucket_start, order_status)
+);
@@ -0,0 +1,22 @@
+CREATE TABLE orders_archive (
+  order_id INT NOT NULL PRIMARY KEY,
+  cart_id INT,
+  order_date TIMESTAMP NULL,
+  order_desc VARCHAR(255),
+  order_fee DECIMAL(7, 2),
+  is_active BOOLEAN NOT NULL,
+  status VARCHAR(20) NOT NULL,
+  version INT NOT NULL DEFAULT 0,
+  created_at TIMESTAMP NULL,
+  updated_at TIMESTAMP NULL,
+  archived_at TIMESTAMP NOT NULL
+);
+
+CREATE TABLE carts_archive (
+  cart_id INT NOT NULL PRIMARY KEY,
+  user_id INT,
+  is_active BOOLEAN NOT NULL,
+  created_at TIMESTAMP NULL,
+  updated_at TIMESTAMP NULL,
+  archived_at TIMESTAMP NOT NULL
+);
@@ -0,0 +1 @@
+CREATE INDEX idx_carts_user_id_is_active ON carts (user_id, is_active);
@@ -0,0 +1,5 @@
+-- Filas antiguas sin updated_at: el archivado filtra por updated_at a secas para poder usar el índice
+UPDATE orders SET updated_at = created_at WHERE updated_at IS NULL;
+UPDATE carts SET updated_at = created_at WHERE updated_at IS NULL;
+CREATE INDEX idx_orders_is_active_updated_at ON orders (is_active, updated_at);
+CREATE INDEX idx_carts_is_active_updated_at ON carts (is_active, updated_at);
@@ -0,0 +1,19 @@
+CREATE TABLE order_view (
+  order_id INT NOT NULL PRIMARY KEY,
+  user_id INT NULL,
+  order_date TIMESTAMP NULL,
+  order_desc VARCHAR(255),
+  order_fee DECIMAL(7, 2),
+  order_status VARCHAR(20) NULL,
+  is_active BOOLEAN NULL,
+  payment_id INT NULL,
+  payment_status VARCHAR(20) NULL,
+  is_payed BOOLEAN NULL,
+  item_count INT NOT NULL DEFAULT 0,
+  total_quantity INT NOT NULL DEFAULT 0,
+  order_updated_at TIMESTAMP NULL,
+  payment_updated_at TIMESTAMP NULL,
+  items_updated_at TIMESTAMP NULL
+);
+
+CREATE INDEX idx_order_view_user_id ON order_view (user_id, order_id);
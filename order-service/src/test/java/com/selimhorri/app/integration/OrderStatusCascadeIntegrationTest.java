@@ -2,6 +2,9 @@ package com.selimhorri.app.integration;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.time.Instant;
+import java.time.LocalDateTime;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -12,12 +15,17 @@ import org.springframework.transaction.annotation.Transactional;
 
 import com.selimhorri.app.domain.Cart;
 import com.selimhorri.app.domain.Order;
+import com.selimhorri.app.domain.enums.OrderStatsGranularity;
 import com.selimhorri.app.domain.enums.OrderStatus;
+import com.selimhorri.app.domain.enums.OrderStatusTransitionOutcome;
 import com.selimhorri.app.dto.OrderDto;
+import com.selimhorri.app.dto.OrderStatsDto;
 import com.selimhorri.app.exception.wrapper.OrderNotFoundException;
 import com.selimhorri.app.repository.CartRepository;
 import com.selimhorri.app.repository.OrderRepository;
+import com.selimhorri.app.service.ArchiveService;
 import com.selimhorri.app.service.OrderService;
+import com.selimhorri.app.service.OrderStatsService;
 
 /**
  * Pruebas de integración para Order Service.
@@ -38,6 +46,12 @@ class OrderStatusCascadeIntegrationTest {
 	@Autowired
 	private CartRepository cartRepository;
 
+	@Autowired
+	private OrderStatsService orderStatsService;
+
+	@Autowired
+	private ArchiveService archiveService;
+
 	private Order testOrder;
 	private Cart testCart;
 
@@ -118,4 +132,130 @@ class OrderStatusCascadeIntegrationTest {
 		assertNotNull(allOrders);
 		// La lista puede tener o no datos, lo importante es que no lance excepción
 	}
+
+	@Test
+	@DisplayName("Integration Test 6: Debe avanzar en bloque las órdenes en el estado esperado")
+	void testUpdateStatuses_BulkTransition() {
+		// Act - la orden de prueba está en CREATED; el id -1 no existe
+		var results = orderService.updateStatuses(java.util.List.of(testOrder.getOrderId(), -1), OrderStatus.CREATED);
+
+		// Assert
+		assertEquals(OrderStatusTransitionOutcome.ADVANCED, results.get(0).getOutcome());
+		assertEquals(OrderStatusTransitionOutcome.NOT_FOUND, results.get(1).getOutcome());
+		Order reloaded = orderRepository.findById(testOrder.getOrderId()).orElseThrow();
+		assertEquals(OrderStatus.ORDERED, reloaded.getStatus());
+		assertEquals(testOrder.getVersion() + 1, reloaded.getVersion());
+	}
+
+	@Test
+	@DisplayName("Integration Test 7: Debe mover la orden entre estados en order_stats al avanzarla")
+	void testOrderStats_Transition() {
+		// Arrange - una orden nueva contada en CREATED, como lo hace save()
+		LocalDateTime hour = OrderStatsGranularity.HOUR.bucketOf(testOrder.getOrderDate());
+		Order created = orderRepository.save(Order.builder()
+			.cart(testCart)
+			.orderDate(testOrder.getOrderDate())
+			.orderFee(25.0)
+			.isActive(true)
+			.build());
+		orderStatsService.recordAdded(created);
+		long createdBefore = countOf(hour, OrderStatus.CREATED);
+		long orderedBefore = countOf(hour, OrderStatus.ORDERED);
+
+		// Act
+		orderService.updateStatuses(java.util.List.of(created.getOrderId()), OrderStatus.CREATED);
+
+		// Assert
+		assertEquals(createdBefore - 1, countOf(hour, OrderStatus.CREATED));
+		assertEquals(orderedBefore + 1, countOf(hour, OrderStatus.ORDERED));
+	}
+
+	@Test
+	@DisplayName("Integration Test 8: Debe reconstruir order_stats a partir de las órdenes activas")
+	void testOrderStats_Rebuild() {
+		// Act
+		orderStatsService.rebuild();
+
+		// Assert
+		LocalDateTime hour = OrderStatsGranularity.HOUR.bucketOf(testOrder.getOrderDate());
+		assertEquals(orderRepository.findAllByIsActiveTrue().stream()
+			.filter(o -> o.getStatus() == OrderStatus.CREATED)
+			.filter(o -> hour.equals(OrderStatsGranularity.HOUR.bucketOf(o.getOrderDate())))
+			.count(), countOf(hour, OrderStatus.CREATED));
+	}
+
+	@Test
+	@DisplayName("Integration Test 9: Debe mover las órdenes inactivas a orders_archive")
+	void testArchive_MovesInactiveOrders() {
+		// Arrange
+		testOrder.setActive(false);
+		orderRepository.saveAndFlush(testOrder);
+		Order active = orderRepository.saveAndFlush(Order.builder()
+			.cart(testCart)
+			.orderDate(LocalDateTime.now())
+			.orderFee(10.0)
+			.isActive(true)
+			.build());
+
+		// Act
+		int archived = archiveService.archiveOrders(Instant.now().plusSeconds(60), 100);
+
+		// Assert
+		assertTrue(archived >= 1, "At least the inactive test order should be archived");
+		assertFalse(orderRepository.findById(testOrder.getOrderId()).isPresent());
+		assertTrue(orderRepository.findById(active.getOrderId()).isPresent());
+	}
+
+	@Test
+	@DisplayName("Integration Test 10: Debe devolver el carrito activo más reciente del usuario")
+	void testCart_FindActiveByUserId() {
+		// Arrange
+		Cart newer = new Cart();
+		newer.setUserId(4242);
+		newer.setActive(true);
+		newer = cartRepository.save(newer);
+		Cart inactive = new Cart();
+		inactive.setUserId(4242);
+		inactive.setActive(false);
+		cartRepository.save(inactive);
+
+		// Act
+		var found = cartRepository.findFirstByUserIdAndIsActiveTrueOrderByCartIdDesc(4242);
+
+		// Assert
+		assertTrue(found.isPresent());
+		assertEquals(newer.getCartId(), found.get().getCartId());
+		assertFalse(cartRepository.findFirstByUserIdAndIsActiveTrueOrderByCartIdDesc(4343).isPresent());
+	}
+
+	@Test
+	@DisplayName("Integration Test 11: Debe buscar por estado y rango de fechas paginando por cursor")
+	void testSearch_ByStatusAndDateRange() {
+		// Arrange
+		LocalDateTime now = LocalDateTime.now().withNano(0);
+		Order older = orderRepository.save(Order.builder().cart(testCart).orderDate(now.minusMinutes(90))
+			.orderFee(1.0).status(OrderStatus.IN_PAYMENT).isActive(true).build());
+		Order newer = orderRepository.save(Order.builder().cart(testCart).orderDate(now.minusMinutes(30))
+			.orderFee(2.0).status(OrderStatus.IN_PAYMENT).isActive(true).build());
+		orderRepository.save(Order.builder().cart(testCart).orderDate(now.minusHours(5))
+			.orderFee(3.0).status(OrderStatus.IN_PAYMENT).isActive(true).build());
+		orderRepository.flush();
+
+		// Act
+		var first = orderService.search(OrderStatus.IN_PAYMENT, now.minusHours(2), now, null, 1);
+		var second = orderService.search(OrderStatus.IN_PAYMENT, now.minusHours(2), now, first.getNextCursor(), 1);
+
+		// Assert
+		assertEquals(newer.getOrderId(), first.getCollection().iterator().next().getOrderId());
+		assertNull(first.getCollection().iterator().next().getCartDto(), "Search projection must not load the cart");
+		assertEquals(older.getOrderId(), second.getCollection().iterator().next().getOrderId());
+		assertNull(second.getNextCursor());
+	}
+
+	private long countOf(final LocalDateTime hour, final OrderStatus status) {
+		return orderStatsService.findStats(hour, hour.plusHours(1), OrderStatsGranularity.HOUR).stream()
+			.filter(s -> s.getOrderStatus() == status)
+			.mapToLong(OrderStatsDto::getOrderCount)
+			.sum();
+	}
 }
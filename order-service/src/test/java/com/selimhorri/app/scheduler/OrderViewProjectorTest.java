@@ -0,0 +1,80 @@
+package com.selimhorri.app.scheduler;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestTemplate;
+
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
+import com.selimhorri.app.service.OrderViewService;
+
+/**
+ * Pruebas unitarias para OrderViewProjector.
+ * Valida que tras un reinicio cada fuente siga desde su watermark guardado.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("OrderViewProjector Unit Tests")
+class OrderViewProjectorTest {
+
+	@Mock
+	private OrderViewService orderViewService;
+
+	@Mock
+	private RestTemplate restTemplate;
+
+	private OrderViewProjector projector;
+
+	private final Instant watermark = Instant.parse("2026-01-01T10:00:00Z");
+
+	// Matcher con el tipo genérico resuelto: any(ParameterizedTypeReference.class) deja una conversión unchecked
+	private static ParameterizedTypeReference<Object> anyTypeReference() {
+		return any();
+	}
+
+	@BeforeEach
+	void setUp() {
+		projector = new OrderViewProjector(orderViewService, restTemplate);
+		ReflectionTestUtils.setField(projector, "pageSize", 500);
+		ReflectionTestUtils.setField(projector, "overlap", Duration.ofSeconds(10));
+		projector.initFeeds();
+		doReturn(ResponseEntity.ok(new DtoCollectionResponse<>(Collections.emptyList())))
+			.when(restTemplate).exchange(anyString(), eq(HttpMethod.GET), isNull(), anyTypeReference());
+	}
+
+	@Test
+	@DisplayName("Test 1: Debe seguir desde el watermark guardado y sólo recorrer por id la fuente sin proyectar")
+	void testProject_ResumesFromStoredWatermark() {
+		// Given - pedidos y pagos ya proyectados, líneas todavía vacías
+		when(orderViewService.findOrderWatermark()).thenReturn(Optional.of(watermark));
+		when(orderViewService.findPaymentWatermark()).thenReturn(Optional.of(watermark));
+		when(orderViewService.findItemsWatermark()).thenReturn(Optional.empty());
+		when(orderViewService.findOrderChanges(any(), any(), anyInt()))
+			.thenReturn(new DtoCollectionResponse<>(Collections.emptyList()));
+
+		// When
+		projector.project();
+
+		// Then
+		verify(orderViewService).findOrderChanges(watermark.minusSeconds(10), 0, 500);
+		verify(orderViewService, never()).findOrderChanges(isNull(), any(), anyInt());
+		verify(restTemplate).exchange(contains("/changes?since=" + watermark.minusSeconds(10)), eq(HttpMethod.GET),
+			isNull(), anyTypeReference());
+		verify(restTemplate).exchange(contains("/order-summaries?after=0"), eq(HttpMethod.GET),
+			isNull(), anyTypeReference());
+	}
+}
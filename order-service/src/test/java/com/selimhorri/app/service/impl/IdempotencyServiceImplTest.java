@@ -0,0 +1,183 @@
+package com.selimhorri.app.service.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.selimhorri.app.domain.IdempotencyRecord;
+import com.selimhorri.app.dto.OrderDto;
+import com.selimhorri.app.exception.wrapper.IdempotencyKeyConflictException;
+import com.selimhorri.app.repository.IdempotencyRecordRepository;
+
+/**
+ * Pruebas unitarias para IdempotencyServiceImpl.
+ * Valida que los reintentos con la misma Idempotency-Key no repitan la escritura.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("IdempotencyServiceImpl Unit Tests")
+class IdempotencyServiceImplTest {
+
+	@Mock
+	private IdempotencyRecordRepository idempotencyRecordRepository;
+
+	private IdempotencyServiceImpl idempotencyService;
+
+	private final AtomicInteger writes = new AtomicInteger();
+	private final OrderDto request = OrderDto.builder().orderDesc("Test Order").build();
+	private final AtomicReference<String> claimedHash = new AtomicReference<>();
+
+	@BeforeEach
+	void setUp() {
+		idempotencyService = new IdempotencyServiceImpl(idempotencyRecordRepository, new JsonMapper());
+		ReflectionTestUtils.setField(idempotencyService, "ttl", Duration.ofHours(24));
+		ReflectionTestUtils.setField(idempotencyService, "lease", Duration.ofSeconds(30));
+		ReflectionTestUtils.setField(idempotencyService, "cacheMaxSize", 100);
+	}
+
+	// Simula otra petición que reclamó la clave antes con el mismo cuerpo
+	private void keyAlreadyClaimed(final String key, final String responseBody) {
+		when(idempotencyRecordRepository.claim(eq(key), any(), any(), any())).thenAnswer(invocation -> {
+			claimedHash.set(invocation.getArgument(1));
+			throw new DataIntegrityViolationException("duplicate key");
+		});
+		when(idempotencyRecordRepository.findById(key)).thenAnswer(invocation -> Optional.of(IdempotencyRecord.builder()
+			.idempotencyKey(key)
+			.requestHash(claimedHash.get())
+			.responseBody(responseBody)
+			.expiresAt(Instant.now().plus(Duration.ofHours(1)))
+			.build()));
+	}
+
+	private OrderDto createOrder() {
+		writes.incrementAndGet();
+		return OrderDto.builder().orderId(10).orderDesc("Test Order").build();
+	}
+
+	@Test
+	@DisplayName("Test 1: Debe ejecutar la escritura directamente cuando no hay Idempotency-Key")
+	void testExecute_WithoutKey() {
+		// Act
+		OrderDto result = idempotencyService.execute("orders", null, request, OrderDto.class, this::createOrder);
+
+		// Assert
+		assertEquals(10, result.getOrderId());
+		verifyNoInteractions(idempotencyRecordRepository);
+	}
+
+	@Test
+	@DisplayName("Test 2: Debe devolver la primera respuesta a un reintento sin repetir la escritura")
+	void testExecute_ReplaysFirstResponse() {
+		// Act
+		OrderDto first = idempotencyService.execute("orders", "k1", request, OrderDto.class, this::createOrder);
+		OrderDto retry = idempotencyService.execute("orders", "k1", request, OrderDto.class, this::createOrder);
+
+		// Assert
+		assertEquals(1, writes.get());
+		assertEquals(first.getOrderId(), retry.getOrderId());
+		verify(idempotencyRecordRepository, times(1)).claim(eq("orders:k1"), any(), any(), any());
+		verify(idempotencyRecordRepository, times(1)).complete(eq("orders:k1"), contains("\"orderId\":10"), any());
+	}
+
+	@Test
+	@DisplayName("Test 3: Debe responder conflicto mientras la primera petición sigue en curso")
+	void testExecute_ConflictWhileInProgress() {
+		// Arrange - otra petición ya reclamó la clave y aún no guardó respuesta
+		keyAlreadyClaimed("orders:k2", null);
+
+		// Act & Assert
+		assertThrows(IdempotencyKeyConflictException.class,
+			() -> idempotencyService.execute("orders", "k2", request, OrderDto.class, this::createOrder));
+		assertEquals(0, writes.get());
+	}
+
+	@Test
+	@DisplayName("Test 4: Debe reproducir la respuesta guardada en la tabla por otra instancia")
+	void testExecute_ReplaysStoredResponse() {
+		// Arrange
+		keyAlreadyClaimed("orders:k3", "{\"orderId\":7,\"orderDesc\":\"Stored\"}");
+
+		// Act
+		OrderDto result = idempotencyService.execute("orders", "k3", request, OrderDto.class, this::createOrder);
+
+		// Assert
+		assertEquals(7, result.getOrderId());
+		assertEquals(0, writes.get());
+	}
+
+	@Test
+	@DisplayName("Test 5: Debe liberar la clave cuando la escritura falla")
+	void testExecute_ReleasesKeyOnFailure() {
+		// Act & Assert
+		assertThrows(IllegalArgumentException.class, () -> idempotencyService.execute("orders", "k4",
+			request, OrderDto.class, () -> {
+				throw new IllegalArgumentException("Order must be associated with a cart");
+			}));
+		verify(idempotencyRecordRepository, times(1)).deleteById("orders:k4");
+		verify(idempotencyRecordRepository, never()).complete(any(), any(), any());
+	}
+
+	@Test
+	@DisplayName("Test 6: Debe rechazar una clave reutilizada con otro cuerpo de petición")
+	void testExecute_RejectsKeyReusedWithDifferentRequest() {
+		// Arrange
+		idempotencyService.execute("orders", "k5", request, OrderDto.class, this::createOrder);
+		OrderDto otherRequest = OrderDto.builder().orderDesc("Another Order").build();
+
+		// Act & Assert
+		assertThrows(IdempotencyKeyConflictException.class,
+			() -> idempotencyService.execute("orders", "k5", otherRequest, OrderDto.class, this::createOrder));
+		assertEquals(1, writes.get());
+	}
+
+	@Test
+	@DisplayName("Test 7: Debe tomar una clave cuyo lease venció sin respuesta")
+	void testExecute_TakesOverExpiredLease() {
+		// Arrange - la primera petición murió antes de completar: reclamación sin respuesta y lease vencido
+		when(idempotencyRecordRepository.claim(eq("orders:k6"), any(), any(), any()))
+			.thenThrow(new DataIntegrityViolationException("duplicate key"))
+			.thenReturn(1);
+		when(idempotencyRecordRepository.findById("orders:k6")).thenReturn(Optional.of(IdempotencyRecord.builder()
+			.idempotencyKey("orders:k6")
+			.expiresAt(Instant.now().minusSeconds(1))
+			.build()));
+
+		// Act
+		OrderDto result = idempotencyService.execute("orders", "k6", request, OrderDto.class, this::createOrder);
+
+		// Assert
+		assertEquals(10, result.getOrderId());
+		assertEquals(1, writes.get());
+		verify(idempotencyRecordRepository, times(1)).deleteIfExpired(eq("orders:k6"), any());
+		verify(idempotencyRecordRepository, times(1)).complete(eq("orders:k6"), any(), any());
+	}
+
+	@Test
+	@DisplayName("Test 8: La reclamación debe usar el lease corto y el TTL sólo al completar")
+	void testExecute_ClaimsWithLeaseAndExtendsOnComplete() {
+		// Act
+		Instant before = Instant.now();
+		idempotencyService.execute("orders", "k7", request, OrderDto.class, this::createOrder);
+
+		// Assert
+		verify(idempotencyRecordRepository).claim(eq("orders:k7"), any(),
+			argThat(expiresAt -> expiresAt.isBefore(before.plus(Duration.ofMinutes(1)))), any());
+		verify(idempotencyRecordRepository).complete(eq("orders:k7"), any(),
+			argThat(expiresAt -> expiresAt.isAfter(before.plus(Duration.ofHours(23)))));
+	}
+}
@@ -15,15 +15,28 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import com.selimhorri.app.domain.Cart;
 import com.selimhorri.app.domain.Order;
 import com.selimhorri.app.domain.enums.OrderStatus;
+import com.selimhorri.app.domain.enums.OrderStatusEventOutcome;
+import com.selimhorri.app.domain.enums.OrderStatusTransitionOutcome;
 import com.selimhorri.app.dto.OrderDto;
+import com.selimhorri.app.dto.OrderStatusChangeDto;
+import com.selimhorri.app.dto.OrderStatusEventDto;
+import com.selimhorri.app.dto.OrderStatusEventResultDto;
+import com.selimhorri.app.dto.OrderStatusTransitionResultDto;
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
 import com.selimhorri.app.exception.wrapper.OrderNotFoundException;
+import com.selimhorri.app.exception.wrapper.OrderStatusConflictException;
 import com.selimhorri.app.repository.CartRepository;
 import com.selimhorri.app.repository.OrderRepository;
+import com.selimhorri.app.service.OrderStatsService;
 
 /**
  * Pruebas unitarias para OrderServiceImpl.
@@ -39,6 +52,13 @@ class OrderServiceImplTest {
 	@Mock
 	private CartRepository cartRepository;
 
+	@Mock
+	private OrderStatsService orderStatsService;
+
+	// Plantilla real sobre un gestor simulado: ejecuta el callback como lo haría dentro de una transacción
+	@Spy
+	private TransactionTemplate transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class));
+
 	@InjectMocks
 	private OrderServiceImpl orderService;
 
@@ -63,15 +83,18 @@ class OrderServiceImplTest {
 		// Arrange
 		when(orderRepository.findByOrderIdAndIsActiveTrue(1))
 			.thenReturn(Optional.of(testOrder));
-		when(orderRepository.save(any(Order.class))).thenReturn(testOrder);
+		when(orderRepository.transitionStatus(eq(1), eq(OrderStatus.CREATED), eq(OrderStatus.ORDERED), any()))
+			.thenReturn(1);
 
 		// Act
 		OrderDto result = orderService.updateStatus(1);
 
 		// Assert
 		assertNotNull(result);
+		assertEquals(OrderStatus.ORDERED, result.getOrderStatus());
 		verify(orderRepository, times(1)).findByOrderIdAndIsActiveTrue(1);
-		verify(orderRepository, times(1)).save(any(Order.class));
+		verify(orderRepository, never()).save(any(Order.class));
+		verify(orderStatsService).recordTransition(testOrder, OrderStatus.CREATED, OrderStatus.ORDERED);
 	}
 
 	@Test
@@ -135,4 +158,116 @@ class OrderServiceImplTest {
 		assertTrue(result.size() >= 0);
 		verify(orderRepository, times(1)).findAllByIsActiveTrue();
 	}
+
+	@Test
+	@DisplayName("Test 6: Debe devolver una página por keyset con el cursor siguiente")
+	void testFindPage_ReturnsNextCursor() {
+		// Arrange - se piden 2 de límite, el repositorio devuelve 3 (límite + 1)
+		Order order2 = new Order();
+		order2.setOrderId(2);
+		order2.setCart(testCart);
+		order2.setStatus(OrderStatus.ORDERED);
+		Order order3 = new Order();
+		order3.setOrderId(3);
+		order3.setCart(testCart);
+		order3.setStatus(OrderStatus.ORDERED);
+		when(orderRepository.findByIsActiveTrueAndOrderIdGreaterThanOrderByOrderIdAsc(0, PageRequest.of(0, 3)))
+			.thenReturn(Arrays.asList(testOrder, order2, order3));
+
+		// Act
+		DtoCollectionResponse<OrderDto> result = orderService.findPage(null, 2);
+
+		// Assert
+		assertEquals(2, result.getCollection().size());
+		assertEquals(2, result.getNextCursor());
+	}
+
+	@Test
+	@DisplayName("Test 7: Debe aplicar, reconocer como duplicado o rechazar eventos de estado del outbox")
+	void testApplyStatusEvents_IsIdempotent() {
+		// Arrange - orden 1 avanza; orden 2 ya estaba en IN_PAYMENT (reentrega); orden 3 sigue en CREATED
+		when(orderRepository.transitionStatus(eq(1), eq(OrderStatus.ORDERED), eq(OrderStatus.IN_PAYMENT), any()))
+			.thenReturn(1);
+		when(orderRepository.transitionStatus(eq(2), eq(OrderStatus.ORDERED), eq(OrderStatus.IN_PAYMENT), any()))
+			.thenReturn(0);
+		when(orderRepository.transitionStatus(eq(3), eq(OrderStatus.ORDERED), eq(OrderStatus.IN_PAYMENT), any()))
+			.thenReturn(0);
+		when(orderRepository.findStatusByOrderId(2)).thenReturn(Optional.of(OrderStatus.IN_PAYMENT));
+		when(orderRepository.findStatusByOrderId(3)).thenReturn(Optional.of(OrderStatus.CREATED));
+
+		// Act
+		List<OrderStatusEventResultDto> results = orderService.applyStatusEvents(Arrays.asList(
+			new OrderStatusEventDto("e1", 1, OrderStatus.ORDERED, OrderStatus.IN_PAYMENT),
+			new OrderStatusEventDto("e2", 2, OrderStatus.ORDERED, OrderStatus.IN_PAYMENT),
+			new OrderStatusEventDto("e3", 3, OrderStatus.ORDERED, OrderStatus.IN_PAYMENT)));
+
+		// Assert
+		assertEquals(OrderStatusEventOutcome.APPLIED, results.get(0).getOutcome());
+		assertEquals(OrderStatusEventOutcome.ALREADY_APPLIED, results.get(1).getOutcome());
+		assertEquals(OrderStatusEventOutcome.REJECTED, results.get(2).getOutcome());
+		verify(orderRepository, never()).save(any(Order.class));
+	}
+
+	@Test
+	@DisplayName("Test 8: Debe releer y reintentar la transición cuando otra petición cambió la orden")
+	void testUpdateStatus_RetriesOnConcurrentChange() {
+		// Arrange - el primer intento pierde la carrera: la orden ya pasó a ORDERED
+		Order advancedOrder = new Order();
+		advancedOrder.setOrderId(1);
+		advancedOrder.setCart(testCart);
+		advancedOrder.setStatus(OrderStatus.ORDERED);
+		advancedOrder.setVersion(1);
+		when(orderRepository.findByOrderIdAndIsActiveTrue(1))
+			.thenReturn(Optional.of(testOrder))
+			.thenReturn(Optional.of(advancedOrder));
+		when(orderRepository.transitionStatus(eq(1), eq(OrderStatus.CREATED), eq(OrderStatus.ORDERED), any()))
+			.thenReturn(0);
+		when(orderRepository.transitionStatus(eq(1), eq(OrderStatus.ORDERED), eq(OrderStatus.IN_PAYMENT), any()))
+			.thenReturn(1);
+
+		// Act
+		OrderDto result = orderService.updateStatus(1);
+
+		// Assert
+		assertEquals(OrderStatus.IN_PAYMENT, result.getOrderStatus());
+		assertEquals(2, advancedOrder.getVersion());
+		verify(orderRepository, times(2)).findByOrderIdAndIsActiveTrue(1);
+	}
+
+	@Test
+	@DisplayName("Test 9: Debe responder conflicto cuando la orden ya no está en el estado esperado")
+	void testUpdateStatus_ExpectedStatusConflict() {
+		// Arrange
+		when(orderRepository.findByOrderIdAndIsActiveTrue(1)).thenReturn(Optional.of(testOrder));
+		when(orderRepository.transitionStatus(eq(1), eq(OrderStatus.ORDERED), eq(OrderStatus.IN_PAYMENT), any()))
+			.thenReturn(0);
+
+		// Act & Assert
+		assertThrows(OrderStatusConflictException.class,
+			() -> orderService.updateStatus(1, OrderStatus.ORDERED));
+		verifyNoInteractions(orderStatsService);
+	}
+
+	@Test
+	@DisplayName("Test 10: Debe avanzar en bloque solo las órdenes en el estado esperado")
+	void testUpdateStatuses_AdvancesSkipsAndReportsMissing() {
+		// Arrange - orden 1 en ORDERED, orden 2 ya en IN_PAYMENT, orden 3 no existe
+		when(orderRepository.findStatusesForUpdate(anyCollection())).thenReturn(Arrays.asList(
+			new OrderStatusChangeDto(1, OrderStatus.ORDERED, true, null),
+			new OrderStatusChangeDto(2, OrderStatus.IN_PAYMENT, true, null)));
+		when(orderRepository.transitionStatuses(eq(List.of(1)), eq(OrderStatus.ORDERED), eq(OrderStatus.IN_PAYMENT),
+			any())).thenReturn(1);
+
+		// Act
+		List<OrderStatusTransitionResultDto> results = orderService.updateStatuses(List.of(1, 2, 3, 1),
+			OrderStatus.ORDERED);
+
+		// Assert
+		assertEquals(3, results.size());
+		assertEquals(OrderStatusTransitionOutcome.ADVANCED, results.get(0).getOutcome());
+		assertEquals(OrderStatus.IN_PAYMENT, results.get(0).getOrderStatus());
+		assertEquals(OrderStatusTransitionOutcome.SKIPPED, results.get(1).getOutcome());
+		assertEquals(OrderStatusTransitionOutcome.NOT_FOUND, results.get(2).getOutcome());
+		verify(orderRepository, times(1)).transitionStatuses(anyCollection(), any(), any(), any());
+	}
 }
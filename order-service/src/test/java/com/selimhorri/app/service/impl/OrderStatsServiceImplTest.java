@@ -0,0 +1,123 @@
+package com.selimhorri.app.service.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.selimhorri.app.domain.Order;
+import com.selimhorri.app.domain.OrderStats;
+import com.selimhorri.app.domain.enums.OrderStatsGranularity;
+import com.selimhorri.app.domain.enums.OrderStatus;
+import com.selimhorri.app.dto.OrderStatsDto;
+import com.selimhorri.app.repository.OrderRepository;
+import com.selimhorri.app.repository.OrderStatsRepository;
+
+/**
+ * Pruebas unitarias para OrderStatsServiceImpl.
+ * Valida el movimiento de contadores entre buckets y la reconstrucción desde las órdenes.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("OrderStatsServiceImpl Unit Tests")
+class OrderStatsServiceImplTest {
+
+	private static final LocalDateTime ORDER_DATE = LocalDateTime.of(2026, 3, 10, 14, 25);
+	private static final LocalDateTime HOUR = LocalDateTime.of(2026, 3, 10, 14, 0);
+	private static final LocalDateTime DAY = LocalDateTime.of(2026, 3, 10, 0, 0);
+
+	@Mock
+	private OrderStatsRepository orderStatsRepository;
+
+	@Mock
+	private OrderRepository orderRepository;
+
+	@InjectMocks
+	private OrderStatsServiceImpl orderStatsService;
+
+	private Order order(final boolean active) {
+		return Order.builder().orderId(1).orderDate(ORDER_DATE).orderFee(40.0).status(OrderStatus.ORDERED)
+			.isActive(active).build();
+	}
+
+	@Test
+	@DisplayName("Test 1: Una transición debe mover la orden y su tarifa entre estados en horas y días")
+	void testRecordTransition_MovesBetweenStatuses() {
+		// Act
+		orderStatsService.recordTransition(order(true), OrderStatus.ORDERED, OrderStatus.IN_PAYMENT);
+
+		// Assert
+		verify(orderStatsRepository).increment("HOUR", HOUR, "ORDERED", -1, -40.0);
+		verify(orderStatsRepository).increment("DAY", DAY, "ORDERED", -1, -40.0);
+		verify(orderStatsRepository).increment("HOUR", HOUR, "IN_PAYMENT", 1, 40.0);
+		verify(orderStatsRepository).increment("DAY", DAY, "IN_PAYMENT", 1, 40.0);
+	}
+
+	@Test
+	@DisplayName("Test 2: Debe sumar la orden con un único upsert por bucket, exista o no la fila")
+	void testRecordAdded_UpsertsEachBucketOnce() {
+		// Act
+		orderStatsService.recordAdded(order(true));
+
+		// Assert
+		verify(orderStatsRepository).increment("HOUR", HOUR, "ORDERED", 1, 40.0);
+		verify(orderStatsRepository).increment("DAY", DAY, "ORDERED", 1, 40.0);
+		verifyNoMoreInteractions(orderStatsRepository);
+	}
+
+	@Test
+	@DisplayName("Test 3: Las órdenes inactivas no deben contar")
+	void testRecordAdded_IgnoresInactiveOrders() {
+		// Act
+		orderStatsService.recordAdded(order(false));
+
+		// Assert
+		verifyNoInteractions(orderStatsRepository);
+	}
+
+	@Test
+	@DisplayName("Test 4: La reconstrucción debe sumar las horas de cada día")
+	@SuppressWarnings("unchecked")
+	void testRebuild_FoldsHoursIntoDays() {
+		// Arrange
+		when(orderRepository.aggregateActiveByHourAndStatus()).thenReturn(List.of(
+			new OrderStatsDto(2026, 3, 10, 9, OrderStatus.CREATED, 2L, 30.0),
+			new OrderStatsDto(2026, 3, 10, 14, OrderStatus.CREATED, 1L, null)));
+
+		// Act
+		int buckets = orderStatsService.rebuild();
+
+		// Assert
+		assertEquals(3, buckets);
+		ArgumentCaptor<Collection<OrderStats>> captor = ArgumentCaptor.forClass(Collection.class);
+		verify(orderStatsRepository).deleteAllBuckets();
+		verify(orderStatsRepository).saveAll(captor.capture());
+		OrderStats day = captor.getValue().stream()
+			.filter(s -> s.getGranularity() == OrderStatsGranularity.DAY)
+			.findFirst()
+			.orElseThrow();
+		assertEquals(DAY, day.getBucketStart());
+		assertEquals(3L, day.getOrderCount());
+		assertEquals(30.0, day.getRevenue());
+	}
+
+	@Test
+	@DisplayName("Test 5: Debe rechazar rangos con demasiados buckets")
+	void testFindStats_RejectsTooManyBuckets() {
+		// Act & Assert
+		assertThrows(IllegalArgumentException.class, () -> orderStatsService.findStats(DAY, DAY.plusYears(1),
+			OrderStatsGranularity.HOUR));
+		verifyNoInteractions(orderStatsRepository);
+	}
+
+}
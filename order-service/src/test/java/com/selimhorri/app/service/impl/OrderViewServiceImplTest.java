@@ -0,0 +1,132 @@
+package com.selimhorri.app.service.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+import com.selimhorri.app.domain.OrderView;
+import com.selimhorri.app.domain.enums.OrderStatus;
+import com.selimhorri.app.dto.OrderItemSummaryDto;
+import com.selimhorri.app.dto.OrderViewDto;
+import com.selimhorri.app.dto.PaymentChangeDto;
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
+import com.selimhorri.app.repository.OrderRepository;
+import com.selimhorri.app.repository.OrderViewRepository;
+
+/**
+ * Pruebas unitarias para OrderViewServiceImpl.
+ * Valida que cada fuente actualice solo sus columnas de order_view y que los
+ * cambios releídos por el solapamiento no pisen otros más recientes.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("OrderViewServiceImpl Unit Tests")
+class OrderViewServiceImplTest {
+
+	private static final Instant T1 = Instant.parse("2026-01-01T10:00:00Z");
+	private static final Instant T2 = Instant.parse("2026-01-01T10:05:00Z");
+
+	@Mock
+	private OrderViewRepository orderViewRepository;
+
+	@Mock
+	private OrderRepository orderRepository;
+
+	@InjectMocks
+	private OrderViewServiceImpl orderViewService;
+
+	@SuppressWarnings("unchecked")
+	private List<OrderView> captureCreated() {
+		ArgumentCaptor<Collection<OrderView>> captor = ArgumentCaptor.forClass(Collection.class);
+		verify(orderViewRepository).saveAll(captor.capture());
+		return List.copyOf(captor.getValue());
+	}
+
+	@Test
+	@DisplayName("Test 1: Debe crear la fila de la vista cuando el pago llega antes que la orden")
+	void testApplyPayments_CreatesMissingRow() {
+		// Arrange
+		when(orderViewRepository.findAllById(anyCollection())).thenReturn(List.of());
+
+		// Act
+		int applied = orderViewService.applyPayments(List.of(PaymentChangeDto.builder()
+			.paymentId(7).orderId(1).paymentStatus("COMPLETED").isPayed(true).updatedAt(T1).build()));
+
+		// Assert
+		assertEquals(1, applied);
+		List<OrderView> created = captureCreated();
+		assertEquals(1, created.size());
+		assertEquals(7, created.get(0).getPaymentId());
+		assertEquals("COMPLETED", created.get(0).getPaymentStatus());
+		assertNull(created.get(0).getUserId());
+	}
+
+	@Test
+	@DisplayName("Test 2: Debe ignorar un cambio de la orden más antiguo que el ya proyectado")
+	void testApplyOrders_SkipsStaleChange() {
+		// Arrange
+		OrderView view = OrderView.builder().orderId(1).userId(3).orderStatus(OrderStatus.ORDERED)
+			.orderUpdatedAt(T2).build();
+		when(orderViewRepository.findAllById(anyCollection())).thenReturn(List.of(view));
+
+		// Act
+		int applied = orderViewService.applyOrders(List.of(OrderViewDto.builder()
+			.orderId(1).userId(3).orderStatus(OrderStatus.CREATED).isActive(true).updatedAt(T1).build()));
+
+		// Assert
+		assertEquals(0, applied);
+		assertEquals(OrderStatus.ORDERED, view.getOrderStatus());
+		assertTrue(captureCreated().isEmpty());
+	}
+
+	@Test
+	@DisplayName("Test 3: Los totales de ítems no deben tocar las columnas de la orden ni del pago")
+	void testApplyItemSummaries_OnlyItemColumns() {
+		// Arrange
+		OrderView view = OrderView.builder().orderId(1).userId(3).orderStatus(OrderStatus.ORDERED)
+			.paymentStatus("IN_PROGRESS").orderUpdatedAt(T2).itemsUpdatedAt(T1).build();
+		when(orderViewRepository.findAllById(anyCollection())).thenReturn(List.of(view));
+
+		// Act
+		int applied = orderViewService.applyItemSummaries(List.of(OrderItemSummaryDto.builder()
+			.orderId(1).itemCount(2L).totalQuantity(5L).updatedAt(T2).build()));
+
+		// Assert
+		assertEquals(1, applied);
+		assertEquals(2, view.getItemCount());
+		assertEquals(5, view.getTotalQuantity());
+		assertEquals(T2, view.getItemsUpdatedAt());
+		assertEquals(OrderStatus.ORDERED, view.getOrderStatus());
+		assertEquals("IN_PROGRESS", view.getPaymentStatus());
+	}
+
+	@Test
+	@DisplayName("Test 4: Debe paginar el historial del cliente por orderId")
+	void testFindByUserId_Paginates() {
+		// Arrange
+		when(orderViewRepository.findActiveByUserId(eq(3), eq(0), any(Pageable.class))).thenReturn(List.of(
+			OrderView.builder().orderId(1).userId(3).isActive(true).build(),
+			OrderView.builder().orderId(2).userId(3).isActive(true).build(),
+			OrderView.builder().orderId(4).userId(3).isActive(true).build()));
+
+		// Act
+		DtoCollectionResponse<OrderViewDto> page = orderViewService.findByUserId(3, null, 2);
+
+		// Assert
+		assertEquals(2, page.getCollection().size());
+		assertEquals(2, page.getNextCursor());
+	}
+
+}
@@ -0,0 +1,43 @@
+package com.selimhorri.app.domain;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Local replica of an order's status, fed from order-service's status feed.
+ * {@code updatedAt} is order-service's own timestamp for the change.
+ */
+@Entity
+@Table(name = "order_status_projection")
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public final class OrderStatusProjection implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	
+	@Id
+	@Column(name = "order_id", unique = true, nullable = false, updatable = false)
+	private Integer orderId;
+	
+	@Column(name = "order_status", nullable = false)
+	private String orderStatus;
+	
+	@Column(name = "is_active")
+	private boolean isActive;
+	
+	@Column(name = "updated_at")
+	private Instant updatedAt;
+	
+}
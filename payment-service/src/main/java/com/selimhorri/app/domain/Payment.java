@@ -10,6 +10,7 @@ import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.Table;
+import javax.persistence.Version;
 
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -36,6 +37,9 @@ public final class Payment extends AbstractMappedEntity implements Serializable
 	@Column(name = "order_id")
 	private Integer orderId;
 	
+	@Column(name = "user_id")
+	private Integer userId;
+	
 	@Column(name = "is_payed")
 	private Boolean isPayed;
 	
@@ -43,6 +47,10 @@ public final class Payment extends AbstractMappedEntity implements Serializable
 	@Column(name = "payment_status")
 	private PaymentStatus paymentStatus;
 	
+	@Version
+	@Column(name = "version", nullable = false)
+	private Integer version;
+	
 }
 
 
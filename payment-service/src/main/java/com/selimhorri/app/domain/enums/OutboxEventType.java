@@ -0,0 +1,8 @@
+package com.selimhorri.app.domain.enums;
+
+public enum OutboxEventType {
+    // Transición de la orden, entregada a order-service
+    ORDER_STATUS,
+    // Confirmación o cancelación de los holds de stock de la orden, entregada a product-service
+    STOCK_HOLD
+}
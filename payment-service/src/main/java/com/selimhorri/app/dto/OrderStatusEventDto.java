@@ -0,0 +1,23 @@
+package com.selimhorri.app.dto;
+
+import java.io.Serializable;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public class OrderStatusEventDto implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	
+	private String eventId;
+	private Integer orderId;
+	private String fromStatus;
+	private String toStatus;
+	
+}
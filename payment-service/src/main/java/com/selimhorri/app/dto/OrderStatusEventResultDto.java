@@ -0,0 +1,31 @@
+package com.selimhorri.app.dto;
+
+import java.io.Serializable;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public class OrderStatusEventResultDto implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	
+	public static final String APPLIED = "APPLIED";
+	public static final String ALREADY_APPLIED = "ALREADY_APPLIED";
+	
+	private String eventId;
+	private String outcome;
+	
+	@JsonIgnore
+	public boolean isEffective() {
+		return APPLIED.equals(this.outcome) || ALREADY_APPLIED.equals(this.outcome);
+	}
+	
+}
@@ -0,0 +1,31 @@
+package com.selimhorri.app.dto;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonFormat.Shape;
+import com.selimhorri.app.domain.PaymentStatus;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public class PaymentChangeDto implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	
+	private Integer paymentId;
+	private Integer orderId;
+	private PaymentStatus paymentStatus;
+	private Boolean isPayed;
+	
+	@JsonFormat(shape = Shape.STRING)
+	private Instant updatedAt;
+	
+}
@@ -0,0 +1,25 @@
+package com.selimhorri.app.repository;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.selimhorri.app.domain.OrderStatusOutboxEvent;
+import com.selimhorri.app.domain.enums.OutboxEventType;
+
+public interface OrderStatusOutboxRepository extends JpaRepository<OrderStatusOutboxEvent, String> {
+	
+	// Pendientes de un tipo cuyo reintento ya venció, en orden de creación (índice delivered_at, next_attempt_at)
+	List<OrderStatusOutboxEvent> findByEventTypeAndDeliveredAtIsNullAndNextAttemptAtLessThanEqualOrderByCreatedAtAsc(
+			final OutboxEventType eventType, final Instant now, final Pageable pageable);
+	
+	@Modifying
+	@Query("DELETE FROM OrderStatusOutboxEvent e WHERE e.deliveredAt < :before")
+	int deleteDeliveredBefore(@Param("before") final Instant before);
+	
+}
@@ -0,0 +1,16 @@
+package com.selimhorri.app.repository;
+
+import java.time.Instant;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import com.selimhorri.app.domain.OrderStatusProjection;
+
+public interface OrderStatusProjectionRepository extends JpaRepository<OrderStatusProjection, Integer> {
+	
+	@Query("SELECT MAX(s.updatedAt) FROM OrderStatusProjection s")
+	Optional<Instant> findMaxUpdatedAt();
+	
+}
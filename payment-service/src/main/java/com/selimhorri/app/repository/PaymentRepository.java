@@ -1,11 +1,90 @@
 package com.selimhorri.app.repository;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
+import javax.transaction.Transactional;
+
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import com.selimhorri.app.domain.Payment;
+import com.selimhorri.app.domain.PaymentStatus;
+import com.selimhorri.app.dto.PaymentChangeDto;
 
 public interface PaymentRepository extends JpaRepository<Payment, Integer> {
 	
+	List<Payment> findByPaymentIdGreaterThanOrderByPaymentIdAsc(final Integer after, final Pageable pageable);
+	
+	// Filtro por estado de la orden contra la réplica local order_status_projection, sin llamar a order-service
+	@Query("SELECT p FROM Payment p, OrderStatusProjection s WHERE s.orderId = p.orderId "
+			+ "AND s.orderStatus = :orderStatus AND s.isActive = true ORDER BY p.paymentId ASC")
+	List<Payment> findAllByOrderStatus(@Param("orderStatus") final String orderStatus);
+	
+	@Query("SELECT p FROM Payment p, OrderStatusProjection s WHERE s.orderId = p.orderId "
+			+ "AND s.orderStatus = :orderStatus AND s.isActive = true AND p.paymentId > :after "
+			+ "ORDER BY p.paymentId ASC")
+	List<Payment> findPageByOrderStatus(@Param("orderStatus") final String orderStatus,
+			@Param("after") final Integer after, final Pageable pageable);
+	
+	// Feed de cambios para réplicas: todos los pagos por paymentId (carga inicial) o los cambiados después de (since, after)
+	@Query("SELECT new com.selimhorri.app.dto.PaymentChangeDto(p.paymentId, p.orderId, p.paymentStatus, p.isPayed, "
+			+ "p.updatedAt) FROM Payment p WHERE p.paymentId > :after ORDER BY p.paymentId ASC")
+	List<PaymentChangeDto> findChangesAfter(@Param("after") final Integer after, final Pageable pageable);
+	
+	@Query("SELECT new com.selimhorri.app.dto.PaymentChangeDto(p.paymentId, p.orderId, p.paymentStatus, p.isPayed, "
+			+ "p.updatedAt) FROM Payment p WHERE p.updatedAt > :since OR (p.updatedAt = :since AND p.paymentId > :after) "
+			+ "ORDER BY p.updatedAt ASC, p.paymentId ASC")
+	List<PaymentChangeDto> findChangesSince(@Param("since") final Instant since, @Param("after") final Integer after,
+			final Pageable pageable);
+	
+	// Compare-and-set: 0 filas si otro proceso ya movió el pago desde el estado esperado
+	@Transactional
+	@Modifying(clearAutomatically = true)
+	@Query("UPDATE Payment p SET p.paymentStatus = :next, p.version = p.version + 1, p.updatedAt = :now "
+			+ "WHERE p.paymentId = :paymentId AND p.paymentStatus = :expected")
+	int transitionStatus(@Param("paymentId") final Integer paymentId, @Param("expected") final PaymentStatus expected,
+			@Param("next") final PaymentStatus next, @Param("now") final Instant now);
+	
+	// Archivado: candidatos sin bloqueo, por idx_payments_status_updated_at
+	@Query("SELECT p.paymentId FROM Payment p WHERE p.paymentStatus = :status AND p.updatedAt < :cutoff "
+			+ "ORDER BY p.updatedAt ASC, p.paymentId ASC")
+	List<Integer> findArchivableIds(@Param("status") final PaymentStatus status, @Param("cutoff") final Instant cutoff,
+			final Pageable pageable);
+	
+	// Bloquea sólo esas filas por PK y descarta las que cambiaron de estado entre medias
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query("SELECT p.paymentId FROM Payment p WHERE p.paymentId IN :paymentIds AND p.paymentStatus = :status "
+			+ "AND p.updatedAt < :cutoff")
+	List<Integer> lockArchivable(@Param("paymentIds") final Collection<Integer> paymentIds,
+			@Param("status") final PaymentStatus status, @Param("cutoff") final Instant cutoff);
+	
+	@Transactional
+	@Modifying
+	@Query(value = "INSERT INTO payments_archive (payment_id, order_id, user_id, is_payed, payment_status, version, "
+			+ "created_at, updated_at, archived_at) SELECT payment_id, order_id, user_id, is_payed, payment_status, "
+			+ "version, created_at, updated_at, :now FROM payments WHERE payment_id IN (:paymentIds)", nativeQuery = true)
+	int copyToArchive(@Param("paymentIds") final Collection<Integer> paymentIds, @Param("now") final Instant now);
+	
+	@Transactional
+	@Modifying(clearAutomatically = true)
+	@Query("DELETE FROM Payment p WHERE p.paymentId IN :paymentIds AND p.paymentStatus = :status")
+	int deleteArchived(@Param("paymentIds") final Collection<Integer> paymentIds,
+			@Param("status") final PaymentStatus status);
 	
+	// Solo lectura: la fila archivada se mapea sobre Payment pero nunca se vuelve a escribir
+	@QueryHints(@QueryHint(name = org.hibernate.annotations.QueryHints.READ_ONLY, value = "true"))
+	@Query(value = "SELECT payment_id, order_id, user_id, is_payed, payment_status, version, created_at, updated_at "
+			+ "FROM payments_archive WHERE payment_id = :paymentId", nativeQuery = true)
+	Optional<Payment> findArchivedById(@Param("paymentId") final Integer paymentId);
 	
 }
@@ -1,5 +1,7 @@
 package com.selimhorri.app.resource;
 
+import java.time.Instant;
+
 import javax.validation.Valid;
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
@@ -12,11 +14,15 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.selimhorri.app.dto.PaymentChangeDto;
 import com.selimhorri.app.dto.PaymentDto;
 import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
+import com.selimhorri.app.service.IdempotencyService;
 import com.selimhorri.app.service.PaymentService;
 
 import lombok.RequiredArgsConstructor;
@@ -29,11 +35,29 @@ import lombok.extern.slf4j.Slf4j;
 public class PaymentResource {
 
 	private final PaymentService paymentService;
+	private final IdempotencyService idempotencyService;
 
 	@GetMapping
-	public ResponseEntity<DtoCollectionResponse<PaymentDto>> findAll() {
+	public ResponseEntity<DtoCollectionResponse<PaymentDto>> findAll(
+			@RequestParam(value = "after", required = false) final Integer after,
+			@RequestParam(value = "limit", required = false) final Integer limit) {
 		log.info("*** PaymentDto List, controller; fetch all payments *");
-		return ResponseEntity.ok(new DtoCollectionResponse<>(this.paymentService.findAll()));
+		if (after == null && limit == null)
+			return ResponseEntity.ok(new DtoCollectionResponse<>(this.paymentService.findAll()));
+		return ResponseEntity.ok(this.paymentService.findPage(after, DtoCollectionResponse.pageLimit(limit)));
+	}
+
+	/**
+	 * Payment feed for read models kept in other services: without {@code since} it
+	 * walks every payment by id, with it only the payments changed after {@code (since, after)}.
+	 */
+	@GetMapping("/changes")
+	public ResponseEntity<DtoCollectionResponse<PaymentChangeDto>> findChanges(
+			@RequestParam(value = "since", required = false) final Instant since,
+			@RequestParam(value = "after", required = false) final Integer after,
+			@RequestParam(value = "limit", required = false) final Integer limit) {
+		log.info("*** PaymentChangeDto List, controller; fetch payment changes *");
+		return ResponseEntity.ok(this.paymentService.findChanges(since, after, DtoCollectionResponse.pageLimit(limit)));
 	}
 
 	@GetMapping("/{paymentId}")
@@ -43,11 +67,24 @@ public class PaymentResource {
 		return ResponseEntity.ok(this.paymentService.findById(Integer.parseInt(paymentId)));
 	}
 
+	@GetMapping("/{paymentId}/owner")
+	public ResponseEntity<Integer> findOwnerId(
+			@PathVariable("paymentId") @NotBlank(message = "Input must not be blank") @Valid final String paymentId) {
+		log.info("*** Integer, resource; fetch owner of payment *");
+		return ResponseEntity.ok(this.paymentService.findOwnerId(Integer.parseInt(paymentId)));
+	}
+
+	/**
+	 * With an {@code Idempotency-Key} header a retried POST gets the first payment back;
+	 * neither the order lookups nor the outbox event are repeated.
+	 */
 	@PostMapping
 	public ResponseEntity<PaymentDto> save(
+			@RequestHeader(value = "Idempotency-Key", required = false) final String idempotencyKey,
 			@RequestBody @NotNull(message = "Input must not be NULL") @Valid final PaymentDto paymentDto) {
 		log.info("*** PaymentDto, resource; save payment *");
-		return ResponseEntity.ok(this.paymentService.save(paymentDto));
+		return ResponseEntity.ok(this.idempotencyService.execute("payments", idempotencyKey, paymentDto,
+				PaymentDto.class, () -> this.paymentService.save(paymentDto)));
 	}
 
 	@PatchMapping("/{paymentId}")
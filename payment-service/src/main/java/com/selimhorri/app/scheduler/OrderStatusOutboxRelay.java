@@ -0,0 +1,134 @@
+package com.selimhorri.app.scheduler;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.dto.OrderStatusEventDto;
+import com.selimhorri.app.dto.OrderStatusEventResultDto;
+import com.selimhorri.app.service.OrderStatusOutboxService;
+import com.selimhorri.app.service.OrderStatusProjectionService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Delivers the pending order status events to order-service in batches. A batch
+ * that cannot be delivered is retried with exponential backoff; order-service
+ * applies each event as a conditional transition, so a redelivery is harmless.
+ * Events order-service rejects (the order moved on) are recorded and not retried.
+ * Stock hold events are posted to product-service one order at a time; confirming
+ * or canceling holds that already left HELD is a no-op there, so they are retried
+ * the same way.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class OrderStatusOutboxRelay {
+	
+	private static final String STATUS_EVENTS_URL = AppConstant.DiscoveredDomainsApi.ORDER_SERVICE_API_URL
+			+ "/status-events";
+	private static final String STOCK_HOLD_CONFIRMED = "CONFIRMED";
+	
+	private final OrderStatusOutboxService orderStatusOutboxService;
+	private final OrderStatusProjectionService orderStatusProjectionService;
+	private final RestTemplate restTemplate;
+	private final MeterRegistry meterRegistry;
+	
+	@Value("${app.outbox.batch-size:100}")
+	private int batchSize;
+	
+	@Value("${app.outbox.retention:7d}")
+	private Duration retention;
+	
+	@Scheduled(fixedDelayString = "${app.outbox.relay-interval:1000}")
+	public void relay() {
+		List<OrderStatusEventDto> batch;
+		do {
+			batch = this.orderStatusOutboxService.findDue(this.batchSize);
+		} while (!batch.isEmpty() && this.deliver(batch) && batch.size() == this.batchSize);
+		
+		do {
+			batch = this.orderStatusOutboxService.findDueStockHolds(this.batchSize);
+		} while (!batch.isEmpty() && this.deliverStockHolds(batch) && batch.size() == this.batchSize);
+	}
+	
+	@Scheduled(fixedDelayString = "${app.outbox.purge-interval:3600000}",
+			initialDelayString = "${app.outbox.purge-interval:3600000}")
+	public void purge() {
+		final int purged = this.orderStatusOutboxService.purgeDelivered(Instant.now().minus(this.retention));
+		if (purged > 0)
+			log.info("Purged {} delivered order status events", purged);
+	}
+	
+	private boolean deliver(final List<OrderStatusEventDto> batch) {
+		final Map<String, OrderStatusEventDto> pending = batch.stream()
+				.collect(Collectors.toMap(OrderStatusEventDto::getEventId, Function.identity()));
+		final List<OrderStatusEventResultDto> results;
+		try {
+			final OrderStatusEventResultDto[] response = this.restTemplate.postForObject(STATUS_EVENTS_URL, batch,
+					OrderStatusEventResultDto[].class);
+			results = response == null ? List.of() : Arrays.asList(response);
+		}
+		catch (RuntimeException e) {
+			log.warn("Failed to deliver {} order status events, will retry: {}", batch.size(), e.getMessage());
+			this.orderStatusOutboxService.markFailed(pending.keySet(), e.getMessage());
+			this.meterRegistry.counter("outbox.delivery.failures").increment();
+			return false;
+		}
+		
+		this.orderStatusOutboxService.markDelivered(results);
+		this.meterRegistry.counter("outbox.events.delivered").increment(results.size());
+		for (final OrderStatusEventResultDto result : results) {
+			final OrderStatusEventDto event = pending.remove(result.getEventId());
+			// La réplica local refleja la transición en cuanto order-service la confirma
+			if (event != null && result.isEffective())
+				this.orderStatusProjectionService.markStatus(event.getOrderId(), event.getToStatus());
+		}
+		
+		// Eventos sin resultado en la respuesta: se reintentan como un fallo de entrega
+		final Set<String> unanswered = pending.keySet();
+		if (!unanswered.isEmpty())
+			this.orderStatusOutboxService.markFailed(unanswered, "No result returned by order-service");
+		return unanswered.isEmpty();
+	}
+	
+	private boolean deliverStockHolds(final List<OrderStatusEventDto> batch) {
+		final List<OrderStatusEventResultDto> delivered = new ArrayList<>();
+		boolean allDelivered = true;
+		for (final OrderStatusEventDto event : batch) {
+			final String action = STOCK_HOLD_CONFIRMED.equals(event.getToStatus()) ? "confirm" : "cancel";
+			try {
+				this.restTemplate.postForObject(AppConstant.DiscoveredDomainsApi.PRODUCT_SERVICE_HOLD_API_URL
+						+ "/order/" + event.getOrderId() + "/" + action, null, Void.class);
+				delivered.add(new OrderStatusEventResultDto(event.getEventId(), OrderStatusEventResultDto.APPLIED));
+			}
+			catch (RuntimeException e) {
+				log.warn("Failed to {} stock holds of order {}, will retry: {}", action, event.getOrderId(),
+						e.getMessage());
+				this.orderStatusOutboxService.markFailed(Set.of(event.getEventId()), e.getMessage());
+				this.meterRegistry.counter("outbox.delivery.failures").increment();
+				allDelivered = false;
+			}
+		}
+		if (!delivered.isEmpty()) {
+			this.orderStatusOutboxService.markDelivered(delivered);
+			this.meterRegistry.counter("outbox.events.delivered").increment(delivered.size());
+		}
+		return allDelivered;
+	}
+	
+}
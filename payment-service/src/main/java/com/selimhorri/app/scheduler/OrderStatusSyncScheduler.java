@@ -0,0 +1,117 @@
+package com.selimhorri.app.scheduler;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpMethod;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.dto.OrderStatusChangeDto;
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
+import com.selimhorri.app.service.OrderStatusProjectionService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps the local order status projection in step with order-service: a full
+ * catch-up over every order once the application is up (retried on the next tick
+ * if order-service is not reachable yet), then incremental pulls of the orders
+ * changed since the last replicated {@code updatedAt}. Each pull starts a little
+ * before that watermark so changes committed late are not skipped; re-applying
+ * them is harmless.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class OrderStatusSyncScheduler {
+	
+	private static final String STATUS_CHANGES_URL = AppConstant.DiscoveredDomainsApi.ORDER_SERVICE_API_URL
+			+ "/status-changes";
+	
+	private final OrderStatusProjectionService orderStatusProjectionService;
+	private final RestTemplate restTemplate;
+	
+	@Value("${app.order-status-sync.page-size:500}")
+	private int pageSize;
+	
+	@Value("${app.order-status-sync.overlap:10s}")
+	private Duration overlap;
+	
+	private Instant watermark;
+	
+	@EventListener(ApplicationReadyEvent.class)
+	public void catchUpOnStartup() {
+		this.sync();
+	}
+	
+	@Scheduled(fixedDelayString = "${app.order-status-sync.interval:5000}",
+			initialDelayString = "${app.order-status-sync.interval:5000}")
+	public synchronized void sync() {
+		try {
+			if (this.watermark == null)
+				this.catchUp();
+			else
+				this.pullChanges();
+		}
+		catch (RuntimeException e) {
+			log.warn("Order status sync failed, retrying on the next run: {}", e.getMessage());
+		}
+	}
+	
+	private void catchUp() {
+		int applied = 0;
+		Integer after = 0;
+		do {
+			final DtoCollectionResponse<OrderStatusChangeDto> page = this.fetch(
+					STATUS_CHANGES_URL + "?after=" + after + "&limit=" + this.pageSize);
+			applied += this.orderStatusProjectionService.applyChanges(this.rowsOf(page));
+			after = page == null ? null : page.getNextCursor();
+		} while (after != null);
+		
+		this.watermark = this.orderStatusProjectionService.findWatermark().orElse(Instant.EPOCH);
+		log.info("Order status projection caught up: {} orders replicated, watermark {}", applied, this.watermark);
+	}
+	
+	private void pullChanges() {
+		Instant since = this.watermark.minus(this.overlap);
+		Integer after = 0;
+		while (true) {
+			final DtoCollectionResponse<OrderStatusChangeDto> page = this.fetch(
+					STATUS_CHANGES_URL + "?since=" + since + "&after=" + after + "&limit=" + this.pageSize);
+			final List<OrderStatusChangeDto> rows = this.rowsOf(page);
+			this.orderStatusProjectionService.applyChanges(rows);
+			if (rows.isEmpty())
+				return;
+			
+			final OrderStatusChangeDto last = rows.get(rows.size() - 1);
+			if (last.getUpdatedAt() != null && last.getUpdatedAt().isAfter(this.watermark))
+				this.watermark = last.getUpdatedAt();
+			if (page.getNextCursor() == null || last.getUpdatedAt() == null)
+				return;
+			since = last.getUpdatedAt();
+			after = last.getOrderId();
+		}
+	}
+	
+	private DtoCollectionResponse<OrderStatusChangeDto> fetch(final String url) {
+		return this.restTemplate.exchange(url, HttpMethod.GET, null,
+				new ParameterizedTypeReference<DtoCollectionResponse<OrderStatusChangeDto>>() {}).getBody();
+	}
+	
+	private List<OrderStatusChangeDto> rowsOf(final DtoCollectionResponse<OrderStatusChangeDto> page) {
+		return page == null || page.getCollection() == null ? Collections.emptyList()
+				: new ArrayList<>(page.getCollection());
+	}
+	
+}
@@ -0,0 +1,9 @@
+package com.selimhorri.app.service;
+
+import java.time.Instant;
+
+public interface ArchiveService {
+	
+	int archivePayments(final Instant cutoff, final int batchSize);
+	
+}
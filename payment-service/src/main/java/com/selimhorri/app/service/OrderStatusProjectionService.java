@@ -0,0 +1,15 @@
+package com.selimhorri.app.service;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import com.selimhorri.app.dto.OrderStatusChangeDto;
+
+public interface OrderStatusProjectionService {
+	
+	int applyChanges(final List<OrderStatusChangeDto> changes);
+	void markStatus(final Integer orderId, final String orderStatus);
+	Optional<Instant> findWatermark();
+	
+}
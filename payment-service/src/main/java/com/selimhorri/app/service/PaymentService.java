@@ -1,13 +1,19 @@
 package com.selimhorri.app.service;
 
+import java.time.Instant;
 import java.util.List;
 
+import com.selimhorri.app.dto.PaymentChangeDto;
 import com.selimhorri.app.dto.PaymentDto;
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
 
 public interface PaymentService {
 	
 	List<PaymentDto> findAll();
+	DtoCollectionResponse<PaymentDto> findPage(final Integer after, final int limit);
 	PaymentDto findById(final Integer paymentId);
+	Integer findOwnerId(final Integer paymentId);
+	DtoCollectionResponse<PaymentChangeDto> findChanges(final Instant since, final Integer after, final int limit);
 	PaymentDto save(final PaymentDto paymentDto);
 	PaymentDto updateStatus(int paymentId);
 	void deleteById(final Integer paymentId);
@@ -0,0 +1,46 @@
+package com.selimhorri.app.service.impl;
+
+import java.time.Instant;
+import java.util.List;
+
+import javax.transaction.Transactional;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import com.selimhorri.app.domain.PaymentStatus;
+import com.selimhorri.app.repository.PaymentRepository;
+import com.selimhorri.app.service.ArchiveService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Moves canceled payments to payments_archive, one small batch per transaction:
+ * candidates are picked through an index without locking, then only those rows
+ * are locked by primary key, re-checked, copied and deleted together.
+ */
+@Service
+@Transactional
+@Slf4j
+@RequiredArgsConstructor
+public class ArchiveServiceImpl implements ArchiveService {
+	
+	private final PaymentRepository paymentRepository;
+	
+	@Override
+	public int archivePayments(final Instant cutoff, final int batchSize) {
+		final List<Integer> candidates = this.paymentRepository.findArchivableIds(PaymentStatus.CANCELED, cutoff,
+				PageRequest.of(0, batchSize));
+		if (candidates.isEmpty())
+			return 0;
+		// Sólo se bloquean los candidatos, por PK
+		final List<Integer> paymentIds = this.paymentRepository.lockArchivable(candidates, PaymentStatus.CANCELED,
+				cutoff);
+		if (paymentIds.isEmpty())
+			return 0;
+		this.paymentRepository.copyToArchive(paymentIds, Instant.now());
+		return this.paymentRepository.deleteArchived(paymentIds, PaymentStatus.CANCELED);
+	}
+	
+}
@@ -0,0 +1,131 @@
+package com.selimhorri.app.service.impl;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import javax.transaction.Transactional;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import com.selimhorri.app.domain.OrderStatusOutboxEvent;
+import com.selimhorri.app.domain.enums.OutboxEventType;
+import com.selimhorri.app.dto.OrderStatusEventDto;
+import com.selimhorri.app.dto.OrderStatusEventResultDto;
+import com.selimhorri.app.repository.OrderStatusOutboxRepository;
+import com.selimhorri.app.service.OrderStatusOutboxService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Service
+@Transactional
+@Slf4j
+@RequiredArgsConstructor
+public class OrderStatusOutboxServiceImpl implements OrderStatusOutboxService {
+	
+	private static final int MAX_ERROR_LENGTH = 255;
+	private static final String STOCK_HOLD_HELD = "HELD";
+	
+	private final OrderStatusOutboxRepository orderStatusOutboxRepository;
+	
+	@Value("${app.outbox.retry.initial-backoff:1s}")
+	private Duration initialBackoff;
+	
+	@Value("${app.outbox.retry.max-backoff:5m}")
+	private Duration maxBackoff;
+	
+	@Override
+	public void enqueue(final Integer orderId, final String fromStatus, final String toStatus) {
+		log.info("*** Void, service; enqueue order status event *");
+		this.save(OutboxEventType.ORDER_STATUS, orderId, fromStatus, toStatus);
+	}
+	
+	// Los holds HELD de la orden pasan a holdStatus (CONFIRMED o CANCELED) en product-service
+	@Override
+	public void enqueueStockHolds(final Integer orderId, final String holdStatus) {
+		log.info("*** Void, service; enqueue stock hold event *");
+		this.save(OutboxEventType.STOCK_HOLD, orderId, STOCK_HOLD_HELD, holdStatus);
+	}
+	
+	@Override
+	public List<OrderStatusEventDto> findDue(final int limit) {
+		return this.findDue(OutboxEventType.ORDER_STATUS, limit);
+	}
+	
+	@Override
+	public List<OrderStatusEventDto> findDueStockHolds(final int limit) {
+		return this.findDue(OutboxEventType.STOCK_HOLD, limit);
+	}
+	
+	private void save(final OutboxEventType eventType, final Integer orderId, final String fromStatus,
+			final String toStatus) {
+		final Instant now = Instant.now();
+		this.orderStatusOutboxRepository.save(OrderStatusOutboxEvent.builder()
+				.eventId(UUID.randomUUID().toString())
+				.eventType(eventType)
+				.orderId(orderId)
+				.fromStatus(fromStatus)
+				.toStatus(toStatus)
+				.nextAttemptAt(now)
+				.createdAt(now)
+				.build());
+	}
+	
+	private List<OrderStatusEventDto> findDue(final OutboxEventType eventType, final int limit) {
+		return this.orderStatusOutboxRepository
+				.findByEventTypeAndDeliveredAtIsNullAndNextAttemptAtLessThanEqualOrderByCreatedAtAsc(eventType,
+						Instant.now(), PageRequest.of(0, limit))
+				.stream()
+				.map(event -> OrderStatusEventDto.builder()
+						.eventId(event.getEventId())
+						.orderId(event.getOrderId())
+						.fromStatus(event.getFromStatus())
+						.toStatus(event.getToStatus())
+						.build())
+				.collect(Collectors.toUnmodifiableList());
+	}
+	
+	@Override
+	public void markDelivered(final Collection<OrderStatusEventResultDto> results) {
+		final Instant now = Instant.now();
+		for (final OrderStatusEventResultDto result : results) {
+			this.orderStatusOutboxRepository.findById(result.getEventId()).ifPresent(event -> {
+				event.setAttempts(event.getAttempts() + 1);
+				event.setDeliveredAt(now);
+				event.setOutcome(result.getOutcome());
+				event.setLastError(null);
+			});
+		}
+	}
+	
+	@Override
+	public void markFailed(final Collection<String> eventIds, final String error) {
+		final Instant now = Instant.now();
+		final String lastError = error != null && error.length() > MAX_ERROR_LENGTH
+				? error.substring(0, MAX_ERROR_LENGTH)
+				: error;
+		this.orderStatusOutboxRepository.findAllById(eventIds).forEach(event -> {
+			event.setAttempts(event.getAttempts() + 1);
+			event.setNextAttemptAt(now.plus(this.backoff(event.getAttempts())));
+			event.setLastError(lastError);
+		});
+	}
+	
+	@Override
+	public int purgeDelivered(final Instant before) {
+		return this.orderStatusOutboxRepository.deleteDeliveredBefore(before);
+	}
+	
+	// Backoff exponencial desde initialBackoff, acotado por maxBackoff
+	private Duration backoff(final int attempts) {
+		final Duration delay = this.initialBackoff.multipliedBy(1L << Math.min(Math.max(attempts - 1, 0), 20));
+		return delay.compareTo(this.maxBackoff) > 0 ? this.maxBackoff : delay;
+	}
+	
+}
@@ -0,0 +1,86 @@
+package com.selimhorri.app.service.impl;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import javax.transaction.Transactional;
+
+import org.springframework.stereotype.Service;
+
+import com.selimhorri.app.domain.OrderStatusProjection;
+import com.selimhorri.app.dto.OrderStatusChangeDto;
+import com.selimhorri.app.repository.OrderStatusProjectionRepository;
+import com.selimhorri.app.service.OrderStatusProjectionService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Service
+@Transactional
+@Slf4j
+@RequiredArgsConstructor
+public class OrderStatusProjectionServiceImpl implements OrderStatusProjectionService {
+	
+	private final OrderStatusProjectionRepository orderStatusProjectionRepository;
+	
+	@Override
+	public int applyChanges(final List<OrderStatusChangeDto> changes) {
+		log.info("*** Integer, service; apply {} order status changes *", changes.size());
+		final Map<Integer, OrderStatusProjection> current = this.orderStatusProjectionRepository
+				.findAllById(changes.stream()
+						.map(OrderStatusChangeDto::getOrderId)
+						.filter(Objects::nonNull)
+						.collect(Collectors.toSet()))
+				.stream()
+				.collect(Collectors.toMap(OrderStatusProjection::getOrderId, Function.identity()));
+		
+		int applied = 0;
+		for (final OrderStatusChangeDto change : changes) {
+			if (change.getOrderId() == null || change.getOrderStatus() == null)
+				continue;
+			final OrderStatusProjection projection = current.get(change.getOrderId());
+			if (projection == null) {
+				current.put(change.getOrderId(), this.orderStatusProjectionRepository.save(OrderStatusProjection.builder()
+						.orderId(change.getOrderId())
+						.orderStatus(change.getOrderStatus())
+						.isActive(!Boolean.FALSE.equals(change.getIsActive()))
+						.updatedAt(change.getUpdatedAt())
+						.build()));
+				applied++;
+			}
+			// El feed se relee con solapamiento: un cambio más antiguo que lo ya replicado se ignora
+			else if (change.getUpdatedAt() == null || projection.getUpdatedAt() == null
+					|| !change.getUpdatedAt().isBefore(projection.getUpdatedAt())) {
+				projection.setOrderStatus(change.getOrderStatus());
+				projection.setActive(!Boolean.FALSE.equals(change.getIsActive()));
+				projection.setUpdatedAt(change.getUpdatedAt());
+				applied++;
+			}
+		}
+		return applied;
+	}
+	
+	@Override
+	public void markStatus(final Integer orderId, final String orderStatus) {
+		log.info("*** Void, service; mark replicated order status *");
+		// Sin tocar updatedAt: el feed de order-service trae después la marca de tiempo real del cambio
+		final OrderStatusProjection projection = this.orderStatusProjectionRepository.findById(orderId)
+				.orElseGet(() -> OrderStatusProjection.builder()
+						.orderId(orderId)
+						.isActive(true)
+						.build());
+		projection.setOrderStatus(orderStatus);
+		this.orderStatusProjectionRepository.save(projection);
+	}
+	
+	@Override
+	public Optional<Instant> findWatermark() {
+		return this.orderStatusProjectionRepository.findMaxUpdatedAt();
+	}
+	
+}
@@ -1,12 +1,15 @@
 package com.selimhorri.app.service.impl;
 
+import java.time.Instant;
 import java.util.List;
-import java.util.Objects;
 import java.util.stream.Collectors;
 
 import javax.transaction.Transactional;
 
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
@@ -16,11 +19,16 @@ import com.selimhorri.app.domain.Payment;
 import com.selimhorri.app.domain.PaymentStatus;
 import com.selimhorri.app.domain.enums.OrderStatus;
 import com.selimhorri.app.dto.OrderDto;
+import com.selimhorri.app.dto.PaymentChangeDto;
 import com.selimhorri.app.dto.PaymentDto;
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
 import com.selimhorri.app.exception.wrapper.PaymentNotFoundException;
 import com.selimhorri.app.exception.wrapper.PaymentServiceException;
+import com.selimhorri.app.exception.wrapper.PaymentStatusConflictException;
+import com.selimhorri.app.helper.EntityCountGauge;
 import com.selimhorri.app.helper.PaymentMappingHelper;
 import com.selimhorri.app.repository.PaymentRepository;
+import com.selimhorri.app.service.OrderStatusOutboxService;
 import com.selimhorri.app.service.PaymentService;
 
 import io.micrometer.core.instrument.MeterRegistry;
@@ -35,50 +43,63 @@ import lombok.extern.slf4j.Slf4j;
 @RequiredArgsConstructor
 public class PaymentServiceImpl implements PaymentService {
 
+	private static final int MAX_TRANSITION_ATTEMPTS = 3;
+	private static final String STOCK_HOLD_CONFIRMED = "CONFIRMED";
+	private static final String STOCK_HOLD_CANCELED = "CANCELED";
+
 	private final PaymentRepository paymentRepository;
 	private final RestTemplate restTemplate;
 	private final MeterRegistry meterRegistry;
+	private final OrderStatusOutboxService orderStatusOutboxService;
+	private final TransactionTemplate transactionTemplate;
+	private final EntityCountGauge paymentsTotal = new EntityCountGauge();
 
 	@PostConstruct
 	public void initMetrics() {
-		meterRegistry.gauge("payments.total", paymentRepository, PaymentRepository::count);
+		this.paymentsTotal.bindTo(this.meterRegistry, "payments.total", this.paymentRepository::count);
+	}
+
+	@Scheduled(fixedDelayString = "${app.metrics.count-reconcile-interval:300000}",
+			initialDelayString = "${app.metrics.count-reconcile-interval:300000}")
+	public void reconcileCount() {
+		this.paymentsTotal.reconcile();
 	}
 
 	@Override
 	public List<PaymentDto> findAll() {
 		log.info("*** PaymentDto List, service; fetch payments with order status IN_PAYMENT *");
 
-		return this.paymentRepository.findAll()
+		return this.paymentRepository.findAllByOrderStatus(OrderStatus.IN_PAYMENT.name())
 				.stream()
-				.map(PaymentMappingHelper::map)
-				.filter(p -> {
-					try {
-						OrderDto orderDto = this.restTemplate.getForObject(
-								AppConstant.DiscoveredDomainsApi.ORDER_SERVICE_API_URL + "/"
-										+ p.getOrderDto().getOrderId(),
-								OrderDto.class);
-
-						// Verificar si la orden tiene estado IN_PAYMENT
-						boolean isInPayment = "IN_PAYMENT".equalsIgnoreCase(orderDto.getOrderStatus());
-						if (isInPayment) {
-							p.setOrderDto(orderDto);
-							return true;
-						}
-						return false;
-
-					} catch (Exception e) {
-						log.error("Error fetching order for payment ID {}: {}", p.getPaymentId(), e.getMessage());
-						return false;
-					}
-				})
+				.map(this::mapInPayment)
 				.distinct()
 				.collect(Collectors.toUnmodifiableList());
 	}
 
+	@Override
+	public DtoCollectionResponse<PaymentDto> findPage(final Integer after, final int limit) {
+		log.info("*** PaymentDto List, service; fetch payments page with order status IN_PAYMENT *");
+		final List<PaymentDto> rows = this.paymentRepository
+				.findPageByOrderStatus(OrderStatus.IN_PAYMENT.name(), after == null ? 0 : after,
+						PageRequest.of(0, limit + 1))
+				.stream()
+				.map(this::mapInPayment)
+				.collect(Collectors.toList());
+		return DtoCollectionResponse.page(rows, limit, PaymentDto::getPaymentId);
+	}
+
+	private PaymentDto mapInPayment(final Payment payment) {
+		final PaymentDto paymentDto = PaymentMappingHelper.map(payment);
+		paymentDto.getOrderDto().setOrderStatus(OrderStatus.IN_PAYMENT.name());
+		return paymentDto;
+	}
+
 	@Override
 	public PaymentDto findById(final Integer paymentId) {
 		log.info("*** PaymentDto, service; fetch payment by id *");
+		// Solo si no está en la tabla caliente se mira el archivo de pagos cancelados
 		PaymentDto paymentDto = this.paymentRepository.findById(paymentId)
+				.or(() -> this.paymentRepository.findArchivedById(paymentId))
 				.map(PaymentMappingHelper::map)
 				.orElseThrow(
 						() -> new PaymentServiceException(String.format("Payment with id: %d not found", paymentId)));
@@ -96,6 +117,47 @@ public class PaymentServiceImpl implements PaymentService {
 		}
 	}
 
+	@Override
+	public Integer findOwnerId(final Integer paymentId) {
+		log.info("*** Integer, service; fetch owner userId of payment *");
+		final Payment payment = this.paymentRepository.findById(paymentId)
+				.orElseThrow(
+						() -> new PaymentServiceException(String.format("Payment with id: %d not found", paymentId)));
+
+		// Sin user_id todavía: se resuelve una vez en order-service, fuera del camino de escritura, y se persiste
+		if (payment.getUserId() == null) {
+			final Integer userId = this.fetchOrderOwnerId(payment.getOrderId());
+			if (userId == null)
+				throw new PaymentServiceException(
+						String.format("Owner of payment with id: %d could not be resolved", paymentId));
+			payment.setUserId(userId);
+			this.paymentRepository.save(payment);
+		}
+		return payment.getUserId();
+	}
+
+	@Override
+	public DtoCollectionResponse<PaymentChangeDto> findChanges(final Instant since, final Integer after,
+			final int limit) {
+		log.info("*** PaymentChangeDto List, service; fetch payment changes *");
+		final int lastPaymentId = after == null ? 0 : after;
+		final List<PaymentChangeDto> rows = since == null
+				? this.paymentRepository.findChangesAfter(lastPaymentId, PageRequest.of(0, limit + 1))
+				: this.paymentRepository.findChangesSince(since, lastPaymentId, PageRequest.of(0, limit + 1));
+		return DtoCollectionResponse.page(rows, limit, PaymentChangeDto::getPaymentId);
+	}
+
+	private Integer fetchOrderOwnerId(final Integer orderId) {
+		try {
+			return this.restTemplate.getForObject(
+					AppConstant.DiscoveredDomainsApi.ORDER_SERVICE_API_URL + "/" + orderId + "/owner",
+					Integer.class);
+		} catch (RestClientException e) {
+			log.error("Error fetching owner of order {}: {}", orderId, e.getMessage());
+			return null;
+		}
+	}
+
 	@Override
 	@Transactional
 	public PaymentDto save(final PaymentDto paymentDto) {
@@ -121,26 +183,16 @@ public class PaymentServiceImpl implements PaymentService {
 				throw new IllegalArgumentException(
 						"Cannot start the payment of an order that is not ordered or already in a payment process");
 			}
-			// 2. Guardar el pago
+			// 2. Guardar el pago; el dueño (usado por /owner) lo resuelve findOwnerId la primera vez que se pide
 			PaymentDto savedPayment = PaymentMappingHelper.map(
 					this.paymentRepository.save(PaymentMappingHelper.mapForPayment(paymentDto)));
 			meterRegistry.counter("payments.processed").increment();
+			this.paymentsTotal.increment();
 
-			// 3. Actualizar estado de la orden (PATCH)
-			String patchUrl = AppConstant.DiscoveredDomainsApi.ORDER_SERVICE_API_URL + "/"
-					+ paymentDto.getOrderDto().getOrderId() + "/status";
-
-			try {
-				this.restTemplate.patchForObject(
-						patchUrl,
-						null,
-						Void.class);
-				log.info("Order status updated successfully for order ID: {}", paymentDto.getOrderDto().getOrderId());
-			} catch (RestClientException e) {
-				log.error("Failed to update order status for order ID: {}", paymentDto.getOrderDto().getOrderId(), e);
-				// Puedes decidir si lanzar excepción o continuar
-				throw new PaymentServiceException("Payment saved but failed to update order status: " + e.getMessage());
-			}
+			// 3. Avanzar la orden a IN_PAYMENT: el evento se guarda en el outbox en esta misma transacción
+			// y el relay lo entrega a order-service después, fuera del camino de la petición
+			this.orderStatusOutboxService.enqueue(paymentDto.getOrderDto().getOrderId(),
+					OrderStatus.ORDERED.name(), OrderStatus.IN_PAYMENT.name());
 
 			return savedPayment;
 
@@ -151,35 +203,55 @@ public class PaymentServiceImpl implements PaymentService {
 		}
 	}
 
+	// Sin transacción envolvente: cada intento relee el estado que dejó confirmado el proceso concurrente
 	@Override
+	@Transactional(Transactional.TxType.NOT_SUPPORTED)
 	public PaymentDto updateStatus(final int paymentId) {
 		log.info("*** PaymentDto, service; update payment status *");
 
-		return this.paymentRepository.findById(paymentId)
-				.map(payment -> {
-					PaymentStatus currentStatus = payment.getPaymentStatus();
-					PaymentStatus newStatus;
-					switch (currentStatus) {
-						case NOT_STARTED:
-							newStatus = PaymentStatus.IN_PROGRESS;
-							break;
-						case IN_PROGRESS:
-							newStatus = PaymentStatus.COMPLETED;
-							break;
-						case COMPLETED:
-							throw new IllegalStateException(
-									"Payment is already COMPLETED and cannot be updated further");
-						case CANCELED:
-							throw new IllegalStateException("Payment is CANCELED and cannot be updated");
-						default:
-							throw new IllegalStateException("Unknown payment status: " + currentStatus);
-					}
-
-					payment.setPaymentStatus(newStatus);
-
-					return PaymentMappingHelper.map(this.paymentRepository.save(payment));
-				})
-				.orElseThrow(() -> new PaymentNotFoundException("Payment with id: " + paymentId + " not found"));
+		for (int attempt = 1;; attempt++) {
+			final Payment payment = this.paymentRepository.findById(paymentId)
+					.orElseThrow(() -> new PaymentNotFoundException("Payment with id: " + paymentId + " not found"));
+			final PaymentStatus currentStatus = payment.getPaymentStatus();
+			final PaymentStatus newStatus = this.nextStatus(currentStatus);
+
+			final Instant now = Instant.now();
+			// Pago completado: el stock retenido en checkout pasa a ser definitivo. La confirmación
+			// va al outbox en la misma transacción que el cambio de estado y el relay la reintenta
+			final Boolean applied = this.transactionTemplate.execute(tx -> {
+				if (this.paymentRepository.transitionStatus(paymentId, currentStatus, newStatus, now) == 0)
+					return false;
+				if (newStatus == PaymentStatus.COMPLETED)
+					this.orderStatusOutboxService.enqueueStockHolds(payment.getOrderId(), STOCK_HOLD_CONFIRMED);
+				return true;
+			});
+			if (Boolean.TRUE.equals(applied)) {
+				payment.setPaymentStatus(newStatus);
+				payment.setVersion(payment.getVersion() == null ? 1 : payment.getVersion() + 1);
+				payment.setUpdatedAt(now);
+				return PaymentMappingHelper.map(payment);
+			}
+			if (attempt == MAX_TRANSITION_ATTEMPTS)
+				throw new PaymentStatusConflictException(String.format(
+						"Payment with id: %d kept changing concurrently, status not updated", paymentId));
+			log.info("Payment {} changed while moving from {}, retrying (attempt {})", paymentId, currentStatus,
+					attempt);
+		}
+	}
+
+	private PaymentStatus nextStatus(final PaymentStatus currentStatus) {
+		switch (currentStatus) {
+			case NOT_STARTED:
+				return PaymentStatus.IN_PROGRESS;
+			case IN_PROGRESS:
+				return PaymentStatus.COMPLETED;
+			case COMPLETED:
+				throw new IllegalStateException("Payment is already COMPLETED and cannot be updated further");
+			case CANCELED:
+				throw new IllegalStateException("Payment is CANCELED and cannot be updated");
+			default:
+				throw new IllegalStateException("Unknown payment status: " + currentStatus);
+		}
 	}
 
 	@Override
@@ -202,6 +274,8 @@ public class PaymentServiceImpl implements PaymentService {
 
 		payment.setPaymentStatus(PaymentStatus.CANCELED);
 		this.paymentRepository.save(payment);
+		// Los holds se liberan vía outbox, confirmado junto con la cancelación
+		this.orderStatusOutboxService.enqueueStockHolds(payment.getOrderId(), STOCK_HOLD_CANCELED);
 		log.info("Payment with id {} has been canceled", paymentId);
 	}
 }
@@ -0,0 +1,3 @@
+-- Filas antiguas sin updated_at: el archivado filtra por updated_at a secas para poder usar el índice
+UPDATE payments SET updated_at = COALESCE(created_at, CURRENT_TIMESTAMP) WHERE updated_at IS NULL;
+CREATE INDEX idx_payments_status_updated_at ON payments (payment_status, updated_at);
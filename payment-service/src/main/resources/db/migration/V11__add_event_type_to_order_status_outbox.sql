@@ -0,0 +1 @@
+ALTER TABLE order_status_outbox ADD COLUMN event_type VARCHAR(20) NOT NULL DEFAULT 'ORDER_STATUS';
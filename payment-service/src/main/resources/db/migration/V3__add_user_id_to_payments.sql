@@ -0,0 +1 @@
+ALTER TABLE payments ADD COLUMN user_id INT NULL;
@@ -0,0 +1,9 @@
+CREATE TABLE order_status_projection (
+  order_id INT NOT NULL PRIMARY KEY,
+  order_status VARCHAR(20) NOT NULL,
+  is_active BOOLEAN NOT NULL DEFAULT TRUE,
+  updated_at TIMESTAMP NULL DEFAULT NULL
+);
+
+CREATE INDEX idx_order_status_projection_status ON order_status_projection (order_status, is_active);
+CREATE INDEX idx_payments_order_id ON payments (order_id);
@@ -0,0 +1 @@
+ALTER TABLE payments ADD COLUMN version INT NOT NULL DEFAULT 0;
@@ -0,0 +1 @@
+CREATE INDEX idx_payments_updated_at ON payments (updated_at, payment_id);
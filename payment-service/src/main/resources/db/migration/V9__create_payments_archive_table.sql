@@ -0,0 +1,11 @@
+CREATE TABLE payments_archive (
+  payment_id INT NOT NULL PRIMARY KEY,
+  order_id INT,
+  user_id INT NULL,
+  is_payed BOOLEAN,
+  payment_status VARCHAR(255),
+  version INT NOT NULL DEFAULT 0,
+  created_at TIMESTAMP NULL,
+  updated_at TIMESTAMP NULL,
+  archived_at TIMESTAMP NOT NULL
+);
@@ -0,0 +1,120 @@
+package com.selimhorri.app.scheduler;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.Arrays;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import com.selimhorri.app.dto.OrderStatusEventDto;
+import com.selimhorri.app.dto.OrderStatusEventResultDto;
+import com.selimhorri.app.service.OrderStatusOutboxService;
+import com.selimhorri.app.service.OrderStatusProjectionService;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Pruebas unitarias para OrderStatusOutboxRelay.
+ * Valida la entrega por lotes y el reintento cuando order-service no responde.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("OrderStatusOutboxRelay Unit Tests")
+class OrderStatusOutboxRelayTest {
+
+	@Mock
+	private OrderStatusOutboxService orderStatusOutboxService;
+
+	@Mock
+	private OrderStatusProjectionService orderStatusProjectionService;
+
+	@Mock
+	private RestTemplate restTemplate;
+
+	@Mock
+	private MeterRegistry meterRegistry;
+
+	@Mock
+	private Counter counter;
+
+	@InjectMocks
+	private OrderStatusOutboxRelay relay;
+
+	private final OrderStatusEventDto event = new OrderStatusEventDto("e1", 1, "ORDERED", "IN_PAYMENT");
+
+	@BeforeEach
+	void setUp() {
+		ReflectionTestUtils.setField(relay, "batchSize", 100);
+		when(meterRegistry.counter(anyString())).thenReturn(counter);
+		when(orderStatusOutboxService.findDue(100)).thenReturn(Arrays.asList(event));
+	}
+
+	@Test
+	@DisplayName("Test 1: Debe marcar el lote como entregado y reflejar la transición en la réplica local")
+	void testRelay_Delivered() {
+		// Arrange
+		OrderStatusEventResultDto applied = new OrderStatusEventResultDto("e1", OrderStatusEventResultDto.APPLIED);
+		when(restTemplate.postForObject(contains("/status-events"), any(), eq(OrderStatusEventResultDto[].class)))
+				.thenReturn(new OrderStatusEventResultDto[] { applied });
+
+		// Act
+		relay.relay();
+
+		// Assert
+		verify(orderStatusOutboxService, times(1)).markDelivered(Arrays.asList(applied));
+		verify(orderStatusProjectionService, times(1)).markStatus(1, "IN_PAYMENT");
+		verify(orderStatusOutboxService, never()).markFailed(any(), any());
+	}
+
+	@Test
+	@DisplayName("Test 2: Debe reprogramar el lote cuando order-service no está disponible")
+	void testRelay_DeliveryFails() {
+		// Arrange
+		when(restTemplate.postForObject(contains("/status-events"), any(), eq(OrderStatusEventResultDto[].class)))
+				.thenThrow(new ResourceAccessException("Connection refused"));
+
+		// Act
+		relay.relay();
+
+		// Assert
+		verify(orderStatusOutboxService, times(1)).markFailed(eq(Set.of("e1")), eq("Connection refused"));
+		verify(orderStatusOutboxService, never()).markDelivered(any());
+		verify(orderStatusProjectionService, never()).markStatus(any(), any());
+	}
+
+	@Test
+	@DisplayName("Test 3: Debe confirmar los holds en product-service y reprogramar los que fallan")
+	void testRelay_StockHolds() {
+		// Arrange
+		OrderStatusEventResultDto applied = new OrderStatusEventResultDto("e1", OrderStatusEventResultDto.APPLIED);
+		when(restTemplate.postForObject(contains("/status-events"), any(), eq(OrderStatusEventResultDto[].class)))
+				.thenReturn(new OrderStatusEventResultDto[] { applied });
+		when(orderStatusOutboxService.findDueStockHolds(100)).thenReturn(Arrays.asList(
+				new OrderStatusEventDto("h1", 1, "HELD", "CONFIRMED"),
+				new OrderStatusEventDto("h2", 2, "HELD", "CANCELED")));
+		when(restTemplate.postForObject(contains("/holds/order/1/confirm"), isNull(), eq(Void.class)))
+				.thenReturn(null);
+		when(restTemplate.postForObject(contains("/holds/order/2/cancel"), isNull(), eq(Void.class)))
+				.thenThrow(new ResourceAccessException("Connection refused"));
+
+		// Act
+		relay.relay();
+
+		// Assert
+		verify(orderStatusOutboxService, times(1)).markDelivered(
+				Arrays.asList(new OrderStatusEventResultDto("h1", OrderStatusEventResultDto.APPLIED)));
+		verify(orderStatusOutboxService, times(1)).markFailed(eq(Set.of("h2")), eq("Connection refused"));
+	}
+
+}
@@ -0,0 +1,90 @@
+package com.selimhorri.app.service.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.selimhorri.app.domain.OrderStatusProjection;
+import com.selimhorri.app.dto.OrderStatusChangeDto;
+import com.selimhorri.app.repository.OrderStatusProjectionRepository;
+
+/**
+ * Pruebas unitarias para OrderStatusProjectionServiceImpl.
+ * Valida cómo se aplican los cambios del feed de estados de order-service.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("OrderStatusProjectionServiceImpl Unit Tests")
+class OrderStatusProjectionServiceImplTest {
+
+	private static final Instant T0 = Instant.parse("2024-05-01T10:00:00Z");
+
+	@Mock
+	private OrderStatusProjectionRepository orderStatusProjectionRepository;
+
+	@InjectMocks
+	private OrderStatusProjectionServiceImpl orderStatusProjectionService;
+
+	@Test
+	@DisplayName("Test 1: Debe crear la réplica de una orden que no existía")
+	void testApplyChanges_InsertsNewOrder() {
+		// Arrange
+		when(orderStatusProjectionRepository.findAllById(anySet())).thenReturn(Collections.emptyList());
+		when(orderStatusProjectionRepository.save(any(OrderStatusProjection.class)))
+				.thenAnswer(invocation -> invocation.getArgument(0));
+
+		// Act
+		int applied = orderStatusProjectionService.applyChanges(Arrays.asList(
+				new OrderStatusChangeDto(1, "ORDERED", true, T0)));
+
+		// Assert
+		assertEquals(1, applied);
+		verify(orderStatusProjectionRepository, times(1)).save(argThat(p ->
+				p.getOrderId() == 1 && "ORDERED".equals(p.getOrderStatus()) && p.isActive()));
+	}
+
+	@Test
+	@DisplayName("Test 2: Debe ignorar un cambio más antiguo que el ya replicado")
+	void testApplyChanges_SkipsStaleChange() {
+		// Arrange
+		OrderStatusProjection current = new OrderStatusProjection(1, "IN_PAYMENT", true, T0.plusSeconds(5));
+		when(orderStatusProjectionRepository.findAllById(anySet())).thenReturn(Arrays.asList(current));
+
+		// Act
+		int applied = orderStatusProjectionService.applyChanges(Arrays.asList(
+				new OrderStatusChangeDto(1, "ORDERED", true, T0)));
+
+		// Assert
+		assertEquals(0, applied);
+		assertEquals("IN_PAYMENT", current.getOrderStatus());
+	}
+
+	@Test
+	@DisplayName("Test 3: Debe aplicar un cambio más reciente, incluida la desactivación de la orden")
+	void testApplyChanges_UpdatesNewerChange() {
+		// Arrange
+		OrderStatusProjection current = new OrderStatusProjection(1, "ORDERED", true, T0);
+		when(orderStatusProjectionRepository.findAllById(anySet())).thenReturn(Arrays.asList(current));
+
+		// Act
+		int applied = orderStatusProjectionService.applyChanges(Arrays.asList(
+				new OrderStatusChangeDto(1, "IN_PAYMENT", false, T0.plusSeconds(1))));
+
+		// Assert
+		assertEquals(1, applied);
+		assertEquals("IN_PAYMENT", current.getOrderStatus());
+		assertFalse(current.isActive());
+		assertEquals(T0.plusSeconds(1), current.getUpdatedAt());
+	}
+
+}
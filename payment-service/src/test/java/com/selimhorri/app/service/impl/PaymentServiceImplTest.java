@@ -14,7 +14,10 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.client.RestTemplate;
 
 import com.selimhorri.app.domain.Payment;
@@ -23,7 +26,9 @@ import com.selimhorri.app.dto.OrderDto;
 import com.selimhorri.app.dto.PaymentDto;
 import com.selimhorri.app.exception.wrapper.PaymentNotFoundException;
 import com.selimhorri.app.exception.wrapper.PaymentServiceException;
+import com.selimhorri.app.exception.wrapper.PaymentStatusConflictException;
 import com.selimhorri.app.repository.PaymentRepository;
+import com.selimhorri.app.service.OrderStatusOutboxService;
 
 /**
  * Pruebas unitarias para PaymentServiceImpl.
@@ -39,6 +44,13 @@ class PaymentServiceImplTest {
 	@Mock
 	private RestTemplate restTemplate;
 
+	@Mock
+	private OrderStatusOutboxService orderStatusOutboxService;
+
+	// Plantilla real sobre un gestor simulado: ejecuta el callback como lo haría dentro de una transacción
+	@Spy
+	private TransactionTemplate transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class));
+
 	@InjectMocks
 	private PaymentServiceImpl paymentService;
 
@@ -66,15 +78,17 @@ class PaymentServiceImplTest {
 	void testUpdateStatus_Success() {
 		// Arrange
 		when(paymentRepository.findById(1)).thenReturn(Optional.of(testPayment));
-		when(paymentRepository.save(any(Payment.class))).thenReturn(testPayment);
+		when(paymentRepository.transitionStatus(eq(1), eq(PaymentStatus.NOT_STARTED), eq(PaymentStatus.IN_PROGRESS),
+				any())).thenReturn(1);
 
 		// Act
 		PaymentDto result = paymentService.updateStatus(1);
 
 		// Assert
 		assertNotNull(result);
+		assertEquals(PaymentStatus.IN_PROGRESS, result.getPaymentStatus());
 		verify(paymentRepository, times(1)).findById(1);
-		verify(paymentRepository, times(1)).save(any(Payment.class));
+		verify(paymentRepository, never()).save(any(Payment.class));
 	}
 
 	@Test
@@ -114,26 +128,65 @@ class PaymentServiceImplTest {
 	}
 
 	@Test
-	@DisplayName("Test 5: Debe obtener lista de pagos en estado IN_PROGRESS")
+	@DisplayName("Test 5: Debe obtener lista de pagos cuya orden está IN_PAYMENT sin llamar a order-service")
 	void testFindAll_Success() {
-		// Arrange
-		Payment payment2 = Payment.builder()
-			.paymentId(2)
-			.orderId(2)
-			.isPayed(false)
-			.paymentStatus(PaymentStatus.IN_PROGRESS)
-			.build();
-
-		List<Payment> paymentList = Arrays.asList(testPayment, payment2);
-		when(paymentRepository.findAll()).thenReturn(paymentList);
-		when(restTemplate.getForObject(anyString(), any())).thenReturn(new OrderDto());
+		// Arrange - la réplica local ya filtra por estado de la orden
+		when(paymentRepository.findAllByOrderStatus("IN_PAYMENT")).thenReturn(Arrays.asList(testPayment));
 
 		// Act
 		List<PaymentDto> result = paymentService.findAll();
 
 		// Assert
 		assertNotNull(result);
-		assertTrue(result.size() >= 0);
-		verify(paymentRepository, times(1)).findAll();
+		assertEquals(1, result.size());
+		assertEquals("IN_PAYMENT", result.get(0).getOrderDto().getOrderStatus());
+		verifyNoInteractions(restTemplate);
+	}
+
+	@Test
+	@DisplayName("Test 6: Debe resolver y guardar el dueño de un pago sin userId")
+	void testFindOwnerId_ResolvesMissingOwner() {
+		// Arrange
+		when(paymentRepository.findById(1)).thenReturn(Optional.of(testPayment));
+		when(restTemplate.getForObject(contains("/orders/1/owner"), eq(Integer.class))).thenReturn(7);
+
+		// Act
+		Integer ownerId = paymentService.findOwnerId(1);
+
+		// Assert
+		assertEquals(7, ownerId);
+		assertEquals(7, testPayment.getUserId());
+		verify(paymentRepository, times(1)).save(testPayment);
+	}
+
+	@Test
+	@DisplayName("Test 7: Debe responder conflicto si el pago sigue cambiando tras agotar los reintentos")
+	void testUpdateStatus_ConflictAfterRetries() {
+		// Arrange - cada intento lee NOT_STARTED pero el UPDATE condicional no aplica
+		when(paymentRepository.findById(1)).thenReturn(Optional.of(testPayment));
+		when(paymentRepository.transitionStatus(eq(1), eq(PaymentStatus.NOT_STARTED), eq(PaymentStatus.IN_PROGRESS),
+				any())).thenReturn(0);
+
+		// Act & Assert
+		assertThrows(PaymentStatusConflictException.class, () -> paymentService.updateStatus(1));
+		verify(paymentRepository, times(3)).findById(1);
+	}
+
+	@Test
+	@DisplayName("Test 8: Completar el pago debe confirmar los holds de stock a través del outbox")
+	void testUpdateStatus_CompletedEnqueuesHoldConfirmation() {
+		// Arrange
+		testPayment.setPaymentStatus(PaymentStatus.IN_PROGRESS);
+		when(paymentRepository.findById(1)).thenReturn(Optional.of(testPayment));
+		when(paymentRepository.transitionStatus(eq(1), eq(PaymentStatus.IN_PROGRESS), eq(PaymentStatus.COMPLETED),
+				any())).thenReturn(1);
+
+		// Act
+		PaymentDto result = paymentService.updateStatus(1);
+
+		// Assert
+		assertEquals(PaymentStatus.COMPLETED, result.getPaymentStatus());
+		verify(orderStatusOutboxService, times(1)).enqueueStockHolds(1, "CONFIRMED");
+		verify(restTemplate, never()).postForObject(anyString(), any(), any());
 	}
 }
@@ -47,11 +47,16 @@ public final class Category extends AbstractMappedEntity implements Serializable
 	@Column(name = "image_url")
 	private String imageUrl;
 	
+	// 'Deleted' y 'No Category': no se listan ni se pueden borrar
+	@Column(name = "is_reserved")
+	private boolean isReserved;
+	
 	@JsonIgnore
 	@OneToMany(mappedBy = "parentCategory", fetch = FetchType.LAZY, cascade = CascadeType.ALL)
 	private Set<Category> subCategories;
 	
-	@ManyToOne(fetch = FetchType.EAGER)
+	// LAZY: cargar un producto no debe arrastrar la cadena de ancestros (ver CategoryTree)
+	@ManyToOne(fetch = FetchType.LAZY)
 	@JoinColumn(name = "parent_category_id")
 	private Category parentCategory;
 	
@@ -0,0 +1,16 @@
+package com.selimhorri.app.domain;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+@Getter
+public enum HoldStatus {
+	
+	HELD("held"),
+	CONFIRMED("confirmed"),
+	CANCELED("canceled"),
+	EXPIRED("expired");
+	private final String status;
+	
+}
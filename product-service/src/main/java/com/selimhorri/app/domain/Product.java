@@ -55,6 +55,9 @@ public final class Product extends AbstractMappedEntity implements Serializable
 	@JoinColumn(name = "category_id")
 	private Category category;
 	
+	@Column(name = "is_deleted")
+	private boolean isDeleted;
+	
 }
 
 
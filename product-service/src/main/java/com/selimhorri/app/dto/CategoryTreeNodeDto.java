@@ -0,0 +1,47 @@
+package com.selimhorri.app.dto;
+
+import java.io.Serializable;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public class CategoryTreeNodeDto implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	
+	private Integer categoryId;
+	private Integer parentCategoryId;
+	private String categoryTitle;
+	private String imageUrl;
+	
+	// Ids de la raíz hasta el nodo, p. ej. "1/4/9"
+	private String path;
+	private Integer depth;
+	private Long productCount;
+	private Long totalProductCount;
+	
+	@JsonInclude(Include.NON_EMPTY)
+	private List<CategoryTreeNodeDto> children;
+	
+	// Proyección JPQL de la carga del árbol: una fila por categoría no reservada
+	public CategoryTreeNodeDto(final Integer categoryId, final Integer parentCategoryId, final String categoryTitle,
+			final String imageUrl) {
+		this(categoryId, parentCategoryId, categoryTitle, imageUrl, null, null, null, null, null);
+	}
+	
+	// Proyección JPQL de los contadores: productos no borrados por categoría
+	public CategoryTreeNodeDto(final Integer categoryId, final Long productCount) {
+		this(categoryId, null, null, null, null, null, productCount, null, null);
+	}
+	
+}
@@ -0,0 +1,35 @@
+package com.selimhorri.app.dto;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonFormat.Shape;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public class StockHoldDto implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	private Integer holdId;
+	private Integer productId;
+	private Integer orderId;
+	private Integer quantity;
+	private String holdStatus;
+	
+	@JsonInclude(Include.NON_NULL)
+	private Integer ttlMinutes;
+	
+	@JsonFormat(shape = Shape.STRING)
+	private Instant expiresAt;
+	
+}
@@ -0,0 +1,35 @@
+package com.selimhorri.app.exception.wrapper;
+
+public class StockHoldNotFoundException extends RuntimeException {
+	
+	private static final long serialVersionUID = 1L;
+	
+	public StockHoldNotFoundException() {
+		super();
+	}
+	
+	public StockHoldNotFoundException(String message, Throwable cause) {
+		super(message, cause);
+	}
+	
+	public StockHoldNotFoundException(String message) {
+		super(message);
+	}
+	
+	public StockHoldNotFoundException(Throwable cause) {
+		super(cause);
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
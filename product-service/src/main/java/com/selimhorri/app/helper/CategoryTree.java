@@ -0,0 +1,115 @@
+package com.selimhorri.app.helper;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import com.selimhorri.app.dto.CategoryTreeNodeDto;
+
+/**
+ * Immutable snapshot of the category tree with per-node product counts. The
+ * rendered roots are built once per snapshot, so reading the tree is a field
+ * read; a count change returns a new snapshot re-rendered from memory.
+ * Categories whose parent is missing (reserved or dangling) are shown as roots;
+ * siblings are ordered by id.
+ */
+public final class CategoryTree {
+	
+	private static final CategoryTree EMPTY = new CategoryTree(Map.of(), Map.of());
+	
+	// Filas planas id -> categoría, sin hijos; nunca salen del snapshot
+	private final Map<Integer, CategoryTreeNodeDto> categories;
+	private final Map<Integer, Long> productCounts;
+	private final List<CategoryTreeNodeDto> roots;
+	
+	private CategoryTree(final Map<Integer, CategoryTreeNodeDto> categories, final Map<Integer, Long> productCounts) {
+		this.categories = categories;
+		this.productCounts = productCounts;
+		this.roots = this.render();
+	}
+	
+	public static CategoryTree empty() {
+		return EMPTY;
+	}
+	
+	public static CategoryTree of(final Collection<CategoryTreeNodeDto> categories,
+			final Collection<CategoryTreeNodeDto> productCounts) {
+		final Map<Integer, CategoryTreeNodeDto> byId = new TreeMap<>();
+		categories.forEach(c -> byId.put(c.getCategoryId(), c));
+		final Map<Integer, Long> counts = new HashMap<>();
+		productCounts.forEach(c -> counts.merge(c.getCategoryId(), c.getProductCount(), Long::sum));
+		return new CategoryTree(Collections.unmodifiableMap(byId), Collections.unmodifiableMap(counts));
+	}
+	
+	public List<CategoryTreeNodeDto> getRoots() {
+		return this.roots;
+	}
+	
+	public int size() {
+		return this.categories.size();
+	}
+	
+	/**
+	 * Returns a snapshot with {@code delta} products more (or fewer) in {@code categoryId};
+	 * this same snapshot if the category is not part of the tree.
+	 */
+	public CategoryTree withProductDelta(final Integer categoryId, final long delta) {
+		if (delta == 0 || !this.categories.containsKey(categoryId))
+			return this;
+		final Map<Integer, Long> counts = new HashMap<>(this.productCounts);
+		counts.merge(categoryId, delta, (a, b) -> Math.max(0, a + b));
+		return new CategoryTree(this.categories, Collections.unmodifiableMap(counts));
+	}
+	
+	private List<CategoryTreeNodeDto> render() {
+		final Map<Integer, List<Integer>> childIds = new HashMap<>();
+		final List<Integer> rootIds = new ArrayList<>();
+		this.categories.values().forEach(c -> {
+			if (c.getParentCategoryId() == null || !this.categories.containsKey(c.getParentCategoryId()))
+				rootIds.add(c.getCategoryId());
+			else
+				childIds.computeIfAbsent(c.getParentCategoryId(), k -> new ArrayList<>()).add(c.getCategoryId());
+		});
+		final Set<Integer> visited = new HashSet<>();
+		final List<CategoryTreeNodeDto> rendered = new ArrayList<>(rootIds.size());
+		for (final Integer rootId : rootIds)
+			rendered.add(this.renderNode(rootId, null, 0, childIds, visited));
+		return Collections.unmodifiableList(rendered);
+	}
+	
+	// Un ciclo en parent_category_id dejaría nodos sin raíz: visited solo evita recorrerlo dos veces
+	private CategoryTreeNodeDto renderNode(final Integer categoryId, final String parentPath, final int depth,
+			final Map<Integer, List<Integer>> childIds, final Set<Integer> visited) {
+		visited.add(categoryId);
+		final CategoryTreeNodeDto category = this.categories.get(categoryId);
+		final String path = parentPath == null ? String.valueOf(categoryId) : parentPath + "/" + categoryId;
+		final long productCount = this.productCounts.getOrDefault(categoryId, 0L);
+		final List<CategoryTreeNodeDto> children = new ArrayList<>();
+		long totalProductCount = productCount;
+		for (final Integer childId : childIds.getOrDefault(categoryId, List.of())) {
+			if (visited.contains(childId))
+				continue;
+			final CategoryTreeNodeDto child = this.renderNode(childId, path, depth + 1, childIds, visited);
+			totalProductCount += child.getTotalProductCount();
+			children.add(child);
+		}
+		return CategoryTreeNodeDto.builder()
+				.categoryId(categoryId)
+				.parentCategoryId(category.getParentCategoryId())
+				.categoryTitle(category.getCategoryTitle())
+				.imageUrl(category.getImageUrl())
+				.path(path)
+				.depth(depth)
+				.productCount(productCount)
+				.totalProductCount(totalProductCount)
+				.children(Collections.unmodifiableList(children))
+				.build();
+	}
+	
+}
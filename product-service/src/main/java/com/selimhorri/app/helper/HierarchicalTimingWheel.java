@@ -0,0 +1,144 @@
+package com.selimhorri.app.helper;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Hierarchical timing wheel: {@code levels} wheels of 64 slots, level {@code l}
+ * slot covering 64^l ticks. Scheduling and cancelling are O(1); advancing costs one
+ * slot per elapsed tick plus the cascade of entries moving down a level, so expiry
+ * never scans the whole set of pending keys.
+ * Not thread safe on its own: callers serialise access (see StockHoldServiceImpl).
+ */
+public final class HierarchicalTimingWheel<K> {
+
+	private static final int WHEEL_BITS = 6;
+	private static final int WHEEL_SIZE = 1 << WHEEL_BITS;
+	private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+
+	private final long tickMillis;
+	private final int levels;
+	private final List<List<Set<K>>> wheels;
+	private final Map<K, Slot> slots = new HashMap<>();
+	private final Map<K, Long> deadlines = new HashMap<>();
+	private final Set<K> overdue = new LinkedHashSet<>();
+	private long currentTick;
+
+	public HierarchicalTimingWheel(final long tickMillis, final int levels, final long startMillis) {
+		if (tickMillis <= 0 || levels <= 0)
+			throw new IllegalArgumentException("Tick and levels must be greater than zero");
+		this.tickMillis = tickMillis;
+		this.levels = levels;
+		this.wheels = new ArrayList<>(levels);
+		for (int l = 0; l < levels; l++) {
+			final List<Set<K>> wheel = new ArrayList<>(WHEEL_SIZE);
+			for (int s = 0; s < WHEEL_SIZE; s++)
+				wheel.add(new LinkedHashSet<>());
+			this.wheels.add(wheel);
+		}
+		this.currentTick = startMillis / tickMillis;
+	}
+
+	/**
+	 * Schedules (or reschedules) {@code key} to expire at {@code deadlineMillis}.
+	 * Deadlines already in the past are returned by the next {@link #advance(long)}.
+	 */
+	public void schedule(final K key, final long deadlineMillis) {
+		this.cancel(key);
+		final long deadlineTick = deadlineMillis / this.tickMillis;
+		this.deadlines.put(key, deadlineTick);
+		if (deadlineTick <= this.currentTick)
+			this.overdue.add(key);
+		else
+			this.place(key, deadlineTick);
+	}
+
+	public boolean cancel(final K key) {
+		if (this.deadlines.remove(key) == null)
+			return false;
+		final Slot slot = this.slots.remove(key);
+		if (slot != null)
+			this.wheels.get(slot.level).get(slot.index).remove(key);
+		else
+			this.overdue.remove(key);
+		return true;
+	}
+
+	public boolean contains(final K key) {
+		return this.deadlines.containsKey(key);
+	}
+
+	public int size() {
+		return this.deadlines.size();
+	}
+
+	/**
+	 * Moves the wheel up to {@code nowMillis} and returns every key whose deadline passed.
+	 */
+	public List<K> advance(final long nowMillis) {
+		final List<K> expired = new ArrayList<>(this.overdue);
+		this.overdue.clear();
+		final long targetTick = nowMillis / this.tickMillis;
+		while (this.currentTick < targetTick) {
+			this.currentTick++;
+			this.cascade();
+			final Set<K> bucket = this.wheels.get(0).get((int) (this.currentTick & WHEEL_MASK));
+			for (final K key : bucket)
+				this.slots.remove(key);
+			expired.addAll(bucket);
+			bucket.clear();
+		}
+		expired.forEach(this.deadlines::remove);
+		return expired;
+	}
+
+	// Al completar una vuelta del nivel l-1 se redistribuye la ranura correspondiente del nivel l
+	private void cascade() {
+		for (int l = this.levels - 1; l > 0; l--) {
+			final int shift = WHEEL_BITS * l;
+			if ((this.currentTick & ((1L << shift) - 1)) != 0)
+				continue;
+			final Set<K> bucket = this.wheels.get(l).get((int) ((this.currentTick >>> shift) & WHEEL_MASK));
+			if (bucket.isEmpty())
+				continue;
+			final List<K> moving = new ArrayList<>(bucket);
+			bucket.clear();
+			for (final K key : moving) {
+				this.slots.remove(key);
+				this.place(key, this.deadlines.get(key));
+			}
+		}
+	}
+
+	private void place(final K key, final long deadlineTick) {
+		final long delta = deadlineTick - this.currentTick;
+		int level = 0;
+		while (level < this.levels - 1 && delta >= (1L << (WHEEL_BITS * (level + 1))))
+			level++;
+		final int shift = WHEEL_BITS * level;
+		// Más allá del último nivel: se aparca en la ranura más lejana y se recoloca al pasar por ella
+		final long tick = delta >= (1L << (WHEEL_BITS * this.levels))
+				? this.currentTick + ((long) WHEEL_MASK << shift)
+				: deadlineTick;
+		final int index = (int) ((tick >>> shift) & WHEEL_MASK);
+		this.wheels.get(level).get(index).add(key);
+		this.slots.put(key, new Slot(level, index));
+	}
+
+	private static final class Slot {
+
+		private final int level;
+		private final int index;
+
+		private Slot(final int level, final int index) {
+			this.level = level;
+			this.index = index;
+		}
+
+	}
+
+}
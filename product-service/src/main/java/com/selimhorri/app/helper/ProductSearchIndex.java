@@ -0,0 +1,270 @@
+package com.selimhorri.app.helper;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Inverted index over product title, sku and category title. Each term keeps a
+ * posting list of (doc, term frequency) in two int arrays sorted by doc number;
+ * queries walk the lists of their terms document-at-a-time, score every match
+ * with BM25 and keep the best {@code limit} in a bounded heap, so a search never
+ * allocates per catalogued product.
+ * Doc numbers are assigned in insertion order and never reused: replacing a
+ * product removes its old postings and appends it again.
+ * Not thread safe on its own: callers serialise writes against reads (see ProductSearchServiceImpl).
+ */
+public final class ProductSearchIndex {
+
+	private static final float K1 = 1.2f;
+	private static final float B = 0.75f;
+	private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+	private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+	private static final Postings[] NO_POSTINGS = new Postings[0];
+
+	private final Map<String, Postings> terms = new HashMap<>();
+	// productId -> doc + 1 (0 = no indexado)
+	private int[] docByProduct = new int[16];
+	private int[] productByDoc = new int[16];
+	private int[] lengthByDoc = new int[16];
+	private Postings[][] postingsByDoc = new Postings[16][];
+	private int nextDoc;
+	private int liveDocs;
+	private long totalLength;
+
+	/**
+	 * Indexes (or re-indexes) {@code productId}. Null fields are skipped.
+	 */
+	public void put(final int productId, final String title, final String sku, final String categoryTitle) {
+		if (productId < 0)
+			throw new IllegalArgumentException("Product id must not be negative");
+		this.remove(productId);
+
+		final List<String> tokens = new ArrayList<>();
+		tokenize(title, tokens);
+		tokenize(sku, tokens);
+		// El SKU también se indexa entero ("LAP-001" -> "lap001") para buscarlo tal cual
+		final String compactSku = compact(sku);
+		if (compactSku != null && !tokens.contains(compactSku))
+			tokens.add(compactSku);
+		tokenize(categoryTitle, tokens);
+		if (tokens.isEmpty())
+			return;
+
+		final Map<String, Integer> frequencies = new HashMap<>();
+		for (final String token : tokens)
+			frequencies.merge(token, 1, Integer::sum);
+
+		final int doc = this.nextDoc++;
+		this.ensureDocCapacity(doc);
+		this.ensureProductCapacity(productId);
+		final Postings[] postings = new Postings[frequencies.size()];
+		int i = 0;
+		for (final Map.Entry<String, Integer> entry : frequencies.entrySet()) {
+			final Postings list = this.terms.computeIfAbsent(entry.getKey(), Postings::new);
+			list.append(doc, entry.getValue());
+			postings[i++] = list;
+		}
+		this.docByProduct[productId] = doc + 1;
+		this.productByDoc[doc] = productId;
+		this.lengthByDoc[doc] = tokens.size();
+		this.postingsByDoc[doc] = postings;
+		this.liveDocs++;
+		this.totalLength += tokens.size();
+	}
+
+	public boolean remove(final int productId) {
+		if (productId < 0 || productId >= this.docByProduct.length || this.docByProduct[productId] == 0)
+			return false;
+		final int doc = this.docByProduct[productId] - 1;
+		for (final Postings list : this.postingsByDoc[doc]) {
+			list.remove(doc);
+			if (list.size == 0)
+				this.terms.remove(list.term);
+		}
+		this.docByProduct[productId] = 0;
+		this.postingsByDoc[doc] = NO_POSTINGS;
+		this.liveDocs--;
+		this.totalLength -= this.lengthByDoc[doc];
+		return true;
+	}
+
+	public boolean contains(final int productId) {
+		return productId >= 0 && productId < this.docByProduct.length && this.docByProduct[productId] != 0;
+	}
+
+	public int size() {
+		return this.liveDocs;
+	}
+
+	/**
+	 * Product ids matching any term of {@code query}, best BM25 score first
+	 * (ties by lower product id). Empty when nothing matches.
+	 */
+	public int[] search(final String query, final int limit) {
+		if (limit <= 0 || this.liveDocs == 0)
+			return new int[0];
+		final List<String> tokens = new ArrayList<>();
+		tokenize(query, tokens);
+		final String compactQuery = compact(query);
+		if (compactQuery != null)
+			tokens.add(compactQuery);
+
+		final Set<Postings> matched = new LinkedHashSet<>();
+		for (final String token : tokens) {
+			final Postings list = this.terms.get(token);
+			if (list != null)
+				matched.add(list);
+		}
+		if (matched.isEmpty())
+			return new int[0];
+
+		final Postings[] lists = matched.toArray(NO_POSTINGS);
+		final int n = lists.length;
+		final float[] idf = new float[n];
+		for (int t = 0; t < n; t++) {
+			final int df = lists[t].size;
+			idf[t] = (float) Math.log(1 + (this.liveDocs - df + 0.5) / (df + 0.5));
+		}
+		final float averageLength = (float) this.totalLength / this.liveDocs;
+		final int[] cursors = new int[n];
+
+		// Mínimo en la cima: se descarta el peor de los k mejores
+		final PriorityQueue<Hit> top = new PriorityQueue<>(limit + 1, ProductSearchIndex::compareWorstFirst);
+		while (true) {
+			int doc = Integer.MAX_VALUE;
+			for (int t = 0; t < n; t++)
+				if (cursors[t] < lists[t].size && lists[t].docs[cursors[t]] < doc)
+					doc = lists[t].docs[cursors[t]];
+			if (doc == Integer.MAX_VALUE)
+				break;
+
+			final float norm = K1 * (1 - B + B * this.lengthByDoc[doc] / averageLength);
+			float score = 0;
+			for (int t = 0; t < n; t++) {
+				if (cursors[t] < lists[t].size && lists[t].docs[cursors[t]] == doc) {
+					final int tf = lists[t].freqs[cursors[t]++];
+					score += idf[t] * tf * (K1 + 1) / (tf + norm);
+				}
+			}
+
+			final Hit hit = new Hit(this.productByDoc[doc], score);
+			if (top.size() < limit) {
+				top.add(hit);
+			}
+			else if (compareWorstFirst(hit, top.peek()) > 0) {
+				top.poll();
+				top.add(hit);
+			}
+		}
+
+		final int[] productIds = new int[top.size()];
+		for (int i = productIds.length - 1; i >= 0; i--)
+			productIds[i] = top.poll().productId;
+		return productIds;
+	}
+
+	/**
+	 * Lower case, accents stripped, split on anything that is not a letter or digit.
+	 */
+	public static List<String> tokenize(final String text) {
+		final List<String> tokens = new ArrayList<>();
+		tokenize(text, tokens);
+		return tokens;
+	}
+
+	private static void tokenize(final String text, final List<String> tokens) {
+		if (text == null)
+			return;
+		for (final String token : SEPARATORS.split(fold(text)))
+			if (!token.isEmpty())
+				tokens.add(token);
+	}
+
+	// "LAP-001" -> "lap001"; null si no hay nada que juntar
+	private static String compact(final String text) {
+		if (text == null)
+			return null;
+		final String folded = fold(text);
+		final String joined = SEPARATORS.matcher(folded).replaceAll("");
+		return joined.isEmpty() || joined.equals(folded) ? null : joined;
+	}
+
+	private static String fold(final String text) {
+		return MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("").toLowerCase(Locale.ROOT);
+	}
+
+	private static int compareWorstFirst(final Hit a, final Hit b) {
+		final int byScore = Float.compare(a.score, b.score);
+		return byScore != 0 ? byScore : Integer.compare(b.productId, a.productId);
+	}
+
+	private void ensureDocCapacity(final int doc) {
+		if (doc < this.productByDoc.length)
+			return;
+		final int capacity = Math.max(doc + 1, this.productByDoc.length * 2);
+		this.productByDoc = Arrays.copyOf(this.productByDoc, capacity);
+		this.lengthByDoc = Arrays.copyOf(this.lengthByDoc, capacity);
+		this.postingsByDoc = Arrays.copyOf(this.postingsByDoc, capacity);
+	}
+
+	private void ensureProductCapacity(final int productId) {
+		if (productId < this.docByProduct.length)
+			return;
+		this.docByProduct = Arrays.copyOf(this.docByProduct, Math.max(productId + 1, this.docByProduct.length * 2));
+	}
+
+	private static final class Postings {
+
+		private final String term;
+		private int[] docs = new int[4];
+		private int[] freqs = new int[4];
+		private int size;
+
+		private Postings(final String term) {
+			this.term = term;
+		}
+
+		// Los docs llegan en orden creciente: añadir al final mantiene la lista ordenada
+		private void append(final int doc, final int freq) {
+			if (this.size == this.docs.length) {
+				this.docs = Arrays.copyOf(this.docs, this.size * 2);
+				this.freqs = Arrays.copyOf(this.freqs, this.size * 2);
+			}
+			this.docs[this.size] = doc;
+			this.freqs[this.size] = freq;
+			this.size++;
+		}
+
+		private void remove(final int doc) {
+			final int i = Arrays.binarySearch(this.docs, 0, this.size, doc);
+			if (i < 0)
+				return;
+			System.arraycopy(this.docs, i + 1, this.docs, i, this.size - i - 1);
+			System.arraycopy(this.freqs, i + 1, this.freqs, i, this.size - i - 1);
+			this.size--;
+		}
+
+	}
+
+	private static final class Hit {
+
+		private final int productId;
+		private final float score;
+
+		private Hit(final int productId, final float score) {
+			this.productId = productId;
+			this.score = score;
+		}
+
+	}
+
+}
@@ -0,0 +1,21 @@
+package com.selimhorri.app.helper;
+
+import com.selimhorri.app.domain.StockHold;
+import com.selimhorri.app.dto.StockHoldDto;
+
+public interface StockHoldMappingHelper {
+	
+	public static StockHoldDto map(final StockHold stockHold) {
+		return StockHoldDto.builder()
+				.holdId(stockHold.getHoldId())
+				.productId(stockHold.getProductId())
+				.orderId(stockHold.getOrderId())
+				.quantity(stockHold.getQuantity())
+				.holdStatus(stockHold.getHoldStatus().name())
+				.expiresAt(stockHold.getExpiresAt())
+				.build();
+	}
+	
+	
+	
+}
@@ -0,0 +1,128 @@
+package com.selimhorri.app.helper;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Stock of one hot product split over per-core stripes, LongAdder style.
+ * Threads decrement their own stripe with a CAS that refuses to go below zero,
+ * so concurrent reservations rarely touch the same cache line and the sum of
+ * the stripes can never be negative. Consumed units are tracked separately and
+ * drained by the periodic flush as a single delta.
+ */
+public final class StripedStockCounter {
+
+	// 16 longs = 128 bytes between used slots, keeps stripes off each other's cache lines
+	private static final int PADDING = 16;
+
+	private final int stripes;
+	private final AtomicLongArray cells;
+	private final LongAdder consumed = new LongAdder();
+	private long flushed;
+
+	public StripedStockCounter(final long initialQuantity) {
+		this(initialQuantity, Runtime.getRuntime().availableProcessors());
+	}
+
+	public StripedStockCounter(final long initialQuantity, final int parallelism) {
+		if (initialQuantity < 0)
+			throw new IllegalArgumentException("Initial quantity must not be negative");
+		int size = 1;
+		while (size < Math.max(1, parallelism))
+			size <<= 1;
+		this.stripes = size;
+		this.cells = new AtomicLongArray(size * PADDING);
+		// Reparto uniforme; el resto va a la primera franja
+		final long share = initialQuantity / size;
+		for (int i = 0; i < size; i++)
+			this.cells.set(i * PADDING, share);
+		this.cells.addAndGet(0, initialQuantity - share * size);
+	}
+
+	/**
+	 * Takes {@code quantity} units, first from the caller's home stripe, then from
+	 * any single stripe that can cover it, finally by draining several stripes.
+	 * @return false when the stripes together hold fewer than {@code quantity} units
+	 */
+	public boolean tryReserve(final long quantity) {
+		if (quantity <= 0)
+			throw new IllegalArgumentException("Quantity must be greater than zero");
+		final int home = this.homeStripe();
+		for (int i = 0; i < this.stripes; i++) {
+			if (this.tryTake((home + i) & (this.stripes - 1), quantity)) {
+				this.consumed.add(quantity);
+				return true;
+			}
+		}
+		return this.reserveAcrossStripes(home, quantity);
+	}
+
+	public void release(final long quantity) {
+		if (quantity <= 0)
+			throw new IllegalArgumentException("Quantity must be greater than zero");
+		this.cells.addAndGet(this.homeStripe() * PADDING, quantity);
+		this.consumed.add(-quantity);
+	}
+
+	/**
+	 * Units currently available; exact when quiescent, a close estimate under load.
+	 */
+	public long available() {
+		long sum = 0L;
+		for (int i = 0; i < this.stripes; i++)
+			sum += this.cells.get(i * PADDING);
+		return sum;
+	}
+
+	/**
+	 * Net units consumed since the last {@link #markFlushed(long)}.
+	 * Only the flushing thread may call this pair of methods.
+	 */
+	public long pendingDelta() {
+		return this.consumed.sum() - this.flushed;
+	}
+
+	public void markFlushed(final long delta) {
+		this.flushed += delta;
+	}
+
+	private boolean tryTake(final int stripe, final long quantity) {
+		final int index = stripe * PADDING;
+		long current;
+		do {
+			current = this.cells.get(index);
+			if (current < quantity)
+				return false;
+		} while (!this.cells.compareAndSet(index, current, current - quantity));
+		return true;
+	}
+
+	private boolean reserveAcrossStripes(final int home, final long quantity) {
+		long remaining = quantity;
+		for (int i = 0; i < this.stripes && remaining > 0; i++) {
+			final int index = ((home + i) & (this.stripes - 1)) * PADDING;
+			long current;
+			long taken;
+			do {
+				current = this.cells.get(index);
+				taken = Math.min(current, remaining);
+			} while (taken > 0 && !this.cells.compareAndSet(index, current, current - taken));
+			remaining -= taken;
+		}
+		if (remaining > 0) {
+			// No alcanza: devolver lo tomado a la franja local
+			final long taken = quantity - remaining;
+			if (taken > 0)
+				this.cells.addAndGet(home * PADDING, taken);
+			return false;
+		}
+		this.consumed.add(quantity);
+		return true;
+	}
+
+	private int homeStripe() {
+		final long id = Thread.currentThread().getId();
+		return (int) (id ^ (id >>> 16)) & (this.stripes - 1);
+	}
+
+}
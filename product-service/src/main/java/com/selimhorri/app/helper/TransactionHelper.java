@@ -0,0 +1,25 @@
+package com.selimhorri.app.helper;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+public interface TransactionHelper {
+	
+	/**
+	 * Runs {@code action} once the current transaction commits, or right away when
+	 * there is none. A rolled back transaction never runs it.
+	 */
+	public static void afterCommit(final Runnable action) {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			action.run();
+			return;
+		}
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				action.run();
+			}
+		});
+	}
+	
+}
@@ -8,6 +8,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import com.selimhorri.app.domain.Category;
+import com.selimhorri.app.dto.CategoryTreeNodeDto;
 
 public interface CategoryRepository extends JpaRepository<Category, Integer> {
 
@@ -19,10 +20,14 @@ public interface CategoryRepository extends JpaRepository<Category, Integer> {
 
     Optional<Category> findByCategoryTitleIgnoreCase(String categoryTitle);
 
-    @Query("SELECT c FROM Category c WHERE LOWER(c.categoryTitle) NOT IN ('deleted', 'no category')")
+    @Query("SELECT new com.selimhorri.app.dto.CategoryTreeNodeDto(c.categoryId, p.categoryId, c.categoryTitle, "
+            + "c.imageUrl) FROM Category c LEFT JOIN c.parentCategory p WHERE c.isReserved = false")
+    List<CategoryTreeNodeDto> findTreeNodes();
+
+    @Query("SELECT c FROM Category c WHERE c.isReserved = false")
     List<Category> findAllNonReserved();
 
-    @Query("SELECT c FROM Category c WHERE c.categoryId = :id AND LOWER(c.categoryTitle) NOT IN ('deleted', 'no category')")
+    @Query("SELECT c FROM Category c WHERE c.categoryId = :id AND c.isReserved = false")
     Optional<Category> findNonReservedById(@Param("id") Integer id);
 
 }
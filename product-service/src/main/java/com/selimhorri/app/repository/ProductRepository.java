@@ -1,24 +1,81 @@
 package com.selimhorri.app.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import javax.persistence.LockModeType;
+
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.selimhorri.app.domain.Category;
 import com.selimhorri.app.domain.Product;
+import com.selimhorri.app.dto.CategoryTreeNodeDto;
 
 public interface ProductRepository extends JpaRepository<Product, Integer> {
 
-    @Query("SELECT p FROM Product p WHERE p.category.categoryTitle <> 'Deleted'")
+    // Borrado lógico por is_deleted: sin join a categories, por idx_products_is_deleted
+    @Query("SELECT p FROM Product p WHERE p.isDeleted = false")
     List<Product> findAllWithoutDeleted();
 
-    @Query("SELECT p FROM Product p WHERE p.id = :productId AND p.category.categoryTitle <> 'Deleted'")
+    // Keyset: la página siguiente empieza después del último id devuelto, sin OFFSET
+    @Query("SELECT p FROM Product p WHERE p.isDeleted = false AND p.productId > :after ORDER BY p.productId")
+    List<Product> findPageWithoutDeleted(@Param("after") Integer after, Pageable pageable);
+
+    @Query("SELECT p FROM Product p WHERE p.productId = :productId AND p.isDeleted = false")
     Optional<Product> findByIdWithoutDeleted(Integer productId);
 
+    // SELECT ... FOR UPDATE: espera a las reservas por fila en curso y bloquea las siguientes hasta el commit
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM Product p WHERE p.productId = :productId AND p.isDeleted = false")
+    Optional<Product> lockByIdWithoutDeleted(@Param("productId") Integer productId);
+
+    // Carga del índice de búsqueda: la categoría en el mismo SELECT para no hacer N+1
+    @Query("SELECT p FROM Product p JOIN FETCH p.category WHERE p.isDeleted = false AND p.productId > :after ORDER BY p.productId")
+    List<Product> findSearchPage(@Param("after") Integer after, Pageable pageable);
+
+    @Query("SELECT p FROM Product p JOIN FETCH p.category c WHERE c.categoryId = :categoryId AND p.isDeleted = false "
+            + "AND p.productId > :after ORDER BY p.productId")
+    List<Product> findSearchPageByCategoryId(@Param("categoryId") Integer categoryId, @Param("after") Integer after,
+            Pageable pageable);
+
+    @Query("SELECT p FROM Product p WHERE p.productId IN :productIds AND p.isDeleted = false")
+    List<Product> findAllByIdWithoutDeleted(@Param("productIds") Collection<Integer> productIds);
+
+    // Reserva atómica: sólo descuenta si el producto sigue vivo y hay unidades suficientes, sin leer antes ni bloquear
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Product p SET p.quantity = p.quantity - :quantity "
+            + "WHERE p.productId = :productId AND p.isDeleted = false AND p.quantity >= :quantity")
+    int reserveStock(@Param("productId") Integer productId, @Param("quantity") Integer quantity);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Product p SET p.quantity = p.quantity + :quantity WHERE p.productId = :productId")
+    int releaseStock(@Param("productId") Integer productId, @Param("quantity") Integer quantity);
+
+    // Flush de los contadores hot SKU: aplica el delta acumulado sin bajar de cero
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query(value = "UPDATE products SET quantity = GREATEST(quantity - :delta, 0) WHERE product_id = :productId", nativeQuery = true)
+    int applyStockDelta(@Param("productId") Integer productId, @Param("delta") Integer delta);
+
+    @Query("SELECT p.category.categoryId FROM Product p WHERE p.productId = :productId AND p.isDeleted = false")
+    Optional<Integer> findCategoryIdByProductId(@Param("productId") Integer productId);
+
+    @Query("SELECT new com.selimhorri.app.dto.CategoryTreeNodeDto(p.category.categoryId, COUNT(p)) "
+            + "FROM Product p WHERE p.isDeleted = false GROUP BY p.category.categoryId")
+    List<CategoryTreeNodeDto> countByCategory();
+
+    boolean existsByProductIdAndIsDeletedFalse(Integer productId);
+
+    @Query("SELECT p.quantity FROM Product p WHERE p.productId = :productId")
+    Optional<Integer> findQuantityByProductId(@Param("productId") Integer productId);
+
     @Modifying
     @Query("UPDATE Product p SET p.category = :newCategory WHERE p.category.categoryId = :oldCategoryId")
     void updateCategoryForProducts(@Param("oldCategoryId") Integer oldCategoryId,
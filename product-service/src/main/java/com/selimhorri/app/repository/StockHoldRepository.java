@@ -0,0 +1,29 @@
+package com.selimhorri.app.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.selimhorri.app.domain.HoldStatus;
+import com.selimhorri.app.domain.StockHold;
+
+public interface StockHoldRepository extends JpaRepository<StockHold, Integer> {
+
+    List<StockHold> findByHoldStatus(HoldStatus holdStatus);
+
+    @Query("SELECT h.holdId FROM StockHold h WHERE h.orderId = :orderId AND h.holdStatus = :holdStatus")
+    List<Integer> findHoldIdsByOrderIdAndHoldStatus(@Param("orderId") Integer orderId,
+            @Param("holdStatus") HoldStatus holdStatus);
+
+    List<StockHold> findByOrderIdAndProductIdAndHoldStatus(Integer orderId, Integer productId, HoldStatus holdStatus);
+
+    // Transición condicional: sólo un llamador (confirm, cancel o expiración) gana sobre un hold HELD
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE StockHold h SET h.holdStatus = :newStatus WHERE h.holdId = :holdId AND h.holdStatus = :expectedStatus")
+    int transition(@Param("holdId") Integer holdId, @Param("expectedStatus") HoldStatus expectedStatus,
+            @Param("newStatus") HoldStatus newStatus);
+
+}
@@ -15,8 +15,10 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.selimhorri.app.dto.CategoryDto;
+import com.selimhorri.app.dto.CategoryTreeNodeDto;
 import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
 import com.selimhorri.app.service.CategoryService;
+import com.selimhorri.app.service.CategoryTreeService;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -28,6 +30,7 @@ import lombok.extern.slf4j.Slf4j;
 public class CategoryResource {
 	
 	private final CategoryService categoryService;
+	private final CategoryTreeService categoryTreeService;
 	
 	@GetMapping
 	public ResponseEntity<DtoCollectionResponse<CategoryDto>> findAll() {
@@ -35,6 +38,16 @@ public class CategoryResource {
 		return ResponseEntity.ok(new DtoCollectionResponse<>(this.categoryService.findAll()));
 	}
 	
+	/**
+	 * Category menu: root categories with their children, materialized path and
+	 * product counts (own and whole subtree), served from the in-memory snapshot.
+	 */
+	@GetMapping("/tree")
+	public ResponseEntity<DtoCollectionResponse<CategoryTreeNodeDto>> findTree() {
+		log.info("*** CategoryTreeNodeDto List, controller; fetch category tree *");
+		return ResponseEntity.ok(new DtoCollectionResponse<>(this.categoryTreeService.findTree()));
+	}
+	
 	@GetMapping("/{categoryId}")
 	public ResponseEntity<CategoryDto> findById(
 			@PathVariable("categoryId") 
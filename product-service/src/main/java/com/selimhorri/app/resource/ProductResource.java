@@ -1,5 +1,7 @@
 package com.selimhorri.app.resource;
 
+import java.util.List;
+
 import javax.validation.Valid;
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
@@ -12,13 +14,17 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cloud.context.config.annotation.RefreshScope;
 
 import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.dto.StockReservationDto;
 import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
+import com.selimhorri.app.service.HotStockService;
 import com.selimhorri.app.service.ProductService;
+import com.selimhorri.app.service.StockHoldService;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -31,6 +37,8 @@ import lombok.extern.slf4j.Slf4j;
 public class ProductResource {
 
 	private final ProductService productService;
+	private final HotStockService hotStockService;
+	private final StockHoldService stockHoldService;
 
 	@Value("${app.feature.delete-product-enabled:true}")
 	private boolean deleteProductEnabled;
@@ -39,9 +47,29 @@ public class ProductResource {
 	private String customProperty;
 
 	@GetMapping
-	public ResponseEntity<DtoCollectionResponse<ProductDto>> findAll() {
+	public ResponseEntity<DtoCollectionResponse<ProductDto>> findAll(
+			@RequestParam(value = "after", required = false) final Integer after,
+			@RequestParam(value = "limit", required = false) final Integer limit) {
 		log.info("*** ProductDto List, controller; fetch all categories *");
-		return ResponseEntity.ok(new DtoCollectionResponse<>(this.productService.findAll()));
+		if (after == null && limit == null)
+			return ResponseEntity.ok(new DtoCollectionResponse<>(this.productService.findAll()));
+		return ResponseEntity.ok(this.productService.findPage(after, DtoCollectionResponse.pageLimit(limit)));
+	}
+
+	@GetMapping(params = "ids")
+	public ResponseEntity<DtoCollectionResponse<ProductDto>> findAllByIds(
+			@RequestParam("ids") final List<Integer> productIds) {
+		log.info("*** ProductDto List, controller; fetch products by ids *");
+		return ResponseEntity.ok(new DtoCollectionResponse<>(this.productService.findAllByIds(productIds)));
+	}
+
+	@GetMapping("/search")
+	public ResponseEntity<DtoCollectionResponse<ProductDto>> search(
+			@RequestParam("q") final String query,
+			@RequestParam(value = "limit", required = false) final Integer limit) {
+		log.info("*** ProductDto List, controller; search products *");
+		return ResponseEntity.ok(new DtoCollectionResponse<>(
+				this.productService.search(query, DtoCollectionResponse.pageLimit(limit))));
 	}
 
 	@GetMapping("/{productId}")
@@ -84,6 +112,40 @@ public class ProductResource {
 		return ResponseEntity.ok(true);
 	}
 
+	@PostMapping("/{productId}/reserve")
+	public ResponseEntity<StockReservationDto> reserve(
+			@PathVariable("productId") @NotBlank(message = "Input must not be blank!") @Valid final String productId,
+			@RequestParam("quantity") @NotNull(message = "Quantity must not be NULL!") final Integer quantity,
+			@RequestParam(value = "orderId", required = false) final Integer orderId) {
+		log.info("*** StockReservationDto, resource; reserve product stock *");
+		// Con orderId, los holds de ese pedido cubren primero la reserva
+		if (orderId != null)
+			return ResponseEntity.ok(this.stockHoldService.reserveForOrder(orderId, Integer.parseInt(productId), quantity));
+		return ResponseEntity.ok(this.productService.reserve(Integer.parseInt(productId), quantity));
+	}
+
+	@PostMapping("/{productId}/release")
+	public ResponseEntity<StockReservationDto> release(
+			@PathVariable("productId") @NotBlank(message = "Input must not be blank!") @Valid final String productId,
+			@RequestParam("quantity") @NotNull(message = "Quantity must not be NULL!") final Integer quantity) {
+		log.info("*** StockReservationDto, resource; release product stock *");
+		return ResponseEntity.ok(this.productService.release(Integer.parseInt(productId), quantity));
+	}
+
+	@PutMapping("/{productId}/hot")
+	public ResponseEntity<StockReservationDto> markHot(
+			@PathVariable("productId") @NotBlank(message = "Input must not be blank!") @Valid final String productId) {
+		log.info("*** StockReservationDto, resource; mark product as hot SKU *");
+		return ResponseEntity.ok(this.hotStockService.markHot(Integer.parseInt(productId)));
+	}
+
+	@DeleteMapping("/{productId}/hot")
+	public ResponseEntity<StockReservationDto> unmarkHot(
+			@PathVariable("productId") @NotBlank(message = "Input must not be blank!") @Valid final String productId) {
+		log.info("*** StockReservationDto, resource; unmark hot SKU *");
+		return ResponseEntity.ok(this.hotStockService.unmarkHot(Integer.parseInt(productId)));
+	}
+
 	@GetMapping("/config/custom-property")
 	public ResponseEntity<String> getCustomProperty() {
 		return ResponseEntity.ok(this.customProperty);
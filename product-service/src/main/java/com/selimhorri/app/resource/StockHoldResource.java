@@ -0,0 +1,78 @@
+package com.selimhorri.app.resource;
+
+import java.util.List;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotNull;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.selimhorri.app.dto.StockHoldDto;
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
+import com.selimhorri.app.service.StockHoldService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@RestController
+@RequestMapping("/api/holds")
+@Slf4j
+@RequiredArgsConstructor
+public class StockHoldResource {
+	
+	private final StockHoldService stockHoldService;
+	
+	@GetMapping("/{holdId}")
+	public ResponseEntity<StockHoldDto> findById(
+			@PathVariable("holdId") @NotBlank(message = "Input must not be blank!") @Valid final String holdId) {
+		log.info("*** StockHoldDto, resource; fetch stock hold by id *");
+		return ResponseEntity.ok(this.stockHoldService.findById(Integer.parseInt(holdId)));
+	}
+	
+	@PostMapping
+	public ResponseEntity<StockHoldDto> create(
+			@RequestBody @NotNull(message = "Input must not be NULL!") @Valid final StockHoldDto stockHoldDto) {
+		log.info("*** StockHoldDto, resource; create stock hold *");
+		return ResponseEntity.ok(this.stockHoldService.create(stockHoldDto));
+	}
+	
+	@PostMapping("/{holdId}/confirm")
+	public ResponseEntity<StockHoldDto> confirm(
+			@PathVariable("holdId") @NotBlank(message = "Input must not be blank!") @Valid final String holdId) {
+		log.info("*** StockHoldDto, resource; confirm stock hold *");
+		return ResponseEntity.ok(this.stockHoldService.confirm(Integer.parseInt(holdId)));
+	}
+	
+	@PostMapping("/{holdId}/cancel")
+	public ResponseEntity<StockHoldDto> cancel(
+			@PathVariable("holdId") @NotBlank(message = "Input must not be blank!") @Valid final String holdId) {
+		log.info("*** StockHoldDto, resource; cancel stock hold *");
+		return ResponseEntity.ok(this.stockHoldService.cancel(Integer.parseInt(holdId)));
+	}
+	
+	@PostMapping("/order/{orderId}/confirm")
+	public ResponseEntity<DtoCollectionResponse<StockHoldDto>> confirmByOrderId(
+			@PathVariable("orderId") @NotBlank(message = "Input must not be blank!") @Valid final String orderId) {
+		log.info("*** StockHoldDto List, resource; confirm stock holds of order *");
+		final List<StockHoldDto> holds = this.stockHoldService.confirmByOrderId(Integer.parseInt(orderId));
+		return ResponseEntity.ok(new DtoCollectionResponse<>(holds));
+	}
+	
+	@PostMapping("/order/{orderId}/cancel")
+	public ResponseEntity<DtoCollectionResponse<StockHoldDto>> cancelByOrderId(
+			@PathVariable("orderId") @NotBlank(message = "Input must not be blank!") @Valid final String orderId) {
+		log.info("*** StockHoldDto List, resource; cancel stock holds of order *");
+		final List<StockHoldDto> holds = this.stockHoldService.cancelByOrderId(Integer.parseInt(orderId));
+		return ResponseEntity.ok(new DtoCollectionResponse<>(holds));
+	}
+	
+	
+	
+}
@@ -0,0 +1,40 @@
+package com.selimhorri.app.scheduler;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.selimhorri.app.service.ProductSearchService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Builds the product search index once the application is up and rebuilds it
+ * periodically, which picks up writes made through other instances.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class ProductSearchIndexScheduler {
+
+	private final ProductSearchService productSearchService;
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void build() {
+		log.info("Product search index built with {} products", this.productSearchService.rebuild());
+	}
+
+	@Scheduled(fixedDelayString = "${app.product-search.rebuild-interval:3600000}",
+			initialDelayString = "${app.product-search.rebuild-interval:3600000}")
+	public void rebuild() {
+		try {
+			log.info("Product search index rebuilt with {} products", this.productSearchService.rebuild());
+		}
+		catch (RuntimeException e) {
+			log.warn("Failed to rebuild product search index: {}", e.getMessage());
+		}
+	}
+
+}
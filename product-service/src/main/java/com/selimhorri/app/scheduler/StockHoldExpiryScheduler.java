@@ -0,0 +1,42 @@
+package com.selimhorri.app.scheduler;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.selimhorri.app.service.StockHoldService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Drives the stock hold timing wheel: rebuilds it from the HELD rows once the
+ * application is up, then advances it every tick and expires what fell due,
+ * each hold in its own transaction.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class StockHoldExpiryScheduler {
+
+	private final StockHoldService stockHoldService;
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void rebuild() {
+		log.info("Stock hold wheel rebuilt with {} pending holds", this.stockHoldService.rebuild());
+	}
+
+	@Scheduled(fixedDelayString = "${app.stock.hold.tick-interval:1000}")
+	public void expireDueHolds() {
+		for (final Integer holdId : this.stockHoldService.pollExpired()) {
+			try {
+				this.stockHoldService.expire(holdId);
+			}
+			catch (RuntimeException e) {
+				log.warn("Failed to expire stock hold {}: {}", holdId, e.getMessage());
+			}
+		}
+	}
+
+}
@@ -0,0 +1,13 @@
+package com.selimhorri.app.service;
+
+import java.util.List;
+
+import com.selimhorri.app.dto.CategoryTreeNodeDto;
+
+public interface CategoryTreeService {
+	
+	List<CategoryTreeNodeDto> findTree();
+	void adjustProductCount(final Integer categoryId, final long delta);
+	void reload();
+	
+}
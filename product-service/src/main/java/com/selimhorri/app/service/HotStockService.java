@@ -0,0 +1,21 @@
+package com.selimhorri.app.service;
+
+import java.util.Optional;
+
+import com.selimhorri.app.dto.StockReservationDto;
+
+public interface HotStockService {
+	
+	boolean isHot(final Integer productId);
+	StockReservationDto markHot(final Integer productId);
+	StockReservationDto unmarkHot(final Integer productId);
+	Optional<Integer> findQuantity(final Integer productId);
+	Integer reserve(final Integer productId, final Integer quantity);
+	Integer release(final Integer productId, final Integer quantity);
+	void reload(final Integer productId);
+	void flush();
+	
+}
+
+
+
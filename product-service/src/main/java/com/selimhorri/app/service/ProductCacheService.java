@@ -0,0 +1,21 @@
+package com.selimhorri.app.service;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import com.selimhorri.app.dto.ProductDto;
+
+public interface ProductCacheService {
+	
+	Optional<ProductDto> findById(final Integer productId, final Function<Integer, Optional<ProductDto>> loader);
+	List<ProductDto> findAllByIds(final Collection<Integer> productIds,
+			final Function<Collection<Integer>, List<ProductDto>> loader);
+	List<ProductDto> findAll(final Supplier<List<ProductDto>> loader);
+	void evict(final Integer productId);
+	void evictStock(final Integer productId);
+	void evictAll();
+	
+}
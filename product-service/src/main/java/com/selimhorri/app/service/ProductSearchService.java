@@ -0,0 +1,12 @@
+package com.selimhorri.app.service;
+
+import java.util.List;
+
+public interface ProductSearchService {
+	
+	List<Integer> search(final String query, final int limit);
+	void reindex(final Integer productId);
+	void reindexCategory(final Integer categoryId);
+	int rebuild();
+	
+}
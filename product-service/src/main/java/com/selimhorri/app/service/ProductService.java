@@ -1,16 +1,24 @@
 package com.selimhorri.app.service;
 
+import java.util.Collection;
 import java.util.List;
 
 import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.dto.StockReservationDto;
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
 
 public interface ProductService {
 	
 	List<ProductDto> findAll();
+	DtoCollectionResponse<ProductDto> findPage(final Integer after, final int limit);
+	List<ProductDto> findAllByIds(final Collection<Integer> productIds);
 	ProductDto findById(final Integer productId);
+	List<ProductDto> search(final String query, final int limit);
 	ProductDto save(final ProductDto productDto);
 	ProductDto update(final ProductDto productDto);
 	ProductDto update(final Integer productId, final ProductDto productDto);
 	void deleteById(final Integer productId);
+	StockReservationDto reserve(final Integer productId, final Integer quantity);
+	StockReservationDto release(final Integer productId, final Integer quantity);
 	
 }
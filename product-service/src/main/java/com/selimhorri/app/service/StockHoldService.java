@@ -0,0 +1,21 @@
+package com.selimhorri.app.service;
+
+import java.util.List;
+
+import com.selimhorri.app.dto.StockHoldDto;
+import com.selimhorri.app.dto.StockReservationDto;
+
+public interface StockHoldService {
+	
+	StockHoldDto findById(final Integer holdId);
+	StockHoldDto create(final StockHoldDto stockHoldDto);
+	StockHoldDto confirm(final Integer holdId);
+	StockHoldDto cancel(final Integer holdId);
+	List<StockHoldDto> confirmByOrderId(final Integer orderId);
+	List<StockHoldDto> cancelByOrderId(final Integer orderId);
+	StockReservationDto reserveForOrder(final Integer orderId, final Integer productId, final Integer quantity);
+	boolean expire(final Integer holdId);
+	List<Integer> pollExpired();
+	int rebuild();
+	
+}
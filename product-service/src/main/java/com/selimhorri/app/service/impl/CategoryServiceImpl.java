@@ -14,6 +14,9 @@ import com.selimhorri.app.helper.CategoryMappingHelper;
 import com.selimhorri.app.repository.CategoryRepository;
 import com.selimhorri.app.repository.ProductRepository;
 import com.selimhorri.app.service.CategoryService;
+import com.selimhorri.app.service.CategoryTreeService;
+import com.selimhorri.app.service.ProductCacheService;
+import com.selimhorri.app.service.ProductSearchService;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -26,6 +29,9 @@ public class CategoryServiceImpl implements CategoryService {
 
 	private final CategoryRepository categoryRepository;
 	private final ProductRepository productRepository;
+	private final ProductCacheService productCacheService;
+	private final CategoryTreeService categoryTreeService;
+	private final ProductSearchService productSearchService;
 
 	@Override
 	public List<CategoryDto> findAll() {
@@ -65,8 +71,10 @@ public class CategoryServiceImpl implements CategoryService {
 		categoryDto.setCategoryId(null);
 
 		// Guardar y mapear a DTO
-		return CategoryMappingHelper.map(
+		final CategoryDto saved = CategoryMappingHelper.map(
 				this.categoryRepository.save(CategoryMappingHelper.map(categoryDto)));
+		this.categoryTreeService.reload();
+		return saved;
 	}
 
 	@Override
@@ -105,7 +113,13 @@ public class CategoryServiceImpl implements CategoryService {
 		existingCategory.setParentCategory(null);
 		existingCategory.setSubCategories(null);
 
-		return CategoryMappingHelper.map(this.categoryRepository.save(existingCategory));
+		final CategoryDto updated = CategoryMappingHelper.map(this.categoryRepository.save(existingCategory));
+		// Los productos cacheados llevan la categoría embebida
+		this.productCacheService.evictAll();
+		this.categoryTreeService.reload();
+		// El título de la categoría también se busca
+		this.productSearchService.reindexCategory(updated.getCategoryId());
+		return updated;
 	}
 
 	@Override
@@ -144,7 +158,13 @@ public class CategoryServiceImpl implements CategoryService {
 		existingCategory.setSubCategories(null);
 
 		// No necesitamos mapear el DTO a entidad porque trabajamos con la existente
-		return CategoryMappingHelper.map(this.categoryRepository.save(existingCategory));
+		final CategoryDto updated = CategoryMappingHelper.map(this.categoryRepository.save(existingCategory));
+		// Los productos cacheados llevan la categoría embebida
+		this.productCacheService.evictAll();
+		this.categoryTreeService.reload();
+		// El título de la categoría también se busca
+		this.productSearchService.reindexCategory(updated.getCategoryId());
+		return updated;
 	}
 
 	@Override
@@ -158,8 +178,7 @@ public class CategoryServiceImpl implements CategoryService {
 						"Category not found with ID: " + categoryId));
 
 		// 2. Verificar que no sea una categoría reservada
-		String categoryName = category.getCategoryTitle().toLowerCase().trim();
-		if ("deleted".equals(categoryName) || "no category".equals(categoryName)) {
+		if (category.isReserved()) {
 			throw new IllegalArgumentException(
 					"Cannot delete reserved categories: 'Deleted' or 'No Category'");
 		}
@@ -171,9 +190,12 @@ public class CategoryServiceImpl implements CategoryService {
 
 		// 4. Migrar todos los productos a "No Category"
 		this.productRepository.updateCategoryForProducts(categoryId, noCategory);
+		this.productCacheService.evictAll();
 
 		// 5. Eliminar la categoría
 		this.categoryRepository.delete(category);
+		this.categoryTreeService.reload();
+		this.productSearchService.reindexCategory(noCategory.getCategoryId());
 	}
 
 }
@@ -0,0 +1,78 @@
+package com.selimhorri.app.service.impl;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.selimhorri.app.dto.CategoryTreeNodeDto;
+import com.selimhorri.app.helper.CategoryTree;
+import com.selimhorri.app.helper.TransactionHelper;
+import com.selimhorri.app.repository.CategoryRepository;
+import com.selimhorri.app.repository.ProductRepository;
+import com.selimhorri.app.service.CategoryTreeService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Serves the category menu from an in-memory {@link CategoryTree} snapshot.
+ * Product writes apply their count delta to the snapshot and category writes
+ * reload it (two queries), both once the transaction commits. A periodic reload
+ * picks up writes made by other instances and any drift.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class CategoryTreeServiceImpl implements CategoryTreeService {
+	
+	private final CategoryRepository categoryRepository;
+	private final ProductRepository productRepository;
+	private final AtomicReference<CategoryTree> snapshot = new AtomicReference<>();
+	// Serializa las escrituras del snapshot; las lecturas no se bloquean
+	private final Object writeLock = new Object();
+	
+	@Override
+	public List<CategoryTreeNodeDto> findTree() {
+		log.info("*** CategoryTreeNodeDto List, service; fetch category tree *");
+		CategoryTree tree = this.snapshot.get();
+		if (tree == null)
+			tree = this.load();
+		return tree.getRoots();
+	}
+	
+	@Override
+	public void adjustProductCount(final Integer categoryId, final long delta) {
+		TransactionHelper.afterCommit(() -> {
+			synchronized (this.writeLock) {
+				// Sin snapshot todavía: la primera lectura ya cargará el valor confirmado
+				final CategoryTree tree = this.snapshot.get();
+				if (tree != null)
+					this.snapshot.set(tree.withProductDelta(categoryId, delta));
+			}
+		});
+	}
+	
+	@Override
+	public void reload() {
+		TransactionHelper.afterCommit(this::load);
+	}
+	
+	@Scheduled(fixedDelayString = "${app.category-tree.reload-interval:300000}",
+			initialDelayString = "${app.category-tree.reload-interval:300000}")
+	public void reconcile() {
+		this.load();
+	}
+	
+	private CategoryTree load() {
+		synchronized (this.writeLock) {
+			final CategoryTree tree = CategoryTree.of(this.categoryRepository.findTreeNodes(),
+					this.productRepository.countByCategory());
+			this.snapshot.set(tree);
+			log.debug("Category tree reloaded with {} categories", tree.size());
+			return tree;
+		}
+	}
+	
+}
@@ -0,0 +1,212 @@
+package com.selimhorri.app.service.impl;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.selimhorri.app.domain.Product;
+import com.selimhorri.app.dto.StockReservationDto;
+import com.selimhorri.app.exception.wrapper.InsufficientStockException;
+import com.selimhorri.app.exception.wrapper.ProductNotFoundException;
+import com.selimhorri.app.helper.StripedStockCounter;
+import com.selimhorri.app.repository.ProductRepository;
+import com.selimhorri.app.service.HotStockService;
+import com.selimhorri.app.service.ProductCacheService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Flash-sale mode: the stock of products marked hot lives in striped in-memory
+ * counters and the row in {@code products} only receives the batched delta every
+ * {@code app.stock.hot-sku.flush-interval} ms. Counters are per instance, so a
+ * SKU should only be marked hot while a single product-service instance serves it.
+ * Reservations hold the read side of {@code retireLock}; retiring or replacing a
+ * counter takes the write side, so no reservation can land on a counter after its
+ * last flush. Marking a SKU hot seeds its counter under the row lock and publishes
+ * it before that lock is released, so a row-path reservation either lands in the
+ * seed or sees the counter once its UPDATE gets the row (see ProductServiceImpl).
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class HotStockServiceImpl implements HotStockService {
+
+	private final ProductRepository productRepository;
+	private final MeterRegistry meterRegistry;
+	private final ProductCacheService productCacheService;
+	private final TransactionTemplate transactionTemplate;
+
+	private final Map<Integer, StripedStockCounter> counters = new ConcurrentHashMap<>();
+	private final Object flushLock = new Object();
+	// Orden de adquisición: retireLock antes que flushLock
+	private final ReadWriteLock retireLock = new ReentrantReadWriteLock();
+
+	@Value("${app.stock.hot-sku.enabled:false}")
+	private boolean enabled;
+
+	@PostConstruct
+	public void initMetrics() {
+		meterRegistry.gaugeMapSize("products.hot.skus", Tags.empty(), this.counters);
+	}
+
+	@Override
+	public boolean isHot(final Integer productId) {
+		return this.counters.containsKey(productId);
+	}
+
+	@Override
+	public StockReservationDto markHot(final Integer productId) {
+		log.info("*** StockReservationDto, service; mark product as hot SKU *");
+		if (!this.enabled)
+			throw new IllegalArgumentException("Hot SKU mode is disabled (app.stock.hot-sku.enabled)");
+
+		this.retireLock.writeLock().lock();
+		try {
+			// El contador se publica con la fila bloqueada: las reservas por fila confirmadas ya están en la
+			// semilla y las que esperan el bloqueo ven el SKU como hot al conseguirlo
+			final StripedStockCounter counter = this.transactionTemplate.execute(tx -> {
+				final Product product = this.productRepository.lockByIdWithoutDeleted(productId)
+						.orElseThrow(() -> new ProductNotFoundException("Product with id: " + productId + " not found"));
+				return this.counters.computeIfAbsent(productId,
+						k -> new StripedStockCounter(Math.max(0, product.getQuantity())));
+			});
+			return this.buildDto(productId, counter);
+		}
+		finally {
+			this.retireLock.writeLock().unlock();
+		}
+	}
+
+	@Override
+	public StockReservationDto unmarkHot(final Integer productId) {
+		log.info("*** StockReservationDto, service; unmark hot SKU *");
+		this.retireLock.writeLock().lock();
+		try {
+			synchronized (this.flushLock) {
+				final StripedStockCounter counter = this.counters.remove(productId);
+				if (counter == null)
+					throw new IllegalArgumentException("Product with id: " + productId + " is not a hot SKU");
+				this.flushCounter(productId, counter);
+				// Sin contador la cantidad vuelve a leerse de la fila
+				this.productCacheService.evictStock(productId);
+				return this.buildDto(productId, counter);
+			}
+		}
+		finally {
+			this.retireLock.writeLock().unlock();
+		}
+	}
+
+	@Override
+	public Optional<Integer> findQuantity(final Integer productId) {
+		return Optional.ofNullable(this.counters.get(productId))
+				.map(counter -> (int) counter.available());
+	}
+
+	@Override
+	public Integer reserve(final Integer productId, final Integer quantity) {
+		this.retireLock.readLock().lock();
+		try {
+			final StripedStockCounter counter = this.requireCounter(productId);
+			if (!counter.tryReserve(quantity))
+				throw new InsufficientStockException(String.format(
+						"Insufficient stock for product with id: %d (requested %d)", productId, quantity));
+			return (int) counter.available();
+		}
+		finally {
+			this.retireLock.readLock().unlock();
+		}
+	}
+
+	@Override
+	public Integer release(final Integer productId, final Integer quantity) {
+		this.retireLock.readLock().lock();
+		try {
+			final StripedStockCounter counter = this.requireCounter(productId);
+			counter.release(quantity);
+			return (int) counter.available();
+		}
+		finally {
+			this.retireLock.readLock().unlock();
+		}
+	}
+
+	@Override
+	public void reload(final Integer productId) {
+		this.retireLock.writeLock().lock();
+		try {
+			synchronized (this.flushLock) {
+				final StripedStockCounter counter = this.counters.get(productId);
+				if (counter == null)
+					return;
+				// La cantidad absoluta que se acaba de guardar ya es la verdad: el delta pendiente se descarta
+				counter.markFlushed(counter.pendingDelta());
+				this.productRepository.findQuantityByProductId(productId)
+						.ifPresent(quantity -> this.counters.put(productId, new StripedStockCounter(Math.max(0, quantity))));
+			}
+		}
+		finally {
+			this.retireLock.writeLock().unlock();
+		}
+	}
+
+	@Override
+	@Scheduled(fixedDelayString = "${app.stock.hot-sku.flush-interval:200}")
+	public void flush() {
+		if (this.counters.isEmpty())
+			return;
+		synchronized (this.flushLock) {
+			this.counters.forEach(this::flushCounter);
+		}
+	}
+
+	@PreDestroy
+	public void flushOnShutdown() {
+		this.flush();
+	}
+
+	private void flushCounter(final Integer productId, final StripedStockCounter counter) {
+		final long delta = counter.pendingDelta();
+		if (delta == 0L)
+			return;
+		try {
+			this.productRepository.applyStockDelta(productId, (int) delta);
+			counter.markFlushed(delta);
+			this.meterRegistry.counter("products.hot.flushes").increment();
+		}
+		catch (RuntimeException e) {
+			// Se reintenta en el siguiente ciclo con el delta acumulado
+			log.warn("Failed to flush stock delta {} of hot product {}: {}", delta, productId, e.getMessage());
+		}
+	}
+
+	private StripedStockCounter requireCounter(final Integer productId) {
+		final StripedStockCounter counter = this.counters.get(productId);
+		if (counter == null)
+			throw new IllegalArgumentException("Product with id: " + productId + " is not a hot SKU");
+		return counter;
+	}
+
+	private StockReservationDto buildDto(final Integer productId, final StripedStockCounter counter) {
+		return StockReservationDto.builder()
+				.productId(productId)
+				.quantity(0)
+				.remainingQuantity((int) counter.available())
+				.build();
+	}
+
+}
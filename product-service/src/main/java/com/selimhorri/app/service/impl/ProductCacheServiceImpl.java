@@ -0,0 +1,113 @@
+package com.selimhorri.app.service.impl;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.helper.TransactionHelper;
+import com.selimhorri.app.service.ProductCacheService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Read-through cache of the product catalogue (Caffeine, size bounded with W-TinyLFU
+ * admission plus a TTL). Entries hold the row as stored; the live hot SKU quantity is
+ * applied by the caller on every read. Evictions run right away and again after the
+ * surrounding transaction commits, so a read racing the write cannot put the old row
+ * back for a whole TTL.
+ */
+@Service
+@Slf4j
+public class ProductCacheServiceImpl implements ProductCacheService {
+	
+	private static final String ALL = "all";
+	
+	private final Cache<Integer, ProductDto> products;
+	// findAll en una sola entrada; las cantidades pueden ir hasta list-ttl por detrás de la tabla
+	private final Cache<String, List<ProductDto>> productLists;
+	
+	public ProductCacheServiceImpl(final MeterRegistry meterRegistry,
+			@Value("${app.product-cache.max-size:10000}") final long maxSize,
+			@Value("${app.product-cache.ttl:10m}") final Duration ttl,
+			@Value("${app.product-cache.list-ttl:30s}") final Duration listTtl) {
+		this.products = Caffeine.newBuilder()
+				.maximumSize(maxSize)
+				.expireAfterWrite(ttl)
+				.recordStats()
+				.build();
+		this.productLists = Caffeine.newBuilder()
+				.maximumSize(1)
+				.expireAfterWrite(listTtl)
+				.recordStats()
+				.build();
+		CaffeineCacheMetrics.monitor(meterRegistry, this.products, "products");
+		CaffeineCacheMetrics.monitor(meterRegistry, this.productLists, "products.all");
+	}
+	
+	@Override
+	public Optional<ProductDto> findById(final Integer productId,
+			final Function<Integer, Optional<ProductDto>> loader) {
+		// Los ids inexistentes no se cachean: el loader devuelve null y Caffeine no guarda nada
+		return Optional.ofNullable(this.products.get(productId, id -> loader.apply(id).orElse(null)));
+	}
+	
+	@Override
+	public List<ProductDto> findAllByIds(final Collection<Integer> productIds,
+			final Function<Collection<Integer>, List<ProductDto>> loader) {
+		final Map<Integer, ProductDto> found = this.products.getAll(new LinkedHashSet<>(productIds),
+				missing -> loader.apply(StreamSupport.stream(missing.spliterator(), false)
+						.collect(Collectors.toList()))
+						.stream()
+						.collect(Collectors.toMap(ProductDto::getProductId, Function.identity(), (a, b) -> a)));
+		return new ArrayList<>(found.values());
+	}
+	
+	@Override
+	public List<ProductDto> findAll(final Supplier<List<ProductDto>> loader) {
+		return this.productLists.get(ALL, key -> loader.get());
+	}
+	
+	@Override
+	public void evict(final Integer productId) {
+		this.onCommit(() -> {
+			this.products.invalidate(productId);
+			this.productLists.invalidateAll();
+		});
+	}
+	
+	@Override
+	public void evictStock(final Integer productId) {
+		this.onCommit(() -> this.products.invalidate(productId));
+	}
+	
+	@Override
+	public void evictAll() {
+		log.info("Product cache cleared");
+		this.onCommit(() -> {
+			this.products.invalidateAll();
+			this.productLists.invalidateAll();
+		});
+	}
+	
+	private void onCommit(final Runnable eviction) {
+		eviction.run();
+		TransactionHelper.afterCommit(eviction);
+	}
+	
+}
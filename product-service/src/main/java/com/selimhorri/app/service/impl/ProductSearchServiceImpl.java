@@ -0,0 +1,148 @@
+package com.selimhorri.app.service.impl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+import java.util.stream.Collectors;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import com.selimhorri.app.domain.Product;
+import com.selimhorri.app.helper.ProductSearchIndex;
+import com.selimhorri.app.helper.TransactionHelper;
+import com.selimhorri.app.repository.ProductRepository;
+import com.selimhorri.app.service.ProductSearchService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Embedded full-text search over the catalogue, backed by a {@link ProductSearchIndex}.
+ * Searches share a read lock; product and category writes re-read the affected rows
+ * once their transaction commits and update the index under the write lock.
+ * A rebuild loads a fresh index in keyset pages without blocking searches and
+ * replays the writes that arrived meanwhile before swapping it in.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class ProductSearchServiceImpl implements ProductSearchService {
+	
+	private static final int BATCH_SIZE = 1_000;
+	
+	private final ProductRepository productRepository;
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+	private final Object rebuildLock = new Object();
+	// Protegidos por lock
+	private ProductSearchIndex index = new ProductSearchIndex();
+	private List<Consumer<ProductSearchIndex>> pendingWrites;
+	
+	@Override
+	public List<Integer> search(final String query, final int limit) {
+		log.info("*** Integer List, service; search products *");
+		final int[] productIds;
+		this.lock.readLock().lock();
+		try {
+			productIds = this.index.search(query, limit);
+		}
+		finally {
+			this.lock.readLock().unlock();
+		}
+		return Arrays.stream(productIds)
+				.boxed()
+				.collect(Collectors.toUnmodifiableList());
+	}
+	
+	@Override
+	public void reindex(final Integer productId) {
+		TransactionHelper.afterCommit(() -> {
+			// Borrado o inexistente: se quita del índice
+			final Product product = this.productRepository.findByIdWithoutDeleted(productId).orElse(null);
+			this.write(product == null
+					? index -> index.remove(productId)
+					: index -> put(index, product));
+		});
+	}
+	
+	@Override
+	public void reindexCategory(final Integer categoryId) {
+		TransactionHelper.afterCommit(() -> this.forEachPage(
+				after -> this.productRepository.findSearchPageByCategoryId(categoryId, after,
+						PageRequest.of(0, BATCH_SIZE)),
+				products -> this.write(index -> products.forEach(product -> put(index, product)))));
+	}
+	
+	@Override
+	public int rebuild() {
+		log.info("*** Integer, service; rebuild product search index *");
+		synchronized (this.rebuildLock) {
+			this.lock.writeLock().lock();
+			try {
+				this.pendingWrites = new ArrayList<>();
+			}
+			finally {
+				this.lock.writeLock().unlock();
+			}
+			
+			// Las búsquedas siguen contra el índice actual mientras se carga el nuevo
+			final ProductSearchIndex fresh = new ProductSearchIndex();
+			boolean loaded = false;
+			try {
+				this.forEachPage(
+						after -> this.productRepository.findSearchPage(after, PageRequest.of(0, BATCH_SIZE)),
+						products -> products.forEach(product -> put(fresh, product)));
+				loaded = true;
+			}
+			finally {
+				this.lock.writeLock().lock();
+				try {
+					if (loaded) {
+						this.pendingWrites.forEach(write -> write.accept(fresh));
+						this.index = fresh;
+					}
+				}
+				finally {
+					this.pendingWrites = null;
+					this.lock.writeLock().unlock();
+				}
+			}
+			return fresh.size();
+		}
+	}
+	
+	private void write(final Consumer<ProductSearchIndex> write) {
+		this.lock.writeLock().lock();
+		try {
+			write.accept(this.index);
+			if (this.pendingWrites != null)
+				this.pendingWrites.add(write);
+		}
+		finally {
+			this.lock.writeLock().unlock();
+		}
+	}
+	
+	private void forEachPage(final IntFunction<List<Product>> page, final Consumer<List<Product>> action) {
+		int after = 0;
+		List<Product> products;
+		do {
+			products = page.apply(after);
+			if (products.isEmpty())
+				return;
+			action.accept(products);
+			after = products.get(products.size() - 1).getProductId();
+		}
+		while (products.size() == BATCH_SIZE);
+	}
+	
+	private static void put(final ProductSearchIndex index, final Product product) {
+		index.put(product.getProductId(), product.getProductTitle(), product.getSku(),
+				product.getCategory() == null ? null : product.getCategory().getCategoryTitle());
+	}
+	
+}
@@ -1,20 +1,34 @@
 package com.selimhorri.app.service.impl;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import javax.transaction.Transactional;
 
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import com.selimhorri.app.domain.Category;
 import com.selimhorri.app.domain.Product;
 import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.dto.StockReservationDto;
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
 import com.selimhorri.app.exception.wrapper.CategoryNotFoundException;
+import com.selimhorri.app.exception.wrapper.InsufficientStockException;
 import com.selimhorri.app.exception.wrapper.ProductNotFoundException;
+import com.selimhorri.app.helper.EntityCountGauge;
 import com.selimhorri.app.helper.ProductMappingHelper;
 import com.selimhorri.app.repository.CategoryRepository;
 import com.selimhorri.app.repository.ProductRepository;
+import com.selimhorri.app.service.CategoryTreeService;
+import com.selimhorri.app.service.HotStockService;
+import com.selimhorri.app.service.ProductCacheService;
+import com.selimhorri.app.service.ProductSearchService;
 import com.selimhorri.app.service.ProductService;
 
 import io.micrometer.core.instrument.MeterRegistry;
@@ -32,18 +46,58 @@ public class ProductServiceImpl implements ProductService {
 	private final ProductRepository productRepository;
 	private final CategoryRepository categoryRepository;
 	private final MeterRegistry meterRegistry;
+	private final EntityCountGauge productsTotal = new EntityCountGauge();
+	private final HotStockService hotStockService;
+	private final ProductCacheService productCacheService;
+	private final CategoryTreeService categoryTreeService;
+	private final ProductSearchService productSearchService;
 
 	@PostConstruct
 	public void initMetrics() {
-		meterRegistry.gauge("products.total", productRepository, ProductRepository::count);
+		this.productsTotal.bindTo(this.meterRegistry, "products.total", this.productRepository::count);
+	}
+
+	@Scheduled(fixedDelayString = "${app.metrics.count-reconcile-interval:300000}",
+			initialDelayString = "${app.metrics.count-reconcile-interval:300000}")
+	public void reconcileCount() {
+		this.productsTotal.reconcile();
 	}
 
 	@Override
 	public List<ProductDto> findAll() {
 		log.info("*** ProductDto List, service; fetch all products *");
-		return this.productRepository.findAllWithoutDeleted()
+		return this.productCacheService.findAll(() -> this.productRepository.findAllWithoutDeleted()
+						.stream()
+						.map(ProductMappingHelper::map)
+						.distinct()
+						.collect(Collectors.toUnmodifiableList()))
+				.stream()
+				.map(this::withLiveQuantity)
+				.collect(Collectors.toUnmodifiableList());
+	}
+
+	@Override
+	public DtoCollectionResponse<ProductDto> findPage(final Integer after, final int limit) {
+		log.info("*** ProductDto List, service; fetch products page *");
+		final List<ProductDto> rows = this.productRepository
+				.findPageWithoutDeleted(after == null ? 0 : after, PageRequest.of(0, limit + 1))
 				.stream()
 				.map(ProductMappingHelper::map)
+				.map(this::withLiveQuantity)
+				.collect(Collectors.toList());
+		return DtoCollectionResponse.page(rows, limit, ProductDto::getProductId);
+	}
+
+	@Override
+	public List<ProductDto> findAllByIds(final Collection<Integer> productIds) {
+		log.info("*** ProductDto List, service; fetch products by ids *");
+		return this.productCacheService.findAllByIds(productIds, missing -> this.productRepository
+						.findAllByIdWithoutDeleted(missing)
+						.stream()
+						.map(ProductMappingHelper::map)
+						.collect(Collectors.toList()))
+				.stream()
+				.map(this::withLiveQuantity)
 				.distinct()
 				.collect(Collectors.toUnmodifiableList());
 	}
@@ -51,12 +105,31 @@ public class ProductServiceImpl implements ProductService {
 	@Override
 	public ProductDto findById(final Integer productId) {
 		log.info("*** ProductDto, service; fetch product by id *");
-		return this.productRepository.findByIdWithoutDeleted(productId)
-				.map(ProductMappingHelper::map)
+		return this.productCacheService.findById(productId, id -> this.productRepository.findByIdWithoutDeleted(id)
+						.map(ProductMappingHelper::map))
+				.map(this::withLiveQuantity)
 				.orElseThrow(
 						() -> new ProductNotFoundException(String.format("Product with id: %d not found", productId)));
 	}
 
+	@Override
+	public List<ProductDto> search(final String query, final int limit) {
+		log.info("*** ProductDto List, service; search products *");
+		if (query == null || query.isBlank())
+			throw new IllegalArgumentException("Search query must not be blank");
+		final List<Integer> productIds = this.productSearchService.search(query, limit);
+		if (productIds.isEmpty())
+			return List.of();
+		final Map<Integer, ProductDto> products = this.findAllByIds(productIds)
+				.stream()
+				.collect(Collectors.toMap(ProductDto::getProductId, Function.identity()));
+		// Orden del ranking; se descarta lo que ya no exista
+		return productIds.stream()
+				.map(products::get)
+				.filter(Objects::nonNull)
+				.collect(Collectors.toUnmodifiableList());
+	}
+
 	@Override
 	public ProductDto save(final ProductDto productDto) {
 		log.info("*** ProductDto, service; save product *");
@@ -92,21 +165,33 @@ public class ProductServiceImpl implements ProductService {
 				.orElseThrow(() -> new CategoryNotFoundException("Categoría no encontrada con ID: " + categoryId));
 
 		productDto.setProductId(null);
-		return ProductMappingHelper.map(this.productRepository
+		final ProductDto saved = ProductMappingHelper.map(this.productRepository
 				.save(ProductMappingHelper.map(productDto)));
+		this.productsTotal.increment();
+		this.productCacheService.evict(saved.getProductId());
+		this.categoryTreeService.adjustProductCount(categoryId, 1);
+		this.productSearchService.reindex(saved.getProductId());
+		return saved;
 	}
 
 	@Override
 	public ProductDto update(final ProductDto productDto) {
 		log.info("*** ProductDto, service; update product *");
 
-		// Validar que el producto exista
-		if (productDto.getProductId() == null || !productRepository.existsById(productDto.getProductId())) {
+		// Validar que el producto exista y no esté borrado (el mapeo reescribe is_deleted a false)
+		final Integer previousCategoryId = productDto.getProductId() == null ? null
+				: this.productRepository.findCategoryIdByProductId(productDto.getProductId()).orElse(null);
+		if (previousCategoryId == null) {
 			throw new ProductNotFoundException("Producto no encontrado con ID: " + productDto.getProductId());
 		}
 
-		return ProductMappingHelper.map(this.productRepository
+		final ProductDto updated = ProductMappingHelper.map(this.productRepository
 				.save(ProductMappingHelper.map(productDto)));
+		this.hotStockService.reload(updated.getProductId());
+		this.productCacheService.evict(updated.getProductId());
+		this.moveInCategoryTree(previousCategoryId, productDto.getCategoryDto().getCategoryId());
+		this.productSearchService.reindex(updated.getProductId());
+		return this.withLiveQuantity(updated);
 	}
 
 	@Override
@@ -135,6 +220,7 @@ public class ProductServiceImpl implements ProductService {
 		}
 		
 		// Solo actualizar la categoría si se proporciona un categoryId diferente
+		final Integer previousCategoryId = existingProduct.getCategory().getCategoryId();
 		if (productDto.getCategoryDto() != null && productDto.getCategoryDto().getCategoryId() != null) {
 			Integer newCategoryId = productDto.getCategoryDto().getCategoryId();
 			if (!existingProduct.getCategory().getCategoryId().equals(newCategoryId)) {
@@ -143,8 +229,16 @@ public class ProductServiceImpl implements ProductService {
 				existingProduct.setCategory(newCategory);
 			}
 		}
+		// Los productos borrados no cuentan en el árbol
+		if (!existingProduct.isDeleted())
+			this.moveInCategoryTree(previousCategoryId, existingProduct.getCategory().getCategoryId());
 
-		return ProductMappingHelper.map(this.productRepository.save(existingProduct));
+		final ProductDto updated = ProductMappingHelper.map(this.productRepository.save(existingProduct));
+		if (productDto.getQuantity() != null)
+			this.hotStockService.reload(productId);
+		this.productCacheService.evict(productId);
+		this.productSearchService.reindex(productId);
+		return this.withLiveQuantity(updated);
 	}
 
 	@Override
@@ -155,12 +249,96 @@ public class ProductServiceImpl implements ProductService {
 		Product product = this.productRepository.findByIdWithoutDeleted(productId)
 				.orElseThrow(() -> new ProductNotFoundException("Product with id: " + productId + " not found"));
 
-		// 2. Buscar la categoría "Deleted"
-		Category deletedCategory = this.categoryRepository.findByCategoryTitle("Deleted")
-				.orElseThrow(() -> new RuntimeException("Category 'Deleted' not found in database"));
-
-		// 3. Actualizar la categoría del producto a "Deleted" (soft delete)
-		product.setCategory(deletedCategory);
+		// 2. Marcarlo como borrado (soft delete); conserva su categoría
+		product.setDeleted(true);
 		this.productRepository.save(product);
+		if (this.hotStockService.isHot(productId))
+			this.hotStockService.unmarkHot(productId);
+		this.productCacheService.evict(productId);
+		this.categoryTreeService.adjustProductCount(product.getCategory().getCategoryId(), -1);
+		this.productSearchService.reindex(productId);
+	}
+
+	@Override
+	public StockReservationDto reserve(final Integer productId, final Integer quantity) {
+		log.info("*** StockReservationDto, service; reserve product stock *");
+		this.requirePositive(quantity);
+
+		// Hot SKU: el stock vive en los contadores en memoria (borrar el producto lo desmarca)
+		if (this.hotStockService.isHot(productId))
+			return this.buildReservation(productId, quantity, this.hotStockService.reserve(productId, quantity));
+
+		// Un único UPDATE condicional; sólo con 0 filas se mira si el producto existe (404) o falta stock (409)
+		if (this.productRepository.reserveStock(productId, quantity) == 0) {
+			if (!this.productRepository.existsByProductIdAndIsDeletedFalse(productId))
+				throw new ProductNotFoundException("Product with id: " + productId + " not found");
+			throw new InsufficientStockException(String.format(
+					"Insufficient stock for product with id: %d (requested %d)", productId, quantity));
+		}
+		// markHot siembra el contador con la fila bloqueada: si el SKU pasó a hot mientras este UPDATE esperaba,
+		// la semilla no incluye estas unidades y se reservan en el contador en lugar de en la fila
+		if (this.hotStockService.isHot(productId)) {
+			this.productRepository.releaseStock(productId, quantity);
+			return this.buildReservation(productId, quantity, this.hotStockService.reserve(productId, quantity));
+		}
+		this.productCacheService.evictStock(productId);
+
+		// El UPDATE ya tiene el bloqueo de la fila: se relee por PK en la misma transacción
+		return this.buildReservation(productId, quantity);
+	}
+
+	@Override
+	public StockReservationDto release(final Integer productId, final Integer quantity) {
+		log.info("*** StockReservationDto, service; release product stock *");
+		this.requirePositive(quantity);
+		if (this.hotStockService.isHot(productId))
+			return this.buildReservation(productId, quantity, this.hotStockService.release(productId, quantity));
+
+		if (this.productRepository.releaseStock(productId, quantity) == 0)
+			throw new ProductNotFoundException("Product with id: " + productId + " not found");
+		this.productCacheService.evictStock(productId);
+
+		return this.buildReservation(productId, quantity);
+	}
+
+	private void moveInCategoryTree(final Integer fromCategoryId, final Integer toCategoryId) {
+		if (Objects.equals(fromCategoryId, toCategoryId))
+			return;
+		this.categoryTreeService.adjustProductCount(fromCategoryId, -1);
+		this.categoryTreeService.adjustProductCount(toCategoryId, 1);
+	}
+
+	private void requirePositive(final Integer quantity) {
+		if (quantity == null || quantity <= 0)
+			throw new IllegalArgumentException("Quantity must be greater than zero");
+	}
+
+	private StockReservationDto buildReservation(final Integer productId, final Integer quantity) {
+		return this.buildReservation(productId, quantity,
+				this.productRepository.findQuantityByProductId(productId).orElse(0));
+	}
+
+	private StockReservationDto buildReservation(final Integer productId, final Integer quantity,
+			final Integer remainingQuantity) {
+		return StockReservationDto.builder()
+				.productId(productId)
+				.quantity(quantity)
+				.remainingQuantity(remainingQuantity)
+				.build();
+	}
+
+	// Copia con la cantidad en vivo: el DTO puede ser la entrada de la caché y no se modifica
+	private ProductDto withLiveQuantity(final ProductDto productDto) {
+		return this.hotStockService.findQuantity(productDto.getProductId())
+				.map(quantity -> ProductDto.builder()
+						.productId(productDto.getProductId())
+						.productTitle(productDto.getProductTitle())
+						.imageUrl(productDto.getImageUrl())
+						.sku(productDto.getSku())
+						.priceUnit(productDto.getPriceUnit())
+						.quantity(quantity)
+						.categoryDto(productDto.getCategoryDto())
+						.build())
+				.orElse(productDto);
 	}
 }
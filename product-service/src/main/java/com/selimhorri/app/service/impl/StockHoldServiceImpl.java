@@ -0,0 +1,228 @@
+package com.selimhorri.app.service.impl;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+import javax.transaction.Transactional;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.selimhorri.app.domain.HoldStatus;
+import com.selimhorri.app.domain.StockHold;
+import com.selimhorri.app.dto.StockHoldDto;
+import com.selimhorri.app.dto.StockReservationDto;
+import com.selimhorri.app.exception.wrapper.StockHoldNotFoundException;
+import com.selimhorri.app.helper.HierarchicalTimingWheel;
+import com.selimhorri.app.helper.StockHoldMappingHelper;
+import com.selimhorri.app.helper.TransactionHelper;
+import com.selimhorri.app.repository.StockHoldRepository;
+import com.selimhorri.app.service.ProductService;
+import com.selimhorri.app.service.StockHoldService;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Checkout holds: the units are reserved when the hold is created and given back
+ * if the hold is cancelled or not confirmed before it expires. Pending expiries
+ * live in a timing wheel (one second ticks), the stock_holds table is only read
+ * to rebuild it on startup. The wheel only forgets a hold once the transition
+ * out of HELD has committed.
+ * When the order item for a held product is created, its reservation takes over
+ * the hold's units ({@link #reserveForOrder}) instead of reserving them again.
+ */
+@Service
+@Transactional
+@Slf4j
+public class StockHoldServiceImpl implements StockHoldService {
+
+	private static final long TICK_MILLIS = 1_000L;
+	// 64^4 ticks de un segundo: unos 194 días de horizonte antes de reaparcar
+	private static final int WHEEL_LEVELS = 4;
+
+	private final StockHoldRepository stockHoldRepository;
+	private final ProductService productService;
+	private final HierarchicalTimingWheel<Integer> expiries;
+
+	@Value("${app.stock.hold.ttl-minutes:15}")
+	private int defaultTtlMinutes;
+
+	@Value("${app.stock.hold.max-ttl-minutes:1440}")
+	private int maxTtlMinutes;
+
+	public StockHoldServiceImpl(final StockHoldRepository stockHoldRepository, final ProductService productService) {
+		this.stockHoldRepository = stockHoldRepository;
+		this.productService = productService;
+		this.expiries = new HierarchicalTimingWheel<>(TICK_MILLIS, WHEEL_LEVELS, System.currentTimeMillis());
+	}
+
+	@Override
+	public StockHoldDto findById(final Integer holdId) {
+		log.info("*** StockHoldDto, service; fetch stock hold by id *");
+		return StockHoldMappingHelper.map(this.requireHold(holdId));
+	}
+
+	@Override
+	public StockHoldDto create(final StockHoldDto stockHoldDto) {
+		log.info("*** StockHoldDto, service; create stock hold *");
+		if (stockHoldDto.getProductId() == null || stockHoldDto.getQuantity() == null)
+			throw new IllegalArgumentException("To create a hold you have to provide a productId and a quantity");
+		final int ttlMinutes = stockHoldDto.getTtlMinutes() != null ? stockHoldDto.getTtlMinutes() : this.defaultTtlMinutes;
+		if (ttlMinutes <= 0 || ttlMinutes > this.maxTtlMinutes)
+			throw new IllegalArgumentException("Hold ttlMinutes must be between 1 and " + this.maxTtlMinutes);
+
+		// Reserva con el UPDATE condicional (o los contadores hot SKU); lanza 409 si no alcanza
+		this.productService.reserve(stockHoldDto.getProductId(), stockHoldDto.getQuantity());
+
+		final StockHold stockHold = this.stockHoldRepository.save(StockHold.builder()
+				.productId(stockHoldDto.getProductId())
+				.orderId(stockHoldDto.getOrderId())
+				.quantity(stockHoldDto.getQuantity())
+				.holdStatus(HoldStatus.HELD)
+				.expiresAt(Instant.now().plus(Duration.ofMinutes(ttlMinutes)))
+				.build());
+		this.schedule(stockHold);
+
+		return StockHoldMappingHelper.map(stockHold);
+	}
+
+	@Override
+	public StockHoldDto confirm(final Integer holdId) {
+		log.info("*** StockHoldDto, service; confirm stock hold *");
+		final StockHold stockHold = this.requireHold(holdId);
+		this.transitionOrFail(stockHold, HoldStatus.CONFIRMED);
+		this.unschedule(holdId);
+		return StockHoldMappingHelper.map(stockHold);
+	}
+
+	@Override
+	public StockHoldDto cancel(final Integer holdId) {
+		log.info("*** StockHoldDto, service; cancel stock hold *");
+		final StockHold stockHold = this.requireHold(holdId);
+		this.transitionOrFail(stockHold, HoldStatus.CANCELED);
+		this.unschedule(holdId);
+		this.productService.release(stockHold.getProductId(), stockHold.getQuantity());
+		return StockHoldMappingHelper.map(stockHold);
+	}
+
+	@Override
+	public List<StockHoldDto> confirmByOrderId(final Integer orderId) {
+		log.info("*** StockHoldDto List, service; confirm stock holds of order *");
+		// Los que ya expiraron o se cancelaron entre la consulta y la transición se saltan
+		return this.stockHoldRepository.findHoldIdsByOrderIdAndHoldStatus(orderId, HoldStatus.HELD)
+				.stream()
+				.map(holdId -> this.transitionIfHeld(holdId, HoldStatus.CONFIRMED))
+				.filter(Objects::nonNull)
+				.map(StockHoldMappingHelper::map)
+				.collect(Collectors.toUnmodifiableList());
+	}
+
+	@Override
+	public List<StockHoldDto> cancelByOrderId(final Integer orderId) {
+		log.info("*** StockHoldDto List, service; cancel stock holds of order *");
+		return this.stockHoldRepository.findHoldIdsByOrderIdAndHoldStatus(orderId, HoldStatus.HELD)
+				.stream()
+				.map(holdId -> this.transitionIfHeld(holdId, HoldStatus.CANCELED))
+				.filter(Objects::nonNull)
+				.map(stockHold -> {
+					this.productService.release(stockHold.getProductId(), stockHold.getQuantity());
+					return StockHoldMappingHelper.map(stockHold);
+				})
+				.collect(Collectors.toUnmodifiableList());
+	}
+
+	@Override
+	public StockReservationDto reserveForOrder(final Integer orderId, final Integer productId, final Integer quantity) {
+		log.info("*** StockReservationDto, service; reserve product stock for order *");
+		if (quantity == null || quantity <= 0)
+			throw new IllegalArgumentException("Quantity must be greater than zero");
+
+		// Las unidades retenidas pasan a la línea del pedido: el hold queda CONFIRMED
+		int held = 0;
+		for (final StockHold stockHold : this.stockHoldRepository
+				.findByOrderIdAndProductIdAndHoldStatus(orderId, productId, HoldStatus.HELD)) {
+			if (this.stockHoldRepository.transition(stockHold.getHoldId(), HoldStatus.HELD, HoldStatus.CONFIRMED) == 0)
+				continue;
+			this.unschedule(stockHold.getHoldId());
+			held += stockHold.getQuantity();
+		}
+
+		// Sólo se reserva lo que el hold no cubre; el sobrante se devuelve
+		if (held < quantity)
+			this.productService.reserve(productId, quantity - held);
+		else if (held > quantity)
+			this.productService.release(productId, held - quantity);
+		return StockReservationDto.builder()
+				.productId(productId)
+				.quantity(quantity)
+				.build();
+	}
+
+	@Override
+	public boolean expire(final Integer holdId) {
+		final StockHold stockHold = this.stockHoldRepository.findById(holdId).orElse(null);
+		// Ya confirmado o cancelado por otra vía: nada que devolver
+		if (stockHold == null
+				|| this.stockHoldRepository.transition(holdId, HoldStatus.HELD, HoldStatus.EXPIRED) == 0)
+			return false;
+		this.productService.release(stockHold.getProductId(), stockHold.getQuantity());
+		log.info("Stock hold {} expired, {} units of product {} released", holdId, stockHold.getQuantity(),
+				stockHold.getProductId());
+		return true;
+	}
+
+	@Override
+	public List<Integer> pollExpired() {
+		synchronized (this.expiries) {
+			return this.expiries.advance(System.currentTimeMillis());
+		}
+	}
+
+	@Override
+	public int rebuild() {
+		log.info("*** Integer, service; rebuild stock hold expiry wheel *");
+		final List<StockHold> held = this.stockHoldRepository.findByHoldStatus(HoldStatus.HELD);
+		held.forEach(this::schedule);
+		return held.size();
+	}
+
+	private StockHold requireHold(final Integer holdId) {
+		return this.stockHoldRepository.findById(holdId)
+				.orElseThrow(() -> new StockHoldNotFoundException("Stock hold with id: " + holdId + " not found"));
+	}
+
+	private StockHold transitionIfHeld(final Integer holdId, final HoldStatus newStatus) {
+		final StockHold stockHold = this.stockHoldRepository.findById(holdId).orElse(null);
+		if (stockHold == null || this.stockHoldRepository.transition(holdId, HoldStatus.HELD, newStatus) == 0)
+			return null;
+		stockHold.setHoldStatus(newStatus);
+		this.unschedule(holdId);
+		return stockHold;
+	}
+
+	private void transitionOrFail(final StockHold stockHold, final HoldStatus newStatus) {
+		if (this.stockHoldRepository.transition(stockHold.getHoldId(), HoldStatus.HELD, newStatus) == 0)
+			throw new IllegalArgumentException(String.format("Stock hold with id: %d is no longer %s",
+					stockHold.getHoldId(), HoldStatus.HELD.name()));
+		stockHold.setHoldStatus(newStatus);
+	}
+
+	private void schedule(final StockHold stockHold) {
+		synchronized (this.expiries) {
+			this.expiries.schedule(stockHold.getHoldId(), stockHold.getExpiresAt().toEpochMilli());
+		}
+	}
+
+	// Tras el commit: si la transacción se deshace el hold sigue HELD y debe poder expirar
+	private void unschedule(final Integer holdId) {
+		TransactionHelper.afterCommit(() -> {
+			synchronized (this.expiries) {
+				this.expiries.cancel(holdId);
+			}
+		});
+	}
+
+}
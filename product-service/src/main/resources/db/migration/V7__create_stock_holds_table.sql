@@ -0,0 +1,19 @@
+CREATE TABLE stock_holds (
+  hold_id INT NOT NULL AUTO_INCREMENT PRIMARY KEY,
+  product_id INT NOT NULL,
+  order_id INT,
+  quantity INT NOT NULL,
+  hold_status VARCHAR(20) NOT NULL,
+  expires_at TIMESTAMP NOT NULL,
+  created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  updated_at TIMESTAMP NULL DEFAULT NULL ON UPDATE CURRENT_TIMESTAMP
+);
+
+-- rebuild of the timing wheel on startup and per-order confirm / cancel
+CREATE INDEX idx_stock_holds_status_expires ON stock_holds (hold_status, expires_at);
+CREATE INDEX idx_stock_holds_order_status ON stock_holds (order_id, hold_status);
+
+ALTER TABLE stock_holds
+  ADD CONSTRAINT fk9_assign FOREIGN KEY (product_id) REFERENCES products (product_id)
+  ON DELETE CASCADE
+  ON UPDATE CASCADE;
@@ -0,0 +1,12 @@
+ALTER TABLE categories ADD COLUMN is_reserved BOOLEAN NOT NULL DEFAULT FALSE;
+
+UPDATE categories SET is_reserved = TRUE WHERE LOWER(category_title) IN ('deleted', 'no category');
+
+CREATE INDEX idx_categories_is_reserved ON categories (is_reserved, category_id);
+
+ALTER TABLE products ADD COLUMN is_deleted BOOLEAN NOT NULL DEFAULT FALSE;
+
+UPDATE products SET is_deleted = TRUE
+WHERE category_id IN (SELECT category_id FROM categories WHERE category_title = 'Deleted');
+
+CREATE INDEX idx_products_is_deleted ON products (is_deleted, product_id);
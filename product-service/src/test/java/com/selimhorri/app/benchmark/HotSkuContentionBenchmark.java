@@ -0,0 +1,118 @@
+package com.selimhorri.app.benchmark;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.selimhorri.app.helper.StripedStockCounter;
+
+/**
+ * One reserve + release of a single hot product from 8 threads at once.
+ * rowUpdate: the conditional UPDATE on the products row (H2 in memory, autocommit),
+ * every thread serialises on the same row lock.
+ * stripedCounter: StripedStockCounter, what ProductServiceImpl uses for hot SKUs.
+ *
+ * Run from product-service (JMH forks, so it needs a plain classpath):
+ *   mvn test-compile dependency:build-classpath -Dmdep.outputFile=cp.txt -Dmdep.includeScope=test
+ *   java -cp target/test-classes:target/classes:$(cat cp.txt) com.selimhorri.app.benchmark.HotSkuContentionBenchmark
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(8)
+@Fork(1)
+public class HotSkuContentionBenchmark {
+
+	private static final String URL = "jdbc:h2:mem:hot_sku_bench;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000";
+	private static final long STOCK = 1_000_000L;
+
+	@State(Scope.Benchmark)
+	public static class Catalog {
+
+		StripedStockCounter counter;
+		private Connection owner;
+
+		@Setup(Level.Trial)
+		public void setUp() throws SQLException {
+			this.owner = DriverManager.getConnection(URL, "sa", "");
+			try (Statement statement = this.owner.createStatement()) {
+				statement.execute("DROP TABLE IF EXISTS products");
+				statement.execute("CREATE TABLE products (product_id INT PRIMARY KEY, quantity INT NOT NULL)");
+				statement.execute("INSERT INTO products VALUES (1, " + STOCK + ")");
+			}
+			this.counter = new StripedStockCounter(STOCK);
+		}
+
+		@TearDown(Level.Trial)
+		public void tearDown() throws SQLException {
+			this.owner.close();
+		}
+
+	}
+
+	@State(Scope.Thread)
+	public static class Session {
+
+		private Connection connection;
+		PreparedStatement reserve;
+		PreparedStatement release;
+
+		@Setup(Level.Trial)
+		public void setUp(final Catalog catalog) throws SQLException {
+			this.connection = DriverManager.getConnection(URL, "sa", "");
+			this.reserve = this.connection.prepareStatement(
+					"UPDATE products SET quantity = quantity - 1 WHERE product_id = 1 AND quantity >= 1");
+			this.release = this.connection.prepareStatement(
+					"UPDATE products SET quantity = quantity + 1 WHERE product_id = 1");
+		}
+
+		@TearDown(Level.Trial)
+		public void tearDown() throws SQLException {
+			this.connection.close();
+		}
+
+	}
+
+	@Benchmark
+	public int rowUpdate(final Session session) throws SQLException {
+		final int reserved = session.reserve.executeUpdate();
+		session.release.executeUpdate();
+		return reserved;
+	}
+
+	@Benchmark
+	public boolean stripedCounter(final Catalog catalog) {
+		final boolean reserved = catalog.counter.tryReserve(1);
+		catalog.counter.release(1);
+		return reserved;
+	}
+
+	public static void main(final String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder()
+				.include(HotSkuContentionBenchmark.class.getSimpleName())
+				.build())
+				.run();
+	}
+
+}
@@ -0,0 +1,124 @@
+package com.selimhorri.app.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.selimhorri.app.helper.ProductSearchIndex;
+
+/**
+ * Top 20 products for a query over a synthetic catalogue of 1M products
+ * (titles of 3 to 6 words drawn from a skewed vocabulary of 5,000, 200 categories).
+ * indexSearch: ProductSearchIndex, what GET /api/products/search uses.
+ * linearScan: every title split and matched word by word, ranked by matched terms; the
+ * naive in-memory alternative (no idf, no length normalisation, so already cheaper per row).
+ * The query mixes a common word with a rarer one.
+ *
+ * Run from product-service (JMH forks, so it needs a plain classpath; the fork builds the catalogue, give it ~2g):
+ *   mvn test-compile dependency:build-classpath -Dmdep.outputFile=cp.txt -Dmdep.includeScope=test
+ *   java -cp target/test-classes:target/classes:$(cat cp.txt) com.selimhorri.app.benchmark.ProductSearchBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class ProductSearchBenchmark {
+
+	private static final int LIMIT = 20;
+	private static final int VOCABULARY = 5_000;
+	private static final int CATEGORIES = 200;
+
+	@State(Scope.Benchmark)
+	public static class Catalog {
+
+		@Param("1000000")
+		int products;
+
+		@Param({ "word7 word1200", "word42", "word3 word900 word4000" })
+		String query;
+
+		ProductSearchIndex index;
+		String[] titles;
+
+		@Setup(Level.Trial)
+		public void setUp() {
+			final Random random = new Random(42);
+			this.index = new ProductSearchIndex();
+			this.titles = new String[this.products];
+			final StringBuilder title = new StringBuilder();
+			for (int productId = 1; productId <= this.products; productId++) {
+				title.setLength(0);
+				final int words = 3 + random.nextInt(4);
+				for (int w = 0; w < words; w++) {
+					if (w > 0)
+						title.append(' ');
+					title.append("word").append(skewed(random));
+				}
+				this.titles[productId - 1] = title.toString();
+				this.index.put(productId, this.titles[productId - 1], "SKU-" + productId,
+						"category" + random.nextInt(CATEGORIES));
+			}
+		}
+
+		// Pocas palabras muy frecuentes y una cola larga, como los títulos reales
+		private static int skewed(final Random random) {
+			final double u = random.nextDouble();
+			return (int) (VOCABULARY * u * u * u);
+		}
+
+	}
+
+	@Benchmark
+	public int[] indexSearch(final Catalog catalog) {
+		return catalog.index.search(catalog.query, LIMIT);
+	}
+
+	@Benchmark
+	public int[] linearScan(final Catalog catalog) {
+		final String[] terms = catalog.query.toLowerCase().split(" ");
+		final int[] matches = new int[LIMIT];
+		final int[] scores = new int[LIMIT];
+		for (int i = 0; i < catalog.titles.length; i++) {
+			int score = 0;
+			for (final String word : catalog.titles[i].toLowerCase().split(" "))
+				for (final String term : terms)
+					if (word.equals(term))
+						score++;
+			// Inserción en los LIMIT mejores, de mayor a menor
+			int slot = LIMIT;
+			while (slot > 0 && scores[slot - 1] < score)
+				slot--;
+			if (slot == LIMIT)
+				continue;
+			System.arraycopy(scores, slot, scores, slot + 1, LIMIT - slot - 1);
+			System.arraycopy(matches, slot, matches, slot + 1, LIMIT - slot - 1);
+			scores[slot] = score;
+			matches[slot] = i + 1;
+		}
+		return matches;
+	}
+
+	public static void main(final String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder()
+				.include(ProductSearchBenchmark.class.getSimpleName())
+				.build())
+				.run();
+	}
+
+}
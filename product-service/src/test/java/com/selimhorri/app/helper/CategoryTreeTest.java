@@ -0,0 +1,63 @@
+package com.selimhorri.app.helper;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+import com.selimhorri.app.dto.CategoryTreeNodeDto;
+
+class CategoryTreeTest {
+
+    private final List<CategoryTreeNodeDto> categories = List.of(
+            new CategoryTreeNodeDto(1, null, "Computer", null),
+            new CategoryTreeNodeDto(2, 1, "Laptops", null),
+            new CategoryTreeNodeDto(3, 2, "Gaming laptops", null),
+            new CategoryTreeNodeDto(4, null, "Game", null),
+            // Padre reservado (no cargado): se muestra como raíz
+            new CategoryTreeNodeDto(6, 5, "Orphan", null));
+
+    @Test
+    void testRendersPathsAndRollsUpProductCounts() {
+        // Given
+        CategoryTree tree = CategoryTree.of(categories, List.of(
+                new CategoryTreeNodeDto(1, 1L),
+                new CategoryTreeNodeDto(2, 2L),
+                new CategoryTreeNodeDto(3, 4L),
+                new CategoryTreeNodeDto(5, 9L)));
+
+        // When
+        List<CategoryTreeNodeDto> roots = tree.getRoots();
+
+        // Then
+        assertEquals(List.of(1, 4, 6), roots.stream().map(CategoryTreeNodeDto::getCategoryId)
+                .collect(Collectors.toList()));
+        CategoryTreeNodeDto computer = roots.get(0);
+        assertEquals(1L, computer.getProductCount());
+        assertEquals(7L, computer.getTotalProductCount());
+        CategoryTreeNodeDto gaming = computer.getChildren().get(0).getChildren().get(0);
+        assertEquals("1/2/3", gaming.getPath());
+        assertEquals(2, gaming.getDepth());
+        assertEquals(0L, roots.get(1).getTotalProductCount());
+        assertEquals("6", roots.get(2).getPath());
+    }
+
+    @Test
+    void testProductDeltaReturnsNewSnapshotAndLeavesOldOneUntouched() {
+        // Given
+        CategoryTree tree = CategoryTree.of(categories, List.of(new CategoryTreeNodeDto(3, 4L)));
+
+        // When
+        CategoryTree moved = tree.withProductDelta(3, -1).withProductDelta(4, 1);
+
+        // Then
+        assertEquals(4L, tree.getRoots().get(0).getTotalProductCount());
+        assertEquals(3L, moved.getRoots().get(0).getTotalProductCount());
+        assertEquals(1L, moved.getRoots().get(1).getProductCount());
+        assertSame(moved, moved.withProductDelta(99, 1));
+        assertThrows(UnsupportedOperationException.class, () -> moved.getRoots().add(null));
+    }
+
+}
@@ -0,0 +1,58 @@
+package com.selimhorri.app.helper;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class HierarchicalTimingWheelTest {
+
+    @Test
+    void testExpiresOnlyDueKeys() {
+        // Given - 1s ticks starting at t=0
+        HierarchicalTimingWheel<Integer> wheel = new HierarchicalTimingWheel<>(1_000, 4, 0);
+        wheel.schedule(1, 5_000);
+        wheel.schedule(2, 90_000);
+
+        // When & Then
+        assertTrue(wheel.advance(4_000).isEmpty());
+        assertEquals(List.of(1), wheel.advance(5_000));
+        assertEquals(1, wheel.size());
+    }
+
+    @Test
+    void testCascadesFromHigherLevels() {
+        // Given - deadlines on levels 1, 2 and 3
+        HierarchicalTimingWheel<Integer> wheel = new HierarchicalTimingWheel<>(1_000, 4, 0);
+        wheel.schedule(1, 100_000);
+        wheel.schedule(2, 5_000_000);
+        wheel.schedule(3, 300_000_000);
+
+        // When & Then - nothing fires early, each fires on its own tick
+        assertTrue(wheel.advance(99_000).isEmpty());
+        assertEquals(List.of(1), wheel.advance(100_000));
+        assertTrue(wheel.advance(4_999_000).isEmpty());
+        assertEquals(List.of(2), wheel.advance(5_000_000));
+        assertTrue(wheel.advance(299_999_000).isEmpty());
+        assertEquals(List.of(3), wheel.advance(300_000_000));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void testCancelAndOverdue() {
+        // Given
+        HierarchicalTimingWheel<Integer> wheel = new HierarchicalTimingWheel<>(1_000, 2, 10_000);
+        wheel.schedule(1, 20_000);
+        wheel.schedule(2, 5_000);
+
+        // When
+        assertTrue(wheel.cancel(1));
+
+        // Then - past deadline comes back on the next advance, cancelled key never does
+        assertEquals(List.of(2), wheel.advance(10_000));
+        assertTrue(wheel.advance(60_000).isEmpty());
+        assertFalse(wheel.contains(1));
+    }
+
+}
@@ -0,0 +1,65 @@
+package com.selimhorri.app.helper;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ProductSearchIndexTest {
+
+    private ProductSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ProductSearchIndex();
+        index.put(1, "Gaming Laptop", "LAP-001", "Laptops");
+        index.put(2, "Laptop sleeve", "SLV-002", "Accessories");
+        index.put(3, "Wireless mouse", "MOU-003", "Accessories");
+        index.put(4, "Cámara réflex", "CAM-004", "Fotografía");
+    }
+
+    @Test
+    void testRanksByBm25AndHonoursLimit() {
+        // When
+        int[] laptops = index.search("laptop", 10);
+        int[] gamingLaptops = index.search("gaming laptop", 10);
+        int[] top = index.search("laptop accessories", 1);
+
+        // Then
+        // Misma frecuencia y longitud: empate resuelto por el id menor
+        assertArrayEquals(new int[] { 1, 2 }, laptops);
+        assertArrayEquals(new int[] { 1, 2 }, gamingLaptops);
+        // El 2 casa con los dos términos
+        assertArrayEquals(new int[] { 2 }, top);
+        assertArrayEquals(new int[0], index.search("keyboard", 10));
+    }
+
+    @Test
+    void testMatchesSkusAndFoldsCaseAndAccents() {
+        // When / Then
+        assertArrayEquals(new int[] { 3 }, index.search("MOU-003", 10));
+        assertArrayEquals(new int[] { 3 }, index.search("mou003", 10));
+        assertArrayEquals(new int[] { 4 }, index.search("camara", 10));
+        assertArrayEquals(new int[] { 4 }, index.search("FOTOGRAFIA", 10));
+        assertEquals(List.of("gaming", "laptop"), ProductSearchIndex.tokenize("  Gaming-LAPTOP! "));
+    }
+
+    @Test
+    void testReplacesAndRemovesDocuments() {
+        // When
+        index.put(2, "Tablet sleeve", "SLV-002", "Accessories");
+        boolean removed = index.remove(3);
+
+        // Then
+        assertTrue(removed);
+        assertFalse(index.remove(3));
+        assertFalse(index.contains(3));
+        assertEquals(3, index.size());
+        assertArrayEquals(new int[] { 1 }, index.search("laptop", 10));
+        assertArrayEquals(new int[] { 2 }, index.search("tablet", 10));
+        assertArrayEquals(new int[] { 2 }, index.search("accessories", 10));
+        assertArrayEquals(new int[0], index.search("mouse", 10));
+    }
+}
@@ -0,0 +1,68 @@
+package com.selimhorri.app.helper;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+class StripedStockCounterTest {
+
+    @Test
+    void testReserveNeverGoesBelowZeroUnderContention() throws InterruptedException {
+        // Given
+        StripedStockCounter counter = new StripedStockCounter(1_000, 8);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        AtomicInteger granted = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(8);
+
+        // When - 8 threads ask for 2000 units in total
+        for (int t = 0; t < 8; t++) {
+            pool.execute(() -> {
+                for (int i = 0; i < 250; i++)
+                    if (counter.tryReserve(1))
+                        granted.incrementAndGet();
+                done.countDown();
+            });
+        }
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        pool.shutdown();
+
+        // Then
+        assertEquals(1_000, granted.get());
+        assertEquals(0, counter.available());
+        assertEquals(1_000, counter.pendingDelta());
+    }
+
+    @Test
+    void testReserveSpanningSeveralStripes() {
+        // Given - 10 units over 4 stripes, no stripe holds 7 on its own
+        StripedStockCounter counter = new StripedStockCounter(10, 4);
+
+        // When & Then
+        assertTrue(counter.tryReserve(7));
+        assertEquals(3, counter.available());
+        assertFalse(counter.tryReserve(4));
+        assertEquals(3, counter.available());
+    }
+
+    @Test
+    void testPendingDeltaAfterFlushAndRelease() {
+        // Given
+        StripedStockCounter counter = new StripedStockCounter(50, 2);
+        counter.tryReserve(5);
+        counter.markFlushed(counter.pendingDelta());
+
+        // When
+        counter.release(3);
+
+        // Then
+        assertEquals(-3, counter.pendingDelta());
+        assertEquals(48, counter.available());
+    }
+
+}
@@ -8,22 +8,31 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.selimhorri.app.domain.Category;
 import com.selimhorri.app.domain.Product;
 import com.selimhorri.app.dto.CategoryDto;
+import com.selimhorri.app.dto.CategoryTreeNodeDto;
 import com.selimhorri.app.dto.ProductDto;
 import com.selimhorri.app.exception.wrapper.ProductNotFoundException;
+import com.selimhorri.app.helper.CategoryTree;
+import com.selimhorri.app.helper.ProductSearchIndex;
 import com.selimhorri.app.repository.CategoryRepository;
 import com.selimhorri.app.repository.ProductRepository;
+import com.selimhorri.app.service.HotStockService;
 import com.selimhorri.app.service.ProductService;
 
 /**
  * Pruebas de integración para Product Service.
  * Valida la gestión de productos y categorías, y manejo de errores.
  */
-@SpringBootTest
+// Hot SKU activo y sin flush periódico: los contadores sólo se vuelcan cuando el test lo pide
+@SpringBootTest(properties = {
+	"app.stock.hot-sku.enabled=true",
+	"app.stock.hot-sku.flush-interval=3600000"
+})
 @AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
 @Transactional
 @DisplayName("Product Service Integration Tests")
@@ -35,6 +44,9 @@ class ProductServiceIntegrationTest {
 	@Autowired
 	private ProductRepository productRepository;
 
+	@Autowired
+	private HotStockService hotStockService;
+
 	@Autowired
 	private CategoryRepository categoryRepository;
 
@@ -164,4 +176,57 @@ class ProductServiceIntegrationTest {
 			.allMatch(p -> p.getCategoryDto() != null);
 		assertTrue(allHaveCategory, "All products should have a category");
 	}
+
+	@Test
+	@DisplayName("Integration Test 6: Debe cargar el árbol de categorías con sus contadores sin las reservadas")
+	void testCategoryTree_LoadsNodesAndCounts() {
+		// Act
+		CategoryTree tree = CategoryTree.of(categoryRepository.findTreeNodes(), productRepository.countByCategory());
+
+		// Assert
+		CategoryTreeNodeDto electronics = tree.getRoots().stream()
+			.filter(n -> n.getCategoryId().equals(testCategory.getCategoryId()))
+			.findFirst()
+			.orElseThrow();
+		assertEquals(1L, electronics.getProductCount());
+		assertTrue(tree.getRoots().stream().noneMatch(n -> "Deleted".equals(n.getCategoryTitle())),
+			"Reserved categories must not be part of the tree");
+	}
+
+	@Test
+	@DisplayName("Integration Test 7: Debe indexar los productos con el título de su categoría para la búsqueda")
+	void testSearchIndex_LoadsProductsWithCategoryTitle() {
+		// Arrange
+		ProductSearchIndex index = new ProductSearchIndex();
+		productRepository.findSearchPage(0, PageRequest.of(0, 1_000))
+			.forEach(p -> index.put(p.getProductId(), p.getProductTitle(), p.getSku(),
+				p.getCategory().getCategoryTitle()));
+
+		// Act
+		int[] byCategory = index.search("electronics", 10);
+		int[] bySku = index.search("laptop-001", 10);
+
+		// Assert
+		assertArrayEquals(new int[] { testProduct.getProductId() }, byCategory);
+		assertEquals(testProduct.getProductId(), bySku[0]);
+	}
+
+	@Test
+	@DisplayName("Integration Test 8: La cantidad fijada por el admin en un hot SKU descarta el delta pendiente")
+	void testHotSku_AdminQuantityWinsOverPendingDelta() {
+		// Arrange - 3 unidades reservadas en memoria sin volcar a la fila
+		Integer productId = testProduct.getProductId();
+		hotStockService.markHot(productId);
+		productService.reserve(productId, 3);
+
+		// Act
+		productService.update(productId, ProductDto.builder().quantity(50).build());
+		hotStockService.flush();
+
+		// Assert
+		assertEquals(50, productRepository.findQuantityByProductId(productId).orElseThrow());
+		assertEquals(50, productService.findById(productId).getQuantity());
+		hotStockService.unmarkHot(productId);
+		assertEquals(50, productRepository.findQuantityByProductId(productId).orElseThrow());
+	}
 }
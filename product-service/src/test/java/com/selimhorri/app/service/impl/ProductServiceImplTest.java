@@ -4,6 +4,7 @@ import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -14,16 +15,25 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import com.selimhorri.app.domain.Category;
 import com.selimhorri.app.domain.Product;
 import com.selimhorri.app.dto.CategoryDto;
 import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.dto.StockReservationDto;
 import com.selimhorri.app.exception.wrapper.CategoryNotFoundException;
+import com.selimhorri.app.exception.wrapper.InsufficientStockException;
 import com.selimhorri.app.exception.wrapper.ProductNotFoundException;
 import com.selimhorri.app.repository.CategoryRepository;
 import com.selimhorri.app.repository.ProductRepository;
+import com.selimhorri.app.service.CategoryTreeService;
+import com.selimhorri.app.service.HotStockService;
+import com.selimhorri.app.service.ProductCacheService;
+import com.selimhorri.app.service.ProductSearchService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
 /**
  * Pruebas unitarias para ProductServiceImpl.
@@ -39,6 +49,19 @@ class ProductServiceImplTest {
     @Mock
     private CategoryRepository categoryRepository;
 
+    @Mock
+    private HotStockService hotStockService;
+
+    @Mock
+    private CategoryTreeService categoryTreeService;
+
+    @Mock
+    private ProductSearchService productSearchService;
+
+    @Spy
+    private ProductCacheService productCacheService = new ProductCacheServiceImpl(new SimpleMeterRegistry(), 100,
+            Duration.ofMinutes(10), Duration.ofSeconds(30));
+
     @InjectMocks
     private ProductServiceImpl productService;
 
@@ -172,4 +195,151 @@ class ProductServiceImplTest {
         assertTrue(result.size() >= 0);
         verify(productRepository, times(1)).findAllWithoutDeleted();
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Test 6: Debe reservar stock con un único UPDATE condicional")
+    void testReserve_Success() {
+        // Given
+        when(productRepository.reserveStock(1, 3)).thenReturn(1);
+        when(productRepository.findQuantityByProductId(1)).thenReturn(Optional.of(7));
+
+        // When
+        StockReservationDto result = productService.reserve(1, 3);
+
+        // Then
+        assertEquals(3, result.getQuantity());
+        assertEquals(7, result.getRemainingQuantity());
+        verify(productRepository, never()).save(any(Product.class));
+        verify(productRepository, never()).findByIdWithoutDeleted(anyInt());
+    }
+
+    @Test
+    @DisplayName("Test 7: Debe lanzar conflicto cuando no hay stock suficiente")
+    void testReserve_InsufficientStock() {
+        // Given
+        when(productRepository.reserveStock(1, 500)).thenReturn(0);
+        when(productRepository.existsByProductIdAndIsDeletedFalse(1)).thenReturn(true);
+
+        // When & Then
+        assertThrows(InsufficientStockException.class, () -> productService.reserve(1, 500));
+        verify(productRepository, never()).findQuantityByProductId(anyInt());
+    }
+
+    @Test
+    @DisplayName("Test 8: Debe reservar en los contadores en memoria cuando el producto es hot SKU")
+    void testReserve_HotSku() {
+        // Given
+        when(hotStockService.isHot(1)).thenReturn(true);
+        when(hotStockService.reserve(1, 2)).thenReturn(8);
+
+        // When
+        StockReservationDto result = productService.reserve(1, 2);
+
+        // Then
+        assertEquals(8, result.getRemainingQuantity());
+        verify(productRepository, never()).reserveStock(anyInt(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Test 9: Debe servir lecturas repetidas desde la caché sin volver al repositorio")
+    void testFindById_CacheHit() {
+        // Given
+        when(productRepository.findByIdWithoutDeleted(1)).thenReturn(Optional.of(product));
+
+        // When
+        productService.findById(1);
+        ProductDto result = productService.findById(1);
+
+        // Then
+        assertEquals("Test Product", result.getProductTitle());
+        verify(productRepository, times(1)).findByIdWithoutDeleted(1);
+    }
+
+    @Test
+    @DisplayName("Test 10: Debe invalidar la entrada cacheada al actualizar el producto")
+    void testUpdate_EvictsCache() {
+        // Given
+        when(productRepository.findByIdWithoutDeleted(1)).thenReturn(Optional.of(product));
+        when(productRepository.findById(1)).thenReturn(Optional.of(product));
+        when(productRepository.save(any(Product.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        productService.findById(1);
+
+        // When
+        productService.update(1, ProductDto.builder().productTitle("Renamed").build());
+        ProductDto result = productService.findById(1);
+
+        // Then
+        assertEquals("Renamed", result.getProductTitle());
+        verify(productRepository, times(2)).findByIdWithoutDeleted(1);
+        verify(productCacheService).evict(1);
+    }
+
+    @Test
+    @DisplayName("Test 11: Debe borrar lógicamente marcando is_deleted sin buscar la categoría 'Deleted'")
+    void testDeleteById_SetsDeletedFlag() {
+        // Given
+        when(productRepository.findByIdWithoutDeleted(1)).thenReturn(Optional.of(product));
+
+        // When
+        productService.deleteById(1);
+
+        // Then
+        assertTrue(product.isDeleted());
+        assertEquals(category, product.getCategory());
+        verify(productRepository).save(product);
+        verify(categoryTreeService).adjustProductCount(1, -1);
+        verify(productSearchService).reindex(1);
+        verifyNoInteractions(categoryRepository);
+    }
+
+    @Test
+    @DisplayName("Test 12: Debe devolver la búsqueda en el orden del ranking descartando productos inexistentes")
+    void testSearch_KeepsRankingOrder() {
+        // Given
+        Product other = Product.builder()
+            .productId(2)
+            .productTitle("Other Product")
+            .sku("TEST456")
+            .category(category)
+            .build();
+        when(productSearchService.search("product", 10)).thenReturn(List.of(2, 3, 1));
+        when(productRepository.findAllByIdWithoutDeleted(anyCollection())).thenReturn(List.of(product, other));
+
+        // When
+        List<ProductDto> result = productService.search("product", 10);
+
+        // Then
+        assertEquals(2, result.size());
+        assertEquals(2, result.get(0).getProductId());
+        assertEquals(1, result.get(1).getProductId());
+        assertThrows(IllegalArgumentException.class, () -> productService.search("  ", 10));
+    }
+
+    @Test
+    @DisplayName("Test 13: Debe distinguir producto inexistente de falta de stock sólo cuando el UPDATE no afecta filas")
+    void testReserve_ProductNotFound() {
+        // Given
+        when(productRepository.reserveStock(99, 1)).thenReturn(0);
+        when(productRepository.existsByProductIdAndIsDeletedFalse(99)).thenReturn(false);
+
+        // When & Then
+        assertThrows(ProductNotFoundException.class, () -> productService.reserve(99, 1));
+    }
+
+    @Test
+    @DisplayName("Test 14: Si el SKU pasa a hot mientras el UPDATE espera la fila, la reserva se mueve al contador")
+    void testReserve_SkuTurnedHotWhileWaiting() {
+        // Given
+        when(hotStockService.isHot(1)).thenReturn(false, true);
+        when(productRepository.reserveStock(1, 2)).thenReturn(1);
+        when(hotStockService.reserve(1, 2)).thenReturn(6);
+
+        // When
+        StockReservationDto result = productService.reserve(1, 2);
+
+        // Then
+        assertEquals(6, result.getRemainingQuantity());
+        verify(productRepository, times(1)).releaseStock(1, 2);
+        verify(productRepository, never()).findQuantityByProductId(anyInt());
+    }
+}
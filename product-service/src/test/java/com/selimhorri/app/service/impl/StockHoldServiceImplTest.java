@@ -0,0 +1,142 @@
+package com.selimhorri.app.service.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.selimhorri.app.domain.HoldStatus;
+import com.selimhorri.app.domain.StockHold;
+import com.selimhorri.app.dto.StockHoldDto;
+import com.selimhorri.app.dto.StockReservationDto;
+import com.selimhorri.app.repository.StockHoldRepository;
+import com.selimhorri.app.service.ProductService;
+
+/**
+ * Pruebas unitarias para StockHoldServiceImpl.
+ * Valida la creación, cancelación y expiración de holds de stock.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("StockHoldServiceImpl Unit Tests")
+class StockHoldServiceImplTest {
+
+    @Mock
+    private StockHoldRepository stockHoldRepository;
+
+    @Mock
+    private ProductService productService;
+
+    @InjectMocks
+    private StockHoldServiceImpl stockHoldService;
+
+    private StockHold stockHold;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(stockHoldService, "defaultTtlMinutes", 15);
+        ReflectionTestUtils.setField(stockHoldService, "maxTtlMinutes", 1440);
+
+        stockHold = StockHold.builder()
+            .holdId(1)
+            .productId(1)
+            .orderId(10)
+            .quantity(2)
+            .holdStatus(HoldStatus.HELD)
+            .expiresAt(Instant.now().plusSeconds(600))
+            .build();
+    }
+
+    @Test
+    @DisplayName("Test 1: Debe reservar stock y crear el hold")
+    void testCreate_Success() {
+        // Given
+        StockHoldDto request = StockHoldDto.builder().productId(1).orderId(10).quantity(2).ttlMinutes(10).build();
+        when(stockHoldRepository.save(any(StockHold.class))).thenReturn(stockHold);
+
+        // When
+        StockHoldDto result = stockHoldService.create(request);
+
+        // Then
+        assertEquals(HoldStatus.HELD.name(), result.getHoldStatus());
+        verify(productService, times(1)).reserve(1, 2);
+    }
+
+    @Test
+    @DisplayName("Test 2: Debe devolver el stock al cancelar un hold")
+    void testCancel_ReleasesStock() {
+        // Given
+        when(stockHoldRepository.findById(1)).thenReturn(Optional.of(stockHold));
+        when(stockHoldRepository.transition(1, HoldStatus.HELD, HoldStatus.CANCELED)).thenReturn(1);
+
+        // When
+        StockHoldDto result = stockHoldService.cancel(1);
+
+        // Then
+        assertEquals(HoldStatus.CANCELED.name(), result.getHoldStatus());
+        verify(productService, times(1)).release(1, 2);
+    }
+
+    @Test
+    @DisplayName("Test 3: No debe devolver stock al expirar un hold ya confirmado")
+    void testExpire_AlreadyConfirmed() {
+        // Given
+        when(stockHoldRepository.findById(1)).thenReturn(Optional.of(stockHold));
+        when(stockHoldRepository.transition(1, HoldStatus.HELD, HoldStatus.EXPIRED)).thenReturn(0);
+
+        // When
+        boolean expired = stockHoldService.expire(1);
+
+        // Then
+        assertFalse(expired);
+        verify(productService, never()).release(anyInt(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Test 4: Debe saltar los holds que ya no están HELD al confirmar por pedido")
+    void testConfirmByOrderId_SkipsHoldsNoLongerHeld() {
+        // Given
+        StockHold expired = StockHold.builder().holdId(2).productId(1).orderId(10).quantity(1)
+            .holdStatus(HoldStatus.HELD).expiresAt(Instant.now()).build();
+        when(stockHoldRepository.findHoldIdsByOrderIdAndHoldStatus(10, HoldStatus.HELD)).thenReturn(List.of(1, 2));
+        when(stockHoldRepository.findById(1)).thenReturn(Optional.of(stockHold));
+        when(stockHoldRepository.findById(2)).thenReturn(Optional.of(expired));
+        when(stockHoldRepository.transition(1, HoldStatus.HELD, HoldStatus.CONFIRMED)).thenReturn(1);
+        when(stockHoldRepository.transition(2, HoldStatus.HELD, HoldStatus.CONFIRMED)).thenReturn(0);
+
+        // When
+        List<StockHoldDto> result = stockHoldService.confirmByOrderId(10);
+
+        // Then
+        assertEquals(1, result.size());
+        assertEquals(1, result.get(0).getHoldId());
+    }
+
+    @Test
+    @DisplayName("Test 5: La línea del pedido debe quedarse con las unidades retenidas sin reservarlas de nuevo")
+    void testReserveForOrder_HandsHeldUnitsOver() {
+        // Given - hold de 2 unidades, la línea pide 3
+        when(stockHoldRepository.findByOrderIdAndProductIdAndHoldStatus(10, 1, HoldStatus.HELD))
+            .thenReturn(List.of(stockHold));
+        when(stockHoldRepository.transition(1, HoldStatus.HELD, HoldStatus.CONFIRMED)).thenReturn(1);
+
+        // When
+        StockReservationDto result = stockHoldService.reserveForOrder(10, 1, 3);
+
+        // Then
+        assertEquals(3, result.getQuantity());
+        verify(productService, times(1)).reserve(1, 1);
+        verify(productService, never()).release(anyInt(), anyInt());
+    }
+}
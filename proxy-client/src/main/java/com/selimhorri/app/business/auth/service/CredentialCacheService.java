@@ -0,0 +1,10 @@
+package com.selimhorri.app.business.auth.service;
+
+import org.springframework.security.core.userdetails.UserDetails;
+
+public interface CredentialCacheService {
+	
+	UserDetails loadUserByUsername(final String username);
+	void revoke(final String username);
+	
+}
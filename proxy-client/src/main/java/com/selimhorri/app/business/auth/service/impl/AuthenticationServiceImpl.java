@@ -1,55 +1,100 @@
 package com.selimhorri.app.business.auth.service.impl;
 
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.BadCredentialsException;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 
 import com.selimhorri.app.business.auth.model.request.AuthenticationRequest;
 import com.selimhorri.app.business.auth.model.response.AuthenticationResponse;
 import com.selimhorri.app.business.auth.service.AuthenticationService;
 import com.selimhorri.app.business.user.model.CredentialDto;
+import com.selimhorri.app.business.user.model.UserDetailsImpl;
 import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.exception.wrapper.AuthenticationBusyException;
 import com.selimhorri.app.exception.wrapper.UnauthorizedException;
 import com.selimhorri.app.jwt.service.JwtService;
 
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 @Service
 @Slf4j
-@RequiredArgsConstructor
 public class AuthenticationServiceImpl implements AuthenticationService {
 
 	private static final String API_URL = AppConstant.DiscoveredDomainsApi.USER_SERVICE_HOST + "/api/credentials";
 
-	private final AuthenticationManager authenticationManager;
-	private final UserDetailsService userDetailsService;
+	private final PasswordEncoder passwordEncoder;
+	private final ExecutorService passwordHashExecutor;
 	private final JwtService jwtService;
 	private final RestTemplate restTemplate;
 
+	@Value("${app.security.password-hash.timeout:5s}")
+	private Duration passwordHashTimeout;
+
+	public AuthenticationServiceImpl(final PasswordEncoder passwordEncoder,
+			@Qualifier("passwordHashExecutor") final ExecutorService passwordHashExecutor,
+			final JwtService jwtService, final RestTemplate restTemplate) {
+		this.passwordEncoder = passwordEncoder;
+		this.passwordHashExecutor = passwordHashExecutor;
+		this.jwtService = jwtService;
+		this.restTemplate = restTemplate;
+	}
+
 	@Override
 	public AuthenticationResponse authenticate(final AuthenticationRequest authenticationRequest) {
 
 		log.info("** AuthenticationResponse, authenticate user service*\n");
 
+		// Una sola llamada a user-service: la misma credencial sirve para verificar y emitir el token
+		final CredentialDto credentialDto;
 		try {
-			this.authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(
-					authenticationRequest.getUsername(), authenticationRequest.getPassword()));
-		} catch (BadCredentialsException e) {
+			credentialDto = this.restTemplate.getForObject(API_URL + "/username/" + authenticationRequest.getUsername(),
+					CredentialDto.class);
+		} catch (RestClientException e) {
+			log.error("Failed to load credential for username: {}", authenticationRequest.getUsername(), e);
+			throw new UnauthorizedException("Bad credentials!");
+		}
+		if (credentialDto == null || credentialDto.getPassword() == null
+				|| !this.passwordMatches(authenticationRequest.getPassword(), credentialDto.getPassword()))
 			throw new UnauthorizedException("Bad credentials!");
+
+		if (!Boolean.TRUE.equals(credentialDto.getIsEnabled())
+				|| !Boolean.TRUE.equals(credentialDto.getIsAccountNonLocked())
+				|| !Boolean.TRUE.equals(credentialDto.getIsAccountNonExpired())
+				|| !Boolean.TRUE.equals(credentialDto.getIsCredentialsNonExpired()))
+			throw new UnauthorizedException("Account is disabled, locked or expired!");
+
+		return new AuthenticationResponse(this.jwtService.generateToken(new UserDetailsImpl(credentialDto),
+				credentialDto.getUserDto().getUserId().toString()));
+	}
+
+	private boolean passwordMatches(final String rawPassword, final String encodedPassword) {
+		if (rawPassword == null)
+			return false;
+		try {
+			return CompletableFuture
+					.supplyAsync(() -> this.passwordEncoder.matches(rawPassword, encodedPassword),
+							this.passwordHashExecutor)
+					.get(this.passwordHashTimeout.toMillis(), TimeUnit.MILLISECONDS);
+		} catch (RejectedExecutionException | TimeoutException e) {
+			throw new AuthenticationBusyException("Too many login attempts in progress, try again later");
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new AuthenticationBusyException("Login interrupted, try again later");
+		} catch (ExecutionException e) {
+			log.error("Password verification failed", e.getCause());
+			return false;
 		}
-		CredentialDto credentialDto = this.restTemplate.getForObject(API_URL + "/username/" + authenticationRequest.getUsername(),
-				CredentialDto.class);
-				System.out.println(credentialDto.getPassword());
-				System.out.println(credentialDto.getUsername());
-				System.out.println("++++++++++++++");
-
-		return new AuthenticationResponse(this.jwtService.generateToken(this.userDetailsService
-				.loadUserByUsername(authenticationRequest.getUsername()), credentialDto.getUserDto().getUserId().toString()));
 	}
 
 }
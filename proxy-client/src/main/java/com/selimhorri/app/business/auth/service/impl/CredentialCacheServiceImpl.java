@@ -0,0 +1,72 @@
+package com.selimhorri.app.business.auth.service.impl;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.stereotype.Service;
+
+import com.selimhorri.app.business.auth.service.CredentialCacheService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Short-lived cache of credentials loaded from user-service, used only when
+ * {@code app.security.credential-check.enabled} asks the JWT filter to re-check
+ * enabled/locked state instead of trusting the token claims.
+ * Entries are dropped after the TTL or explicitly through {@link #revoke(String)}.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class CredentialCacheServiceImpl implements CredentialCacheService {
+	
+	private final UserDetailsService userDetailsService;
+	private final Map<String, CachedCredential> cache = new ConcurrentHashMap<>();
+	
+	@Value("${app.security.credential-check.ttl:30s}")
+	private Duration ttl;
+	
+	@Value("${app.security.credential-check.max-size:10000}")
+	private int maxSize;
+	
+	@Override
+	public UserDetails loadUserByUsername(final String username) {
+		final long now = System.nanoTime();
+		final CachedCredential cached = this.cache.get(username);
+		if (cached != null && cached.expiresAt - now > 0)
+			return cached.userDetails;
+		
+		final UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
+		if (this.cache.size() >= this.maxSize) {
+			this.cache.values().removeIf(c -> c.expiresAt - now <= 0);
+			if (this.cache.size() >= this.maxSize)
+				this.cache.clear();
+		}
+		this.cache.put(username, new CachedCredential(userDetails, now + this.ttl.toNanos()));
+		return userDetails;
+	}
+	
+	@Override
+	public void revoke(final String username) {
+		log.info("**Void, revoke cached credential for username {}*", username);
+		this.cache.remove(username);
+	}
+	
+	private static final class CachedCredential {
+		
+		private final UserDetails userDetails;
+		private final long expiresAt;
+		
+		private CachedCredential(final UserDetails userDetails, final long expiresAt) {
+			this.userDetails = userDetails;
+			this.expiresAt = expiresAt;
+		}
+		
+	}
+	
+}
@@ -1,17 +1,19 @@
 package com.selimhorri.app.business.auth.util;
 
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 import javax.servlet.http.HttpServletRequest;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.client.RestTemplate;
 
 import com.selimhorri.app.business.auth.enums.ResourceType;
-import com.selimhorri.app.business.order.model.CartDto;
-import com.selimhorri.app.business.order.model.OrderDto;
-import com.selimhorri.app.business.payment.model.PaymentDto;
 import com.selimhorri.app.business.user.model.AddressDto;
 import com.selimhorri.app.business.user.model.CredentialDto;
 import com.selimhorri.app.constant.AppConstant;
@@ -21,6 +23,14 @@ import com.selimhorri.app.exception.wrapper.UnauthorizedException;
 public class AuthUtil {
 
     private final RestTemplate restTemplate;
+    // resourceType:id -> owner userId, evicted on writes through the proxy
+    private final Map<String, CachedOwner> ownerCache = new ConcurrentHashMap<>();
+
+    @Value("${app.security.owner-cache.ttl:10m}")
+    private Duration ownerCacheTtl;
+
+    @Value("${app.security.owner-cache.max-size:50000}")
+    private int ownerCacheMaxSize;
 
     public AuthUtil(RestTemplate restTemplate) {
         this.restTemplate = restTemplate;
@@ -41,6 +51,31 @@ public class AuthUtil {
     }
 
     public String getOwner(String id, ResourceType resourceType) {
+        final String key = resourceType + ":" + id;
+        final long now = System.nanoTime();
+        final CachedOwner cached = this.ownerCache.get(key);
+        if (cached != null && cached.expiresAt - now > 0) {
+            return cached.userId;
+        }
+
+        final String owner = this.fetchOwner(id, resourceType);
+        if (owner != null) {
+            if (this.ownerCache.size() >= this.ownerCacheMaxSize) {
+                this.ownerCache.values().removeIf(c -> c.expiresAt - now <= 0);
+                if (this.ownerCache.size() >= this.ownerCacheMaxSize) {
+                    this.ownerCache.clear();
+                }
+            }
+            this.ownerCache.put(key, new CachedOwner(owner, now + this.ownerCacheTtl.toNanos()));
+        }
+        return owner;
+    }
+
+    public void evictOwner(String id, ResourceType resourceType) {
+        this.ownerCache.remove(resourceType + ":" + id);
+    }
+
+    private String fetchOwner(String id, ResourceType resourceType) {
         String apiUrl = "";
         try {
             switch (resourceType) {
@@ -53,25 +88,14 @@ public class AuthUtil {
                     AddressDto addressDto = restTemplate.getForObject(apiUrl, AddressDto.class);
                     return addressDto.getUserDto().getUserId().toString();
                 case CARTS:
-                    apiUrl = AppConstant.DiscoveredDomainsApi.ORDER_SERVICE_HOST + "/api/carts/" + id;
-                    CartDto cartDto = restTemplate.getForObject(apiUrl, CartDto.class);
-                    return cartDto.getUserDto().getUserId().toString();
+                    apiUrl = AppConstant.DiscoveredDomainsApi.ORDER_SERVICE_HOST + "/api/carts/" + id + "/owner";
+                    return restTemplate.getForObject(apiUrl, Integer.class).toString();
                 case ORDERS:
-                    apiUrl = AppConstant.DiscoveredDomainsApi.ORDER_SERVICE_HOST + "/api/orders/" + id;
-                    OrderDto orderDto = restTemplate.getForObject(apiUrl, OrderDto.class);
-                    apiUrl = AppConstant.DiscoveredDomainsApi.ORDER_SERVICE_HOST + "/api/carts/"
-                            + orderDto.getCartDto().getCartId();
-                    CartDto orderCartDto = restTemplate.getForObject(apiUrl, CartDto.class);
-                    return orderCartDto.getUserDto().getUserId().toString();
+                    apiUrl = AppConstant.DiscoveredDomainsApi.ORDER_SERVICE_HOST + "/api/orders/" + id + "/owner";
+                    return restTemplate.getForObject(apiUrl, Integer.class).toString();
                 case PAYMENTS:
-                    apiUrl = AppConstant.DiscoveredDomainsApi.PAYMENT_SERVICE_HOST + "/api/payments/" + id;
-                    PaymentDto paymentDto = restTemplate.getForObject(apiUrl, PaymentDto.class);
-                    apiUrl = AppConstant.DiscoveredDomainsApi.ORDER_SERVICE_HOST + "/api/orders/" + paymentDto.getOrderDto().getOrderId();
-                    OrderDto paymentOrderDto = restTemplate.getForObject(apiUrl, OrderDto.class);
-                    apiUrl = AppConstant.DiscoveredDomainsApi.ORDER_SERVICE_HOST + "/api/carts/"
-                            + paymentOrderDto.getCartDto().getCartId();
-                    CartDto paymentCartDto = restTemplate.getForObject(apiUrl, CartDto.class);
-                    return paymentCartDto.getUserDto().getUserId().toString();
+                    apiUrl = AppConstant.DiscoveredDomainsApi.PAYMENT_SERVICE_HOST + "/api/payments/" + id + "/owner";
+                    return restTemplate.getForObject(apiUrl, Integer.class).toString();
                 default:
                     return null;
             }
@@ -88,4 +112,15 @@ public class AuthUtil {
                 .map(GrantedAuthority::getAuthority)
                 .anyMatch(role -> role.equals("ROLE_ADMIN"));
     }
+
+    private static final class CachedOwner {
+
+        private final String userId;
+        private final long expiresAt;
+
+        private CachedOwner(String userId, long expiresAt) {
+            this.userId = userId;
+            this.expiresAt = expiresAt;
+        }
+    }
 }
@@ -15,6 +15,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.selimhorri.app.business.auth.enums.ResourceType;
@@ -35,8 +36,10 @@ public class CartController {
 	private final CartClientService cartClientService;
 
 	@GetMapping
-	public ResponseEntity<CartOrderServiceDtoCollectionResponse> findAll() {
-		return ResponseEntity.ok(this.cartClientService.findAll().getBody());
+	public ResponseEntity<CartOrderServiceDtoCollectionResponse> findAll(
+			@RequestParam(value = "after", required = false) final Integer after,
+			@RequestParam(value = "limit", required = false) final Integer limit) {
+		return ResponseEntity.ok(this.cartClientService.findAll(after, limit).getBody());
 	}
 
 	@GetMapping("/{cartId}")
@@ -48,6 +51,14 @@ public class CartController {
 		return ResponseEntity.ok(this.cartClientService.findById(cartId).getBody());
 	}
 
+	@GetMapping("/user/{userId}/active")
+	public ResponseEntity<CartDto> findActiveByUserId(
+			@PathVariable("userId") @NotBlank(message = "Input must not be blank!") @Valid final String userId,
+			HttpServletRequest request, @AuthenticationPrincipal UserDetails userDetails) {
+		authUtil.canActivate(request, userId, userDetails);
+		return ResponseEntity.ok(this.cartClientService.findActiveByUserId(userId).getBody());
+	}
+
 	@PostMapping
 	public ResponseEntity<CartDto> save(
 			@RequestBody @NotNull(message = "Input must not be NULL!") @Valid final CartDto cartDto,
@@ -62,6 +73,7 @@ public class CartController {
 		String userId = authUtil.getOwner(cartId, ResourceType.CARTS);
 		authUtil.canActivate(request, userId, userDetails);
 		this.cartClientService.deleteById(cartId).getBody();
+		authUtil.evictOwner(cartId, ResourceType.CARTS);
 		return ResponseEntity.ok(true);
 	}
 
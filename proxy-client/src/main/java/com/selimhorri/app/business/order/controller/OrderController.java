@@ -1,5 +1,7 @@
 package com.selimhorri.app.business.order.controller;
 
+import java.util.List;
+
 import javax.servlet.http.HttpServletRequest;
 import javax.validation.Valid;
 import javax.validation.constraints.NotBlank;
@@ -16,13 +18,19 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.selimhorri.app.business.auth.enums.ResourceType;
 import com.selimhorri.app.business.auth.util.AuthUtil;
 import com.selimhorri.app.business.order.model.OrderDto;
+import com.selimhorri.app.business.order.model.OrderStatusBulkTransitionDto;
+import com.selimhorri.app.business.order.model.OrderStatusTransitionResultDto;
 import com.selimhorri.app.business.order.model.response.OrderOrderServiceDtoCollectionResponse;
+import com.selimhorri.app.business.order.model.response.OrderStatsOrderServiceDtoCollectionResponse;
+import com.selimhorri.app.business.order.model.response.OrderViewOrderServiceDtoCollectionResponse;
 import com.selimhorri.app.business.order.service.OrderClientService;
 
 import lombok.RequiredArgsConstructor;
@@ -37,8 +45,41 @@ public class OrderController {
 	private final OrderClientService orderClientService;
 
 	@GetMapping
-	public ResponseEntity<OrderOrderServiceDtoCollectionResponse> findAll() {
-		return ResponseEntity.ok(this.orderClientService.findAll().getBody());
+	public ResponseEntity<OrderOrderServiceDtoCollectionResponse> findAll(
+			@RequestParam(value = "after", required = false) final Integer after,
+			@RequestParam(value = "limit", required = false) final Integer limit) {
+		return ResponseEntity.ok(this.orderClientService.findAll(after, limit).getBody());
+	}
+
+	// Solo ADMIN (ver SecurityConfig): búsqueda de soporte por estado y rango de fechas; from/to en ISO
+	@GetMapping("/search")
+	public ResponseEntity<OrderOrderServiceDtoCollectionResponse> search(
+			@RequestParam("status") final String status,
+			@RequestParam("from") final String from,
+			@RequestParam("to") final String to,
+			@RequestParam(value = "cursor", required = false) final Integer cursor,
+			@RequestParam(value = "limit", required = false) final Integer limit) {
+		return ResponseEntity.ok(this.orderClientService.search(status, from, to, cursor, limit).getBody());
+	}
+
+	// Solo ADMIN (ver SecurityConfig): rollups por hora o día para los dashboards; from/to en ISO
+	@GetMapping("/stats")
+	public ResponseEntity<OrderStatsOrderServiceDtoCollectionResponse> findStats(
+			@RequestParam("from") final String from,
+			@RequestParam("to") final String to,
+			@RequestParam(value = "granularity", required = false) final String granularity) {
+		return ResponseEntity.ok(this.orderClientService.findStats(from, to, granularity).getBody());
+	}
+
+	// Historial del cliente desde el read model order_view: solo el propio usuario o ADMIN
+	@GetMapping("/view")
+	public ResponseEntity<OrderViewOrderServiceDtoCollectionResponse> findViewsByUserId(
+			@RequestParam("userId") final Integer userId,
+			@RequestParam(value = "after", required = false) final Integer after,
+			@RequestParam(value = "limit", required = false) final Integer limit,
+			HttpServletRequest request, @AuthenticationPrincipal UserDetails userDetails) {
+		authUtil.canActivate(request, userId.toString(), userDetails);
+		return ResponseEntity.ok(this.orderClientService.findViewsByUserId(userId, after, limit).getBody());
 	}
 
 	@GetMapping("/{orderId}")
@@ -52,11 +93,12 @@ public class OrderController {
 
 	@PostMapping
 	public ResponseEntity<OrderDto> save(
+			@RequestHeader(value = "Idempotency-Key", required = false) final String idempotencyKey,
 			@RequestBody @NotNull(message = "Input must not be NULL!") @Valid final OrderDto orderDto,
 			HttpServletRequest request, @AuthenticationPrincipal UserDetails userDetails) {
 		String userId = authUtil.getOwner(orderDto.getCartDto().getCartId().toString(), ResourceType.CARTS);
 		authUtil.canActivate(request, userId, userDetails);
-		return ResponseEntity.ok(this.orderClientService.save(orderDto).getBody());
+		return ResponseEntity.ok(this.orderClientService.save(idempotencyKey, orderDto).getBody());
 	}
 
 	@PatchMapping("/{orderId}/status")
@@ -66,6 +108,13 @@ public class OrderController {
 		return ResponseEntity.ok(this.orderClientService.updateStatus(orderId).getBody());
 	}
 
+	// Solo ADMIN (ver SecurityConfig): transición masiva para procesos de back-office
+	@PatchMapping("/status")
+	public ResponseEntity<List<OrderStatusTransitionResultDto>> updateStatuses(
+			@RequestBody @NotNull(message = "Input must not be NULL!") @Valid final OrderStatusBulkTransitionDto transition) {
+		return ResponseEntity.ok(this.orderClientService.updateStatuses(transition).getBody());
+	}
+
 	@PutMapping("/{orderId}")
 	public ResponseEntity<OrderDto> update(
 			@PathVariable("orderId") @NotBlank(message = "Input must not be blank!") @Valid final String orderId,
@@ -81,6 +130,7 @@ public class OrderController {
 		String userId = authUtil.getOwner(orderId, ResourceType.ORDERS);
 		authUtil.canActivate(request, userId, userDetails);
 		this.orderClientService.deleteById(orderId).getBody();
+		authUtil.evictOwner(orderId, ResourceType.ORDERS);
 		return ResponseEntity.ok(true);
 	}
 
@@ -0,0 +1,22 @@
+package com.selimhorri.app.business.order.model;
+
+import java.io.Serializable;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public class OrderStatusBulkTransitionDto implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	private List<Integer> orderIds;
+	private String expectedStatus;
+
+}
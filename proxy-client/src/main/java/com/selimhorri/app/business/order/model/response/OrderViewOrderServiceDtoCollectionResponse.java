@@ -0,0 +1,27 @@
+package com.selimhorri.app.business.order.model.response;
+
+import java.io.Serializable;
+import java.util.Collection;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import com.selimhorri.app.business.order.model.OrderViewDto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public class OrderViewOrderServiceDtoCollectionResponse implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	private Collection<OrderViewDto> collection;
+	
+	@JsonInclude(Include.NON_NULL)
+	private Integer nextCursor;
+	
+}
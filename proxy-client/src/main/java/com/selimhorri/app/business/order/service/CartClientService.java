@@ -12,6 +12,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 
 import com.selimhorri.app.business.order.model.CartDto;
 import com.selimhorri.app.business.order.model.response.CartOrderServiceDtoCollectionResponse;
@@ -20,7 +21,9 @@ import com.selimhorri.app.business.order.model.response.CartOrderServiceDtoColle
 public interface CartClientService {
 	
 	@GetMapping
-	public ResponseEntity<CartOrderServiceDtoCollectionResponse> findAll();
+	public ResponseEntity<CartOrderServiceDtoCollectionResponse> findAll(
+			@RequestParam(value = "after", required = false) final Integer after,
+			@RequestParam(value = "limit", required = false) final Integer limit);
 	
 	@GetMapping("/{cartId}")
 	public ResponseEntity<CartDto> findById(
@@ -28,6 +31,12 @@ public interface CartClientService {
 			@NotBlank(message = "Input must not be blank!") 
 			@Valid final String cartId);
 	
+	@GetMapping("/user/{userId}/active")
+	public ResponseEntity<CartDto> findActiveByUserId(
+			@PathVariable("userId") 
+			@NotBlank(message = "Input must not be blank!") 
+			@Valid final String userId);
+	
 	@PostMapping
 	public ResponseEntity<CartDto> save(
 			@RequestBody 
@@ -1,5 +1,7 @@
 package com.selimhorri.app.business.order.service;
 
+import java.util.List;
+
 import javax.validation.Valid;
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
@@ -13,15 +15,43 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
 
 import com.selimhorri.app.business.order.model.OrderDto;
+import com.selimhorri.app.business.order.model.OrderStatusBulkTransitionDto;
+import com.selimhorri.app.business.order.model.OrderStatusTransitionResultDto;
 import com.selimhorri.app.business.order.model.response.OrderOrderServiceDtoCollectionResponse;
+import com.selimhorri.app.business.order.model.response.OrderStatsOrderServiceDtoCollectionResponse;
+import com.selimhorri.app.business.order.model.response.OrderViewOrderServiceDtoCollectionResponse;
 
 @FeignClient(name = "ORDER-SERVICE", contextId = "orderClientService", path = "/order-service/api/orders")
 public interface OrderClientService {
 	
 	@GetMapping
-	public ResponseEntity<OrderOrderServiceDtoCollectionResponse> findAll();
+	public ResponseEntity<OrderOrderServiceDtoCollectionResponse> findAll(
+			@RequestParam(value = "after", required = false) final Integer after,
+			@RequestParam(value = "limit", required = false) final Integer limit);
+	
+	@GetMapping("/search")
+	public ResponseEntity<OrderOrderServiceDtoCollectionResponse> search(
+			@RequestParam("status") final String status,
+			@RequestParam("from") final String from,
+			@RequestParam("to") final String to,
+			@RequestParam(value = "cursor", required = false) final Integer cursor,
+			@RequestParam(value = "limit", required = false) final Integer limit);
+	
+	@GetMapping("/stats")
+	public ResponseEntity<OrderStatsOrderServiceDtoCollectionResponse> findStats(
+			@RequestParam("from") final String from,
+			@RequestParam("to") final String to,
+			@RequestParam(value = "granularity", required = false) final String granularity);
+	
+	@GetMapping("/view")
+	public ResponseEntity<OrderViewOrderServiceDtoCollectionResponse> findViewsByUserId(
+			@RequestParam("userId") final Integer userId,
+			@RequestParam(value = "after", required = false) final Integer after,
+			@RequestParam(value = "limit", required = false) final Integer limit);
 	
 	@GetMapping("/{orderId}")
 	public ResponseEntity<OrderDto> findById(
@@ -31,6 +61,7 @@ public interface OrderClientService {
 	
 	@PostMapping
 	public ResponseEntity<OrderDto> save(
+			@RequestHeader(value = "Idempotency-Key", required = false) final String idempotencyKey,
 			@RequestBody 
 			@NotNull(message = "Input must not be NULL!") 
 			@Valid final OrderDto orderDto);
@@ -38,7 +69,12 @@ public interface OrderClientService {
 	@PatchMapping("/{orderId}/status")
 	public ResponseEntity<OrderDto> updateStatus(
 			@PathVariable("orderId") @NotBlank(message = "Input must not be blank") @Valid final int orderId);
-
+	
+	@PatchMapping("/status")
+	public ResponseEntity<List<OrderStatusTransitionResultDto>> updateStatuses(
+			@RequestBody 
+			@NotNull(message = "Input must not be NULL!") 
+			@Valid final OrderStatusBulkTransitionDto transition);
 	
 	@PutMapping("/{orderId}")
 	public ResponseEntity<OrderDto> update(
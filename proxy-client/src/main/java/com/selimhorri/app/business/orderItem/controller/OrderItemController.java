@@ -12,6 +12,7 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -49,11 +50,13 @@ public class OrderItemController {
 	}
 
 	@PostMapping
-	public ResponseEntity<OrderItemDto> save(@RequestBody final OrderItemDto orderItemDto, HttpServletRequest request,
+	public ResponseEntity<OrderItemDto> save(
+			@RequestHeader(value = "Idempotency-Key", required = false) final String idempotencyKey,
+			@RequestBody final OrderItemDto orderItemDto, HttpServletRequest request,
 			@AuthenticationPrincipal UserDetails userDetails) {
 		String userId = authUtil.getOwner(orderItemDto.getOrderId().toString(), ResourceType.ORDERS);
 		authUtil.canActivate(request, userId, userDetails);
-		return ResponseEntity.ok(this.orderItemClientService.save(orderItemDto).getBody());
+		return ResponseEntity.ok(this.orderItemClientService.save(idempotencyKey, orderItemDto).getBody());
 	}
 
 	@DeleteMapping("/{orderId}")
@@ -11,6 +11,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 
 import com.selimhorri.app.business.orderItem.model.OrderItemDto;
 import com.selimhorri.app.business.orderItem.model.OrderItemId;
@@ -29,6 +30,7 @@ public interface OrderItemClientService {
 	
 	@PostMapping
 	ResponseEntity<OrderItemDto> save(
+			@RequestHeader(value = "Idempotency-Key", required = false) final String idempotencyKey,
 			@RequestBody 
 			@NotNull(message = "Input must not be NULL") 
 			@Valid final OrderItemDto orderItemDto);
@@ -14,7 +14,9 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.selimhorri.app.business.auth.enums.ResourceType;
@@ -35,8 +37,10 @@ public class PaymentController {
 	private final PaymentClientService paymentClientService;
 
 	@GetMapping
-	public ResponseEntity<PaymentPaymentServiceDtoCollectionResponse> findAll() {
-		return ResponseEntity.ok(this.paymentClientService.findAll().getBody());
+	public ResponseEntity<PaymentPaymentServiceDtoCollectionResponse> findAll(
+			@RequestParam(value = "after", required = false) final Integer after,
+			@RequestParam(value = "limit", required = false) final Integer limit) {
+		return ResponseEntity.ok(this.paymentClientService.findAll(after, limit).getBody());
 	}
 
 	@GetMapping("/{paymentId}")
@@ -48,11 +52,13 @@ public class PaymentController {
 	}
 
 	@PostMapping
-	public ResponseEntity<PaymentDto> save(@RequestBody final PaymentDto paymentDto, HttpServletRequest request,
+	public ResponseEntity<PaymentDto> save(
+			@RequestHeader(value = "Idempotency-Key", required = false) final String idempotencyKey,
+			@RequestBody final PaymentDto paymentDto, HttpServletRequest request,
 			@AuthenticationPrincipal UserDetails userDetails) {
 		String userId = authUtil.getOwner(paymentDto.getOrderDto().getOrderId().toString(), ResourceType.ORDERS);
 		authUtil.canActivate(request, userId, userDetails);
-		return ResponseEntity.ok(this.paymentClientService.save(paymentDto).getBody());
+		return ResponseEntity.ok(this.paymentClientService.save(idempotencyKey, paymentDto).getBody());
 	}
 
 	@PutMapping("/{paymentId}")
@@ -65,7 +71,9 @@ public class PaymentController {
 	public ResponseEntity<Boolean> deleteById(@PathVariable("paymentId") final String paymentId, HttpServletRequest request, @AuthenticationPrincipal UserDetails userDetails) {
 		String userId = authUtil.getOwner(paymentId, ResourceType.PAYMENTS);
 		authUtil.canActivate(request, userId, userDetails);
-		return ResponseEntity.ok(this.paymentClientService.deleteById(paymentId).getBody());
+		final Boolean deleted = this.paymentClientService.deleteById(paymentId).getBody();
+		authUtil.evictOwner(paymentId, ResourceType.PAYMENTS);
+		return ResponseEntity.ok(deleted);
 	}
 
 }
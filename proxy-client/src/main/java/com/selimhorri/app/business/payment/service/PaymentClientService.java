@@ -13,6 +13,8 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
 
 import com.selimhorri.app.business.payment.model.PaymentDto;
 import com.selimhorri.app.business.payment.model.response.PaymentPaymentServiceDtoCollectionResponse;
@@ -21,7 +23,9 @@ import com.selimhorri.app.business.payment.model.response.PaymentPaymentServiceD
 public interface PaymentClientService {
 
 	@GetMapping
-	public ResponseEntity<PaymentPaymentServiceDtoCollectionResponse> findAll();
+	public ResponseEntity<PaymentPaymentServiceDtoCollectionResponse> findAll(
+			@RequestParam(value = "after", required = false) final Integer after,
+			@RequestParam(value = "limit", required = false) final Integer limit);
 
 	@GetMapping("/{paymentId}")
 	public ResponseEntity<PaymentDto> findById(
@@ -29,6 +33,7 @@ public interface PaymentClientService {
 
 	@PostMapping
 	public ResponseEntity<PaymentDto> save(
+			@RequestHeader(value = "Idempotency-Key", required = false) final String idempotencyKey,
 			@RequestBody @NotNull(message = "Input must not be NULL!") @Valid final PaymentDto paymentDto);
 
 	@PutMapping("/{paymentId}")
@@ -12,6 +12,7 @@ import org.springframework.web.bind.annotation.RestController;
 
 import com.selimhorri.app.business.product.model.CategoryDto;
 import com.selimhorri.app.business.product.model.response.CategoryProductServiceCollectionDtoResponse;
+import com.selimhorri.app.business.product.model.response.CategoryTreeProductServiceCollectionDtoResponse;
 import com.selimhorri.app.business.product.service.CategoryClientService;
 
 import lombok.RequiredArgsConstructor;
@@ -28,6 +29,11 @@ public class CategoryController {
 		return ResponseEntity.ok(this.categoryClientService.findAll().getBody());
 	}
 	
+	@GetMapping("/tree")
+	public ResponseEntity<CategoryTreeProductServiceCollectionDtoResponse> findTree() {
+		return ResponseEntity.ok(this.categoryClientService.findTree().getBody());
+	}
+	
 	@GetMapping("/{categoryId}")
 	public ResponseEntity<CategoryDto> findById(@PathVariable("categoryId") final String categoryId) {
 		return ResponseEntity.ok(this.categoryClientService.findById(categoryId).getBody());
@@ -8,6 +8,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.selimhorri.app.business.product.model.ProductDto;
@@ -24,8 +25,17 @@ public class ProductController {
 	private final ProductClientService productClientService;
 	
 	@GetMapping
-	public ResponseEntity<ProductProductServiceCollectionDtoResponse> findAll() {
-		return ResponseEntity.ok(this.productClientService.findAll().getBody());
+	public ResponseEntity<ProductProductServiceCollectionDtoResponse> findAll(
+			@RequestParam(value = "after", required = false) final Integer after,
+			@RequestParam(value = "limit", required = false) final Integer limit) {
+		return ResponseEntity.ok(this.productClientService.findAll(after, limit).getBody());
+	}
+	
+	@GetMapping("/search")
+	public ResponseEntity<ProductProductServiceCollectionDtoResponse> search(
+			@RequestParam("q") final String query,
+			@RequestParam(value = "limit", required = false) final Integer limit) {
+		return ResponseEntity.ok(this.productClientService.search(query, limit).getBody());
 	}
 	
 	@GetMapping("/{productId}")
@@ -0,0 +1,34 @@
+package com.selimhorri.app.business.product.model;
+
+import java.io.Serializable;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public class CategoryTreeNodeDto implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	
+	private Integer categoryId;
+	private Integer parentCategoryId;
+	private String categoryTitle;
+	private String imageUrl;
+	private String path;
+	private Integer depth;
+	private Long productCount;
+	private Long totalProductCount;
+	
+	@JsonInclude(Include.NON_EMPTY)
+	private List<CategoryTreeNodeDto> children;
+	
+}
@@ -15,6 +15,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 
 import com.selimhorri.app.business.product.model.CategoryDto;
 import com.selimhorri.app.business.product.model.response.CategoryProductServiceCollectionDtoResponse;
+import com.selimhorri.app.business.product.model.response.CategoryTreeProductServiceCollectionDtoResponse;
 
 @FeignClient(name = "PRODUCT-SERVICE", contextId = "categoryClientService", path = "/product-service/api/categories")
 public interface CategoryClientService {
@@ -22,6 +23,9 @@ public interface CategoryClientService {
 	@GetMapping
 	ResponseEntity<CategoryProductServiceCollectionDtoResponse> findAll();
 	
+	@GetMapping("/tree")
+	ResponseEntity<CategoryTreeProductServiceCollectionDtoResponse> findTree();
+	
 	@GetMapping("/{categoryId}")
 	ResponseEntity<CategoryDto> findById(
 			@PathVariable("categoryId") 
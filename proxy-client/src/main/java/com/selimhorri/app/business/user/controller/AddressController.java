@@ -13,6 +13,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.selimhorri.app.business.auth.enums.ResourceType;
@@ -32,8 +33,10 @@ public class AddressController {
 	private final AddressClientService addressClientService;
 
 	@GetMapping
-	public ResponseEntity<AddressUserServiceCollectionDtoResponse> findAll() {
-		return ResponseEntity.ok(this.addressClientService.findAll().getBody());
+	public ResponseEntity<AddressUserServiceCollectionDtoResponse> findAll(
+			@RequestParam(value = "after", required = false) final Integer after,
+			@RequestParam(value = "limit", required = false) final Integer limit) {
+		return ResponseEntity.ok(this.addressClientService.findAll(after, limit).getBody());
 	}
 
 	@GetMapping("/{addressId}")
@@ -57,7 +60,9 @@ public class AddressController {
 			@AuthenticationPrincipal UserDetails userDetails) {
 		String userId = authUtil.getOwner(addressId, ResourceType.ADDRESSES);
 		authUtil.canActivate(request, userId, userDetails);
-		return ResponseEntity.ok(this.addressClientService.update(addressId, addressDto).getBody());
+		final AddressDto updated = this.addressClientService.update(addressId, addressDto).getBody();
+		authUtil.evictOwner(addressId, ResourceType.ADDRESSES);
+		return ResponseEntity.ok(updated);
 	}
 
 	@DeleteMapping("/{addressId}")
@@ -65,7 +70,9 @@ public class AddressController {
 			@AuthenticationPrincipal UserDetails userDetails) {
 		String userId = authUtil.getOwner(addressId, ResourceType.ADDRESSES);
 		authUtil.canActivate(request, userId, userDetails);
-		return ResponseEntity.ok(this.addressClientService.deleteById(addressId).getBody());
+		final Boolean deleted = this.addressClientService.deleteById(addressId).getBody();
+		authUtil.evictOwner(addressId, ResourceType.ADDRESSES);
+		return ResponseEntity.ok(deleted);
 	}
 
 }
@@ -17,6 +17,7 @@ import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.client.RestTemplate;
 
 import com.selimhorri.app.business.auth.enums.ResourceType;
+import com.selimhorri.app.business.auth.service.CredentialCacheService;
 import com.selimhorri.app.business.auth.util.AuthUtil;
 import com.selimhorri.app.business.user.model.CredentialDto;
 import com.selimhorri.app.business.user.model.response.CredentialUserServiceCollectionDtoResponse;
@@ -32,6 +33,7 @@ public class CredentialController {
 	@Autowired
 	private AuthUtil authUtil;
 	private final CredentialClientService credentialClientService;
+	private final CredentialCacheService credentialCacheService;
 
 	@GetMapping
 	public ResponseEntity<CredentialUserServiceCollectionDtoResponse> findAll() {
@@ -78,7 +80,12 @@ public class CredentialController {
 			@AuthenticationPrincipal UserDetails userDetails) {
 		String userId = authUtil.getOwner(credentialId, ResourceType.CREDENTIALS);
 		authUtil.canActivate(request, userId, userDetails);
-		return ResponseEntity.ok(this.credentialClientService.deleteById(credentialId).getBody());
+		final CredentialDto credentialDto = this.credentialClientService.findById(credentialId).getBody();
+		final Boolean deleted = this.credentialClientService.deleteById(credentialId).getBody();
+		authUtil.evictOwner(credentialId, ResourceType.CREDENTIALS);
+		if (credentialDto != null)
+			this.credentialCacheService.revoke(credentialDto.getUsername());
+		return ResponseEntity.ok(deleted);
 	}
 
 }
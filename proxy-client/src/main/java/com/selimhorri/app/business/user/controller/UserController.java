@@ -13,8 +13,10 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.selimhorri.app.business.auth.service.CredentialCacheService;
 import com.selimhorri.app.business.auth.util.AuthUtil;
 import com.selimhorri.app.business.user.model.UserDto;
 import com.selimhorri.app.business.user.model.response.UserUserServiceCollectionDtoResponse;
@@ -30,10 +32,13 @@ public class UserController {
 	@Autowired
 	private AuthUtil authUtil;
 	private final UserClientService userClientService;
+	private final CredentialCacheService credentialCacheService;
 
 	@GetMapping
-	public ResponseEntity<UserUserServiceCollectionDtoResponse> findAll() {
-		return ResponseEntity.ok(this.userClientService.findAll().getBody());
+	public ResponseEntity<UserUserServiceCollectionDtoResponse> findAll(
+			@RequestParam(value = "after", required = false) final Integer after,
+			@RequestParam(value = "limit", required = false) final Integer limit) {
+		return ResponseEntity.ok(this.userClientService.findAll(after, limit).getBody());
 	}
 
 	@GetMapping("/{userId}")
@@ -65,7 +70,11 @@ public class UserController {
 	public ResponseEntity<Boolean> deleteById(@PathVariable("userId") final String userId, HttpServletRequest request,
 			@AuthenticationPrincipal UserDetails userDetails) {
 		authUtil.canActivate(request, userId, userDetails);
-		return ResponseEntity.ok(this.userClientService.deleteById(userId).getBody());
+		final UserDto userDto = this.userClientService.findById(userId).getBody();
+		final Boolean deleted = this.userClientService.deleteById(userId).getBody();
+		if (userDto != null && userDto.getCredentialDto() != null)
+			this.credentialCacheService.revoke(userDto.getCredentialDto().getUsername());
+		return ResponseEntity.ok(deleted);
 	}
 
 }
@@ -12,6 +12,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 
 import com.selimhorri.app.business.user.model.AddressDto;
 import com.selimhorri.app.business.user.model.response.AddressUserServiceCollectionDtoResponse;
@@ -20,7 +21,9 @@ import com.selimhorri.app.business.user.model.response.AddressUserServiceCollect
 public interface AddressClientService {
 	
 	@GetMapping
-	ResponseEntity<AddressUserServiceCollectionDtoResponse> findAll();
+	ResponseEntity<AddressUserServiceCollectionDtoResponse> findAll(
+			@RequestParam(value = "after", required = false) final Integer after,
+			@RequestParam(value = "limit", required = false) final Integer limit);
 	
 	@GetMapping("/{addressId}")
 	ResponseEntity<AddressDto> findById(
@@ -1,5 +1,12 @@
 package com.selimhorri.app.config.encoder;
 
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
@@ -13,14 +20,26 @@ public class EncoderConfig {
 		return new BCryptPasswordEncoder();
 	}
 	
+	/**
+	 * Dedicated pool for BCrypt checks on login: bursts queue here (and are rejected
+	 * once the queue is full) instead of pinning every Tomcat request thread on hashing.
+	 */
+	@Bean(name = "passwordHashExecutor", destroyMethod = "shutdown")
+	public ExecutorService passwordHashExecutor(
+			@Value("${app.security.password-hash.pool-size:0}") final int poolSize,
+			@Value("${app.security.password-hash.queue-capacity:200}") final int queueCapacity) {
+		final int threads = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+		final AtomicInteger sequence = new AtomicInteger();
+		return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>(queueCapacity),
+				runnable -> {
+					final Thread thread = new Thread(runnable, "password-hash-" + sequence.incrementAndGet());
+					thread.setDaemon(true);
+					return thread;
+				},
+				new ThreadPoolExecutor.AbortPolicy());
+	}
+	
 	
 	
 }
-
-
-
-
-
-
-
-
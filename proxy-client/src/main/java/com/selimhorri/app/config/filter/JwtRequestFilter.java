@@ -7,6 +7,7 @@ import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -15,6 +16,7 @@ import org.springframework.security.web.authentication.WebAuthenticationDetailsS
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
+import com.selimhorri.app.business.auth.service.CredentialCacheService;
 import com.selimhorri.app.jwt.service.JwtService;
 
 import lombok.RequiredArgsConstructor;
@@ -26,8 +28,12 @@ import lombok.extern.slf4j.Slf4j;
 public class JwtRequestFilter extends OncePerRequestFilter {
 
 	private final UserDetailsService userDetailsService;
+	private final CredentialCacheService credentialCacheService;
 	private final JwtService jwtService;
 
+	@Value("${app.security.credential-check.enabled:false}")
+	private boolean credentialCheckEnabled;
+
 	@Override
 	protected void doFilterInternal(final HttpServletRequest request, final HttpServletResponse response,
 			final FilterChain filterChain)
@@ -47,9 +53,10 @@ public class JwtRequestFilter extends OncePerRequestFilter {
 
 		if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
 
-			final UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
+			final UserDetails userDetails = this.resolveUserDetails(jwt, username);
 
-			if (this.jwtService.validateToken(jwt, userDetails)) {
+			if (userDetails.isEnabled() && userDetails.isAccountNonLocked()
+					&& this.jwtService.validateToken(jwt, userDetails)) {
 				final String userId = jwtService.extractUserId(jwt);
 
 				final UsernamePasswordAuthenticationToken usernamePasswordAuthenticationToken = new UsernamePasswordAuthenticationToken(
@@ -57,7 +64,6 @@ public class JwtRequestFilter extends OncePerRequestFilter {
 
 				usernamePasswordAuthenticationToken
 						.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-				System.out.println("ID EN CADENA "+userId);
 				request.setAttribute("userId", userId);
 
 				SecurityContextHolder.getContext().setAuthentication(usernamePasswordAuthenticationToken);
@@ -69,4 +75,18 @@ public class JwtRequestFilter extends OncePerRequestFilter {
 		log.info("**Jwt request filtered!*\n");
 	}
 
+	/**
+	 * Builds the principal from the token claims. Tokens issued before role and flags
+	 * were embedded fall back to user-service; deployments that must re-check account
+	 * state on every request go through the short-TTL credential cache instead.
+	 */
+	private UserDetails resolveUserDetails(final String jwt, final String username) {
+		final UserDetails fromClaims = this.jwtService.extractUserDetails(jwt);
+		if (fromClaims == null)
+			return this.userDetailsService.loadUserByUsername(username);
+		if (this.credentialCheckEnabled)
+			return this.credentialCacheService.loadUserByUsername(username);
+		return fromClaims;
+	}
+
 }
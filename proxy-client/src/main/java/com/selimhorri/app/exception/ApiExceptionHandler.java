@@ -12,6 +12,7 @@ import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 
 import com.selimhorri.app.exception.payload.ExceptionMsg;
+import com.selimhorri.app.exception.wrapper.AuthenticationBusyException;
 import com.selimhorri.app.exception.wrapper.CredentialNotFoundException;
 import com.selimhorri.app.exception.wrapper.FavouriteNotFoundException;
 import com.selimhorri.app.exception.wrapper.UnauthorizedException;
@@ -86,6 +87,24 @@ public class ApiExceptionHandler {
 				badRequest);
 	}
 
+	@ExceptionHandler(value = {
+			AuthenticationBusyException.class
+	})
+	public <T extends RuntimeException> ResponseEntity<ExceptionMsg> handleBusyException(final T e) {
+
+		log.info("**ApiExceptionHandler controller, handle busy authentication*\n");
+		final var serviceUnavailable = HttpStatus.SERVICE_UNAVAILABLE;
+
+		return new ResponseEntity<>(
+				ExceptionMsg.builder()
+						.msg(e.getMessage())
+						.httpStatus(serviceUnavailable)
+						.timestamp(ZonedDateTime
+								.now(ZoneId.systemDefault()))
+						.build(),
+				serviceUnavailable);
+	}
+
 	@ExceptionHandler(value = {
 			UserObjectNotFoundException.class,
 			CredentialNotFoundException.class,
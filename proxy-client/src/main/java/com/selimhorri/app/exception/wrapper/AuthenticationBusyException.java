@@ -0,0 +1,25 @@
+package com.selimhorri.app.exception.wrapper;
+
+public class AuthenticationBusyException extends RuntimeException {
+	
+	private static final long serialVersionUID = 1L;
+	
+	public AuthenticationBusyException() {
+		super();
+	}
+	
+	public AuthenticationBusyException(String message, Throwable cause) {
+		super(message, cause);
+	}
+	
+	public AuthenticationBusyException(String message) {
+		super(message);
+	}
+	
+	public AuthenticationBusyException(Throwable cause) {
+		super(cause);
+	}
+	
+	
+	
+}
\ No newline at end of file
@@ -11,6 +11,7 @@ public interface JwtService {
 	
 	String extractUsername(final String token);
 	String extractUserId(final String token);
+	UserDetails extractUserDetails(final String token);
 	Date extractExpiration(final String token);
 	<T> T extractClaims(final String token, final Function<Claims, T> claimsResolver);
 	String generateToken(final UserDetails userDetails, final String userId);
@@ -50,6 +50,12 @@ public class JwtServiceImpl implements JwtService {
 		return this.jwtUtil.validateToken(token, userDetails);
 	}
 
+	@Override
+	public UserDetails extractUserDetails(final String token) {
+		log.info("**UserDetails, jwt service extract userDetails from given token claims!*");
+		return this.jwtUtil.extractUserDetails(token);
+	}
+
 	@Override
 	public String extractUserId(String token) {
 		// TODO Auto-generated method stub
@@ -11,6 +11,7 @@ public interface JwtUtil {
 
 	String extractUserId(final String token);
 	String extractUsername(final String token);
+	UserDetails extractUserDetails(final String token);
 
 	Date extractExpiration(final String token);
 
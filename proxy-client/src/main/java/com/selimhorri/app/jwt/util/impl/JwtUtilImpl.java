@@ -1,24 +1,58 @@
 package com.selimhorri.app.jwt.util.impl;
 
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 
+import javax.crypto.spec.SecretKeySpec;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
+import com.selimhorri.app.business.user.model.CredentialDto;
+import com.selimhorri.app.business.user.model.RoleBasedAuthority;
+import com.selimhorri.app.business.user.model.UserDetailsImpl;
 import com.selimhorri.app.jwt.util.JwtUtil;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.impl.TextCodec;
 
 @Component
 public class JwtUtilImpl implements JwtUtil {
 
-	@org.springframework.beans.factory.annotation.Value("${jwt.secret:secret}")
-	private String secretKey;
+	private static final String CLAIM_USER_ID = "userId";
+	private static final String CLAIM_ROLE = "role";
+	private static final String CLAIM_ENABLED = "enabled";
+	private static final String CLAIM_ACCOUNT_NON_EXPIRED = "accountNonExpired";
+	private static final String CLAIM_ACCOUNT_NON_LOCKED = "accountNonLocked";
+	private static final String CLAIM_CREDENTIALS_NON_EXPIRED = "credentialsNonExpired";
+
+	private final Key signingKey;
+	private final JwtParser parser;
+	private final int claimsCacheMaxSize;
+	// Claims ya verificados, indexados por el SHA-256 del token
+	private final Map<String, Claims> verifiedClaims = new ConcurrentHashMap<>();
+
+	public JwtUtilImpl(@Value("${jwt.secret:secret}") final String secretKey,
+			@Value("${jwt.claims-cache.max-size:10000}") final int claimsCacheMaxSize) {
+		// Same key material as setSigningKey(String): the secret is read as base64
+		this.signingKey = new SecretKeySpec(TextCodec.BASE64.decode(secretKey),
+				SignatureAlgorithm.HS256.getJcaName());
+		this.parser = Jwts.parser().setSigningKey(this.signingKey);
+		this.claimsCacheMaxSize = claimsCacheMaxSize;
+	}
 
 	@Override
 	public String extractUsername(final String token) {
@@ -36,18 +70,57 @@ public class JwtUtilImpl implements JwtUtil {
 		return claimsResolver.apply(claims);
 	}
 
+	/**
+	 * Verifies the signature at most once per distinct token: verified claims are kept
+	 * until the token expires, an expired entry is dropped and re-parsed so the parser
+	 * raises the usual ExpiredJwtException.
+	 */
 	private Claims extractAllClaims(final String token) {
-		return Jwts.parser().setSigningKey(this.secretKey).parseClaimsJws(token).getBody();
+		final String digest = digest(token);
+		final Claims cached = this.verifiedClaims.get(digest);
+		if (cached != null) {
+			if (!isExpired(cached))
+				return cached;
+			this.verifiedClaims.remove(digest);
+		}
+
+		final Claims claims = this.parser.parseClaimsJws(token).getBody();
+		if (this.verifiedClaims.size() >= this.claimsCacheMaxSize) {
+			this.verifiedClaims.values().removeIf(JwtUtilImpl::isExpired);
+			if (this.verifiedClaims.size() >= this.claimsCacheMaxSize)
+				this.verifiedClaims.clear();
+		}
+		this.verifiedClaims.put(digest, claims);
+		return claims;
 	}
 
-	private Boolean isTokenExpired(final String token) {
-		return this.extractExpiration(token).before(new Date());
+	private static boolean isExpired(final Claims claims) {
+		return claims.getExpiration() != null && claims.getExpiration().before(new Date());
+	}
+
+	private static String digest(final String token) {
+		try {
+			return Base64.getEncoder().encodeToString(
+					MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8)));
+		}
+		catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
 	}
 
 	@Override
 	public String generateToken(final UserDetails userDetails, final String userId) {
 		final Map<String, Object> claims = new HashMap<>();
-		claims.put("userId", userId);
+		claims.put(CLAIM_USER_ID, userId);
+		// Role and account flags travel with the token so the filter does not need user-service
+		userDetails.getAuthorities().stream()
+				.map(GrantedAuthority::getAuthority)
+				.findFirst()
+				.ifPresent(role -> claims.put(CLAIM_ROLE, role));
+		claims.put(CLAIM_ENABLED, userDetails.isEnabled());
+		claims.put(CLAIM_ACCOUNT_NON_EXPIRED, userDetails.isAccountNonExpired());
+		claims.put(CLAIM_ACCOUNT_NON_LOCKED, userDetails.isAccountNonLocked());
+		claims.put(CLAIM_CREDENTIALS_NON_EXPIRED, userDetails.isCredentialsNonExpired());
 		return this.createToken(claims, userDetails.getUsername());
 	}
 
@@ -57,19 +130,35 @@ public class JwtUtilImpl implements JwtUtil {
 				.setSubject(subject)
 				.setIssuedAt(new Date(System.currentTimeMillis()))
 				.setExpiration(new Date(System.currentTimeMillis() + 1000 * 60 * 60 * 10))
-				.signWith(SignatureAlgorithm.HS256, this.secretKey)
+				.signWith(SignatureAlgorithm.HS256, this.signingKey)
 				.compact();
 	}
 
 	@Override
 	public Boolean validateToken(final String token, final UserDetails userDetails) {
-		final String username = this.extractUsername(token);
-		return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+		final Claims claims = this.extractAllClaims(token);
+		return (claims.getSubject().equals(userDetails.getUsername()) && !isExpired(claims));
 	}
 
 	@Override
 	public String extractUserId(final String token) {
-		return extractClaims(token, claims -> claims.get("userId", String.class));
+		return extractClaims(token, claims -> claims.get(CLAIM_USER_ID, String.class));
+	}
+
+	@Override
+	public UserDetails extractUserDetails(final String token) {
+		final Claims claims = this.extractAllClaims(token);
+		final String role = claims.get(CLAIM_ROLE, String.class);
+		if (role == null)
+			return null; // token emitido antes de incluir rol y flags
+		return new UserDetailsImpl(CredentialDto.builder()
+				.username(claims.getSubject())
+				.roleBasedAuthority(RoleBasedAuthority.valueOf(role))
+				.isEnabled(claims.get(CLAIM_ENABLED, Boolean.class))
+				.isAccountNonExpired(claims.get(CLAIM_ACCOUNT_NON_EXPIRED, Boolean.class))
+				.isAccountNonLocked(claims.get(CLAIM_ACCOUNT_NON_LOCKED, Boolean.class))
+				.isCredentialsNonExpired(claims.get(CLAIM_CREDENTIALS_NON_EXPIRED, Boolean.class))
+				.build());
 	}
 
 }
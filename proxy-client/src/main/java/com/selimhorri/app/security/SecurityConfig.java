@@ -124,6 +124,9 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
 				.antMatchers(HttpMethod.GET, "/api/carts/*")
 				.hasAnyRole(RoleBasedAuthority.ROLE_ADMIN.getRole(), RoleBasedAuthority.ROLE_USER.getRole())
 
+				.antMatchers(HttpMethod.GET, "/api/carts/user/*/active")
+				.hasAnyRole(RoleBasedAuthority.ROLE_ADMIN.getRole(), RoleBasedAuthority.ROLE_USER.getRole())
+
 				.antMatchers(HttpMethod.POST, "/api/carts")
 				.hasAnyRole(RoleBasedAuthority.ROLE_ADMIN.getRole(), RoleBasedAuthority.ROLE_USER.getRole())
 
@@ -133,6 +136,10 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
 				// Order resource
 				.antMatchers(HttpMethod.GET, "/api/orders").hasRole(RoleBasedAuthority.ROLE_ADMIN.getRole())
 
+				.antMatchers(HttpMethod.GET, "/api/orders/stats").hasRole(RoleBasedAuthority.ROLE_ADMIN.getRole())
+
+				.antMatchers(HttpMethod.GET, "/api/orders/search").hasRole(RoleBasedAuthority.ROLE_ADMIN.getRole())
+
 				.antMatchers(HttpMethod.GET, "/api/orders/*")
 				.hasAnyRole(RoleBasedAuthority.ROLE_ADMIN.getRole(), RoleBasedAuthority.ROLE_USER.getRole())
 
@@ -142,6 +149,9 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
 				.antMatchers(HttpMethod.PATCH, "/api/orders/*/status")
 				.hasRole(RoleBasedAuthority.ROLE_ADMIN.getRole())
 
+				.antMatchers(HttpMethod.PATCH, "/api/orders/status")
+				.hasRole(RoleBasedAuthority.ROLE_ADMIN.getRole())
+
 				.antMatchers(HttpMethod.PUT, "/api/orders/*")
 				.hasAnyRole(RoleBasedAuthority.ROLE_ADMIN.getRole(), RoleBasedAuthority.ROLE_USER.getRole())
 
@@ -0,0 +1,93 @@
+package com.selimhorri.app.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import com.selimhorri.app.business.user.model.CredentialDto;
+import com.selimhorri.app.business.user.model.RoleBasedAuthority;
+import com.selimhorri.app.business.user.model.UserDetailsImpl;
+import com.selimhorri.app.jwt.util.impl.JwtUtilImpl;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+
+/**
+ * Token work done by JwtRequestFilter for one request.
+ * baseline: every extract re-verifies the HMAC and decodes the JSON (previous behaviour).
+ * cached: JwtUtilImpl with the pre-built parser and the verified-claims cache.
+ *
+ * Run from proxy-client (JMH forks, so it needs a plain classpath):
+ *   mvn test-compile dependency:build-classpath -Dmdep.outputFile=cp.txt -Dmdep.includeScope=test
+ *   java -cp target/test-classes:target/classes:$(cat cp.txt) com.selimhorri.app.benchmark.JwtFilterPathBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtFilterPathBenchmark {
+
+	private static final String SECRET = "secret";
+
+	private JwtUtilImpl jwtUtil;
+	private String token;
+
+	@Setup
+	public void setUp() {
+		this.jwtUtil = new JwtUtilImpl(SECRET, 10_000);
+		final UserDetails userDetails = new UserDetailsImpl(CredentialDto.builder()
+				.username("selimhorri")
+				.roleBasedAuthority(RoleBasedAuthority.ROLE_USER)
+				.isEnabled(true)
+				.isAccountNonExpired(true)
+				.isAccountNonLocked(true)
+				.isCredentialsNonExpired(true)
+				.build());
+		this.token = this.jwtUtil.generateToken(userDetails, "1");
+	}
+
+	@Benchmark
+	public void baseline(final Blackhole blackhole) {
+		// extractUsername, validateToken (username + expiration), extractUserId
+		blackhole.consume(parse().getSubject());
+		blackhole.consume(parse().getSubject());
+		blackhole.consume(parse().getExpiration());
+		blackhole.consume(parse().get("userId", String.class));
+	}
+
+	@Benchmark
+	public void cached(final Blackhole blackhole) {
+		blackhole.consume(this.jwtUtil.extractUsername(this.token));
+		final UserDetails userDetails = this.jwtUtil.extractUserDetails(this.token);
+		blackhole.consume(this.jwtUtil.validateToken(this.token, userDetails));
+		blackhole.consume(this.jwtUtil.extractUserId(this.token));
+	}
+
+	private Claims parse() {
+		return Jwts.parser().setSigningKey(SECRET).parseClaimsJws(this.token).getBody();
+	}
+
+	public static void main(final String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder()
+				.include(JwtFilterPathBenchmark.class.getSimpleName())
+				.build())
+				.run();
+	}
+
+}
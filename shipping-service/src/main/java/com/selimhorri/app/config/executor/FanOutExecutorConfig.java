@@ -0,0 +1,44 @@
+package com.selimhorri.app.config.executor;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.sleuth.instrument.async.TraceableExecutorService;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import com.selimhorri.app.helper.FanOutExecutor;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+
+@Configuration
+public class FanOutExecutorConfig {
+
+	private static final String NAME = "remote-enrichment";
+
+	// Pool y cola acotados: con la cola llena se rechaza (y se degrada) en lugar de acumular esperas
+	@Bean
+	public FanOutExecutor remoteEnrichmentExecutor(final MeterRegistry meterRegistry, final BeanFactory beanFactory,
+			@Value("${app.fan-out.pool-size:16}") final int poolSize,
+			@Value("${app.fan-out.queue-capacity:64}") final int queueCapacity,
+			@Value("${app.fan-out.deadline:2s}") final Duration deadline) {
+		final ThreadPoolExecutor threadPool = new ThreadPoolExecutor(poolSize, poolSize,
+				60L, TimeUnit.SECONDS,
+				new ArrayBlockingQueue<>(queueCapacity),
+				new CustomizableThreadFactory("fan-out-"),
+				new ThreadPoolExecutor.AbortPolicy());
+		threadPool.allowCoreThreadTimeOut(true);
+		// executor.queued / executor.active / executor.completed etiquetados con name=remote-enrichment
+		return new FanOutExecutor(
+				new TraceableExecutorService(beanFactory,
+						ExecutorServiceMetrics.monitor(meterRegistry, threadPool, NAME)),
+				deadline, meterRegistry, NAME);
+	}
+
+}
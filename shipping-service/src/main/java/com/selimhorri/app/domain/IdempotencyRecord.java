@@ -0,0 +1,48 @@
+package com.selimhorri.app.domain;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * First response of a POST sent with an {@code Idempotency-Key}, kept until
+ * {@code expiresAt} so retries are answered with it instead of writing again.
+ * A row without body is a claim: the first request is still running. The request
+ * hash keeps a key reused with another payload from replaying a foreign response.
+ */
+@Entity
+@Table(name = "idempotency_keys")
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public final class IdempotencyRecord implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	
+	@Id
+	@Column(name = "idempotency_key", unique = true, nullable = false, updatable = false)
+	private String idempotencyKey;
+	
+	@Column(name = "request_hash", nullable = false, updatable = false)
+	private String requestHash;
+	
+	@Column(name = "response_body")
+	private String responseBody;
+	
+	@Column(name = "expires_at", nullable = false)
+	private Instant expiresAt;
+	
+	@Column(name = "created_at", nullable = false, updatable = false)
+	private Instant createdAt;
+	
+}
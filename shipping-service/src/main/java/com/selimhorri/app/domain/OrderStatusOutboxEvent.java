@@ -0,0 +1,61 @@
+package com.selimhorri.app.domain;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Order status transition written in the same transaction as the local change
+ * that causes it, and delivered to order-service afterwards by the outbox relay.
+ */
+@Entity
+@Table(name = "order_status_outbox")
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public final class OrderStatusOutboxEvent implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	
+	@Id
+	@Column(name = "event_id", unique = true, nullable = false, updatable = false)
+	private String eventId;
+	
+	@Column(name = "order_id", nullable = false)
+	private Integer orderId;
+	
+	@Column(name = "from_status", nullable = false)
+	private String fromStatus;
+	
+	@Column(name = "to_status", nullable = false)
+	private String toStatus;
+	
+	@Column(name = "attempts")
+	private int attempts;
+	
+	@Column(name = "next_attempt_at", nullable = false)
+	private Instant nextAttemptAt;
+	
+	@Column(name = "delivered_at")
+	private Instant deliveredAt;
+	
+	@Column(name = "outcome")
+	private String outcome;
+	
+	@Column(name = "last_error")
+	private String lastError;
+	
+	@Column(name = "created_at", nullable = false, updatable = false)
+	private Instant createdAt;
+	
+}
@@ -0,0 +1,39 @@
+package com.selimhorri.app.dto;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonFormat.Shape;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Active items of an order folded into a count and a total quantity, with the
+ * last time any of its items changed (including deactivations).
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public class OrderItemSummaryDto implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	
+	private Integer orderId;
+	private Long itemCount;
+	private Long totalQuantity;
+	
+	@JsonFormat(shape = Shape.STRING)
+	private Instant updatedAt;
+	
+	// Proyección JPQL de los pedidos cambiados; los totales se completan después
+	public OrderItemSummaryDto(final Integer orderId, final Instant updatedAt) {
+		this.orderId = orderId;
+		this.updatedAt = updatedAt;
+	}
+	
+}
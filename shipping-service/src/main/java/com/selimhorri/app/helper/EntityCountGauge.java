@@ -0,0 +1,59 @@
+package com.selimhorri.app.helper;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Row count exposed as a gauge without hitting the database on every scrape:
+ * seeded once when bound, moved by the service on insert / delete, and
+ * periodically reconciled with the real COUNT(*) to absorb drift (rolled back
+ * transactions, rows written by other instances or by hand).
+ */
+@Slf4j
+public final class EntityCountGauge {
+
+	private final AtomicLong count = new AtomicLong();
+	private volatile LongSupplier source;
+
+	public EntityCountGauge bindTo(final MeterRegistry meterRegistry, final String name, final LongSupplier source) {
+		this.source = source;
+		this.reconcile();
+		Gauge.builder(name, this.count, AtomicLong::get)
+				.strongReference(true)
+				.register(meterRegistry);
+		return this;
+	}
+
+	public void increment() {
+		this.count.incrementAndGet();
+	}
+
+	public void decrement() {
+		this.count.updateAndGet(current -> Math.max(0L, current - 1));
+	}
+
+	public long get() {
+		return this.count.get();
+	}
+
+	public void reconcile() {
+		final LongSupplier currentSource = this.source;
+		if (currentSource == null)
+			return;
+		try {
+			final long actual = currentSource.getAsLong();
+			final long previous = this.count.getAndSet(actual);
+			if (previous != actual)
+				log.debug("Entity count gauge reconciled from {} to {}", previous, actual);
+		}
+		catch (RuntimeException e) {
+			log.warn("Failed to reconcile entity count gauge: {}", e.getMessage());
+		}
+	}
+
+}
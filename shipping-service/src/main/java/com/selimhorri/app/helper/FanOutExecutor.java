@@ -0,0 +1,100 @@
+package com.selimhorri.app.helper;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Runs independent remote lookups of one request concurrently on a shared, bounded
+ * executor. Every request opens a {@link Scope} whose deadline is shared by all of
+ * its calls: a call that fails, is rejected because the pool is saturated or is
+ * still running when the deadline passes comes back empty, so the caller degrades
+ * exactly as it would on a failed remote call.
+ */
+@Slf4j
+public class FanOutExecutor {
+
+	private final ExecutorService executor;
+	private final Duration deadline;
+	private final Counter rejectedCalls;
+	private final Counter timedOutCalls;
+
+	public FanOutExecutor(final ExecutorService executor, final Duration deadline,
+			final MeterRegistry meterRegistry, final String name) {
+		if (deadline.isNegative() || deadline.isZero())
+			throw new IllegalArgumentException("Fan-out deadline must be greater than zero");
+		this.executor = executor;
+		this.deadline = deadline;
+		this.rejectedCalls = Counter.builder("fanout.calls.rejected")
+				.tag("name", name)
+				.register(meterRegistry);
+		this.timedOutCalls = Counter.builder("fanout.calls.timed.out")
+				.tag("name", name)
+				.register(meterRegistry);
+	}
+
+	public Scope open() {
+		return new Scope(System.nanoTime() + this.deadline.toNanos());
+	}
+
+	public void shutdown() {
+		this.executor.shutdownNow();
+	}
+
+	public final class Scope {
+
+		private final long deadlineNanos;
+
+		private Scope(final long deadlineNanos) {
+			this.deadlineNanos = deadlineNanos;
+		}
+
+		public <T> Future<T> submit(final Supplier<T> call) {
+			try {
+				return executor.submit(call::get);
+			}
+			catch (RejectedExecutionException e) {
+				rejectedCalls.increment();
+				return CompletableFuture.failedFuture(e);
+			}
+		}
+
+		/**
+		 * Waits for {@code future} until the scope deadline; empty if the call failed,
+		 * returned null or did not finish in time (it is then cancelled).
+		 */
+		public <T> Optional<T> await(final Future<T> future, final String description) {
+			final long remainingNanos = this.deadlineNanos - System.nanoTime();
+			try {
+				return Optional.ofNullable(future.get(Math.max(0L, remainingNanos), TimeUnit.NANOSECONDS));
+			}
+			catch (TimeoutException e) {
+				future.cancel(true);
+				timedOutCalls.increment();
+				log.warn("{} did not finish within the {} ms fan-out deadline", description, deadline.toMillis());
+			}
+			catch (ExecutionException e) {
+				log.warn("{} failed: {}", description, e.getCause() != null ? e.getCause().getMessage() : e.getMessage());
+			}
+			catch (InterruptedException e) {
+				future.cancel(true);
+				Thread.currentThread().interrupt();
+			}
+			return Optional.empty();
+		}
+
+	}
+
+}
@@ -0,0 +1,42 @@
+package com.selimhorri.app.repository;
+
+import java.time.Instant;
+
+import javax.transaction.Transactional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.selimhorri.app.domain.IdempotencyRecord;
+
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+	
+	// INSERT explícito: con id asignado save() haría merge y pisaría la reclamación de otra petición
+	@Transactional
+	@Modifying
+	@Query(value = "INSERT INTO idempotency_keys (idempotency_key, request_hash, expires_at, created_at) "
+			+ "VALUES (:idempotencyKey, :requestHash, :expiresAt, :now)", nativeQuery = true)
+	int claim(@Param("idempotencyKey") final String idempotencyKey, @Param("requestHash") final String requestHash,
+			@Param("expiresAt") final Instant expiresAt, @Param("now") final Instant now);
+	
+	@Transactional
+	@Modifying
+	// Sólo la reclamación aún sin respuesta: si otra petición la tomó al vencer el lease, gana la primera en completar
+	@Query("UPDATE IdempotencyRecord r SET r.responseBody = :responseBody, r.expiresAt = :expiresAt "
+			+ "WHERE r.idempotencyKey = :idempotencyKey AND r.responseBody IS NULL")
+	int complete(@Param("idempotencyKey") final String idempotencyKey,
+			@Param("responseBody") final String responseBody, @Param("expiresAt") final Instant expiresAt);
+	
+	@Transactional
+	@Modifying
+	@Query("DELETE FROM IdempotencyRecord r WHERE r.idempotencyKey = :idempotencyKey AND r.expiresAt < :now")
+	int deleteIfExpired(@Param("idempotencyKey") final String idempotencyKey, @Param("now") final Instant now);
+	
+	@Transactional
+	@Modifying
+	@Query("DELETE FROM IdempotencyRecord r WHERE r.expiresAt < :now")
+	int deleteExpired(@Param("now") final Instant now);
+	
+}
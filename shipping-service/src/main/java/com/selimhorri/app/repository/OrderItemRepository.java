@@ -1,15 +1,69 @@
 package com.selimhorri.app.repository;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import javax.persistence.LockModeType;
+import javax.transaction.Transactional;
+
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.selimhorri.app.domain.OrderItem;
 import com.selimhorri.app.domain.OrderItemId;
+import com.selimhorri.app.dto.OrderItemSummaryDto;
 
 public interface OrderItemRepository extends JpaRepository<OrderItem, OrderItemId> {
     List<OrderItem> findByIsActiveTrue();
     Optional<OrderItem> findByOrderIdAndProductIdAndIsActiveTrue(Integer orderId, Integer productId);
 
+    // Pedidos con items por orderId, para la carga inicial de réplicas
+    @Query("SELECT new com.selimhorri.app.dto.OrderItemSummaryDto(i.orderId, MAX(i.updatedAt)) "
+            + "FROM OrderItem i WHERE i.orderId > :after GROUP BY i.orderId ORDER BY i.orderId ASC")
+    List<OrderItemSummaryDto> findOrdersAfter(@Param("after") Integer after, Pageable pageable);
+
+    // Pedidos con algún item cambiado después de (since, after); el WHERE acota por el índice (updated_at, order_id)
+    @Query("SELECT new com.selimhorri.app.dto.OrderItemSummaryDto(i.orderId, MAX(i.updatedAt)) "
+            + "FROM OrderItem i WHERE i.updatedAt >= :since GROUP BY i.orderId "
+            + "HAVING MAX(i.updatedAt) > :since OR (MAX(i.updatedAt) = :since AND i.orderId > :after) "
+            + "ORDER BY MAX(i.updatedAt) ASC, i.orderId ASC")
+    List<OrderItemSummaryDto> findOrdersChangedSince(@Param("since") Instant since, @Param("after") Integer after,
+            Pageable pageable);
+
+    @Query("SELECT new com.selimhorri.app.dto.OrderItemSummaryDto(i.orderId, COUNT(i.productId), "
+            + "SUM(i.orderedQuantity), MAX(i.updatedAt)) "
+            + "FROM OrderItem i WHERE i.orderId IN :orderIds AND i.isActive = true GROUP BY i.orderId")
+    List<OrderItemSummaryDto> findActiveTotals(@Param("orderIds") Collection<Integer> orderIds);
+
+    // Archivado por pedido: candidatos sin bloqueo, por idx_order_items_is_active_updated_at; el NOT EXISTS
+    // descarta por PK los pedidos con algún item activo o cambiado desde :cutoff
+    @Query("SELECT DISTINCT i.orderId FROM OrderItem i WHERE i.isActive = false AND i.updatedAt < :cutoff "
+            + "AND NOT EXISTS (SELECT j.productId FROM OrderItem j WHERE j.orderId = i.orderId "
+            + "AND (j.isActive = true OR j.updatedAt >= :cutoff)) ORDER BY i.orderId ASC")
+    List<Integer> findArchivableOrderIds(@Param("cutoff") Instant cutoff, Pageable pageable);
+
+    // Bloquea por PK todos los items de esos pedidos (también los activos), así ninguno cambia ni se añade
+    // hasta el commit; la condición de archivado se vuelve a comprobar sobre estas filas
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i FROM OrderItem i WHERE i.orderId IN :orderIds")
+    List<OrderItem> lockByOrderIds(@Param("orderIds") Collection<Integer> orderIds);
+
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO order_items_archive (product_id, order_id, ordered_quantity, created_at, updated_at, "
+            + "is_active, archived_at) SELECT product_id, order_id, ordered_quantity, created_at, updated_at, is_active, "
+            + ":now FROM order_items WHERE order_id IN (:orderIds) AND is_active = false", nativeQuery = true)
+    int copyToArchive(@Param("orderIds") Collection<Integer> orderIds, @Param("now") Instant now);
+
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("DELETE FROM OrderItem i WHERE i.orderId IN :orderIds AND i.isActive = false")
+    int deleteArchived(@Param("orderIds") Collection<Integer> orderIds);
+
 }
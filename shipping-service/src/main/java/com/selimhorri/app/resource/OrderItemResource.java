@@ -1,5 +1,7 @@
 package com.selimhorri.app.resource;
 
+import java.time.Instant;
+
 import javax.validation.Valid;
 import javax.validation.constraints.NotNull;
 
@@ -9,11 +11,15 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.selimhorri.app.dto.OrderItemDto;
+import com.selimhorri.app.dto.OrderItemSummaryDto;
 import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
+import com.selimhorri.app.service.IdempotencyService;
 import com.selimhorri.app.service.OrderItemService;
 
 import lombok.RequiredArgsConstructor;
@@ -26,6 +32,7 @@ import lombok.extern.slf4j.Slf4j;
 public class OrderItemResource {
 	
 	private final OrderItemService orderItemService;
+	private final IdempotencyService idempotencyService;
 	
 	@GetMapping
 	public ResponseEntity<DtoCollectionResponse<OrderItemDto>> findAll() {
@@ -33,6 +40,21 @@ public class OrderItemResource {
 		return ResponseEntity.ok(new DtoCollectionResponse<>(this.orderItemService.findAll()));
 	}
 	
+	/**
+	 * Per-order item totals for read models kept outside this service: without
+	 * {@code since} every order by id, with it only the orders changed after
+	 * {@code (since, after)}.
+	 */
+	@GetMapping("/order-summaries")
+	public ResponseEntity<DtoCollectionResponse<OrderItemSummaryDto>> findOrderSummaries(
+			@RequestParam(value = "since", required = false) final Instant since,
+			@RequestParam(value = "after", required = false) final Integer after,
+			@RequestParam(value = "limit", required = false) final Integer limit) {
+		log.info("*** OrderItemSummaryDto List, controller; fetch order item summaries *");
+		return ResponseEntity.ok(this.orderItemService.findOrderSummaries(since, after,
+				DtoCollectionResponse.pageLimit(limit)));
+	}
+	
 	@GetMapping("/{orderId}/{productId}")
 	public ResponseEntity<OrderItemDto> findById(
 			@PathVariable("orderId") final String orderId,
@@ -43,13 +65,19 @@ public class OrderItemResource {
 				Integer.parseInt(productId)));
 	}
 	
+	/**
+	 * With an {@code Idempotency-Key} header a retried POST gets the first response back
+	 * without validating product and order again.
+	 */
 	@PostMapping
 	public ResponseEntity<OrderItemDto> save(
+			@RequestHeader(value = "Idempotency-Key", required = false) final String idempotencyKey,
 			@RequestBody 
 			@NotNull(message = "Input must not be NULL") 
 			@Valid final OrderItemDto orderItemDto) {
 		log.info("*** OrderItemDto, resource; save orderItem *");
-		return ResponseEntity.ok(this.orderItemService.save(orderItemDto));
+		return ResponseEntity.ok(this.idempotencyService.execute("order-items", idempotencyKey, orderItemDto,
+				OrderItemDto.class, () -> this.orderItemService.save(orderItemDto)));
 	}
 	
 	@DeleteMapping("/{orderId}/{productId}")
@@ -0,0 +1,93 @@
+package com.selimhorri.app.scheduler;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.dto.OrderStatusEventDto;
+import com.selimhorri.app.dto.OrderStatusEventResultDto;
+import com.selimhorri.app.service.OrderStatusOutboxService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Delivers the pending order status events to order-service in batches. A batch
+ * that cannot be delivered is retried with exponential backoff; order-service
+ * applies each event as a conditional transition, so a redelivery is harmless.
+ * Events order-service rejects (the order moved on) are recorded and not retried.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class OrderStatusOutboxRelay {
+	
+	private static final String STATUS_EVENTS_URL = AppConstant.DiscoveredDomainsApi.ORDER_SERVICE_API_URL
+			+ "/status-events";
+	
+	private final OrderStatusOutboxService orderStatusOutboxService;
+	private final RestTemplate restTemplate;
+	private final MeterRegistry meterRegistry;
+	
+	@Value("${app.outbox.batch-size:100}")
+	private int batchSize;
+	
+	@Value("${app.outbox.retention:7d}")
+	private Duration retention;
+	
+	@Scheduled(fixedDelayString = "${app.outbox.relay-interval:1000}")
+	public void relay() {
+		List<OrderStatusEventDto> batch;
+		do {
+			batch = this.orderStatusOutboxService.findDue(this.batchSize);
+		} while (!batch.isEmpty() && this.deliver(batch) && batch.size() == this.batchSize);
+	}
+	
+	@Scheduled(fixedDelayString = "${app.outbox.purge-interval:3600000}",
+			initialDelayString = "${app.outbox.purge-interval:3600000}")
+	public void purge() {
+		final int purged = this.orderStatusOutboxService.purgeDelivered(Instant.now().minus(this.retention));
+		if (purged > 0)
+			log.info("Purged {} delivered order status events", purged);
+	}
+	
+	private boolean deliver(final List<OrderStatusEventDto> batch) {
+		final Map<String, OrderStatusEventDto> pending = batch.stream()
+				.collect(Collectors.toMap(OrderStatusEventDto::getEventId, Function.identity()));
+		final List<OrderStatusEventResultDto> results;
+		try {
+			final OrderStatusEventResultDto[] response = this.restTemplate.postForObject(STATUS_EVENTS_URL, batch,
+					OrderStatusEventResultDto[].class);
+			results = response == null ? List.of() : Arrays.asList(response);
+		}
+		catch (RuntimeException e) {
+			log.warn("Failed to deliver {} order status events, will retry: {}", batch.size(), e.getMessage());
+			this.orderStatusOutboxService.markFailed(pending.keySet(), e.getMessage());
+			this.meterRegistry.counter("outbox.delivery.failures").increment();
+			return false;
+		}
+		
+		this.orderStatusOutboxService.markDelivered(results);
+		this.meterRegistry.counter("outbox.events.delivered").increment(results.size());
+		results.forEach(result -> pending.remove(result.getEventId()));
+		
+		// Eventos sin resultado en la respuesta: se reintentan como un fallo de entrega
+		final Set<String> unanswered = pending.keySet();
+		if (!unanswered.isEmpty())
+			this.orderStatusOutboxService.markFailed(unanswered, "No result returned by order-service");
+		return unanswered.isEmpty();
+	}
+	
+}
@@ -0,0 +1,9 @@
+package com.selimhorri.app.service;
+
+import java.time.Instant;
+
+public interface ArchiveService {
+	
+	int archiveOrderItems(final Instant cutoff, final int batchSize);
+	
+}
@@ -1,13 +1,17 @@
 package com.selimhorri.app.service;
 
+import java.time.Instant;
 import java.util.List;
 
 import com.selimhorri.app.dto.OrderItemDto;
+import com.selimhorri.app.dto.OrderItemSummaryDto;
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
 
 public interface OrderItemService {
 	
 	List<OrderItemDto> findAll();
 	OrderItemDto findById(final int orderId, final int productId);
+	DtoCollectionResponse<OrderItemSummaryDto> findOrderSummaries(final Instant since, final Integer after, final int limit);
 	OrderItemDto save(final OrderItemDto orderItemDto);
 	void deleteById(final int orderId, final int productId);
 	
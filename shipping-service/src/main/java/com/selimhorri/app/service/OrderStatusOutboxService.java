@@ -0,0 +1,18 @@
+package com.selimhorri.app.service;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+import com.selimhorri.app.dto.OrderStatusEventDto;
+import com.selimhorri.app.dto.OrderStatusEventResultDto;
+
+public interface OrderStatusOutboxService {
+	
+	void enqueue(final Integer orderId, final String fromStatus, final String toStatus);
+	List<OrderStatusEventDto> findDue(final int limit);
+	void markDelivered(final Collection<OrderStatusEventResultDto> results);
+	void markFailed(final Collection<String> eventIds, final String error);
+	int purgeDelivered(final Instant before);
+	
+}
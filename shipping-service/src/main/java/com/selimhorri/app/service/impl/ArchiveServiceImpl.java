@@ -0,0 +1,61 @@
+package com.selimhorri.app.service.impl;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import javax.transaction.Transactional;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import com.selimhorri.app.domain.OrderItem;
+import com.selimhorri.app.repository.OrderItemRepository;
+import com.selimhorri.app.service.ArchiveService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Moves the items of orders with no active item left to order_items_archive, a
+ * batch of orders per transaction. Candidate orders are picked through an index
+ * without locking; then every item of those orders is locked by primary key and
+ * an order is only copied and deleted if all its items are still inactive and
+ * unchanged since the cutoff, so an order is never split between both tables.
+ */
+@Service
+@Transactional
+@Slf4j
+@RequiredArgsConstructor
+public class ArchiveServiceImpl implements ArchiveService {
+	
+	private final OrderItemRepository orderItemRepository;
+	
+	@Override
+	public int archiveOrderItems(final Instant cutoff, final int batchSize) {
+		final List<Integer> candidates = this.orderItemRepository.findArchivableOrderIds(cutoff,
+				PageRequest.of(0, batchSize));
+		if (candidates.isEmpty())
+			return 0;
+		
+		// Un item añadido o reactivado entre la búsqueda y el bloqueo saca a su pedido del lote
+		final Map<Integer, Boolean> archivable = new HashMap<>();
+		for (final OrderItem orderItem : this.orderItemRepository.lockByOrderIds(candidates))
+			archivable.merge(orderItem.getOrderId(), isArchivable(orderItem, cutoff), Boolean::logicalAnd);
+		final List<Integer> orderIds = archivable.entrySet().stream()
+				.filter(Map.Entry::getValue)
+				.map(Map.Entry::getKey)
+				.collect(Collectors.toList());
+		if (orderIds.isEmpty())
+			return 0;
+		this.orderItemRepository.copyToArchive(orderIds, Instant.now());
+		return this.orderItemRepository.deleteArchived(orderIds);
+	}
+	
+	private static boolean isArchivable(final OrderItem orderItem, final Instant cutoff) {
+		return !orderItem.isActive() && orderItem.getUpdatedAt() != null && orderItem.getUpdatedAt().isBefore(cutoff);
+	}
+	
+}
@@ -1,11 +1,22 @@
 package com.selimhorri.app.service.impl;
 
+import java.time.Instant;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Future;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import javax.transaction.Transactional;
 
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 
@@ -14,12 +25,19 @@ import com.selimhorri.app.domain.OrderItem;
 import com.selimhorri.app.domain.OrderItemId;
 import com.selimhorri.app.dto.OrderDto;
 import com.selimhorri.app.dto.OrderItemDto;
+import com.selimhorri.app.dto.OrderItemSummaryDto;
 import com.selimhorri.app.dto.OrderStatus;
 import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.dto.StockReservationDto;
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
 import com.selimhorri.app.exception.wrapper.OrderItemNotFoundException;
+import com.selimhorri.app.helper.DtoBatchLoader;
+import com.selimhorri.app.helper.EntityCountGauge;
+import com.selimhorri.app.helper.FanOutExecutor;
 import com.selimhorri.app.helper.OrderItemMappingHelper;
 import com.selimhorri.app.repository.OrderItemRepository;
 import com.selimhorri.app.service.OrderItemService;
+import com.selimhorri.app.service.OrderStatusOutboxService;
 
 import io.micrometer.core.instrument.MeterRegistry;
 import javax.annotation.PostConstruct;
@@ -36,75 +54,113 @@ public class OrderItemServiceImpl implements OrderItemService {
 	private final OrderItemRepository orderItemRepository;
 	private final RestTemplate restTemplate;
 	private final MeterRegistry meterRegistry;
+	private final FanOutExecutor fanOutExecutor;
+	private final OrderStatusOutboxService orderStatusOutboxService;
+	private final EntityCountGauge shipmentsTotal = new EntityCountGauge();
 
 	@PostConstruct
 	public void initMetrics() {
-		meterRegistry.gauge("shipments.total", orderItemRepository, OrderItemRepository::count);
+		this.shipmentsTotal.bindTo(this.meterRegistry, "shipments.total", this.orderItemRepository::count);
+	}
+
+	@Scheduled(fixedDelayString = "${app.metrics.count-reconcile-interval:300000}",
+			initialDelayString = "${app.metrics.count-reconcile-interval:300000}")
+	public void reconcileCount() {
+		this.shipmentsTotal.reconcile();
 	}
 
 	@Override
 	public List<OrderItemDto> findAll() {
 		log.info("*** OrderItemDto List, service; fetch all active orderItems *");
-		return this.orderItemRepository.findByIsActiveTrue()
+		final List<OrderItemDto> orderItems = this.orderItemRepository.findByIsActiveTrue()
 				.stream()
 				.map(OrderItemMappingHelper::map)
+				.collect(Collectors.toList());
+
+		// Un multi-get a product-service y otro a order-service para toda la lista, ambos a la vez
+		final FanOutExecutor.Scope scope = this.fanOutExecutor.open();
+		final Future<DtoBatchLoader<Integer, ProductDto>> productLookup = scope.submit(() -> new DtoBatchLoader<>(
+				this.restTemplate,
+				AppConstant.DiscoveredDomainsApi.PRODUCT_SERVICE_API_URL,
+				new ParameterizedTypeReference<DtoCollectionResponse<ProductDto>>() {},
+				ProductDto::getProductId)
+				.loadMany(orderItems.stream().map(OrderItemDto::getProductId).collect(Collectors.toList()))
+				.dispatch());
+		final Future<DtoBatchLoader<Integer, OrderDto>> orderLookup = scope.submit(() -> new DtoBatchLoader<>(
+				this.restTemplate,
+				AppConstant.DiscoveredDomainsApi.ORDER_SERVICE_API_URL,
+				new ParameterizedTypeReference<DtoCollectionResponse<OrderDto>>() {},
+				OrderDto::getOrderId)
+				.loadMany(orderItems.stream().map(OrderItemDto::getOrderId).collect(Collectors.toList()))
+				.dispatch());
+		// Si un lote no llega a tiempo sus items se descartan, igual que cuando la llamada falla
+		final Optional<DtoBatchLoader<Integer, ProductDto>> products = scope.await(productLookup, "Product batch lookup");
+		final Optional<DtoBatchLoader<Integer, OrderDto>> orders = scope.await(orderLookup, "Order batch lookup");
+
+		return orderItems.stream()
 				.filter(o -> {
 					// Verificar producto
-					if (o.getProductDto() != null && o.getProductDto().getProductId() != null) {
-						try {
-							ProductDto product = this.restTemplate.getForObject(
-									AppConstant.DiscoveredDomainsApi.PRODUCT_SERVICE_API_URL + "/" +
-											o.getProductDto().getProductId(),
-									ProductDto.class);
-							if (product == null) {
-								log.warn("Product {} not found", o.getProductDto().getProductId());
-								return false;
-							}
-							o.setProductDto(product);
-						} catch (RestClientException e) {
-							log.warn("Failed to fetch product with id: {}", o.getProductDto().getProductId(), e);
-							return false;
-						}
-					} else {
+					final ProductDto product = products.flatMap(p -> p.get(o.getProductId())).orElse(null);
+					if (product == null) {
+						log.warn("Product {} not found", o.getProductId());
 						return false;
 					}
 
 					// Verificar orden
-					if (o.getOrderDto() != null && o.getOrderDto().getOrderId() != null) {
-						try {
-							OrderDto order = this.restTemplate.getForObject(
-									AppConstant.DiscoveredDomainsApi.ORDER_SERVICE_API_URL + "/" +
-											o.getOrderDto().getOrderId(),
-									OrderDto.class);
-							if (order == null) {
-								log.warn("Order {} not found", o.getOrderDto().getOrderId());
-								return false;
-							}
-							System.out.println("====================");
-							System.out.println(OrderStatus.ORDERED.name());
-							System.out.println(order.getOrderStatus());
-							System.out.println("====================");
-
-							// Permitir órdenes en estado ORDERED o IN_PAYMENT
-							if (!OrderStatus.ORDERED.name().equals(order.getOrderStatus())
-									&& !OrderStatus.IN_PAYMENT.name().equals(order.getOrderStatus())) {
-								return false;
-							}
-							o.setOrderDto(order);
-						} catch (RestClientException e) {
-							log.warn("Failed to fetch order with id: {}", o.getOrderDto().getOrderId(), e);
-							return false;
-						}
-					} else {
+					final OrderDto order = orders.flatMap(p -> p.get(o.getOrderId())).orElse(null);
+					if (order == null) {
+						log.warn("Order {} not found", o.getOrderId());
 						return false;
 					}
 
+					// Permitir órdenes en estado ORDERED o IN_PAYMENT
+					if (!OrderStatus.ORDERED.name().equals(order.getOrderStatus())
+							&& !OrderStatus.IN_PAYMENT.name().equals(order.getOrderStatus())) {
+						return false;
+					}
+
+					o.setProductDto(product);
+					o.setOrderDto(order);
 					return true;
 				})
 				.distinct()
 				.collect(Collectors.toUnmodifiableList());
 	}
 
+	/**
+	 * Item count and total quantity of the orders whose items changed after
+	 * {@code (since, after)}, or of every order by id when {@code since} is null.
+	 * Orders whose items were all deactivated come back with zero totals.
+	 */
+	@Override
+	public DtoCollectionResponse<OrderItemSummaryDto> findOrderSummaries(final Instant since, final Integer after,
+			final int limit) {
+		log.info("*** OrderItemSummaryDto List, service; fetch order item summaries *");
+		final int lastOrderId = after == null ? 0 : after;
+		final List<OrderItemSummaryDto> rows = since == null
+				? this.orderItemRepository.findOrdersAfter(lastOrderId, PageRequest.of(0, limit + 1))
+				: this.orderItemRepository.findOrdersChangedSince(since, lastOrderId, PageRequest.of(0, limit + 1));
+		return DtoCollectionResponse.page(rows, limit, OrderItemSummaryDto::getOrderId, this::withActiveTotals);
+	}
+
+	private List<OrderItemSummaryDto> withActiveTotals(final List<OrderItemSummaryDto> summaries) {
+		if (summaries.isEmpty())
+			return summaries;
+		final Map<Integer, OrderItemSummaryDto> totals = this.orderItemRepository
+				.findActiveTotals(summaries.stream()
+						.map(OrderItemSummaryDto::getOrderId)
+						.collect(Collectors.toSet()))
+				.stream()
+				.collect(Collectors.toMap(OrderItemSummaryDto::getOrderId, Function.identity()));
+		summaries.forEach(summary -> {
+			final OrderItemSummaryDto active = totals.get(summary.getOrderId());
+			summary.setItemCount(active == null ? 0L : active.getItemCount());
+			summary.setTotalQuantity(active == null || active.getTotalQuantity() == null ? 0L
+					: active.getTotalQuantity());
+		});
+		return summaries;
+	}
+
 	@Override
 	public OrderItemDto findById(final int orderId, final int productId) {
 		log.info("*** OrderItemDto, service; fetch orderItem by orderId: {} and productId: {} *", orderId, productId);
@@ -116,50 +172,38 @@ public class OrderItemServiceImpl implements OrderItemService {
 						String.format("Active OrderItem with orderId: %s and productId: %s not found", orderId, productId)));
 
 		OrderItemDto dto = OrderItemMappingHelper.map(orderItem);
+		if (dto.getOrderDto() == null || dto.getOrderDto().getOrderId() == null) {
+			throw new OrderItemNotFoundException("No associated order found for this order item");
+		}
 
-		// Verificar y cargar producto (no bloquear la respuesta si el servicio de producto no responde)
-		if (dto.getProductDto() != null && dto.getProductDto().getProductId() != null) {
-			try {
-				ProductDto product = this.restTemplate.getForObject(
-						AppConstant.DiscoveredDomainsApi.PRODUCT_SERVICE_API_URL + "/" +
-								dto.getProductDto().getProductId(),
-						ProductDto.class);
-				if (product != null) {
-					dto.setProductDto(product);
-				} else {
-					log.warn("Product service returned null for productId: {} while fetching orderItem {}/{}",
-							dto.getProductDto().getProductId(), orderId, productId);
-					dto.setProductDto(null);
-				}
-			} catch (RestClientException e) {
-				log.warn("Failed to fetch product details for orderId: {} and productId: {} - continuing without product details: {}",
-						orderId, productId, e.getMessage());
-				dto.setProductDto(null);
+		// Producto y orden se piden a la vez: la latencia es la de la llamada más lenta, no la suma
+		final FanOutExecutor.Scope scope = this.fanOutExecutor.open();
+		final Integer lookupProductId = dto.getProductDto() != null ? dto.getProductDto().getProductId() : null;
+		final Integer lookupOrderId = dto.getOrderDto().getOrderId();
+		final Future<ProductDto> productLookup = lookupProductId == null ? null
+				: scope.submit(() -> this.restTemplate.getForObject(
+						AppConstant.DiscoveredDomainsApi.PRODUCT_SERVICE_API_URL + "/" + lookupProductId,
+						ProductDto.class));
+		final Future<OrderDto> orderLookup = scope.submit(() -> this.restTemplate.getForObject(
+				AppConstant.DiscoveredDomainsApi.ORDER_SERVICE_API_URL + "/" + lookupOrderId,
+				OrderDto.class));
+
+		// Cargar producto (no bloquear la respuesta si el servicio de producto no responde)
+		if (productLookup != null) {
+			final ProductDto product = scope.await(productLookup, "Product " + lookupProductId + " lookup")
+					.orElse(null);
+			if (product == null) {
+				log.warn("Continuing without product details for orderId: {} and productId: {}", orderId, productId);
 			}
+			dto.setProductDto(product);
 		}
 
-		// Verificar y cargar orden (no bloquear la respuesta si el servicio de orden no responde)
-		if (dto.getOrderDto() != null && dto.getOrderDto().getOrderId() != null) {
-			try {
-				OrderDto order = this.restTemplate.getForObject(
-						AppConstant.DiscoveredDomainsApi.ORDER_SERVICE_API_URL + "/" +
-								dto.getOrderDto().getOrderId(),
-						OrderDto.class);
-
-				if (order != null) {
-					dto.setOrderDto(order);
-				} else {
-					log.warn("Order service returned null for orderId: {} while fetching orderItem {}/{}",
-							dto.getOrderDto().getOrderId(), orderId, productId);
-					// keep dto.orderDto as minimal (contains id) so the item can still be returned
-				}
-			} catch (RestClientException e) {
-				log.warn("Failed to fetch order details for orderId: {} and productId: {} - continuing without order details: {}",
-						orderId, productId, e.getMessage());
-				// keep dto.orderDto as minimal (contains id) so the item can still be returned
-			}
+		// Cargar orden; si no responde se conserva la orden mínima (con id) para poder devolver el item
+		final Optional<OrderDto> order = scope.await(orderLookup, "Order " + lookupOrderId + " lookup");
+		if (order.isPresent()) {
+			dto.setOrderDto(order.get());
 		} else {
-			throw new OrderItemNotFoundException("No associated order found for this order item");
+			log.warn("Continuing without order details for orderId: {} and productId: {}", orderId, productId);
 		}
 
 		return dto;
@@ -196,45 +240,31 @@ public class OrderItemServiceImpl implements OrderItemService {
 			throw new OrderItemNotFoundException("Error verifying order existence: " + e.getMessage());
 		}
 
-		// Verify the product exists
-		try {
-			ProductDto product = this.restTemplate.getForObject(
-					AppConstant.DiscoveredDomainsApi.PRODUCT_SERVICE_API_URL + "/"
-							+ orderItemDto.getProductId(),
-					ProductDto.class);
-
-			if (product == null) {
-				throw new OrderItemNotFoundException(
-						"Product with ID " + orderItemDto.getProductId() + " not found");
-			}
-
-			if (product.getQuantity() < orderItemDto.getOrderedQuantity()) {
-				throw new IllegalArgumentException(
-						"You cannot order more units than there is available, available units: "
-								+ product.getQuantity());
-			}
-		} catch (RestClientException e) {
-			throw new OrderItemNotFoundException("Error verifying product existence: " + e.getMessage());
-		}
-
-		// Save the order item
-		OrderItemDto savedItem = OrderItemMappingHelper.map(
+		// An active row already holds its units: only the difference is reserved or given back.
+		// A new or reactivated row reserves its full quantity
+		final OrderItem existing = this.orderItemRepository.findById(
+				new OrderItemId(orderItemDto.getOrderId(), orderItemDto.getProductId())).orElse(null);
+		final int alreadyReserved = existing != null && existing.isActive() && existing.getOrderedQuantity() != null
+				? existing.getOrderedQuantity() : 0;
+		final int delta = orderItemDto.getOrderedQuantity() - alreadyReserved;
+
+		// Reserve the units in product-service: the check and the decrement are one conditional UPDATE there.
+		// Units held for this order at checkout are handed over instead of being reserved twice
+		if (delta > 0)
+			this.reserveStock(orderItemDto.getOrderId(), orderItemDto.getProductId(), delta);
+		this.settleStockOnCompletion(orderItemDto.getProductId(), delta);
+
+		final OrderItemDto savedItem = OrderItemMappingHelper.map(
 				this.orderItemRepository.save(OrderItemMappingHelper.mapForCreation(orderItemDto)));
 		meterRegistry.counter("shipments.created").increment();
-
-		// Update order status after successful save
-		try {
-			String patchUrl = AppConstant.DiscoveredDomainsApi.ORDER_SERVICE_API_URL + "/"
-					+ orderItemDto.getOrderId() + "/status";
-
-			this.restTemplate.patchForObject(
-					patchUrl,
-					null, // No request body
-					Void.class);
-
-		} catch (RestClientException e) {
-			log.error("Failed to update order status after saving item: " + e.getMessage());
-
+		if (existing == null)
+			this.shipmentsTotal.increment();
+
+		// Advance the order through the outbox, written in this same transaction and relayed to
+		// order-service afterwards (an order already IN_PAYMENT has nothing left to advance)
+		if (OrderStatus.ORDERED.name().equals(order.getOrderStatus())) {
+			this.orderStatusOutboxService.enqueue(orderItemDto.getOrderId(),
+					OrderStatus.ORDERED.name(), OrderStatus.IN_PAYMENT.name());
 		}
 
 		return savedItem;
@@ -250,8 +280,71 @@ public class OrderItemServiceImpl implements OrderItemService {
 				.orElseThrow(() -> new OrderItemNotFoundException(
 						String.format("OrderItem with orderId: %s and productId: %s not found", orderId, productId)));
 		
+		final boolean wasActive = orderItem.isActive();
 		orderItem.setActive(false);
 		this.orderItemRepository.save(orderItem);
+		if (wasActive)
+			this.releaseStock(productId, orderItem.getOrderedQuantity());
 		log.info("OrderItem with orderId: {} and productId: {} has been deactivated", orderId, productId);
 	}
+
+	private StockReservationDto reserveStock(final Integer orderId, final Integer productId, final Integer quantity) {
+		try {
+			final StockReservationDto reservation = this.restTemplate.postForObject(
+					AppConstant.DiscoveredDomainsApi.PRODUCT_SERVICE_API_URL + "/" + productId
+							+ "/reserve?quantity=" + quantity + "&orderId=" + orderId,
+					null,
+					StockReservationDto.class);
+			if (reservation == null) {
+				throw new OrderItemNotFoundException("Product with ID " + productId + " not found");
+			}
+			return reservation;
+		} catch (HttpClientErrorException.Conflict e) {
+			throw new IllegalArgumentException(
+					"You cannot order more units than there is available for product with ID " + productId);
+		} catch (HttpClientErrorException.NotFound e) {
+			throw new OrderItemNotFoundException("Product with ID " + productId + " not found");
+		} catch (RestClientException e) {
+			throw new OrderItemNotFoundException("Error reserving product stock: " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Units reserved for this save are given back if the transaction rolls back for
+	 * any reason (save, flush, outbox or commit); units the item no longer needs are
+	 * only given back once the smaller quantity is committed.
+	 */
+	private void settleStockOnCompletion(final Integer productId, final int delta) {
+		if (delta == 0)
+			return;
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			if (delta < 0)
+				this.releaseStock(productId, -delta);
+			return;
+		}
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCompletion(final int status) {
+				if (delta > 0 && status == STATUS_ROLLED_BACK)
+					releaseStock(productId, delta);
+				else if (delta < 0 && status == STATUS_COMMITTED)
+					releaseStock(productId, -delta);
+			}
+		});
+	}
+
+	// Best effort: a failed release is logged, the stock can be corrected from product-service
+	private void releaseStock(final Integer productId, final Integer quantity) {
+		if (quantity == null || quantity <= 0)
+			return;
+		try {
+			this.restTemplate.postForObject(
+					AppConstant.DiscoveredDomainsApi.PRODUCT_SERVICE_API_URL + "/" + productId
+							+ "/release?quantity=" + quantity,
+					null,
+					StockReservationDto.class);
+		} catch (RestClientException e) {
+			log.error("Failed to release {} units of product {}: {}", quantity, productId, e.getMessage());
+		}
+	}
 }
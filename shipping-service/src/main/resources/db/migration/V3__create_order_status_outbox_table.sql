@@ -0,0 +1,14 @@
+CREATE TABLE order_status_outbox (
+  event_id VARCHAR(36) NOT NULL PRIMARY KEY,
+  order_id INT NOT NULL,
+  from_status VARCHAR(20) NOT NULL,
+  to_status VARCHAR(20) NOT NULL,
+  attempts INT NOT NULL DEFAULT 0,
+  next_attempt_at TIMESTAMP NOT NULL,
+  delivered_at TIMESTAMP NULL DEFAULT NULL,
+  outcome VARCHAR(20) NULL,
+  last_error VARCHAR(255) NULL,
+  created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX idx_order_status_outbox_pending ON order_status_outbox (delivered_at, next_attempt_at);
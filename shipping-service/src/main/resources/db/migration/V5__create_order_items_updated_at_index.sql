@@ -0,0 +1 @@
+CREATE INDEX idx_order_items_updated_at ON order_items (updated_at, order_id);
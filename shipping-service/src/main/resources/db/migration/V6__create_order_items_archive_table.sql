@@ -0,0 +1,10 @@
+CREATE TABLE order_items_archive (
+  product_id INT NOT NULL,
+  order_id INT NOT NULL,
+  ordered_quantity INT,
+  created_at TIMESTAMP NULL,
+  updated_at TIMESTAMP NULL,
+  is_active BOOLEAN NOT NULL,
+  archived_at TIMESTAMP NOT NULL,
+  PRIMARY KEY (order_id, product_id)
+);
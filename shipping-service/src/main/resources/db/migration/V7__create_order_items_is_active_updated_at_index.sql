@@ -0,0 +1,3 @@
+-- Filas antiguas sin updated_at: el archivado filtra por updated_at a secas para poder usar el índice
+UPDATE order_items SET updated_at = created_at WHERE updated_at IS NULL;
+CREATE INDEX idx_order_items_is_active_updated_at ON order_items (is_active, updated_at);
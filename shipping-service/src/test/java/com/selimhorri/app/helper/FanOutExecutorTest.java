@@ -0,0 +1,98 @@
+package com.selimhorri.app.helper;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DisplayName("FanOutExecutor Unit Tests")
+class FanOutExecutorTest {
+
+	private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final CountDownLatch release = new CountDownLatch(1);
+	// Un solo hilo y sin cola: la segunda llamada simultánea se rechaza
+	private final ExecutorService threadPool = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+			new SynchronousQueue<>());
+
+	@AfterEach
+	void tearDown() {
+		this.release.countDown();
+		this.threadPool.shutdownNow();
+	}
+
+	@Test
+	@DisplayName("Test 1: Debe devolver el resultado de las llamadas que terminan a tiempo")
+	void testAwait_ReturnsResult() {
+		final FanOutExecutor.Scope scope = this.executor(Duration.ofSeconds(2)).open();
+
+		final Future<String> call = scope.submit(() -> "product");
+
+		assertEquals(Optional.of("product"), scope.await(call, "Product lookup"));
+	}
+
+	@Test
+	@DisplayName("Test 2: Debe degradar a vacío las llamadas que superan el plazo")
+	void testAwait_DeadlineExceeded() {
+		final FanOutExecutor.Scope scope = this.executor(Duration.ofMillis(50)).open();
+
+		final Future<String> call = scope.submit(this::blockUntilReleased);
+
+		assertEquals(Optional.empty(), scope.await(call, "Product lookup"));
+		assertTrue(call.isCancelled());
+		assertEquals(1.0, this.meterRegistry.counter("fanout.calls.timed.out", "name", "test").count());
+	}
+
+	@Test
+	@DisplayName("Test 3: Debe contar y degradar las llamadas rechazadas por el pool saturado")
+	void testSubmit_Rejected() {
+		final FanOutExecutor.Scope scope = this.executor(Duration.ofSeconds(2)).open();
+		scope.submit(this::blockUntilReleased);
+
+		final Future<String> rejected = scope.submit(() -> "order");
+
+		assertEquals(Optional.empty(), scope.await(rejected, "Order lookup"));
+		assertEquals(1.0, this.meterRegistry.counter("fanout.calls.rejected", "name", "test").count());
+	}
+
+	@Test
+	@DisplayName("Test 4: Debe degradar a vacío las llamadas que fallan o devuelven null")
+	void testAwait_FailedOrNull() {
+		final FanOutExecutor.Scope scope = this.executor(Duration.ofSeconds(2)).open();
+
+		final Future<String> failed = scope.submit(() -> {
+			throw new IllegalStateException("Connection refused");
+		});
+		assertEquals(Optional.empty(), scope.await(failed, "Product lookup"));
+
+		final Future<String> empty = scope.submit(() -> null);
+		assertEquals(Optional.empty(), scope.await(empty, "Order lookup"));
+	}
+
+	private FanOutExecutor executor(final Duration deadline) {
+		return new FanOutExecutor(this.threadPool, deadline, this.meterRegistry, "test");
+	}
+
+	private String blockUntilReleased() {
+		try {
+			this.release.await();
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		return "late";
+	}
+
+}
@@ -5,6 +5,8 @@ import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
 
+import java.time.Instant;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -23,6 +25,7 @@ import com.selimhorri.app.dto.OrderStatus;
 import com.selimhorri.app.dto.ProductDto;
 import com.selimhorri.app.exception.wrapper.OrderItemNotFoundException;
 import com.selimhorri.app.repository.OrderItemRepository;
+import com.selimhorri.app.service.ArchiveService;
 import com.selimhorri.app.service.OrderItemService;
 
 /**
@@ -41,6 +44,9 @@ class ShippingOrderProductIntegrationTest {
 	@Autowired
 	private OrderItemRepository orderItemRepository;
 
+	@Autowired
+	private ArchiveService archiveService;
+
 	@MockBean
 	private RestTemplate restTemplate;
 
@@ -139,4 +145,25 @@ class ShippingOrderProductIntegrationTest {
 		assertNotNull(retrieved.getProductId(), "OrderItem must reference a Product");
 		assertTrue(retrieved.getOrderedQuantity() > 0, "Ordered quantity must be positive");
 	}
+
+	@Test
+	@DisplayName("Integration Test 6: Debe archivar sólo los pedidos sin ningún item activo")
+	void testArchiveOrderItems_SkipsOrdersWithActiveItems() {
+		// Arrange - el pedido 900 conserva un item activo, el 901 no
+		orderItemRepository.saveAndFlush(OrderItem.builder().orderId(900).productId(1).orderedQuantity(1)
+				.isActive(false).build());
+		orderItemRepository.saveAndFlush(OrderItem.builder().orderId(900).productId(2).orderedQuantity(1)
+				.isActive(true).build());
+		orderItemRepository.saveAndFlush(OrderItem.builder().orderId(901).productId(1).orderedQuantity(1)
+				.isActive(false).build());
+
+		// Act
+		int archived = archiveService.archiveOrderItems(Instant.now().plusSeconds(60), 100);
+
+		// Assert
+		assertTrue(archived >= 1);
+		assertFalse(orderItemRepository.existsById(new OrderItemId(901, 1)));
+		assertTrue(orderItemRepository.existsById(new OrderItemId(900, 1)));
+		assertTrue(orderItemRepository.existsById(new OrderItemId(900, 2)));
+	}
 }
@@ -4,9 +4,11 @@ import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.Executors;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -14,7 +16,14 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestTemplate;
 
 import com.selimhorri.app.domain.OrderItem;
@@ -23,11 +32,16 @@ import com.selimhorri.app.dto.OrderDto;
 import com.selimhorri.app.dto.OrderItemDto;
 import com.selimhorri.app.dto.OrderStatus;
 import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.dto.StockReservationDto;
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
 import com.selimhorri.app.exception.wrapper.OrderItemNotFoundException;
+import com.selimhorri.app.helper.FanOutExecutor;
 import com.selimhorri.app.repository.OrderItemRepository;
+import com.selimhorri.app.service.OrderStatusOutboxService;
 
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
 /**
  * Pruebas unitarias para OrderItemServiceImpl.
@@ -49,6 +63,13 @@ class OrderItemServiceImplTest {
 	@Mock
 	private Counter counter;
 
+	@Mock
+	private OrderStatusOutboxService orderStatusOutboxService;
+
+	@Spy
+	private FanOutExecutor fanOutExecutor = new FanOutExecutor(Executors.newFixedThreadPool(2),
+			Duration.ofSeconds(2), new SimpleMeterRegistry(), "test");
+
 	@InjectMocks
 	private OrderItemServiceImpl orderItemService;
 
@@ -91,11 +112,11 @@ class OrderItemServiceImplTest {
 	@Test
 	@DisplayName("Test 1: Debe guardar un item de orden exitosamente")
 	void testSave_Success() {
-		// Arrange - Mock RestTemplate calls for order and product verification
+		// Arrange - Mock order verification and stock reservation
 		when(restTemplate.getForObject(contains("order-service"), eq(OrderDto.class)))
 				.thenReturn(mockOrderDto);
-		when(restTemplate.getForObject(contains("product-service"), eq(ProductDto.class)))
-				.thenReturn(mockProductDto);
+		when(restTemplate.postForObject(contains("/1/reserve?quantity=5&orderId=1"), isNull(), eq(StockReservationDto.class)))
+				.thenReturn(new StockReservationDto(1, 5, 5));
 		when(orderItemRepository.save(any(OrderItem.class))).thenReturn(testOrderItem);
 
 		// Act
@@ -104,6 +125,8 @@ class OrderItemServiceImplTest {
 		// Assert
 		assertNotNull(result);
 		verify(orderItemRepository, times(1)).save(any(OrderItem.class));
+		verify(orderStatusOutboxService, times(1)).enqueue(1, "ORDERED", "IN_PAYMENT");
+		verify(restTemplate, never()).patchForObject(anyString(), any(), any());
 	}
 
 	@Test
@@ -150,18 +173,22 @@ class OrderItemServiceImplTest {
 
 		List<OrderItem> orderItemList = Arrays.asList(testOrderItem, orderItem2);
 		when(orderItemRepository.findByIsActiveTrue()).thenReturn(orderItemList);
-		when(restTemplate.getForObject(anyString(), eq(ProductDto.class)))
-				.thenReturn(mockProductDto);
-		when(restTemplate.getForObject(anyString(), eq(OrderDto.class)))
-				.thenReturn(mockOrderDto);
+		when(restTemplate.exchange(contains("product-service"), eq(HttpMethod.GET), isNull(),
+				any(ParameterizedTypeReference.class)))
+				.thenReturn(ResponseEntity.ok(new DtoCollectionResponse<>(Arrays.asList(mockProductDto))));
+		when(restTemplate.exchange(contains("order-service"), eq(HttpMethod.GET), isNull(),
+				any(ParameterizedTypeReference.class)))
+				.thenReturn(ResponseEntity.ok(new DtoCollectionResponse<>(Arrays.asList(mockOrderDto))));
 
 		// Act
 		List<OrderItemDto> result = orderItemService.findAll();
 
 		// Assert
 		assertNotNull(result);
-		assertTrue(result.size() >= 0);
+		assertEquals(1, result.size());
 		verify(orderItemRepository, times(1)).findByIsActiveTrue();
+		verify(restTemplate, times(2)).exchange(anyString(), eq(HttpMethod.GET), isNull(),
+				any(ParameterizedTypeReference.class));
 	}
 
 	@Test
@@ -180,4 +207,77 @@ class OrderItemServiceImplTest {
 		verify(orderItemRepository, times(1)).findById(id);
 		verify(orderItemRepository, times(1)).save(any(OrderItem.class));
 	}
+
+	@Test
+	@DisplayName("Test 6: Debe rechazar el item cuando la reserva de stock devuelve conflicto")
+	void testSave_InsufficientStock() {
+		// Arrange
+		when(restTemplate.getForObject(contains("order-service"), eq(OrderDto.class)))
+				.thenReturn(mockOrderDto);
+		when(restTemplate.postForObject(contains("/reserve"), isNull(), eq(StockReservationDto.class)))
+				.thenThrow(HttpClientErrorException.create(HttpStatus.CONFLICT, "Conflict", null, null, null));
+
+		// Act & Assert
+		assertThrows(IllegalArgumentException.class, () -> orderItemService.save(testOrderItemDto));
+		verify(orderItemRepository, never()).save(any(OrderItem.class));
+	}
+
+	@Test
+	@DisplayName("Test 8: Un item ya activo sólo debe reservar la diferencia de cantidad")
+	void testSave_ActiveRowReservesOnlyTheDifference() {
+		// Arrange
+		testOrderItemDto.setOrderedQuantity(8);
+		when(restTemplate.getForObject(contains("order-service"), eq(OrderDto.class)))
+				.thenReturn(mockOrderDto);
+		when(orderItemRepository.findById(new OrderItemId(1, 1))).thenReturn(Optional.of(testOrderItem));
+		when(restTemplate.postForObject(contains("/1/reserve?quantity=3&orderId=1"), isNull(), eq(StockReservationDto.class)))
+				.thenReturn(new StockReservationDto(1, 3, 2));
+		when(orderItemRepository.save(any(OrderItem.class))).thenReturn(testOrderItem);
+
+		// Act
+		orderItemService.save(testOrderItemDto);
+
+		// Assert
+		verify(restTemplate, times(1)).postForObject(contains("/reserve"), isNull(), eq(StockReservationDto.class));
+		verify(restTemplate, never()).postForObject(contains("/release"), isNull(), eq(StockReservationDto.class));
+	}
+
+	@Test
+	@DisplayName("Test 9: Reducir la cantidad de un item activo debe devolver el sobrante sin reservar")
+	void testSave_ActiveRowReleasesTheSurplus() {
+		// Arrange
+		testOrderItemDto.setOrderedQuantity(3);
+		when(restTemplate.getForObject(contains("order-service"), eq(OrderDto.class)))
+				.thenReturn(mockOrderDto);
+		when(orderItemRepository.findById(new OrderItemId(1, 1))).thenReturn(Optional.of(testOrderItem));
+		when(orderItemRepository.save(any(OrderItem.class))).thenReturn(testOrderItem);
+
+		// Act
+		orderItemService.save(testOrderItemDto);
+
+		// Assert
+		verify(restTemplate, never()).postForObject(contains("/reserve"), isNull(), eq(StockReservationDto.class));
+		verify(restTemplate, times(1)).postForObject(contains("/1/release?quantity=2"), isNull(),
+				eq(StockReservationDto.class));
+	}
+
+	@Test
+	@DisplayName("Test 7: Debe devolver el item sin producto cuando product-service falla")
+	void testFindById_ProductLookupFails() {
+		// Arrange
+		OrderItemId id = new OrderItemId(1, 1);
+		when(orderItemRepository.findById(id)).thenReturn(Optional.of(testOrderItem));
+		when(restTemplate.getForObject(contains("product-service"), eq(ProductDto.class)))
+				.thenThrow(new ResourceAccessException("Connection refused"));
+		when(restTemplate.getForObject(contains("order-service"), eq(OrderDto.class)))
+				.thenReturn(mockOrderDto);
+
+		// Act
+		OrderItemDto result = orderItemService.findById(1, 1);
+
+		// Assert
+		assertNull(result.getProductDto());
+		assertEquals(OrderStatus.ORDERED.name(), result.getOrderDto().getOrderStatus());
+	}
+
 }
@@ -12,6 +12,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.selimhorri.app.dto.AddressDto;
@@ -30,9 +31,13 @@ public class AddressResource {
 	private final AddressService addressService;
 	
 	@GetMapping
-	public ResponseEntity<DtoCollectionResponse<AddressDto>> findAll() {
+	public ResponseEntity<DtoCollectionResponse<AddressDto>> findAll(
+			@RequestParam(value = "after", required = false) final Integer after,
+			@RequestParam(value = "limit", required = false) final Integer limit) {
 		log.info("*** AddressDto List, controller; fetch all addresss *");
-		return ResponseEntity.ok(new DtoCollectionResponse<>(this.addressService.findAll()));
+		if (after == null && limit == null)
+			return ResponseEntity.ok(new DtoCollectionResponse<>(this.addressService.findAll()));
+		return ResponseEntity.ok(this.addressService.findPage(after, DtoCollectionResponse.pageLimit(limit)));
 	}
 	
 	@GetMapping("/{addressId}")
@@ -3,10 +3,12 @@ package com.selimhorri.app.service;
 import java.util.List;
 
 import com.selimhorri.app.dto.AddressDto;
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
 
 public interface AddressService {
 	
 	List<AddressDto> findAll();
+	DtoCollectionResponse<AddressDto> findPage(final Integer after, final int limit);
 	AddressDto findById(final Integer addressId);
 	AddressDto save(final AddressDto addressDto);
 	AddressDto update(final AddressDto addressDto);
@@ -5,10 +5,12 @@ import java.util.stream.Collectors;
 
 import javax.transaction.Transactional;
 
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
 import com.selimhorri.app.domain.Address;
 import com.selimhorri.app.dto.AddressDto;
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
 import com.selimhorri.app.exception.wrapper.AddressNotFoundException;
 import com.selimhorri.app.helper.AddressMappingHelper;
 import com.selimhorri.app.repository.AddressRepository;
@@ -35,6 +37,17 @@ public class AddressServiceImpl implements AddressService {
 				.collect(Collectors.toUnmodifiableList());
 	}
 
+	@Override
+	public DtoCollectionResponse<AddressDto> findPage(final Integer after, final int limit) {
+		log.info("*** AddressDto List, service; fetch addresss page *");
+		final List<AddressDto> rows = this.addressRepository
+				.findByAddressIdGreaterThanOrderByAddressIdAsc(after == null ? 0 : after, PageRequest.of(0, limit + 1))
+				.stream()
+				.map(AddressMappingHelper::map)
+				.collect(Collectors.toList());
+		return DtoCollectionResponse.page(rows, limit, AddressDto::getAddressId);
+	}
+
 	@Override
 	public AddressDto findById(final Integer addressId) {
 		log.info("*** AddressDto, service; fetch address by id *");
@@ -1,16 +1,21 @@
 package com.selimhorri.app.service.impl;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.stream.Collectors;
 
 import javax.persistence.EntityNotFoundException;
 import javax.transaction.Transactional;
 
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import com.selimhorri.app.domain.User;
 import com.selimhorri.app.dto.UserDto;
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
 import com.selimhorri.app.exception.wrapper.UserObjectNotFoundException;
+import com.selimhorri.app.helper.EntityCountGauge;
 import com.selimhorri.app.helper.UserMappingHelper;
 import com.selimhorri.app.repository.CredentialRepository;
 import com.selimhorri.app.repository.UserRepository;
@@ -29,10 +34,17 @@ public class UserServiceImpl implements UserService {
 	private final UserRepository userRepository;
 	private final CredentialRepository credentialRepository;
 	private final MeterRegistry meterRegistry;
+	private final EntityCountGauge usersTotal = new EntityCountGauge();
 
 	@javax.annotation.PostConstruct
 	public void initMetrics() {
-		this.meterRegistry.gauge("users.total", this.userRepository, UserRepository::count);
+		this.usersTotal.bindTo(this.meterRegistry, "users.total", this.userRepository::count);
+	}
+
+	@Scheduled(fixedDelayString = "${app.metrics.count-reconcile-interval:300000}",
+			initialDelayString = "${app.metrics.count-reconcile-interval:300000}")
+	public void reconcileCount() {
+		this.usersTotal.reconcile();
 	}
 
 	@Override
@@ -46,6 +58,27 @@ public class UserServiceImpl implements UserService {
 				.collect(Collectors.toUnmodifiableList());
 	}
 
+	@Override
+	public DtoCollectionResponse<UserDto> findPage(final Integer after, final int limit) {
+		log.info("*** UserDto List, service; fetch users with credentials page *");
+		final List<UserDto> rows = this.userRepository
+				.findPageWithCredential(after == null ? 0 : after, PageRequest.of(0, limit + 1))
+				.stream()
+				.map(UserMappingHelper::map)
+				.collect(Collectors.toList());
+		return DtoCollectionResponse.page(rows, limit, UserDto::getUserId);
+	}
+
+	@Override
+	public List<UserDto> findAllByIds(final Collection<Integer> userIds) {
+		log.info("*** UserDto List, service; fetch users by ids *");
+		return this.userRepository.findAllById(userIds)
+				.stream()
+				.map(UserMappingHelper::map)
+				.distinct()
+				.collect(Collectors.toUnmodifiableList());
+	}
+
 	@Override
 	public UserDto findById(final Integer userId) {
 		log.info("*** UserDto, service; fetch user by id *");
@@ -76,6 +109,7 @@ public class UserServiceImpl implements UserService {
 		
 		// Business Metric: Count registered users
 		this.meterRegistry.counter("users.registered").increment();
+		this.usersTotal.increment();
 		
 		return savedUser;
 	}